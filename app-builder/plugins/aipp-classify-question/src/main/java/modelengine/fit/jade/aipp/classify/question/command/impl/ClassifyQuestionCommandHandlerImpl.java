@@ -8,6 +8,9 @@ package modelengine.fit.jade.aipp.classify.question.command.impl;
 
 import static modelengine.fitframework.inspection.Validation.notNull;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import modelengine.fel.core.chat.ChatMessage;
 import modelengine.fel.core.chat.ChatModel;
 import modelengine.fel.core.chat.ChatOption;
@@ -23,17 +26,18 @@ import modelengine.fit.jade.aipp.classify.question.util.Constant;
 import modelengine.fit.jade.aipp.memory.AippMemoryFactory;
 import modelengine.fit.jade.aipp.model.dto.ModelAccessInfo;
 import modelengine.fit.jade.aipp.model.service.AippModelCenter;
-import modelengine.fit.jober.aipp.common.utils.ContentProcessUtils;
 import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
 import modelengine.fitframework.flowable.Choir;
 import modelengine.fitframework.util.IoUtils;
 import modelengine.fitframework.util.StringUtils;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 表示 {@link ClassifyQuestionCommand} 的默认实现。
@@ -43,12 +47,15 @@ import java.util.regex.Pattern;
  */
 @Component
 public class ClassifyQuestionCommandHandlerImpl implements ClassifyQuestionCommandHandler {
+    private static final long CLASSIFIER_CACHE_SIZE = 256L;
+    private static final String KEY_SEPARATOR = "|";
+
     private final AippMemoryFactory memoryFactory;
     private final AippModelCenter aippModelCenter;
     private final String builtinPrompt;
     private final ChatModel modelService;
-
-    private static final String TYPE_REGEX = "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}";
+    private final boolean isStreamEarlyExit;
+    private final Cache<List<String>, QuestionClassifier> classifierCache;
 
     /**
      * 创建 {@link ClassifyQuestionCommandHandlerImpl} 的实例。
@@ -56,52 +63,90 @@ public class ClassifyQuestionCommandHandlerImpl implements ClassifyQuestionComma
      * @param memoryFactory 表示用于创建内存对象的 {@link AippMemoryFactory}。
      * @param aippModelCenter 表示用于获取模型的 {@link AippModelCenter}。
      * @param modelService 大模型服务 {@link ChatModel}。
+     * @param isStreamEarlyExit 表示是否以流式方式调用大模型并在识别出问题类型后提前结束的 {@code boolean}。
      * @throws IOException IO异常.
      */
     public ClassifyQuestionCommandHandlerImpl(AippMemoryFactory memoryFactory, AippModelCenter aippModelCenter,
-            ChatModel modelService) throws IOException {
+            ChatModel modelService, @Value("${classify-question.stream-early-exit:true}") boolean isStreamEarlyExit)
+            throws IOException {
         this.memoryFactory = notNull(memoryFactory, "The memory factory cannot be null.");
         this.aippModelCenter = notNull(aippModelCenter, "The model center cannot be null.");
         this.modelService = notNull(modelService, "The model service cannot be null.");
         this.builtinPrompt = IoUtils.content(ClassifyQuestionCommandHandlerImpl.class, Constant.BUILTIN_PROMPT);
+        this.isStreamEarlyExit = isStreamEarlyExit;
+        this.classifierCache = Caffeine.newBuilder().maximumSize(CLASSIFIER_CACHE_SIZE).build();
     }
 
     @Override
     public String handle(ClassifyQuestionCommand command) {
         notNull(command, "The command cannot be null.");
         Map<String, String> args = notNull(command.getArgs(), "The command args cannot be null.");
+        List<QuestionType> questionTypes = command.getQuestionTypes();
+        QuestionClassifier classifier = this.classifierCache.get(classifierKey(questionTypes),
+                key -> QuestionClassifier.compile(questionTypes));
         Memory memory = this.memoryFactory.create(command.getMemoryConfig(), command.getHistories());
         HashMap<String, String> variables = new HashMap<>(args);
         variables.put(Constant.HISTORY_KEY, memory.text());
-        variables.put(Constant.TYPE_LIST_KEY, command.getTypeList());
-        ModelAccessInfo modelAccessInfo = this.aippModelCenter.getModelAccessInfo(command.getModelTag(),
-                command.getModel(), null);
+        variables.put(Constant.TYPE_LIST_KEY, classifier.getTypeList());
+        ModelAccessInfo modelAccessInfo =
+                this.aippModelCenter.getModelAccessInfo(command.getModelTag(), command.getModel(), null);
         ChatOption chatOption = ChatOption.custom()
                 .model(command.getModel())
                 .baseUrl(modelAccessInfo.getBaseUrl())
                 .secureConfig(modelAccessInfo.isSystemModel() ? null : SecureConfig.custom().ignoreTrust(true).build())
                 .apiKey(modelAccessInfo.getAccessKey())
                 .temperature(command.getTemperature())
-                .stream(false)
+                .stream(this.isStreamEarlyExit)
                 .build();
 
         String prompt = new DefaultStringTemplate(this.getTemplate(command)).render(variables);
         ChatMessages chatMessages = new ChatMessages();
         chatMessages.add(new HumanMessage(prompt));
         Choir<ChatMessage> answer = this.modelService.generate(chatMessages, chatOption);
-        String textAnswer = ContentProcessUtils.filterReasoningContent(answer.blockAll().get(0).text());
-        String extractedType = "";
-        Pattern pattern = Pattern.compile(TYPE_REGEX);
-        Matcher matcher = pattern.matcher(textAnswer);
-        if (matcher.find()) {
-            extractedType = matcher.group();
+        if (!this.isStreamEarlyExit) {
+            return classifier.classify(answer.blockAll().get(0).text());
+        }
+        return this.classifyStreaming(answer, classifier.newParser());
+    }
+
+    private String classifyStreaming(Choir<ChatMessage> answer, QuestionClassifier.Parser parser) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        answer.subscribe(subscription -> subscription.request(Long.MAX_VALUE), (subscription, message) -> {
+            if (result.isDone()) {
+                return;
+            }
+            parser.append(message.text()).ifPresent(type -> {
+                // 问题类型已确定，不再消费剩余的回答。
+                result.complete(type);
+                subscription.cancel();
+            });
+        }, subscription -> result.complete(parser.finish()), (subscription, exception) -> result.completeExceptionally(
+                exception));
+        try {
+            return result.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
         }
-        return command.getQuestionType(extractedType)
-                .map(QuestionType::getId)
-                .orElseGet(() -> command.getLastQuestionType().getId());
+    }
+
+    /**
+     * 根据问题类型的唯一标识和描述生成分类器缓存的键。
+     * <p>{@link QuestionType} 是可变对象，键中只保存生成时的字符串值，问题类型被修改后不会影响已缓存的键。</p>
+     *
+     * @param questionTypes 表示问题类型列表的 {@link List}{@code <}{@link QuestionType}{@code >}。
+     * @return 表示缓存键的 {@link List}{@code <}{@link String}{@code >}。
+     */
+    private static List<String> classifierKey(List<QuestionType> questionTypes) {
+        notNull(questionTypes, "The question types cannot be null.");
+        return questionTypes.stream()
+                .map(questionType -> questionType.getId() + KEY_SEPARATOR + questionType.getQuestionTypeDesc())
+                .toList();
     }
 
     private String getTemplate(ClassifyQuestionCommand command) {
         return StringUtils.isNotBlank(command.getTemplate()) ? command.getTemplate() : this.builtinPrompt;
     }
-}
\ No newline at end of file
+}
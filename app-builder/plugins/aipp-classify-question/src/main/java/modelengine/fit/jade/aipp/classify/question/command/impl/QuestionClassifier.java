@@ -0,0 +1,150 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.classify.question.command.impl;
+
+import static modelengine.fitframework.inspection.Validation.notEmpty;
+
+import modelengine.fit.jade.aipp.classify.question.QuestionType;
+import modelengine.fit.jober.aipp.common.utils.ContentProcessUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 表示问题分类节点编译后的分类器，包含类型表、提供给大模型的类型列表以及兜底类型。
+ * <p>同一节点的问题类型配置不变，编译结果可在多次调用间复用。</p>
+ *
+ * @author 张越
+ * @since 2025-04-18
+ */
+public final class QuestionClassifier {
+    private static final Pattern TYPE_PATTERN =
+            Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final int TYPE_LENGTH = 36;
+    private static final String THINK_START = "<think>";
+    private static final String THINK_END = "</think>";
+    private static final String TYPE_SEPARATOR = "\n------\n";
+
+    private final Set<String> typeIds;
+    private final String typeList;
+    private final String fallbackTypeId;
+
+    private QuestionClassifier(Set<String> typeIds, String typeList, String fallbackTypeId) {
+        this.typeIds = typeIds;
+        this.typeList = typeList;
+        this.fallbackTypeId = fallbackTypeId;
+    }
+
+    /**
+     * 根据问题类型列表编译分类器，最后一个问题类型作为兜底类型。
+     *
+     * @param questionTypes 表示问题类型列表的 {@link List}{@code <}{@link QuestionType}{@code >}。
+     * @return 表示分类器的 {@link QuestionClassifier}。
+     * @throws IllegalArgumentException 当 {@code questionTypes} 为空时。
+     */
+    public static QuestionClassifier compile(List<QuestionType> questionTypes) {
+        notEmpty(questionTypes, "The question types cannot be empty.");
+        Set<String> typeIds = questionTypes.stream().map(QuestionType::getId).collect(Collectors.toSet());
+        String typeList = questionTypes.stream().map(QuestionType::toModelFormat)
+                .collect(Collectors.joining(TYPE_SEPARATOR));
+        return new QuestionClassifier(Collections.unmodifiableSet(typeIds), typeList,
+                questionTypes.get(questionTypes.size() - 1).getId());
+    }
+
+    /**
+     * 获取提供给大模型的类型列表。
+     *
+     * @return 表示类型列表的 {@link String}。
+     */
+    public String getTypeList() {
+        return this.typeList;
+    }
+
+    /**
+     * 根据大模型的完整回答确定问题类型，无法识别时返回兜底类型。
+     *
+     * @param answer 表示大模型完整回答的 {@link String}。
+     * @return 表示问题类型唯一标识的 {@link String}。
+     */
+    public String classify(String answer) {
+        Matcher matcher = TYPE_PATTERN.matcher(ContentProcessUtils.filterReasoningContent(answer));
+        return this.resolve(matcher.find() ? matcher.group() : "");
+    }
+
+    /**
+     * 创建用于流式回答的解析器。
+     *
+     * @return 表示解析器的 {@link Parser}。
+     */
+    public Parser newParser() {
+        return new Parser();
+    }
+
+    private String resolve(String extracted) {
+        return this.typeIds.contains(extracted) ? extracted : this.fallbackTypeId;
+    }
+
+    /**
+     * 表示流式回答的增量解析器，在类型标识完整出现后即可确定结果，无需等待回答结束。
+     * <p>推理内容中的类型标识不参与识别。最左侧的类型标识一旦完整出现，后续内容不会再改变识别结果，
+     * 因此提前得到的结果与读取完整回答后的结果一致。</p>
+     */
+    public final class Parser {
+        private final StringBuilder answer = new StringBuilder();
+        private int scanned;
+
+        private Parser() {}
+
+        /**
+         * 追加一段回答内容，并尝试确定问题类型。
+         *
+         * @param chunk 表示回答内容片段的 {@link String}。
+         * @return 表示已确定的问题类型唯一标识的 {@link Optional}{@code <}{@link String}{@code >}，尚无法确定时为空。
+         */
+        public Optional<String> append(String chunk) {
+            if (chunk == null || chunk.isEmpty()) {
+                return Optional.empty();
+            }
+            this.answer.append(chunk);
+            while (true) {
+                int thinkStart = this.answer.indexOf(THINK_START, this.scanned);
+                Matcher matcher = TYPE_PATTERN.matcher(this.answer)
+                        .region(this.scanned, thinkStart < 0 ? this.answer.length() : thinkStart);
+                if (matcher.find()) {
+                    return Optional.of(QuestionClassifier.this.resolve(matcher.group()));
+                }
+                if (thinkStart < 0) {
+                    // 类型标识可能跨越片段边界，保留尾部不完整的部分以便下次继续匹配。
+                    this.scanned = Math.max(this.scanned, this.answer.length() - TYPE_LENGTH + 1);
+                    return Optional.empty();
+                }
+                int thinkEnd = this.answer.indexOf(THINK_END, thinkStart);
+                if (thinkEnd < 0) {
+                    // 推理内容尚未结束，其中的内容不参与识别。
+                    this.scanned = thinkStart;
+                    return Optional.empty();
+                }
+                this.answer.delete(thinkStart, thinkEnd + THINK_END.length());
+                this.scanned = Math.max(this.scanned, thinkStart - TYPE_LENGTH + 1);
+            }
+        }
+
+        /**
+         * 回答结束时确定问题类型。
+         *
+         * @return 表示问题类型唯一标识的 {@link String}。
+         */
+        public String finish() {
+            return QuestionClassifier.this.classify(this.answer.toString());
+        }
+    }
+}
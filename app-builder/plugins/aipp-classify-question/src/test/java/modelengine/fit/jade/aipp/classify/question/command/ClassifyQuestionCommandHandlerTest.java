@@ -8,8 +8,11 @@ package modelengine.fit.jade.aipp.classify.question.command;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import modelengine.fel.core.chat.ChatMessage;
 import modelengine.fel.core.chat.ChatModel;
 import modelengine.fel.core.chat.ChatOption;
 import modelengine.fel.core.chat.Prompt;
@@ -26,8 +29,11 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 表示 {@link ClassifyQuestionCommandHandler} 的测试集。
@@ -51,7 +57,7 @@ public class ClassifyQuestionCommandHandlerTest {
         this.aippModelCenter = mock(AippModelCenter.class);
         this.modelService = mock(ChatModel.class);
         this.commandService = new ClassifyQuestionCommandHandlerImpl(this.memoryFactory, this.aippModelCenter,
-                this.modelService);
+                this.modelService, false);
     }
 
     @Test
@@ -74,4 +80,48 @@ public class ClassifyQuestionCommandHandlerTest {
         Assertions.assertEquals(command.getTypeList(),
                 "{\"类型ID\":\"f47ac10b-58cc-4372-a567-0e02b2c3d479\", \"问题类型\":\"a\"}" + "\n------\n" + "{\"类型ID\":\"3fa4e1b2-7c6d-4a9f-8c3d-1b2e3f4a5b6c\", \"问题类型\":\"b\"}");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("测试流式执行问题分类命令时识别出类型后不再消费剩余回答")
+    void shouldStopConsumingWhenTypeDetermined() throws IOException {
+        ClassifyQuestionCommandHandler streamingService = new ClassifyQuestionCommandHandlerImpl(this.memoryFactory,
+                this.aippModelCenter, this.modelService, true);
+        when(this.memoryFactory.create(any(), any())).thenReturn(new CacheMemory());
+        when(this.aippModelCenter.getModelAccessInfo(any(), any(), any())).thenReturn(
+                ModelAccessInfo.builder().baseUrl("/model").tag("tag").build());
+        List<String> chunks = List.of("<think>3fa4e1b2-7c6d-4a9f-8c3d-1b2e3f4a5b6c</think>", "类型是 f47ac10b-58cc",
+                "-4372-a567-0e02b2c3d479", "，因为", "问题与 a 相关。");
+        AtomicInteger consumed = new AtomicInteger();
+        when(this.modelService.generate(any(Prompt.class), any(ChatOption.class))).thenAnswer(invocation ->
+                Choir.fromIterable(() -> chunks.stream().<ChatMessage>map(chunk -> {
+                    consumed.incrementAndGet();
+                    return new AiMessage(chunk);
+                }).iterator()));
+
+        ClassifyQuestionCommand command = TestUtils.getCommand();
+        Assertions.assertEquals("f47ac10b-58cc-4372-a567-0e02b2c3d479", streamingService.handle(command));
+        Assertions.assertEquals(3, consumed.get());
+        streamingService.handle(TestUtils.getCommand());
+        verify(this.aippModelCenter, times(2)).getModelAccessInfo(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("测试问题类型被修改后重新编译分类器")
+    void shouldRecompileClassifierWhenQuestionTypeChanged() {
+        when(this.memoryFactory.create(any(), any())).thenReturn(new CacheMemory());
+        when(this.aippModelCenter.getModelAccessInfo(any(), any(), any())).thenReturn(
+                ModelAccessInfo.builder().baseUrl("/model").tag("tag").build());
+        when(this.modelService.generate(any(Prompt.class), any(ChatOption.class))).thenAnswer(
+                invocation -> Choir.just(new AiMessage("unknown")));
+        ClassifyQuestionCommand command = TestUtils.getCommand();
+        Assertions.assertEquals("3fa4e1b2-7c6d-4a9f-8c3d-1b2e3f4a5b6c", this.commandService.handle(command));
+
+        command.getQuestionTypes().get(1).setId("c1d2e3f4-a5b6-4c7d-8e9f-0a1b2c3d4e5f");
+        command.getQuestionTypes().get(1).setQuestionTypeDesc("c");
+        Assertions.assertEquals("c1d2e3f4-a5b6-4c7d-8e9f-0a1b2c3d4e5f", this.commandService.handle(command));
+
+        ArgumentCaptor<Prompt> prompts = ArgumentCaptor.forClass(Prompt.class);
+        verify(this.modelService, times(2)).generate(prompts.capture(), any(ChatOption.class));
+        Assertions.assertTrue(prompts.getAllValues().get(1).messages().get(0).text().contains("\"问题类型\":\"c\""));
+    }
+}
@@ -0,0 +1,71 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.classify.question.command.impl;
+
+import modelengine.fit.jade.aipp.classify.question.utils.TestUtils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+/**
+ * 表示 {@link QuestionClassifier} 的测试集。
+ *
+ * @author 张越
+ * @since 2025-04-18
+ */
+@DisplayName("测试 QuestionClassifier")
+public class QuestionClassifierTest {
+    private static final String TYPE_A = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+    private static final String TYPE_B = "3fa4e1b2-7c6d-4a9f-8c3d-1b2e3f4a5b6c";
+
+    private QuestionClassifier classifier;
+
+    @BeforeEach
+    void setUp() {
+        this.classifier = QuestionClassifier.compile(TestUtils.getCommand().getQuestionTypes());
+    }
+
+    @Test
+    @DisplayName("测试完整回答的分类结果，未知类型返回兜底类型")
+    void shouldClassifyFullAnswer() {
+        Assertions.assertEquals(TYPE_A, this.classifier.classify("<think>" + TYPE_B + "</think>" + TYPE_A));
+        Assertions.assertEquals(TYPE_B, this.classifier.classify("00000000-0000-0000-0000-000000000000"));
+        Assertions.assertEquals(TYPE_B, this.classifier.classify("无法判断"));
+        Assertions.assertEquals(TestUtils.getCommand().getTypeList(), this.classifier.getTypeList());
+    }
+
+    @Test
+    @DisplayName("测试类型标识跨越多个片段时在其完整出现后立即确定结果")
+    void shouldDetermineTypeAcrossChunks() {
+        QuestionClassifier.Parser parser = this.classifier.newParser();
+        Assertions.assertEquals(Optional.empty(), parser.append("类型：" + TYPE_A.substring(0, 10)));
+        Assertions.assertEquals(Optional.empty(), parser.append(TYPE_A.substring(10, 30)));
+        Assertions.assertEquals(Optional.of(TYPE_A), parser.append(TYPE_A.substring(30) + "。"));
+    }
+
+    @Test
+    @DisplayName("测试推理内容中的类型标识不参与识别")
+    void shouldIgnoreTypeInsideReasoning() {
+        QuestionClassifier.Parser parser = this.classifier.newParser();
+        Assertions.assertEquals(Optional.empty(), parser.append("<thi"));
+        Assertions.assertEquals(Optional.empty(), parser.append("nk>可能是 " + TYPE_A));
+        Assertions.assertEquals(Optional.empty(), parser.append("</think>结论："));
+        Assertions.assertEquals(Optional.of(TYPE_B), parser.append(TYPE_B));
+    }
+
+    @Test
+    @DisplayName("测试回答结束仍未识别时与完整回答的分类结果一致")
+    void shouldFallbackWhenFinishedWithoutType() {
+        QuestionClassifier.Parser parser = this.classifier.newParser();
+        Assertions.assertEquals(Optional.empty(), parser.append("<think>" + TYPE_A));
+        Assertions.assertEquals(this.classifier.classify("<think>" + TYPE_A), parser.finish());
+    }
+}
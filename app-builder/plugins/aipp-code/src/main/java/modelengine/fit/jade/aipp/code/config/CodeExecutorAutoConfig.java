@@ -6,9 +6,11 @@
 
 package modelengine.fit.jade.aipp.code.config;
 
+import modelengine.fit.jade.aipp.code.domain.entity.support.LocalPythonCodeExecutor;
 import modelengine.fit.jade.aipp.code.domain.entity.support.PythonCodeExecutorProxy;
 import modelengine.fit.jade.aipp.code.domain.factory.CodeExecutorFactory;
 import modelengine.fit.jade.aipp.code.domain.factory.support.DefaultCodeExecutorFactory;
+import modelengine.fit.jade.aipp.code.worker.PythonWorkerPool;
 import modelengine.fitframework.annotation.Bean;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Fit;
@@ -29,13 +31,20 @@ public class CodeExecutorAutoConfig {
      *
      * @param brokerClient 表示动态路由器服务的 {@link BrokerClient}。
      * @param serializer 表示序列化器的 {@link ObjectSerializer}。
+     * @param localWorkerConfig 表示本地执行进程池配置的 {@link LocalWorkerConfig}。
+     * @param workerPool 表示本地执行进程池的 {@link PythonWorkerPool}。
      * @return 表示代码执行器工厂的 {@link CodeExecutorFactory}。
      */
     @Bean
     public CodeExecutorFactory getCodeExecutorFactory(BrokerClient brokerClient,
-            @Fit(alias = "json") ObjectSerializer serializer) {
+            @Fit(alias = "json") ObjectSerializer serializer, LocalWorkerConfig localWorkerConfig,
+            PythonWorkerPool workerPool) {
         CodeExecutorFactory factory = new DefaultCodeExecutorFactory();
-        factory.register(new PythonCodeExecutorProxy(brokerClient, serializer));
+        if (localWorkerConfig.isEnabled()) {
+            factory.register(new LocalPythonCodeExecutor(workerPool, serializer));
+        } else {
+            factory.register(new PythonCodeExecutorProxy(brokerClient, serializer));
+        }
         return factory;
     }
 }
\ No newline at end of file
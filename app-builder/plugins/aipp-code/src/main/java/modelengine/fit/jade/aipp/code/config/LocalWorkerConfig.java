@@ -0,0 +1,86 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.code.config;
+
+import lombok.Data;
+import modelengine.fitframework.annotation.AcceptConfigValues;
+import modelengine.fitframework.annotation.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 本地 python 执行进程池的配置类。
+ *
+ * @author 邱晓霞
+ * @since 2025-04-30
+ */
+@Component
+@AcceptConfigValues("code.local-worker")
+@Data
+public class LocalWorkerConfig {
+    /**
+     * 是否使用本地执行进程池执行 python 代码，不使用时通过远端插件执行。
+     */
+    private boolean enabled;
+
+    /**
+     * python 解释器的命令。
+     */
+    private String python = "python3";
+
+    /**
+     * 预热的执行进程数量。
+     */
+    private int poolSize = 4;
+
+    /**
+     * 一次发送给执行进程的最大执行请求数量。
+     */
+    private int maxBatchSize = 8;
+
+    /**
+     * 执行进程被回收前的最大执行次数。
+     */
+    private int maxRunsPerWorker = 500;
+
+    /**
+     * 单次执行的超时时间，单位为秒。
+     */
+    private int timeout = 10;
+
+    /**
+     * 执行进程的内存上限，单位为字节，不大于 0 时不限制。
+     */
+    private long memLimit = 181L * 1024 * 1024;
+
+    /**
+     * 每个执行进程缓存的编译结果数量。
+     */
+    private int compileCacheSize = 256;
+
+    /**
+     * 用户代码的入口函数名。
+     */
+    private String entrypoint = "main";
+
+    /**
+     * 执行进程启动时预加载的模块。
+     */
+    private List<String> preloadModules = Arrays.asList("json", "typing");
+
+    /**
+     * 允许用户代码导入的模块。
+     */
+    private List<String> importWhitelist = Arrays.asList("json", "typing");
+
+    /**
+     * 禁止用户代码导入的模块。
+     */
+    private List<String> importBlacklist =
+            Arrays.asList("os", "sys", "cmd", "subprocess", "multiprocessing", "timeit", "platform");
+}
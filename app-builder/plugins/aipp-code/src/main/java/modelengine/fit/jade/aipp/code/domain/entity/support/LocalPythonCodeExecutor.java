@@ -0,0 +1,40 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.code.domain.entity.support;
+
+import modelengine.fit.jade.aipp.code.domain.entity.CodeExecutor;
+import modelengine.fit.jade.aipp.code.domain.entity.ProgrammingLanguage;
+import modelengine.fit.jade.aipp.code.worker.PythonWorkerPool;
+import modelengine.fitframework.serialization.ObjectSerializer;
+
+import java.util.Map;
+
+/**
+ * 表示使用本地执行进程池的 python 代码执行器。
+ *
+ * @author 邱晓霞
+ * @since 2025-04-30
+ */
+public class LocalPythonCodeExecutor implements CodeExecutor {
+    private final PythonWorkerPool workerPool;
+    private final ObjectSerializer serializer;
+
+    public LocalPythonCodeExecutor(PythonWorkerPool workerPool, ObjectSerializer serializer) {
+        this.workerPool = workerPool;
+        this.serializer = serializer;
+    }
+
+    @Override
+    public Object run(Map<String, Object> args, String code) {
+        return this.serializer.deserialize(this.workerPool.execute(args, code), Object.class);
+    }
+
+    @Override
+    public ProgrammingLanguage language() {
+        return ProgrammingLanguage.PYTHON;
+    }
+}
@@ -18,6 +18,11 @@ public interface Constant {
      */
     int TIME_OUT_CODE = 2130706694;
 
+    /**
+     * 用户代码异常信息。
+     */
+    int USER_CODE_EXCEPTION_CODE = 2130706693;
+
     /**
      * 百分比。
      */
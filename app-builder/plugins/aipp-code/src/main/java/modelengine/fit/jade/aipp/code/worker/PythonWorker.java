@@ -0,0 +1,148 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.code.worker;
+
+import modelengine.fitframework.log.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 表示一个本地 python 执行进程。
+ * <p>进程的标准输出由独立线程按行读取，调用方可以带超时地等待每一行结果。
+ * 进程的标准错误由另一个线程读取并记录日志，每条执行中用户代码的输出已由进程收集到结果中，
+ * 这里只包含解释器自身的错误输出。</p>
+ *
+ * @author 邱晓霞
+ * @since 2025-04-30
+ */
+class PythonWorker {
+    /**
+     * 表示进程已退出的标记，协议中的每行都是 json 对象，不会与其冲突。
+     */
+    static final String EXITED = "<exited>";
+
+    private static final Logger LOG = Logger.get(PythonWorker.class);
+
+    private final Process process;
+    private final BufferedWriter writer;
+    private final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+    private int runs;
+
+    private PythonWorker(Process process, ThreadFactory readerFactory) {
+        this.process = process;
+        this.writer = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        readerFactory.newThread(this::read).start();
+        readerFactory.newThread(this::readError).start();
+    }
+
+    /**
+     * 启动执行进程，并等待其完成预热。
+     *
+     * @param command 表示启动命令的 {@link List}{@code <}{@link String}{@code >}。
+     * @param handshake 表示启动配置的 {@link String}。
+     * @param readerFactory 表示读取线程工厂的 {@link ThreadFactory}。
+     * @param startTimeoutMillis 表示等待预热完成的毫秒数的 {@code long}。
+     * @return 表示已就绪的执行进程的 {@link PythonWorker}。
+     * @throws IOException 当进程启动失败或未能在超时时间内就绪时。
+     * @throws InterruptedException 当等待被中断时。
+     */
+    static PythonWorker start(List<String> command, String handshake, ThreadFactory readerFactory,
+            long startTimeoutMillis) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).start();
+        PythonWorker worker = new PythonWorker(process, readerFactory);
+        try {
+            worker.send(handshake);
+            String ready = worker.poll(startTimeoutMillis);
+            if (ready == null || EXITED.equals(ready)) {
+                throw new IOException("The python code worker is not ready.");
+            }
+        } catch (IOException | InterruptedException e) {
+            worker.destroy();
+            throw e;
+        }
+        LOG.info("Python code worker started. [pid={}]", process.pid());
+        return worker;
+    }
+
+    /**
+     * 发送一行请求。
+     *
+     * @param line 表示请求的 {@link String}。
+     * @throws IOException 当写入失败时。
+     */
+    void send(String line) throws IOException {
+        this.writer.write(line);
+        this.writer.newLine();
+        this.writer.flush();
+    }
+
+    /**
+     * 等待下一行结果。
+     *
+     * @param timeoutMillis 表示等待的毫秒数的 {@code long}。
+     * @return 表示结果的 {@link String}，超时返回 {@code null}，进程退出返回 {@link #EXITED}。
+     * @throws InterruptedException 当等待被中断时。
+     */
+    String poll(long timeoutMillis) throws InterruptedException {
+        return this.lines.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 累加执行次数。
+     *
+     * @param count 表示本次执行数量的 {@code int}。
+     * @return 表示累计执行次数的 {@code int}。
+     */
+    int addRuns(int count) {
+        this.runs += count;
+        return this.runs;
+    }
+
+    /**
+     * 销毁执行进程。
+     */
+    void destroy() {
+        this.process.destroyForcibly();
+        LOG.info("Python code worker destroyed. [pid={}, runs={}]", this.process.pid(), this.runs);
+    }
+
+    private void read() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(this.process.getInputStream(),
+                StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                this.lines.add(line);
+            }
+        } catch (IOException e) {
+            LOG.debug("Python code worker output closed. [pid={}]", this.process.pid());
+        } finally {
+            this.lines.add(EXITED);
+        }
+    }
+
+    private void readError() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(this.process.getErrorStream(),
+                StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                LOG.warn("Python code worker error output. [pid={}, line={}]", this.process.pid(), line);
+            }
+        } catch (IOException e) {
+            LOG.debug("Python code worker error output closed. [pid={}]", this.process.pid());
+        }
+    }
+}
@@ -0,0 +1,295 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.code.worker;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.notBlank;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fit.jade.aipp.code.config.LocalWorkerConfig;
+import modelengine.fit.jade.aipp.code.util.Constant;
+import modelengine.fit.jade.aipp.code.util.HashUtil;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Destroy;
+import modelengine.fitframework.annotation.Fit;
+import modelengine.fitframework.exception.FitException;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.serialization.ObjectSerializer;
+import modelengine.fitframework.thread.DefaultThreadFactory;
+import modelengine.fitframework.util.MapBuilder;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地 python 执行进程池。
+ * <p>启动时预热固定数量的执行进程，进程内缓存按代码哈希编译后的结果。
+ * 每个进程由一个分发线程驱动，分发线程一次取出队列中积压的多个执行请求，合并为一行发送给进程，
+ * 进程逐条返回结果。单条执行超时或进程退出时销毁进程，该条执行失败，同批中未执行的请求重新入队；
+ * 进程执行达到上限次数后被回收。进程按顺序逐条执行同批请求，分发线程在上一条返回后标记下一条开始执行，
+ * 调用方从所提交的请求开始执行时起最多等待单条执行的超时时间，进程池关闭时所有未结束的执行立即失败。
+ * 每条执行中用户代码的输出由进程单独收集，随结果返回后记录日志。</p>
+ *
+ * @author 邱晓霞
+ * @since 2025-04-30
+ */
+@Component
+public class PythonWorkerPool {
+    private static final Logger LOG = Logger.get(PythonWorkerPool.class);
+    private static final String WORKER_SCRIPT = "/python/code_worker.py";
+    private static final long TIMEOUT_GRACE_MILLIS = 1000L;
+    private static final long START_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private final LocalWorkerConfig config;
+    private final ObjectSerializer serializer;
+    private final BlockingDeque<WorkerTask> pending = new LinkedBlockingDeque<>();
+    private final Set<WorkerTask> unfinished = ConcurrentHashMap.newKeySet();
+    private final ThreadFactory readerFactory = createThreadFactory("code-worker-reader");
+    private volatile ExecutorService dispatchers;
+    private volatile List<String> command;
+    private volatile String handshake;
+    private volatile boolean isClosed;
+
+    /**
+     * 表示 {@link PythonWorkerPool} 的构造方法。
+     *
+     * @param config 表示执行进程池配置的 {@link LocalWorkerConfig}。
+     * @param serializer 表示 json 序列化器的 {@link ObjectSerializer}。
+     */
+    public PythonWorkerPool(LocalWorkerConfig config, @Fit(alias = "json") ObjectSerializer serializer) {
+        this.config = notNull(config, "The local worker config cannot be null.");
+        this.serializer = notNull(serializer, "The serializer cannot be null.");
+    }
+
+    /**
+     * 执行用户代码，首次调用时启动执行进程池。
+     *
+     * @param args 表示函数入参的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
+     * @param code 表示用户定义的代码的 {@link String}。
+     * @return 表示执行结果序列化后的 {@link String}。
+     * @throws FitException 当用户代码执行失败、超时或进程池已关闭时。
+     */
+    public String execute(Map<String, Object> args, String code) {
+        notBlank(code, "The code cannot be blank.");
+        this.ensureStarted();
+        WorkerTask task = new WorkerTask(HashUtil.hash(code), code, args);
+        this.unfinished.add(task);
+        this.pending.add(task);
+        if (this.isClosed) {
+            task.fail(closedException());
+        }
+        try {
+            return task.await(TimeUnit.SECONDS.toMillis(this.config.getTimeout()) + TIMEOUT_GRACE_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            FitException exception =
+                    new FitException(Constant.USER_CODE_EXCEPTION_CODE, "The code execution is interrupted.", e);
+            task.fail(exception);
+            throw exception;
+        } finally {
+            this.unfinished.remove(task);
+            this.pending.remove(task);
+        }
+    }
+
+    /**
+     * 关闭执行进程池，销毁所有执行进程，排队中和执行中的请求均以失败结束。
+     */
+    @Destroy
+    public void close() {
+        this.isClosed = true;
+        ExecutorService current = this.dispatchers;
+        if (current != null) {
+            current.shutdownNow();
+        }
+        this.pending.clear();
+        FitException exception = closedException();
+        this.unfinished.forEach(task -> task.fail(exception));
+    }
+
+    private static FitException closedException() {
+        return new FitException(Constant.USER_CODE_EXCEPTION_CODE, "The code worker pool is closed.");
+    }
+
+    private void ensureStarted() {
+        if (this.dispatchers != null) {
+            return;
+        }
+        synchronized (this) {
+            if (this.isClosed) {
+                throw closedException();
+            }
+            if (this.dispatchers != null) {
+                return;
+            }
+            int poolSize = greaterThan(this.config.getPoolSize(), 0, "The worker pool size must be positive.");
+            greaterThan(this.config.getMaxBatchSize(), 0, "The max batch size must be positive.");
+            greaterThan(this.config.getMaxRunsPerWorker(), 0, "The max runs per worker must be positive.");
+            greaterThan(this.config.getTimeout(), 0, "The timeout must be positive.");
+            this.command = Arrays.asList(this.config.getPython(), "-I", "-u", this.extractScript().toString());
+            this.handshake = this.serializer.serialize(MapBuilder.<String, Object>get()
+                    .put("entrypoint", this.config.getEntrypoint())
+                    .put("timeout", this.config.getTimeout())
+                    .put("whitelist", this.config.getImportWhitelist())
+                    .put("blacklist", this.config.getImportBlacklist())
+                    .put("cacheSize", this.config.getCompileCacheSize())
+                    .put("preload", this.config.getPreloadModules())
+                    .put("memLimit", this.config.getMemLimit())
+                    .build());
+            ExecutorService executor = Executors.newFixedThreadPool(poolSize, createThreadFactory("code-worker"));
+            for (int i = 0; i < poolSize; i++) {
+                executor.execute(this::dispatch);
+            }
+            this.dispatchers = executor;
+        }
+    }
+
+    private static ThreadFactory createThreadFactory(String name) {
+        return new DefaultThreadFactory(name, true, (thread, throwable) -> {
+            LOG.error("[{}] Exception. [message={}]", name, throwable.getMessage());
+            LOG.error("[{}] Details:", name, throwable);
+        });
+    }
+
+    private Path extractScript() {
+        try (InputStream in = PythonWorkerPool.class.getResourceAsStream(WORKER_SCRIPT)) {
+            notNull(in, "The python code worker script is not found.");
+            Path script = Files.createTempFile("code_worker", ".py");
+            script.toFile().deleteOnExit();
+            Files.copy(in, script, StandardCopyOption.REPLACE_EXISTING);
+            return script;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to extract the python code worker script.", e);
+        }
+    }
+
+    private void dispatch() {
+        PythonWorker worker = this.startQuietly();
+        try {
+            while (!this.isClosed) {
+                List<WorkerTask> batch = this.takeBatch();
+                try {
+                    if (worker == null) {
+                        worker = PythonWorker.start(this.command, this.handshake, this.readerFactory,
+                                START_TIMEOUT_MILLIS);
+                    }
+                    worker = this.run(worker, batch);
+                } catch (IOException | RuntimeException e) {
+                    LOG.error("Failed to run code on python code worker.", e);
+                    if (worker != null) {
+                        worker.destroy();
+                        worker = null;
+                    }
+                    FitException exception = new FitException(Constant.USER_CODE_EXCEPTION_CODE,
+                            "The python code worker is unavailable.", e);
+                    batch.forEach(task -> task.fail(exception));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (worker != null) {
+                worker.destroy();
+            }
+        }
+    }
+
+    private PythonWorker startQuietly() {
+        try {
+            return PythonWorker.start(this.command, this.handshake, this.readerFactory, START_TIMEOUT_MILLIS);
+        } catch (IOException e) {
+            LOG.warn("Failed to prewarm python code worker, retry on next execution. [cause={}]", e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private List<WorkerTask> takeBatch() throws InterruptedException {
+        List<WorkerTask> batch = new ArrayList<>();
+        while (batch.isEmpty()) {
+            batch.add(this.pending.take());
+            this.pending.drainTo(batch, this.config.getMaxBatchSize() - 1);
+            // 调用方已超时放弃的请求不再执行。
+            batch.removeIf(WorkerTask::isDone);
+        }
+        return batch;
+    }
+
+    /**
+     * 在执行进程上执行一批请求。
+     *
+     * @param worker 表示执行进程的 {@link PythonWorker}。
+     * @param batch 表示执行请求的 {@link List}{@code <}{@link WorkerTask}{@code >}。
+     * @return 表示后续可用的执行进程的 {@link PythonWorker}，进程被销毁时返回 {@code null}。
+     * @throws IOException 当与执行进程通信失败时。
+     * @throws InterruptedException 当等待被中断时。
+     */
+    private PythonWorker run(PythonWorker worker, List<WorkerTask> batch) throws IOException, InterruptedException {
+        List<Map<String, Object>> items = new ArrayList<>(batch.size());
+        batch.forEach(task -> items.add(MapBuilder.<String, Object>get()
+                .put("hash", task.getHash())
+                .put("code", task.getCode())
+                .put("args", task.getArgs())
+                .build()));
+        worker.send(this.serializer.serialize(items));
+        long timeoutMillis = TimeUnit.SECONDS.toMillis(this.config.getTimeout()) + TIMEOUT_GRACE_MILLIS;
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).start();
+            String line = worker.poll(timeoutMillis);
+            if (line == null || PythonWorker.EXITED.equals(line)) {
+                worker.destroy();
+                batch.get(i).fail(line == null
+                        ? new FitException(Constant.TIME_OUT_CODE, "[TimeoutError] Execution timed out")
+                        : new FitException(Constant.USER_CODE_EXCEPTION_CODE, "The python code worker exited."));
+                for (int j = batch.size() - 1; j > i; j--) {
+                    this.pending.addFirst(batch.get(j));
+                }
+                return null;
+            }
+            this.complete(batch.get(i), line);
+        }
+        if (worker.addRuns(batch.size()) >= this.config.getMaxRunsPerWorker()) {
+            worker.destroy();
+            return PythonWorker.start(this.command, this.handshake, this.readerFactory, START_TIMEOUT_MILLIS);
+        }
+        return worker;
+    }
+
+    private void complete(WorkerTask task, String line) {
+        Map<String, Object> result = this.serializer.deserialize(line, Map.class);
+        String output = ObjectUtils.cast(result.get("output"));
+        if (StringUtils.isNotBlank(output)) {
+            LOG.info("Python code printed output. [hash={}, output={}]", task.getHash(), output);
+        }
+        if (Boolean.TRUE.equals(result.get("ok"))) {
+            task.complete(ObjectUtils.cast(result.get("value")));
+            return;
+        }
+        Number code = ObjectUtils.cast(result.get("code"));
+        String msg = ObjectUtils.cast(result.get("msg"));
+        task.fail(new FitException(code == null ? Constant.USER_CODE_EXCEPTION_CODE : code.intValue(), msg));
+    }
+}
@@ -0,0 +1,81 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.code.worker;
+
+import lombok.Getter;
+import modelengine.fit.jade.aipp.code.util.Constant;
+import modelengine.fitframework.exception.FitException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 表示一次等待本地执行进程处理的代码执行。
+ *
+ * @author 邱晓霞
+ * @since 2025-04-30
+ */
+@Getter
+class WorkerTask {
+    private final String hash;
+    private final String code;
+    private final Map<String, Object> args;
+    private final CompletableFuture<String> result = new CompletableFuture<>();
+    private final CompletableFuture<Void> started = new CompletableFuture<>();
+
+    WorkerTask(String hash, String code, Map<String, Object> args) {
+        this.hash = hash;
+        this.code = code;
+        this.args = args;
+    }
+
+    /**
+     * 标记执行进程已开始执行该请求，调用方从此时开始计算超时。
+     */
+    void start() {
+        this.started.complete(null);
+    }
+
+    void complete(String value) {
+        this.result.complete(value);
+    }
+
+    void fail(FitException exception) {
+        this.result.completeExceptionally(exception);
+    }
+
+    boolean isDone() {
+        return this.result.isDone();
+    }
+
+    /**
+     * 等待执行结束，超过等待时间时该次执行以超时失败，分发线程不再处理。
+     * <p>排队和同批中前序请求的执行时间不计入等待时间，等待时间从执行进程开始执行该请求时计算。</p>
+     *
+     * @param timeoutMillis 表示开始执行后最长等待的毫秒数的 {@code long}。
+     * @return 表示执行结果序列化后的 {@link String}。
+     * @throws FitException 当用户代码执行失败或超时时。
+     * @throws InterruptedException 当等待被中断时。
+     */
+    String await(long timeoutMillis) throws InterruptedException {
+        try {
+            CompletableFuture.anyOf(this.started, this.result).get();
+            return this.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            this.fail(new FitException(Constant.TIME_OUT_CODE, "[TimeoutError] Execution timed out"));
+            return this.await(0L);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof FitException) {
+                throw (FitException) e.getCause();
+            }
+            throw new FitException(Constant.USER_CODE_EXCEPTION_CODE, e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
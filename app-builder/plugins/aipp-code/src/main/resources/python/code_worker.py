@@ -0,0 +1,155 @@
+# -- encoding: utf-8 --
+# Copyright (c) 2025 Huawei Technologies Co., Ltd. All Rights Reserved.
+# This file is a part of the ModelEngine Project.
+# Licensed under the MIT License. See License.txt in the project root for license information.
+# ======================================================================================================================
+"""
+代码节点的本地预热执行进程。
+
+协议基于标准输入输出，每行一个 json：
+  1. 启动后读取一行配置，完成模块预加载和内存限制后输出 {"ready": true}；
+  2. 之后每行读取一批执行请求 [{"hash": ..., "code": ..., "args": ...}, ...]，按顺序逐条执行，
+     每条执行结束即输出一行结果 {"ok": true, "value": ...} 或 {"ok": false, "code": ..., "msg": ...}；
+     执行期间用户代码写到标准输出和标准错误的内容单独收集，非空时截断后放在结果的 output 字段中。
+"""
+import asyncio
+import builtins
+import contextlib
+import importlib
+import inspect
+import io
+import json
+import os
+import re
+import sys
+from collections import OrderedDict
+
+try:
+    import resource
+except ImportError:
+    resource = None
+
+EXCEPTION_FROM_USER_CODE_OCCURRED = 0x7F000105
+TIME_OUT_EXCEPTION_FROM_USER_CODE_OCCURRED = 0x7F000106
+_MAX_OUTPUT_CHARS = 4096
+
+_HEADER = '''
+import json
+from typing import Any
+
+Output = Any
+
+
+'''
+_HEADER_LEN = len(_HEADER.split('\n'))
+_ESCAPE_PATTERN = re.compile(r'.gi_frame|.tb_frame|__[a-zA-Z]+__')
+
+_SAFE_NAMES = [
+    '__build_class__', 'None', 'False', 'True', 'abs', 'bool', 'bytes', 'callable', 'chr', 'complex', 'dict',
+    'divmod', 'float', 'hash', 'hex', 'id', 'int', 'isinstance', 'issubclass', 'len', 'list', 'oct', 'ord', 'pow',
+    'range', 'repr', 'round', 'set', 'slice', 'sorted', 'str', 'tuple', 'zip'
+]
+_SAFE_EXCEPTIONS = [
+    'ArithmeticError', 'AssertionError', 'AttributeError', 'BaseException', 'BufferError', 'BytesWarning',
+    'DeprecationWarning', 'EOFError', 'EnvironmentError', 'Exception', 'FloatingPointError', 'FutureWarning',
+    'GeneratorExit', 'IOError', 'ImportError', 'ImportWarning', 'IndentationError', 'IndexError', 'KeyError',
+    'KeyboardInterrupt', 'LookupError', 'MemoryError', 'NameError', 'NotImplementedError', 'OSError',
+    'OverflowError', 'PendingDeprecationWarning', 'ReferenceError', 'RuntimeError', 'RuntimeWarning',
+    'StopIteration', 'SyntaxError', 'SyntaxWarning', 'SystemError', 'SystemExit', 'TabError', 'TypeError',
+    'UnboundLocalError', 'UnicodeDecodeError', 'UnicodeEncodeError', 'UnicodeError', 'UnicodeTranslateError',
+    'UnicodeWarning', 'UserWarning', 'ValueError', 'Warning', 'ZeroDivisionError'
+]
+
+
+class Worker:
+    def __init__(self, config):
+        self.entrypoint = config['entrypoint']
+        self.timeout = config['timeout']
+        self.whitelist = set(config['whitelist'])
+        self.blacklist = set(config['blacklist'])
+        self.cache_size = config['cacheSize']
+        self.compiled = OrderedDict()
+        self.safe_builtins = {name: getattr(builtins, name) for name in _SAFE_NAMES + _SAFE_EXCEPTIONS}
+        self.safe_builtins['__import__'] = self._safer_import
+        self.loop = asyncio.new_event_loop()
+        asyncio.set_event_loop(self.loop)
+
+    def _safer_import(self, name, my_globals=None, my_locals=None, fromlist=(), level=0):
+        if name not in self.whitelist or name in self.blacklist:
+            raise NameError(f'model {name} is not valid')
+        return importlib.import_module(name)
+
+    def _compile(self, code_hash, code):
+        compiled = self.compiled.get(code_hash)
+        if compiled is not None:
+            self.compiled.move_to_end(code_hash)
+            return compiled
+        compiled = compile(f'{_HEADER}{code}\n\n', '<code>', 'exec')
+        self.compiled[code_hash] = compiled
+        if len(self.compiled) > self.cache_size:
+            self.compiled.popitem(last=False)
+        return compiled
+
+    def execute(self, item):
+        code = item['code']
+        match = _ESCAPE_PATTERN.search(code)
+        if match is not None:
+            return _err(EXCEPTION_FROM_USER_CODE_OCCURRED, f'{match.group()} is not allowed in code node')
+        try:
+            restricted_globals = {'__builtins__': {**self.safe_builtins, 'Args': dict}}
+            exec(self._compile(item['hash'], code), restricted_globals)
+            entrypoint = restricted_globals.get(self.entrypoint)
+            if entrypoint is None or not inspect.isfunction(entrypoint):
+                raise NameError('main function not defined')
+            if not inspect.iscoroutinefunction(entrypoint):
+                return _err(EXCEPTION_FROM_USER_CODE_OCCURRED, 'Unable to execute non-asynchronous function')
+            ret = self.loop.run_until_complete(asyncio.wait_for(entrypoint(item['args']), self.timeout))
+            return {'ok': True, 'value': json.dumps(ret)}
+        except asyncio.TimeoutError:
+            return _err(TIME_OUT_EXCEPTION_FROM_USER_CODE_OCCURRED, '[TimeoutError] Execution timed out')
+        except Exception as err:
+            return _err(EXCEPTION_FROM_USER_CODE_OCCURRED, _get_except_msg(err))
+
+
+def _err(code, msg):
+    return {'ok': False, 'code': code, 'msg': msg}
+
+
+def _get_except_msg(error):
+    if isinstance(error, SyntaxError):
+        error_msg = f'{error.msg} at line {error.lineno - _HEADER_LEN}, column {error.offset}: {error.text}'
+    elif isinstance(error, KeyError):
+        error_msg = f'key {str(error)} do not exist'
+    else:
+        error_msg = str(error)
+    return f'[{error.__class__.__name__}] {error_msg}'
+
+
+def main():
+    # 协议独占原标准输出，其它输出重定向到标准错误，避免污染协议。
+    out = os.fdopen(os.dup(1), 'w', encoding='utf-8')
+    os.dup2(2, 1)
+    config = json.loads(sys.stdin.readline())
+    for module in config['preload']:
+        importlib.import_module(module)
+    if resource and config['memLimit'] > 0:
+        resource.setrlimit(resource.RLIMIT_AS, (config['memLimit'], config['memLimit']))
+    worker = Worker(config)
+    out.write('{"ready": true}\n')
+    out.flush()
+    for line in sys.stdin:
+        for item in json.loads(line):
+            output = io.StringIO()
+            try:
+                with contextlib.redirect_stdout(output), contextlib.redirect_stderr(output):
+                    result = worker.execute(item)
+            except MemoryError:
+                result = _err(EXCEPTION_FROM_USER_CODE_OCCURRED, '[MemoryError] Memory limit exceeded')
+            if output.tell() > 0:
+                result['output'] = output.getvalue()[-_MAX_OUTPUT_CHARS:]
+            out.write(json.dumps(result) + '\n')
+            out.flush()
+
+
+if __name__ == '__main__':
+    main()
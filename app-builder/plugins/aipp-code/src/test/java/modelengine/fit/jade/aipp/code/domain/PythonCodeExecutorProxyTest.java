@@ -16,10 +16,12 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import modelengine.fit.jade.aipp.code.config.CodeExecutorAutoConfig;
+import modelengine.fit.jade.aipp.code.config.LocalWorkerConfig;
 import modelengine.fit.jade.aipp.code.domain.entity.CodeExecutor;
 import modelengine.fit.jade.aipp.code.domain.entity.ProgrammingLanguage;
 import modelengine.fit.jade.aipp.code.domain.entity.support.PythonCodeExecutorProxy;
 import modelengine.fit.jade.aipp.code.domain.factory.CodeExecutorFactory;
+import modelengine.fit.jade.aipp.code.worker.PythonWorkerPool;
 import modelengine.fit.serialization.json.jackson.JacksonObjectSerializer;
 import modelengine.fitframework.broker.client.BrokerClient;
 import modelengine.fitframework.broker.client.Invoker;
@@ -54,8 +56,11 @@ public class PythonCodeExecutorProxyTest {
 
         when(brokerClient.getRouter(anyString())).thenReturn(router);
         when(router.route(any())).thenReturn(invoker);
+        JacksonObjectSerializer serializer = new JacksonObjectSerializer(null, null, null, true);
         factory = new CodeExecutorAutoConfig().getCodeExecutorFactory(brokerClient,
-                new JacksonObjectSerializer(null, null, null, true));
+                serializer,
+                new LocalWorkerConfig(),
+                new PythonWorkerPool(new LocalWorkerConfig(), serializer));
     }
 
     @Nested
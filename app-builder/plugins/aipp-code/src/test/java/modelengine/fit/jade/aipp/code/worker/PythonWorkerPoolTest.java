@@ -0,0 +1,191 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.code.worker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import modelengine.fit.jade.aipp.code.config.LocalWorkerConfig;
+import modelengine.fit.jade.aipp.code.util.Constant;
+import modelengine.fit.serialization.json.jackson.JacksonObjectSerializer;
+import modelengine.fitframework.exception.FitException;
+import modelengine.fitframework.util.MapBuilder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 表示 {@link PythonWorkerPool} 的测试集，依赖本地的 python3。
+ *
+ * @author 邱晓霞
+ * @since 2025-04-30
+ */
+@DisplayName("测试 PythonWorkerPool")
+public class PythonWorkerPoolTest {
+    private static final String ADD_CODE = "async def main(args):\n    return args['n'] + 1\n";
+    private static final String COUNTER_CODE = "async def main(args):\n    try:\n        json.runs += 1\n"
+            + "    except AttributeError:\n        json.runs = 1\n    return json.runs\n";
+
+    private PythonWorkerPool pool;
+
+    @BeforeAll
+    static void beforeAll() throws InterruptedException {
+        boolean isAvailable;
+        try {
+            isAvailable = new ProcessBuilder("python3", "--version").start().waitFor(10, TimeUnit.SECONDS);
+        } catch (IOException e) {
+            isAvailable = false;
+        }
+        assumeTrue(isAvailable, "python3 is not available.");
+    }
+
+    @AfterEach
+    void teardown() {
+        if (this.pool != null) {
+            this.pool.close();
+        }
+    }
+
+    @Test
+    @DisplayName("执行成功，返回序列化后的结果")
+    void shouldReturnResultWhenExecute() {
+        this.pool = this.createPool(new LocalWorkerConfig());
+
+        assertThat(this.pool.execute(MapBuilder.<String, Object>get().put("n", 1).build(), ADD_CODE)).isEqualTo("2");
+        assertThatThrownBy(() -> this.pool.execute(MapBuilder.<String, Object>get().build(),
+                "import os\nasync def main(args):\n    return 1\n")).isInstanceOf(FitException.class)
+                .extracting("code", "message")
+                .containsExactly(Constant.USER_CODE_EXCEPTION_CODE, "[NameError] model os is not valid");
+    }
+
+    @Test
+    @DisplayName("执行超时时销毁执行进程，后续执行不受影响")
+    void shouldTimeoutAndRecoverWhenInfiniteLoop() {
+        LocalWorkerConfig config = new LocalWorkerConfig();
+        config.setPoolSize(1);
+        config.setTimeout(1);
+        this.pool = this.createPool(config);
+
+        assertThatThrownBy(() -> this.pool.execute(MapBuilder.<String, Object>get().build(),
+                "async def main(args):\n    while True:\n        pass\n")).isInstanceOf(FitException.class)
+                .extracting("code")
+                .isEqualTo(Constant.TIME_OUT_CODE);
+        assertThat(this.pool.execute(MapBuilder.<String, Object>get().put("n", 2).build(), ADD_CODE)).isEqualTo("3");
+    }
+
+    @Test
+    @DisplayName("执行进程达到最大执行次数后被回收")
+    void shouldRecycleWorkerWhenMaxRunsReached() {
+        LocalWorkerConfig config = new LocalWorkerConfig();
+        config.setPoolSize(1);
+        config.setMaxRunsPerWorker(2);
+        this.pool = this.createPool(config);
+
+        List<String> runs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            runs.add(this.pool.execute(MapBuilder.<String, Object>get().build(), COUNTER_CODE));
+        }
+
+        assertThat(runs).containsExactly("1", "2", "1", "2");
+    }
+
+    @Test
+    @DisplayName("超过内存上限时执行失败")
+    void shouldFailWhenMemoryLimitExceeded() {
+        LocalWorkerConfig config = new LocalWorkerConfig();
+        config.setPoolSize(1);
+        this.pool = this.createPool(config);
+
+        assertThatThrownBy(() -> this.pool.execute(MapBuilder.<String, Object>get().build(),
+                "async def main(args):\n    return len([i for i in range(10**8)])\n")).isInstanceOf(FitException.class)
+                .extracting("code")
+                .isEqualTo(Constant.USER_CODE_EXCEPTION_CODE);
+    }
+
+    @Test
+    @DisplayName("并发的小执行合并发送，全部执行成功")
+    void shouldExecuteConcurrentCallsInBatches() {
+        LocalWorkerConfig config = new LocalWorkerConfig();
+        config.setPoolSize(2);
+        config.setMaxBatchSize(16);
+        this.pool = this.createPool(config);
+        int calls = 1000;
+        ExecutorService callers = Executors.newFixedThreadPool(32);
+        try {
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            for (int i = 0; i < calls; i++) {
+                int n = i;
+                results.add(CompletableFuture.supplyAsync(() -> this.pool.execute(MapBuilder.<String, Object>get()
+                        .put("n", n)
+                        .build(), ADD_CODE), callers));
+            }
+            for (int i = 0; i < calls; i++) {
+                assertThat(results.get(i).join()).isEqualTo(String.valueOf(i + 1));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("同批请求依次执行时，每条请求从开始执行时计算超时")
+    void shouldStartTimeoutWhenTaskStarted() {
+        LocalWorkerConfig config = new LocalWorkerConfig();
+        config.setPoolSize(1);
+        config.setTimeout(1);
+        config.setImportWhitelist(Arrays.asList("json", "typing", "asyncio"));
+        this.pool = this.createPool(config);
+        assertThat(this.pool.execute(MapBuilder.<String, Object>get().put("n", 1).build(), ADD_CODE)).isEqualTo("2");
+        String sleepCode = "import asyncio\nasync def main(args):\n    await asyncio.sleep(0.7)\n    return 1\n";
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> this.pool.execute(MapBuilder.<String, Object>get()
+                        .build(), sleepCode), callers));
+            }
+            results.forEach(result -> assertThat(result.join()).isEqualTo("1"));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("关闭进程池时执行中的请求立即失败")
+    void shouldFailRunningTasksWhenClosed() throws InterruptedException {
+        LocalWorkerConfig config = new LocalWorkerConfig();
+        config.setPoolSize(1);
+        config.setTimeout(30);
+        this.pool = this.createPool(config);
+        assertThat(this.pool.execute(MapBuilder.<String, Object>get().put("n", 1).build(), ADD_CODE)).isEqualTo("2");
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> this.pool.execute(
+                MapBuilder.<String, Object>get().build(), "async def main(args):\n    while True:\n        pass\n"));
+        Thread.sleep(500);
+        this.pool.close();
+
+        assertThatThrownBy(() -> running.get(5, TimeUnit.SECONDS)).getCause()
+                .isInstanceOf(FitException.class)
+                .hasMessage("The code worker pool is closed.");
+    }
+
+    private PythonWorkerPool createPool(LocalWorkerConfig config) {
+        return new PythonWorkerPool(config, new JacksonObjectSerializer(null, null, null, true));
+    }
+}
@@ -10,9 +10,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import modelengine.fit.jade.aipp.model.dto.UserModelDetailDto;
 import modelengine.fit.jade.aipp.model.enums.ModelType;
+import modelengine.fit.jade.aipp.model.events.ModelConfigChangedEvent;
 import modelengine.fit.jade.aipp.model.po.ModelPo;
 import modelengine.fit.jade.aipp.model.po.UserModelPo;
 import modelengine.fit.jade.aipp.model.repository.UserModelRepo;
+import modelengine.fitframework.event.EventPublisher;
+import modelengine.fitframework.runtime.FitRuntime;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -41,9 +44,16 @@ public class UserModelConfigServiceTest {
     @Mock
     private UserModelRepo userModelRepo;
 
+    @Mock
+    private FitRuntime fitRuntime;
+
+    @Mock
+    private EventPublisher eventPublisher;
+
     @BeforeEach
     void setUp() {
-        this.userModelConfigService = new UserModelConfigService(userModelRepo);
+        Mockito.lenient().when(this.fitRuntime.publisherOfEvents()).thenReturn(this.eventPublisher);
+        this.userModelConfigService = new UserModelConfigService(userModelRepo, fitRuntime);
     }
 
     @Test
@@ -118,5 +128,8 @@ public class UserModelConfigServiceTest {
 
         String result = userModelConfigService.switchDefaultModel(userId, modelId);
         assertEquals("已切换gpt为默认模型。", result);
+        Mockito.verify(eventPublisher)
+                .publishEvent(ArgumentMatchers.<ModelConfigChangedEvent>argThat(event -> userId.equals(
+                        event.getUserId())));
     }
 }
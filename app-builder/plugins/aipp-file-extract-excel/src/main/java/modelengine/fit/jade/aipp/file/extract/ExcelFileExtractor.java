@@ -11,6 +11,7 @@ import cn.idev.excel.FastExcel;
 import cn.idev.excel.context.AnalysisContext;
 import cn.idev.excel.converters.Converter;
 import cn.idev.excel.enums.CellDataTypeEnum;
+import cn.idev.excel.exception.ExcelAnalysisStopException;
 import cn.idev.excel.metadata.GlobalConfiguration;
 import cn.idev.excel.metadata.data.DataFormatData;
 import cn.idev.excel.metadata.data.ReadCellData;
@@ -23,9 +24,11 @@ import lombok.NonNull;
 import modelengine.fit.jober.aipp.service.OperatorService;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Fitable;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.flowable.Choir;
+import modelengine.fitframework.inspection.Validation;
 
 import java.io.BufferedInputStream;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
@@ -33,21 +36,41 @@ import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
-import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * Excel文件的提取器。
+ * <p>文件按行流式读取，提取结果受最大行数和最大字符数限制，超出部分被截断，避免大文件占满内存。
+ * 每次提取只打开一次文件，所有工作表共用同一个读取器按顺序读取。</p>
  *
  * @author 黄政炫
  * @since 2025-09-06
  */
 @Component
 public class ExcelFileExtractor implements FileExtractor {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final String CELL_SEPARATOR = "\t";
+
+    private final int maxRows;
+    private final int maxChars;
+
+    /**
+     * 创建 Excel 文件提取器。
+     *
+     * @param maxRows 表示提取的最大行数的 {@code int}，包含每个工作表的标题行。
+     * @param maxChars 表示提取的最大字符数的 {@code int}。
+     */
+    public ExcelFileExtractor(@Value("${excel-extract.max-rows:100000}") int maxRows,
+            @Value("${excel-extract.max-chars:10000000}") int maxChars) {
+        this.maxRows = Validation.greaterThan(maxRows, 0, "The max rows should be positive.");
+        this.maxChars = Validation.greaterThan(maxChars, 0, "The max chars should be positive.");
+    }
+
     /**
      * 把单元格转换成格式化字符串。
      *
@@ -62,8 +85,7 @@ public class ExcelFileExtractor implements FileExtractor {
                 DataFormatData fmt = cell.getDataFormatData();
                 if (DateUtils.isADateFormat(fmt.getIndex(), fmt.getFormat())) {
                     double value = cell.getNumberValue().doubleValue();
-                    Date date = DateUtils.getJavaDate(value, true);
-                    return new SimpleDateFormat("yyyy-MM-dd").format(date);
+                    return DATE_FORMATTER.format(DateUtils.getLocalDate(value, true));
                 } else {
                     BigDecimal num = cell.getNumberValue();
                     return num.stripTrailingZeros().toPlainString();
@@ -103,6 +125,7 @@ public class ExcelFileExtractor implements FileExtractor {
 
     /**
      * 从指定路径的 Excel 文件中提取内容，并返回为字符串形式。
+     * <p>超出最大行数或最大字符数的内容被截断。</p>
      *
      * @param fileUrl 表示文件路径的 {@link String}。
      * @return 表示文件内容的 {@link String}。
@@ -110,27 +133,80 @@ public class ExcelFileExtractor implements FileExtractor {
     @Override
     @Fitable(id = "extract-file-excel")
     public String extractFile(String fileUrl) {
+        Path path = this.toPath(fileUrl);
+        BoundedContent content = new BoundedContent(this.maxRows, this.maxChars);
+        this.readSheets(path, content::append);
+        return content.finish();
+    }
+
+    /**
+     * 按行流式读取指定路径的 Excel 文件，每个工作表先输出一行 {@code Sheet n:}，随后逐行输出单元格内容。
+     * <p>当 {@code rowHandler} 返回 {@code false} 时停止读取，已读取的行不会在内存中保留。</p>
+     *
+     * @param fileUrl 表示文件路径的 {@link String}。
+     * @param rowHandler 表示行处理器的 {@link Predicate}{@code <}{@link String}{@code >}，返回是否继续读取。
+     */
+    public void extractRows(String fileUrl, Predicate<String> rowHandler) {
+        this.readSheets(this.toPath(fileUrl), rowHandler);
+    }
+
+    /**
+     * 按行流式读取指定路径的 Excel 文件，行内容与 {@link #extractRows(String, Predicate)} 一致。
+     * <p>最多发送最大行数条数据。</p>
+     *
+     * @param fileUrl 表示文件路径的 {@link String}。
+     * @return 表示行内容数据流的 {@link Choir}{@code <}{@link String}{@code >}。
+     */
+    public Choir<String> extractRows(String fileUrl) {
+        Path path = this.toPath(fileUrl);
+        return Choir.create(emitter -> {
+            int[] emitted = new int[1];
+            try {
+                this.readSheets(path, row -> {
+                    emitter.emit(row);
+                    return ++emitted[0] < this.maxRows;
+                });
+                emitter.complete();
+            } catch (RuntimeException e) {
+                emitter.fail(e);
+            }
+        });
+    }
+
+    private Path toPath(String fileUrl) {
         if (!isValidPath(fileUrl)) {
             throw new IllegalArgumentException(String.format("Invalid FilePath. [fileUrl=%s]", fileUrl));
         }
-        File file = Paths.get(fileUrl).toFile();
-        StringBuilder excelContent = new StringBuilder();
-        ExcelReadListener listener = new ExcelReadListener(excelContent);
+        return Paths.get(fileUrl);
+    }
+
+    private void readSheets(Path path, Predicate<String> rowHandler) {
+        RowListener listener = new RowListener(rowHandler);
+        this.read(path, listener, reader -> {
+            for (ReadSheet meta : reader.excelExecutor().sheetList()) {
+                if (!listener.accept(sheetTitle(meta.getSheetNo()))) {
+                    return;
+                }
+                reader.read(FastExcel.readSheet(meta.getSheetNo()).headRowNumber(0).build());
+                if (listener.isStopped()) {
+                    return;
+                }
+            }
+        });
+    }
+
+    private void read(Path path, RowListener listener, ReaderAction action) {
         ExcelReader reader = null;
-        try (InputStream is = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(path))) {
             reader = FastExcel.read(is, listener)
                     .registerConverter(new CustomCellStringConverter())
                     .headRowNumber(0)
                     .build();
-
-            List<ReadSheet> sheets = reader.excelExecutor().sheetList();
-            for (ReadSheet meta : sheets) {
-                excelContent.append("Sheet ").append(meta.getSheetNo() + 1).append(':').append('\n');
-                ReadSheet readSheet = FastExcel.readSheet(meta.getSheetNo()).headRowNumber(0).build();
-                reader.read(readSheet);
-            }
-            excelContent.append('\n');
-        } catch (IOException e) {
+            action.apply(reader);
+        } catch (ExcelAnalysisStopException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            // POI 的解析异常不一定被 FastExcel 包装，统一转换为提取失败。
             throw new IllegalStateException(String.format("Fail to extract excel file. [exception=%s]", e.getMessage()),
                     e);
         } finally {
@@ -138,17 +214,83 @@ public class ExcelFileExtractor implements FileExtractor {
                 reader.finish(); // 关闭资源
             }
         }
-        return excelContent.toString();
+    }
+
+    private static String sheetTitle(int sheetNo) {
+        return "Sheet " + (sheetNo + 1) + ':';
+    }
+
+    /**
+     * 对读取器执行的操作。
+     */
+    @FunctionalInterface
+    private interface ReaderAction {
+        /**
+         * 使用读取器读取内容。
+         *
+         * @param reader 表示读取器的 {@link ExcelReader}。
+         */
+        void apply(ExcelReader reader);
     }
 
     /**
-     * 读取监听器的内部类实现。
+     * 受最大行数和最大字符数限制的提取内容。
      */
-    private class ExcelReadListener implements ReadListener<Map<Integer, String>> {
-        private final StringBuilder excelContent;
+    private static class BoundedContent {
+        private final StringBuilder content = new StringBuilder();
+        private int remainingRows;
+        private int remainingChars;
+
+        BoundedContent(int maxRows, int maxChars) {
+            this.remainingRows = maxRows;
+            this.remainingChars = maxChars;
+        }
+
+        /**
+         * 追加一行内容，超出字符数上限的部分被截断。
+         *
+         * @param line 表示行内容的 {@link String}。
+         * @return 表示是否还能继续追加的 {@code boolean}。
+         */
+        boolean append(String line) {
+            if (!this.hasRemaining()) {
+                return false;
+            }
+            // 换行符同样计入字符数。
+            String accepted = line.length() < this.remainingChars ? line : line.substring(0, this.remainingChars - 1);
+            this.content.append(accepted).append('\n');
+            this.remainingRows--;
+            this.remainingChars -= accepted.length() + 1;
+            return this.hasRemaining();
+        }
 
-        ExcelReadListener(StringBuilder excelContent) {
-            this.excelContent = excelContent;
+        private boolean hasRemaining() {
+            return this.remainingRows > 0 && this.remainingChars > 1;
+        }
+
+        String finish() {
+            return this.content.append('\n').toString();
+        }
+    }
+
+    /**
+     * 读取监听器的内部类实现，将每一行交给行处理器，行处理器要求停止时中止读取。
+     */
+    private static class RowListener implements ReadListener<Map<Integer, String>> {
+        private final Predicate<String> rowHandler;
+        private boolean stopped;
+
+        RowListener(Predicate<String> rowHandler) {
+            this.rowHandler = rowHandler;
+        }
+
+        boolean accept(String line) {
+            this.stopped = !this.rowHandler.test(line);
+            return !this.stopped;
+        }
+
+        boolean isStopped() {
+            return this.stopped;
         }
 
         @Override
@@ -157,8 +299,10 @@ public class ExcelFileExtractor implements FileExtractor {
                     .stream()
                     .sorted(Map.Entry.comparingByKey())
                     .map(e -> e.getValue() == null ? "" : e.getValue())
-                    .collect(Collectors.joining("\t"));
-            this.excelContent.append(line).append('\n');
+                    .collect(Collectors.joining(CELL_SEPARATOR));
+            if (!this.accept(line)) {
+                throw new ExcelAnalysisStopException();
+            }
         }
 
         @Override
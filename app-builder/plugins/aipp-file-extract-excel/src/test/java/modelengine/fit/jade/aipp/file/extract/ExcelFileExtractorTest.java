@@ -9,16 +9,25 @@ package modelengine.fit.jade.aipp.file.extract;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import cn.idev.excel.ExcelWriter;
+import cn.idev.excel.FastExcel;
 import modelengine.fit.jober.aipp.service.OperatorService;
 import modelengine.fitframework.annotation.Fit;
 import modelengine.fitframework.test.annotation.FitTestWithJunit;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 表示{@link ExcelFileExtractor}的测试集。
@@ -69,4 +78,97 @@ class ExcelFileExtractorTest {
                 """;
         assertThat(this.excelFileExtractor.extractFile(file.getAbsolutePath())).isEqualTo(expected);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("测试超大文件按行数上限截断且在达到上限后停止读取")
+    void shouldTruncateLargeFileByRows(@TempDir Path dir) throws IOException {
+        Path file = this.writeCsv(dir.resolve("large.csv"), 1_000_000);
+        ExcelFileExtractor extractor = new ExcelFileExtractor(1000, 1_000_000);
+
+        String content = extractor.extractFile(file.toString());
+
+        assertThat(content.split("\n")).hasSize(1000);
+        assertThat(content).startsWith("Sheet 1:\n0\tname_0\t").endsWith("998\tname_998\t998\n\n");
+    }
+
+    @Test
+    @DisplayName("测试提取结果不超过字符数上限")
+    void shouldTruncateByChars(@TempDir Path dir) throws IOException {
+        Path file = this.writeCsv(dir.resolve("chars.csv"), 10_000);
+        ExcelFileExtractor extractor = new ExcelFileExtractor(100_000, 100);
+
+        String content = extractor.extractFile(file.toString());
+
+        assertThat(content).hasSize(101).startsWith("Sheet 1:\n0\tname_0\t0\n").endsWith("\n\n");
+    }
+
+    @Test
+    @DisplayName("测试流式读取一百万行时逐行交给处理器且不保留已读取的行")
+    void shouldStreamMillionRows(@TempDir Path dir) throws IOException {
+        Path file = this.writeCsv(dir.resolve("stream.csv"), 1_000_000);
+        AtomicInteger rows = new AtomicInteger();
+        AtomicInteger maxLength = new AtomicInteger();
+
+        this.excelFileExtractor.extractRows(file.toString(), row -> {
+            rows.incrementAndGet();
+            maxLength.accumulateAndGet(row.length(), Math::max);
+            return true;
+        });
+
+        assertThat(rows.get()).isEqualTo(1_000_001);
+        assertThat(maxLength.get()).isLessThan(32);
+    }
+
+    @Test
+    @DisplayName("测试多个工作表共用一个读取器按顺序读取")
+    void shouldReadSheetsInOrder(@TempDir Path dir) {
+        Path file = dir.resolve("sheets.xlsx");
+        try (ExcelWriter writer = FastExcel.write(file.toFile()).build()) {
+            for (int sheetNo = 0; sheetNo < 3; sheetNo++) {
+                List<List<String>> rows = new ArrayList<>();
+                for (int i = 0; i < 100; i++) {
+                    rows.add(List.of("s" + sheetNo, String.valueOf(i)));
+                }
+                writer.write(rows, FastExcel.writerSheet(sheetNo, "sheet" + sheetNo).build());
+            }
+        }
+
+        String content = new ExcelFileExtractor(150, 1_000_000).extractFile(file.toString());
+
+        assertThat(content).startsWith("Sheet 1:\ns0\t0\n").contains("Sheet 2:\ns1\t0\n").doesNotContain("Sheet 3:");
+        assertThat(content.split("\n")).hasSize(150);
+    }
+
+    @Test
+    @DisplayName("测试数据流最多发送最大行数条数据")
+    void shouldEmitRowsAsChoir(@TempDir Path dir) throws IOException {
+        Path file = this.writeCsv(dir.resolve("choir.csv"), 100);
+        ExcelFileExtractor extractor = new ExcelFileExtractor(10, 1_000_000);
+
+        List<String> rows = extractor.extractRows(file.toString()).blockAll();
+
+        assertThat(rows).hasSize(10).first().isEqualTo("Sheet 1:");
+        assertThat(rows.get(9)).isEqualTo("8\tname_8\t8");
+    }
+
+    @Test
+    @DisplayName("测试数据流读取损坏的文件时以异常结束")
+    void shouldFailChoirWhenFileCorrupted(@TempDir Path dir) throws IOException {
+        Path file = Files.write(dir.resolve("corrupted.xlsx"), new byte[] {0x50, 0x4B, 0x03, 0x04, 0x00, 0x01});
+        ExcelFileExtractor extractor = new ExcelFileExtractor(10, 1_000_000);
+
+        assertThrows(IllegalStateException.class, () -> extractor.extractFile(file.toString()));
+        Exception exception = assertThrows(Exception.class, () -> extractor.extractRows(file.toString()).blockAll());
+        assertThat(exception).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private Path writeCsv(Path file, int rows) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < rows; i++) {
+                writer.write(i + ",name_" + i + "," + i % 1000);
+                writer.newLine();
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,55 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.http.call.client;
+
+import modelengine.fit.http.client.HttpClassicClientFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 表示 http 客户端配置的不可变指纹，用于在客户端池中查找客户端。
+ * <p>指纹在创建时复制配置中的超时时间和自定义配置（代理、证书校验等），之后对原配置的修改不会影响指纹。</p>
+ *
+ * @param connectTimeout 表示连接超时时间的 {@code int}。
+ * @param connectionRequestTimeout 表示获取连接超时时间的 {@code int}。
+ * @param socketTimeout 表示读写超时时间的 {@code int}。
+ * @param custom 表示自定义配置的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
+ * @author 张越
+ * @since 2025-04-30
+ */
+public record ClientConfigKey(int connectTimeout, int connectionRequestTimeout, int socketTimeout,
+        Map<String, Object> custom) {
+    /**
+     * 根据客户端配置创建指纹。
+     *
+     * @param config 表示客户端配置的 {@link HttpClassicClientFactory.Config}。
+     * @return 表示配置指纹的 {@link ClientConfigKey}。
+     */
+    public static ClientConfigKey of(HttpClassicClientFactory.Config config) {
+        return new ClientConfigKey(config.connectTimeout(),
+                config.connectionRequestTimeout(),
+                config.socketTimeout(),
+                Collections.unmodifiableMap(new TreeMap<>(config.custom())));
+    }
+
+    /**
+     * 根据指纹创建新的客户端配置。
+     *
+     * @return 表示客户端配置的 {@link HttpClassicClientFactory.Config}。
+     */
+    public HttpClassicClientFactory.Config toConfig() {
+        HttpClassicClientFactory.Config config = HttpClassicClientFactory.Config.builder()
+                .connectTimeout(this.connectTimeout)
+                .connectionRequestTimeout(this.connectionRequestTimeout)
+                .socketTimeout(this.socketTimeout)
+                .build();
+        config.custom().putAll(this.custom);
+        return config;
+    }
+}
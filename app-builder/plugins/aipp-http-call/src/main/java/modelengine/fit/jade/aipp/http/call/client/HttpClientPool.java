@@ -0,0 +1,97 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.http.call.client;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fit.http.client.HttpClassicClient;
+import modelengine.fit.http.client.HttpClassicClientFactory;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.log.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * http 客户端池。
+ * <p>按配置指纹复用客户端，复用客户端即复用其底层连接池。池的容量有上限，超出时淘汰最久未使用的客户端。</p>
+ *
+ * @author 张越
+ * @since 2025-04-30
+ */
+@Component
+public class HttpClientPool {
+    private static final Logger log = Logger.get(HttpClientPool.class);
+
+    private final HttpClassicClientFactory factory;
+    private final int maxSize;
+    private final Map<ClientConfigKey, HttpClassicClient> clients;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public HttpClientPool(HttpClassicClientFactory factory,
+            @Value("${http-call.client-pool.max-size:64}") int maxSize) {
+        this.factory = notNull(factory, "The factory cannot be null.");
+        this.maxSize = greaterThan(maxSize, 0, "The max size of client pool must be positive.");
+        this.clients = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ClientConfigKey, HttpClassicClient> eldest) {
+                if (this.size() <= HttpClientPool.this.maxSize) {
+                    return false;
+                }
+                HttpClientPool.this.evictions++;
+                log.debug("Evict http client. [config={}]", eldest.getKey());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * 获取指定配置的客户端，不存在时创建。
+     *
+     * @param config 表示客户端配置的 {@link HttpClassicClientFactory.Config}。
+     * @return 表示客户端的 {@link HttpClassicClient}。
+     */
+    public HttpClassicClient get(HttpClassicClientFactory.Config config) {
+        ClientConfigKey key = ClientConfigKey.of(config);
+        synchronized (this.clients) {
+            HttpClassicClient client = this.clients.get(key);
+            if (client != null) {
+                this.hits++;
+                return client;
+            }
+            this.misses++;
+            client = this.factory.create(key.toConfig());
+            this.clients.put(key, client);
+            return client;
+        }
+    }
+
+    /**
+     * 获取客户端池的统计。
+     *
+     * @return 表示客户端池统计的 {@link Metrics}。
+     */
+    public Metrics metrics() {
+        synchronized (this.clients) {
+            return new Metrics(this.hits, this.misses, this.evictions, this.clients.size());
+        }
+    }
+
+    /**
+     * 表示客户端池的统计。
+     *
+     * @param hits 表示复用已有客户端次数的 {@code long}。
+     * @param misses 表示新建客户端次数的 {@code long}。
+     * @param evictions 表示淘汰客户端次数的 {@code long}。
+     * @param size 表示当前客户端数量的 {@code int}。
+     */
+    public record Metrics(long hits, long misses, long evictions, int size) {}
+}
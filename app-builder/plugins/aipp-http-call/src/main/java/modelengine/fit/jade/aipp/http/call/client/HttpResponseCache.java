@@ -0,0 +1,243 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.http.call.client;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+
+import com.alibaba.fastjson.JSON;
+
+import modelengine.fit.http.client.HttpClassicClientRequest;
+import modelengine.fit.http.client.HttpClassicClientResponse;
+import modelengine.fit.http.protocol.HttpResponseStatus;
+import modelengine.fit.http.protocol.MessageHeaderNames;
+import modelengine.fit.http.protocol.MessageHeaders;
+import modelengine.fit.jade.aipp.http.call.Authentication;
+import modelengine.fit.jade.aipp.http.call.command.HttpCallResult;
+import modelengine.fit.jade.aipp.http.call.enums.HttpRequestMethodType;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * http 调用的响应缓存，只缓存 GET 和 HEAD 请求。
+ * <p>缓存遵循响应的 {@code Cache-Control}：{@code no-store} 和 {@code private} 的响应不缓存，
+ * 在 {@code max-age} 内直接使用缓存，过期或 {@code no-cache} 时携带 {@code ETag} 和 {@code Last-Modified} 重新校验，
+ * 服务端返回 304 时继续使用缓存。缓存条目数量和单个条目的字符数都有上限，超出条目数量时淘汰最久未使用的条目。</p>
+ *
+ * @author 张越
+ * @since 2025-04-30
+ */
+@Component
+public class HttpResponseCache {
+    private static final Pattern MAX_AGE = Pattern.compile("max-age\\s*=\\s*\"?(\\d+)\"?");
+
+    private final boolean isEnabled;
+    private final int maxEntryChars;
+    private final Map<String, CachedResponse> entries;
+    private long hits;
+    private long revalidations;
+    private long misses;
+
+    public HttpResponseCache(@Value("${http-call.response-cache.enabled:false}") boolean isEnabled,
+            @Value("${http-call.response-cache.max-entries:1024}") int maxEntries,
+            @Value("${http-call.response-cache.max-entry-chars:65536}") int maxEntryChars) {
+        this.isEnabled = isEnabled;
+        this.maxEntryChars = maxEntryChars;
+        int capacity = isEnabled ? greaterThan(maxEntries, 0, "The max entries of response cache must be positive.") : 0;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return this.size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * 计算请求的缓存键。
+     *
+     * @param method 表示请求方法的 {@link HttpRequestMethodType}。
+     * @param url 表示完整请求地址的 {@link String}。
+     * @param headers 表示请求头的 {@link Map}{@code <}{@link String}{@code , }{@link String}{@code >}。
+     * @param authentication 表示鉴权信息的 {@link Optional}{@code <}{@link Authentication}{@code >}。
+     * @return 表示缓存键的 {@link Optional}{@code <}{@link String}{@code >}，请求不可缓存时为空。
+     */
+    public Optional<String> keyOf(HttpRequestMethodType method, String url, Map<String, String> headers,
+            Optional<Authentication> authentication) {
+        if (!this.isEnabled || (method != HttpRequestMethodType.GET && method != HttpRequestMethodType.HEAD)) {
+            return Optional.empty();
+        }
+        Map<String, String> sortedHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        sortedHeaders.putAll(headers);
+        String cacheControl = sortedHeaders.get(MessageHeaderNames.CACHE_CONTROL);
+        if (cacheControl != null && (contains(cacheControl, "no-store") || contains(cacheControl, "no-cache"))) {
+            return Optional.empty();
+        }
+        StringBuilder key = new StringBuilder().append(method.name()).append(' ').append(url).append('\n');
+        sortedHeaders.forEach((name, value) -> key.append(name.toLowerCase(Locale.ROOT))
+                .append(':')
+                .append(value)
+                .append('\n'));
+        authentication.ifPresent(auth -> key.append(auth.getType())
+                .append(':')
+                .append(auth.getHeader())
+                .append(':')
+                .append(auth.getAuthKey()));
+        return Optional.of(key.toString());
+    }
+
+    /**
+     * 获取未过期的缓存结果，缓存已过期但可以重新校验时，为请求添加校验条件。
+     *
+     * @param key 表示缓存键的 {@link String}。
+     * @param request 表示待发送请求的 {@link HttpClassicClientRequest}。
+     * @return 表示未过期的缓存结果的 {@link Optional}{@code <}{@link HttpCallResult}{@code >}。
+     */
+    public Optional<HttpCallResult> lookup(String key, HttpClassicClientRequest request) {
+        CachedResponse cached;
+        synchronized (this.entries) {
+            cached = this.entries.get(key);
+            if (cached == null) {
+                this.misses++;
+                return Optional.empty();
+            }
+            if (cached.expiresAt() > System.currentTimeMillis()) {
+                this.hits++;
+                return Optional.of(cached.toResult());
+            }
+        }
+        if (cached.etag() != null) {
+            request.headers().add(MessageHeaderNames.IF_NONE_MATCH, cached.etag());
+        }
+        if (cached.lastModified() != null) {
+            request.headers().add(MessageHeaderNames.IF_MODIFIED_SINCE, cached.lastModified());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 根据响应更新缓存，并返回调用结果。
+     *
+     * @param key 表示缓存键的 {@link String}。
+     * @param response 表示响应的 {@link HttpClassicClientResponse}{@code <}{@link Object}{@code >}。
+     * @return 表示调用结果的 {@link HttpCallResult}。
+     */
+    public HttpCallResult update(String key, HttpClassicClientResponse<Object> response) {
+        if (response.statusCode() == HttpResponseStatus.NOT_MODIFIED.statusCode()) {
+            synchronized (this.entries) {
+                CachedResponse cached = this.entries.get(key);
+                if (cached != null) {
+                    CachedResponse refreshed = cached.refresh(response.headers());
+                    this.entries.put(key, refreshed);
+                    this.revalidations++;
+                    return refreshed.toResult();
+                }
+            }
+        }
+        HttpCallResult result = new HttpCallResult(response);
+        if (response.statusCode() == HttpResponseStatus.OK.statusCode()) {
+            this.store(key, response.headers(), result);
+        }
+        return result;
+    }
+
+    /**
+     * 获取响应缓存的统计。
+     *
+     * @return 表示响应缓存统计的 {@link Metrics}。
+     */
+    public Metrics metrics() {
+        synchronized (this.entries) {
+            return new Metrics(this.hits, this.revalidations, this.misses, this.entries.size());
+        }
+    }
+
+    private void store(String key, MessageHeaders headers, HttpCallResult result) {
+        String cacheControl = headers.first(MessageHeaderNames.CACHE_CONTROL).orElse(StringUtils.EMPTY);
+        String etag = headers.first(MessageHeaderNames.ETAG).orElse(null);
+        String lastModified = headers.first(MessageHeaderNames.LAST_MODIFIED).orElse(null);
+        long maxAgeMillis = parseMaxAgeMillis(cacheControl, 0L);
+        boolean isStorable = !contains(cacheControl, "no-store") && !contains(cacheControl, "private")
+                && (maxAgeMillis > 0 || etag != null || lastModified != null);
+        Object data = result.getData();
+        boolean isJson = data != null && !(data instanceof String);
+        String body = isJson ? JSON.toJSONString(data) : (String) data;
+        if (!isStorable || (body != null && body.length() > this.maxEntryChars)) {
+            synchronized (this.entries) {
+                this.entries.remove(key);
+            }
+            return;
+        }
+        CachedResponse cached = new CachedResponse(result.getStatus(),
+                body,
+                isJson,
+                etag,
+                lastModified,
+                maxAgeMillis,
+                System.currentTimeMillis() + maxAgeMillis);
+        synchronized (this.entries) {
+            this.entries.put(key, cached);
+        }
+    }
+
+    private static long parseMaxAgeMillis(String cacheControl, long defaultValue) {
+        if (contains(cacheControl, "no-cache")) {
+            return 0L;
+        }
+        Matcher matcher = MAX_AGE.matcher(cacheControl.toLowerCase(Locale.ROOT));
+        if (!matcher.find()) {
+            return defaultValue;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(matcher.group(1)));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private static boolean contains(String cacheControl, String directive) {
+        return cacheControl.toLowerCase(Locale.ROOT).contains(directive);
+    }
+
+    private record CachedResponse(Integer status, String body, boolean isJson, String etag, String lastModified,
+            long maxAgeMillis, long expiresAt) {
+        HttpCallResult toResult() {
+            return HttpCallResult.success(this.status, this.isJson ? JSON.parse(this.body) : this.body);
+        }
+
+        CachedResponse refresh(MessageHeaders headers) {
+            long refreshedMaxAge = headers.first(MessageHeaderNames.CACHE_CONTROL)
+                    .map(cacheControl -> parseMaxAgeMillis(cacheControl, this.maxAgeMillis))
+                    .orElse(this.maxAgeMillis);
+            return new CachedResponse(this.status,
+                    this.body,
+                    this.isJson,
+                    headers.first(MessageHeaderNames.ETAG).orElse(this.etag),
+                    headers.first(MessageHeaderNames.LAST_MODIFIED).orElse(this.lastModified),
+                    refreshedMaxAge,
+                    System.currentTimeMillis() + refreshedMaxAge);
+        }
+    }
+
+    /**
+     * 表示响应缓存的统计。
+     *
+     * @param hits 表示直接使用缓存次数的 {@code long}。
+     * @param revalidations 表示重新校验后继续使用缓存次数的 {@code long}。
+     * @param misses 表示未命中缓存次数的 {@code long}。
+     * @param size 表示当前缓存条目数量的 {@code int}。
+     */
+    public record Metrics(long hits, long revalidations, long misses, int size) {}
+}
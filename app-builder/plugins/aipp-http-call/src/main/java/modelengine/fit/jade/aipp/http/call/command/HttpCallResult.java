@@ -35,6 +35,19 @@ public class HttpCallResult {
         this.errorMsg = errorMsg;
     }
 
+    /**
+     * 创建调用成功的结果。
+     *
+     * @param status 表示响应状态码的 {@link Integer}。
+     * @param data 表示响应数据的 {@link Object}。
+     * @return 表示调用结果的 {@link HttpCallResult}。
+     */
+    public static HttpCallResult success(Integer status, Object data) {
+        HttpCallResult result = new HttpCallResult(status, null);
+        result.data = data;
+        return result;
+    }
+
     private void load(HttpClassicClientResponse<Object> response) {
         this.status = response.statusCode();
         response.entity().map(this::parseEntity).ifPresent(d -> {
@@ -14,6 +14,8 @@ import modelengine.fit.http.client.HttpClassicClientRequest;
 import modelengine.fit.http.client.HttpClassicClientResponse;
 import modelengine.fit.http.protocol.MessageHeaderNames;
 import modelengine.fit.jade.aipp.http.call.Authentication;
+import modelengine.fit.jade.aipp.http.call.client.HttpClientPool;
+import modelengine.fit.jade.aipp.http.call.client.HttpResponseCache;
 import modelengine.fit.jade.aipp.http.call.command.HttpCallCommand;
 import modelengine.fit.jade.aipp.http.call.command.HttpCallCommandHandler;
 import modelengine.fit.jade.aipp.http.call.command.HttpCallResult;
@@ -27,7 +29,7 @@ import modelengine.fitframework.util.StringUtils;
 
 import java.io.IOException;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
 
 /**
  * {@link HttpCallCommand} 命令执行器实现类。
@@ -39,30 +41,41 @@ import java.util.concurrent.ConcurrentHashMap;
 public class HttpCallCommandHandleImpl implements HttpCallCommandHandler {
     private static final Logger log = Logger.get(HttpCallCommandHandleImpl.class);
 
-    private final HttpClassicClientFactory factory;
-    private final Map<HttpClassicClientFactory.Config, HttpClassicClient> clientMap = new ConcurrentHashMap<>();
+    private final HttpClientPool clientPool;
+    private final HttpResponseCache responseCache;
 
-    public HttpCallCommandHandleImpl(HttpClassicClientFactory factory) {
-        notNull(factory, "The factory cannot be null.");
-        this.factory = factory;
+    public HttpCallCommandHandleImpl(HttpClientPool clientPool, HttpResponseCache responseCache) {
+        this.clientPool = notNull(clientPool, "The client pool cannot be null.");
+        this.responseCache = notNull(responseCache, "The response cache cannot be null.");
     }
 
     @Override
     public HttpCallResult handle(HttpCallCommand command) {
         command.validate();
         String completeUrl = command.getCompleteUrl();
-        HttpClassicClient classicClient =
-                this.clientMap.computeIfAbsent(command.getConfig(), this::getHttpClassicClient);
+        HttpClassicClient classicClient = this.clientPool.get(this.getClientConfig(command));
         HttpClassicClientRequest request = classicClient.createRequest(command.getMethod().getOriginMethod(),
                 completeUrl);
-        command.getHeaders().forEach((key, value) -> this.setHeader(request, key, value));
+        Map<String, String> headers = command.getHeaders();
+        headers.forEach((key, value) -> this.setHeader(request, key, value));
         command.getAuthentication().ifPresent(authentication -> this.setAuthentication(authentication, request));
         if (command.getMethod().isBodyEnable()) {
             command.getEntity(request).ifPresent(request::entity);
         }
+        Optional<String> cacheKey =
+                this.responseCache.keyOf(command.getMethod(), completeUrl, headers, command.getAuthentication());
+        if (cacheKey.isPresent()) {
+            Optional<HttpCallResult> cached = this.responseCache.lookup(cacheKey.get(), request);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
 
         // 请求.
         try (HttpClassicClientResponse<Object> response = classicClient.exchange(request, Object.class)) {
+            if (cacheKey.isPresent()) {
+                return this.responseCache.update(cacheKey.get(), response);
+            }
             return new HttpCallResult(response);
         } catch (IOException e) {
             log.error("http call failed.", e);
@@ -76,10 +89,11 @@ public class HttpCallCommandHandleImpl implements HttpCallCommandHandler {
         }
     }
 
-    private HttpClassicClient getHttpClassicClient(HttpClassicClientFactory.Config config) {
+    private HttpClassicClientFactory.Config getClientConfig(HttpCallCommand command) {
+        HttpClassicClientFactory.Config config = command.getConfig();
         config.custom().put("client.http.secure.ignore-trust", true);
         config.custom().put("client.http.secure.ignore-hostname", true);
-        return this.factory.create(config);
+        return config;
     }
 
     private void setHeader(HttpClassicClientRequest request, String header, String value) {
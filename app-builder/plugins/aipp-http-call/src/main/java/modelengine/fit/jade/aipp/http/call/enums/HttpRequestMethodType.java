@@ -19,6 +19,7 @@ import modelengine.fitframework.inspection.Nullable;
 @Getter
 public enum HttpRequestMethodType {
     GET(false, HttpRequestMethod.GET),
+    HEAD(false, HttpRequestMethod.HEAD),
     POST(true, HttpRequestMethod.POST),
     PUT(true, HttpRequestMethod.PUT),
     DELETE(true, HttpRequestMethod.DELETE),
@@ -0,0 +1,78 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.http.call.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import modelengine.fit.http.client.HttpClassicClient;
+import modelengine.fit.http.client.HttpClassicClientFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 表示 {@link HttpClientPool} 的测试集。
+ *
+ * @author 张越
+ * @since 2025-04-30
+ */
+@DisplayName("测试 HttpClientPool")
+public class HttpClientPoolTest {
+    private HttpClassicClientFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        this.factory = mock(HttpClassicClientFactory.class);
+        when(this.factory.create(any())).thenAnswer(invocation -> mock(HttpClassicClient.class));
+    }
+
+    @Test
+    @DisplayName("相同配置复用客户端，修改原配置不影响已缓存的客户端")
+    void shouldReuseClientBySameConfig() {
+        HttpClientPool pool = new HttpClientPool(this.factory, 4);
+        HttpClassicClientFactory.Config config = this.config(1000);
+
+        HttpClassicClient first = pool.get(config);
+        config.custom().put("client.http.proxy", "127.0.0.1:8080");
+        HttpClassicClient proxied = pool.get(config);
+
+        assertThat(pool.get(this.config(1000))).isSameAs(first);
+        assertThat(proxied).isNotSameAs(first);
+        assertThat(pool.metrics()).isEqualTo(new HttpClientPool.Metrics(1, 2, 0, 2));
+    }
+
+    @Test
+    @DisplayName("超过容量时淘汰最久未使用的客户端")
+    void shouldEvictLeastRecentlyUsedClient() {
+        HttpClientPool pool = new HttpClientPool(this.factory, 2);
+
+        HttpClassicClient first = pool.get(this.config(1));
+        pool.get(this.config(2));
+        pool.get(this.config(1));
+        pool.get(this.config(3));
+
+        assertThat(pool.get(this.config(1))).isSameAs(first);
+        pool.get(this.config(2));
+        verify(this.factory, times(4)).create(any());
+        assertThat(pool.metrics().evictions()).isEqualTo(2);
+        assertThat(pool.metrics().size()).isEqualTo(2);
+    }
+
+    private HttpClassicClientFactory.Config config(int timeout) {
+        return HttpClassicClientFactory.Config.builder()
+                .connectTimeout(timeout)
+                .connectionRequestTimeout(timeout)
+                .socketTimeout(timeout)
+                .build();
+    }
+}
@@ -0,0 +1,150 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.http.call.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import modelengine.fit.http.client.HttpClassicClientFactory;
+import modelengine.fit.http.client.okhttp.OkHttpClassicClientFactory;
+import modelengine.fit.jade.aipp.http.call.command.HttpCallCommand;
+import modelengine.fit.jade.aipp.http.call.command.HttpCallCommandHandler;
+import modelengine.fit.jade.aipp.http.call.command.HttpCallResult;
+import modelengine.fit.jade.aipp.http.call.command.impl.HttpCallCommandHandleImpl;
+import modelengine.fit.serialization.json.jackson.JacksonObjectSerializer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 表示 {@link HttpResponseCache} 的测试集，使用本地桩服务器。
+ *
+ * @author 张越
+ * @since 2025-04-30
+ */
+@DisplayName("测试 HttpResponseCache")
+public class HttpResponseCacheTest {
+    private static final String ETAG = "\"v1\"";
+
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private HttpServer server;
+    private HttpClientPool clientPool;
+    private HttpResponseCache responseCache;
+    private HttpCallCommandHandler handler;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/fresh", exchange -> this.respond(exchange, "max-age=60", null, "{\"n\":1}"));
+        this.server.createContext("/etag", exchange -> {
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                this.notModified.incrementAndGet();
+                this.respond(exchange, "no-cache", ETAG, null);
+                return;
+            }
+            this.respond(exchange, "no-cache", ETAG, "{\"n\":2}");
+        });
+        this.server.createContext("/no-store", exchange -> this.respond(exchange, "no-store", ETAG, "{\"n\":3}"));
+        this.server.createContext("/large", exchange -> this.respond(exchange, "max-age=60", null,
+                "{\"text\":\"" + String.join("", Collections.nCopies(64, "x")) + "\"}"));
+        this.server.start();
+        HttpClassicClientFactory factory = new OkHttpClassicClientFactory(Collections.singletonMap("json",
+                new JacksonObjectSerializer(null, null, null, true)), (object, property) -> null, 1024 * 1024);
+        this.clientPool = new HttpClientPool(factory, 4);
+        this.responseCache = new HttpResponseCache(true, 16, 32);
+        this.handler = new HttpCallCommandHandleImpl(this.clientPool, this.responseCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.server.stop(0);
+    }
+
+    @Test
+    @DisplayName("max-age 内直接使用缓存，且复用同一个客户端")
+    void shouldUseCacheWhenFresh() {
+        HttpCallResult first = this.handler.handle(this.command("/fresh"));
+        HttpCallResult second = this.handler.handle(this.command("/fresh"));
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(second.getData()).isEqualTo(Collections.singletonMap("n", 1));
+        assertThat(this.requests.get("/fresh")).hasValue(1);
+        assertThat(this.responseCache.metrics().hits()).isEqualTo(1);
+        assertThat(this.clientPool.metrics().misses()).isEqualTo(1);
+        assertThat(this.clientPool.metrics().hits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("no-cache 时携带 ETag 重新校验，304 时使用缓存")
+    void shouldRevalidateWithEtag() {
+        this.handler.handle(this.command("/etag"));
+        HttpCallResult second = this.handler.handle(this.command("/etag"));
+
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(second.getData()).isEqualTo(Collections.singletonMap("n", 2));
+        assertThat(this.requests.get("/etag")).hasValue(2);
+        assertThat(this.notModified).hasValue(1);
+        assertThat(this.responseCache.metrics().revalidations()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("no-store 和超过大小上限的响应不缓存")
+    void shouldNotCacheWhenNoStoreOrTooLarge() {
+        this.handler.handle(this.command("/no-store"));
+        this.handler.handle(this.command("/no-store"));
+        this.handler.handle(this.command("/large"));
+        this.handler.handle(this.command("/large"));
+
+        assertThat(this.requests.get("/no-store")).hasValue(2);
+        assertThat(this.requests.get("/large")).hasValue(2);
+        assertThat(this.notModified).hasValue(0);
+        assertThat(this.responseCache.metrics().size()).isZero();
+    }
+
+    private HttpCallCommand command(String path) {
+        HttpCallCommand command = new HttpCallCommand();
+        command.setMethod("GET");
+        command.setUrl("http://127.0.0.1:" + this.server.getAddress().getPort() + path);
+        command.setTimeout(1000);
+        return command;
+    }
+
+    private void respond(HttpExchange exchange, String cacheControl, String etag, String body) throws IOException {
+        this.requests.computeIfAbsent(exchange.getHttpContext().getPath(), key -> new AtomicInteger())
+                .incrementAndGet();
+        exchange.getResponseHeaders().add("Cache-Control", cacheControl);
+        if (etag != null) {
+            exchange.getResponseHeaders().add("ETag", etag);
+        }
+        if (body == null) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
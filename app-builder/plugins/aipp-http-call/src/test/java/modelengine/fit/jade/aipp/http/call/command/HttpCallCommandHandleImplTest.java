@@ -21,6 +21,8 @@ import modelengine.fit.http.client.HttpClassicClientResponse;
 import modelengine.fit.http.entity.ObjectEntity;
 import modelengine.fit.http.entity.TextEntity;
 import modelengine.fit.http.protocol.MimeType;
+import modelengine.fit.jade.aipp.http.call.client.HttpClientPool;
+import modelengine.fit.jade.aipp.http.call.client.HttpResponseCache;
 import modelengine.fit.jade.aipp.http.call.command.impl.HttpCallCommandHandleImpl;
 import modelengine.fitframework.exception.ClientException;
 import modelengine.fitframework.exception.TimeoutException;
@@ -49,7 +51,8 @@ public class HttpCallCommandHandleImplTest {
     void setUp() {
         this.httpClient = mock(HttpClassicClient.class);
         this.factory = mock(HttpClassicClientFactory.class);
-        this.httpCallCommandHandler = new HttpCallCommandHandleImpl(factory);
+        this.httpCallCommandHandler =
+                new HttpCallCommandHandleImpl(new HttpClientPool(this.factory, 64), new HttpResponseCache(false, 0, 0));
     }
 
     @AfterEach
@@ -21,6 +21,7 @@ import java.util.Objects;
 
 /**
  * {@link AippModelCenter} 的代理实现。
+ * <p>模型访问信息与默认模型的查询经过进程内共享的 {@link ModelMetadataCache}。</p>
  *
  * @author songyongtan
  * @since 2025-03-17
@@ -28,21 +29,28 @@ import java.util.Objects;
 @Component
 public class AippModelCenterProxy implements AippModelCenter {
     private final AippModelCenterExtension target;
+    private final ModelMetadataCache metadataCache;
 
     /**
      * 构造函数。
      *
      * @param container 表示 bean 容器的 {@link BeanContainer}。
      * @param modelCenterName 表示注入 bean 名称的 {@link String}。
+     * @param metadataCache 表示模型访问信息缓存的 {@link ModelMetadataCache}。
      */
-    public AippModelCenterProxy(BeanContainer container, @Value("${model-center}") String modelCenterName) {
-        this.target = container.all(AippModelCenterExtension.class)
+    public AippModelCenterProxy(BeanContainer container, @Value("${model-center}") String modelCenterName,
+            ModelMetadataCache metadataCache) {
+        this(container.all(AippModelCenterExtension.class)
                 .stream()
                 .filter(beanFactory -> Objects.equals(beanFactory.metadata().name(), modelCenterName))
                 .map(BeanFactory::<AippModelCenterExtension>get)
                 .findFirst()
-                .orElse(null);
-        Validation.notNull(this.target, String.format("Aipp model center (%s) not found.", modelCenterName));
+                .orElse(null), metadataCache, modelCenterName);
+    }
+
+    AippModelCenterProxy(AippModelCenterExtension target, ModelMetadataCache metadataCache, String modelCenterName) {
+        this.target = Validation.notNull(target, String.format("Aipp model center (%s) not found.", modelCenterName));
+        this.metadataCache = Validation.notNull(metadataCache, "The model metadata cache cannot be null.");
     }
 
     @Override
@@ -52,11 +60,12 @@ public class AippModelCenterProxy implements AippModelCenter {
 
     @Override
     public ModelAccessInfo getModelAccessInfo(String tag, String modelName, OperationContext context) {
-        return this.target.getModelAccessInfo(tag, modelName, context);
+        return this.metadataCache.getModelAccessInfo(tag, modelName, context,
+                () -> this.target.getModelAccessInfo(tag, modelName, context));
     }
 
     @Override
     public ModelAccessInfo getDefaultModel(String type, OperationContext context) {
-        return this.target.getDefaultModel(type, context);
+        return this.metadataCache.getDefaultModel(type, context, () -> this.target.getDefaultModel(type, context));
     }
 }
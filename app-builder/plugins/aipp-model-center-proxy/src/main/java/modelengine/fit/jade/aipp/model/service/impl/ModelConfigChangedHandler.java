@@ -0,0 +1,31 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.model.service.impl;
+
+import modelengine.fit.jade.aipp.model.events.ModelConfigChangedEvent;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.event.EventHandler;
+
+/**
+ * 模型配置变更事件 handler，失效对应用户的模型访问信息缓存。
+ *
+ * @author songyongtan
+ * @since 2025-12-26
+ */
+@Component
+public class ModelConfigChangedHandler implements EventHandler<ModelConfigChangedEvent> {
+    private final ModelMetadataCache metadataCache;
+
+    public ModelConfigChangedHandler(ModelMetadataCache metadataCache) {
+        this.metadataCache = metadataCache;
+    }
+
+    @Override
+    public void handleEvent(ModelConfigChangedEvent event) {
+        this.metadataCache.invalidate(event.getUserId());
+    }
+}
@@ -0,0 +1,233 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.model.service.impl;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import modelengine.fit.jade.aipp.model.dto.ModelAccessInfo;
+import modelengine.fit.jane.common.entity.OperationContext;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.thread.DefaultThreadFactory;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 表示进程内共享的模型访问信息缓存。
+ * <p>大模型、问题分类、问题改写、知识检索等节点每次执行都要向模型中心查询模型的地址与鉴权信息，
+ * 该缓存按查询参数与调用者缓存查询结果：
+ * <ul>
+ *     <li>同一个查询的并发请求只会触发一次模型中心查询；</li>
+ *     <li>写入超过刷新间隔后再次访问时先返回当前结果，同时在后台刷新；</li>
+ *     <li>写入超过有效期后不再使用，下次访问时重新查询；</li>
+ *     <li>收到模型配置变更事件后失效对应用户的缓存。</li>
+ * </ul>
+ * 有效期不大于 0 时不使用缓存，每次直接查询模型中心。查询结果为空时不缓存。</p>
+ *
+ * @author songyongtan
+ * @since 2025-12-26
+ */
+@Component
+public class ModelMetadataCache {
+    private static final Logger log = Logger.get(ModelMetadataCache.class);
+
+    private final boolean isEnabled;
+    private final LoadingCache<MetadataKey, ModelAccessInfo> cache;
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * 使用缓存配置创建 {@link ModelMetadataCache} 的实例。
+     *
+     * @param ttlSeconds 表示缓存有效期（秒）的 {@code int}，不大于 0 时不使用缓存。
+     * @param refreshSeconds 表示写入后触发后台刷新的间隔（秒）的 {@code int}，不大于 0 或不小于有效期时不刷新。
+     * @param maxSize 表示最多缓存的查询数量的 {@code int}。
+     */
+    public ModelMetadataCache(@Value("${model-metadata-cache.ttl:300}") int ttlSeconds,
+            @Value("${model-metadata-cache.refresh-after:60}") int refreshSeconds,
+            @Value("${model-metadata-cache.max-size:1024}") int maxSize) {
+        this(ttlSeconds, refreshSeconds, maxSize, Ticker.systemTicker(),
+                Executors.newFixedThreadPool(2, new DefaultThreadFactory("model-metadata-refresh", true,
+                        (thread, throwable) -> {
+                            log.error("[model-metadata-refresh] Exception. [message={}]", throwable.getMessage());
+                            log.error("[model-metadata-refresh] Details:", throwable);
+                        })));
+    }
+
+    ModelMetadataCache(int ttlSeconds, int refreshSeconds, int maxSize, Ticker ticker, Executor executor) {
+        this.isEnabled = ttlSeconds > 0;
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(Math.max(ttlSeconds, 1)))
+                .maximumSize(Math.max(maxSize, 1))
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats();
+        if (refreshSeconds > 0 && refreshSeconds < ttlSeconds) {
+            builder.refreshAfterWrite(Duration.ofSeconds(refreshSeconds));
+        }
+        this.cache = builder.build(new CacheLoader<>() {
+            @Override
+            public ModelAccessInfo load(MetadataKey key) {
+                return key.loader.get();
+            }
+
+            @Override
+            public ModelAccessInfo reload(MetadataKey key, ModelAccessInfo oldValue) {
+                ModelMetadataCache.this.refreshes.increment();
+                try {
+                    return key.loader.get();
+                } catch (RuntimeException ex) {
+                    ModelMetadataCache.this.refreshFailures.increment();
+                    log.warn("Failed to refresh model access info, keep the cached one. [key={}, message={}]",
+                            key, ex.getMessage());
+                    return oldValue;
+                }
+            }
+        });
+    }
+
+    /**
+     * 查询模型的访问信息。
+     *
+     * @param tag 表示模型服务来源的标签的 {@link String}。
+     * @param modelName 表示模型名称的 {@link String}。
+     * @param context 表示调用者上下文数据的 {@link OperationContext}。
+     * @param loader 表示向模型中心查询的 {@link Supplier}{@code <}{@link ModelAccessInfo}{@code >}。
+     * @return 表示模型访问信息的 {@link ModelAccessInfo}。
+     */
+    public ModelAccessInfo getModelAccessInfo(String tag, String modelName, OperationContext context,
+            Supplier<ModelAccessInfo> loader) {
+        return this.get(new MetadataKey("access", tag, modelName, context, loader));
+    }
+
+    /**
+     * 查询默认使用的模型信息。
+     *
+     * @param type 表示模型类型的 {@link String}。
+     * @param context 表示调用者上下文数据的 {@link OperationContext}。
+     * @param loader 表示向模型中心查询的 {@link Supplier}{@code <}{@link ModelAccessInfo}{@code >}。
+     * @return 表示默认模型信息的 {@link ModelAccessInfo}。
+     */
+    public ModelAccessInfo getDefaultModel(String type, OperationContext context, Supplier<ModelAccessInfo> loader) {
+        return this.get(new MetadataKey("default", null, type, context, loader));
+    }
+
+    /**
+     * 失效用户的模型访问信息缓存。
+     *
+     * @param userId 表示用户标识的 {@link String}，为空时失效全部缓存。
+     */
+    public void invalidate(String userId) {
+        if (!this.isEnabled) {
+            return;
+        }
+        int before = this.cache.asMap().size();
+        if (userId == null) {
+            this.cache.invalidateAll();
+        } else {
+            this.cache.asMap().keySet().removeIf(key -> key.isOwnedBy(userId));
+        }
+        int removed = before - this.cache.asMap().size();
+        this.invalidations.add(Math.max(removed, 0));
+        log.info("Invalidate model access info cache. [userId={}, removed={}]", userId, removed);
+    }
+
+    /**
+     * 获取缓存的统计信息。
+     *
+     * @return 表示缓存统计信息的 {@link Stats}。
+     */
+    public Stats stats() {
+        CacheStats stats = this.cache.stats();
+        return new Stats(stats.hitCount(),
+                stats.missCount(),
+                stats.loadSuccessCount(),
+                this.refreshes.sum(),
+                this.refreshFailures.sum(),
+                this.invalidations.sum());
+    }
+
+    private ModelAccessInfo get(MetadataKey key) {
+        if (!this.isEnabled) {
+            return key.loader.get();
+        }
+        return this.cache.get(key);
+    }
+
+    /**
+     * 表示缓存的统计信息。
+     *
+     * @param hits 表示命中次数的 {@code long}。
+     * @param misses 表示未命中次数的 {@code long}。
+     * @param loads 表示成功查询模型中心的次数（含后台刷新）的 {@code long}。
+     * @param refreshes 表示后台刷新次数的 {@code long}。
+     * @param refreshFailures 表示后台刷新失败次数的 {@code long}。
+     * @param invalidations 表示因模型配置变更失效的缓存数量的 {@code long}。
+     */
+    public record Stats(long hits, long misses, long loads, long refreshes, long refreshFailures,
+            long invalidations) {}
+
+    /**
+     * 表示缓存的查询条件，查询方法和上下文不参与比较，刷新时使用首次查询的上下文。
+     */
+    private static final class MetadataKey {
+        private final String kind;
+        private final String tag;
+        private final String name;
+        private final String tenantId;
+        private final String operator;
+        private final Supplier<ModelAccessInfo> loader;
+
+        MetadataKey(String kind, String tag, String name, OperationContext context,
+                Supplier<ModelAccessInfo> loader) {
+            this.kind = kind;
+            this.tag = tag;
+            this.name = name;
+            this.tenantId = context == null ? null : context.getTenantId();
+            this.operator = context == null ? null : context.getOperator();
+            this.loader = loader;
+        }
+
+        // 用户自定义模型的标签格式为 "tag,userId"，内置工具等场景下上下文可能为空，需要同时按标签判断。
+        boolean isOwnedBy(String userId) {
+            return Objects.equals(this.operator, userId) || (this.tag != null && this.tag.endsWith("," + userId));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof MetadataKey other)) {
+                return false;
+            }
+            return Objects.equals(this.kind, other.kind) && Objects.equals(this.tag, other.tag) && Objects.equals(
+                    this.name, other.name) && Objects.equals(this.tenantId, other.tenantId) && Objects.equals(
+                    this.operator, other.operator);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.kind, this.tag, this.name, this.tenantId, this.operator);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s[tag=%s, name=%s, operator=%s]", this.kind, this.tag, this.name, this.operator);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.model.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import modelengine.fit.jade.aipp.model.dto.ModelAccessInfo;
+import modelengine.fit.jade.aipp.model.dto.ModelListDto;
+import modelengine.fit.jade.aipp.model.events.ModelConfigChangedEvent;
+import modelengine.fit.jade.aipp.model.service.AippModelCenterExtension;
+import modelengine.fit.jane.common.entity.OperationContext;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ModelMetadataCache} 的测试类。
+ * <p>使用本地桩 {@link FakeModelCenter} 模拟模型中心的查询耗时，统计查询次数。</p>
+ *
+ * @author songyongtan
+ * @since 2025-12-26
+ */
+class ModelMetadataCacheTest {
+    private static final String MODEL_CENTER = "fakeModelCenter";
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    @DisplayName("开启缓存后大模型节点准备阶段只在首次访问时查询模型中心")
+    void shouldReduceNodeSetupCostWhenCacheEnabled() {
+        FakeModelCenter uncachedCenter = new FakeModelCenter(5);
+        AippModelCenterProxy uncached = new AippModelCenterProxy(uncachedCenter, this.cache(0, 0), MODEL_CENTER);
+        long uncachedMillis = setUpNodes(uncached);
+
+        FakeModelCenter cachedCenter = new FakeModelCenter(5);
+        ModelMetadataCache cache = this.cache(300, 60);
+        AippModelCenterProxy cached = new AippModelCenterProxy(cachedCenter, cache, MODEL_CENTER);
+        long cachedMillis = setUpNodes(cached);
+
+        assertThat(uncachedCenter.calls.get()).isEqualTo(200);
+        assertThat(cachedCenter.calls.get()).isEqualTo(4);
+        assertThat(cache.stats().hits()).isEqualTo(196);
+        assertThat(cache.stats().misses()).isEqualTo(4);
+        assertThat(cachedMillis).isLessThan(uncachedMillis);
+    }
+
+    @Test
+    @DisplayName("并发首次查询共享同一次模型中心查询")
+    void shouldLoadOnceForConcurrentRequests() throws Exception {
+        FakeModelCenter center = new FakeModelCenter(100);
+        AippModelCenterProxy proxy = new AippModelCenterProxy(center, this.cache(300, 60), MODEL_CENTER);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<ModelAccessInfo>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return proxy.getModelAccessInfo("INTERNAL", "model-0", context("user1"));
+                }));
+            }
+            start.countDown();
+            for (Future<ModelAccessInfo> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getServiceName()).isEqualTo("model-0");
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(center.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("超过刷新间隔时先返回当前结果并后台刷新，超过有效期后重新查询")
+    void shouldRefreshAheadAndExpire() {
+        FakeModelCenter center = new FakeModelCenter(0);
+        ModelMetadataCache cache = this.cache(300, 60);
+        AippModelCenterProxy proxy = new AippModelCenterProxy(center, cache, MODEL_CENTER);
+        OperationContext context = context("user1");
+
+        assertThat(proxy.getDefaultModel("chat_completions", context).getBaseUrl()).isEqualTo("http://model/v1");
+        this.nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        assertThat(proxy.getDefaultModel("chat_completions", context).getBaseUrl()).isEqualTo("http://model/v1");
+        assertThat(proxy.getDefaultModel("chat_completions", context).getBaseUrl()).isEqualTo("http://model/v2");
+        assertThat(cache.stats().refreshes()).isEqualTo(1);
+
+        this.nanos.addAndGet(TimeUnit.SECONDS.toNanos(301));
+        assertThat(proxy.getDefaultModel("chat_completions", context).getBaseUrl()).isEqualTo("http://model/v3");
+        assertThat(cache.stats().misses()).isEqualTo(2);
+        assertThat(center.calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("模型配置变更事件只失效对应用户的缓存")
+    void shouldInvalidateUserEntriesOnModelConfigChanged() {
+        FakeModelCenter center = new FakeModelCenter(0);
+        ModelMetadataCache cache = this.cache(300, 60);
+        AippModelCenterProxy proxy = new AippModelCenterProxy(center, cache, MODEL_CENTER);
+        proxy.getModelAccessInfo("INTERNAL", "model-0", context("user1"));
+        proxy.getModelAccessInfo("custom,user1", "model-1", null);
+        proxy.getModelAccessInfo("INTERNAL", "model-0", context("user2"));
+
+        new ModelConfigChangedHandler(cache).handleEvent(new ModelConfigChangedEvent(this, "user1"));
+        proxy.getModelAccessInfo("INTERNAL", "model-0", context("user1"));
+        proxy.getModelAccessInfo("custom,user1", "model-1", null);
+        proxy.getModelAccessInfo("INTERNAL", "model-0", context("user2"));
+
+        assertThat(center.calls.get()).isEqualTo(5);
+        assertThat(cache.stats().invalidations()).isEqualTo(2);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+    }
+
+    private ModelMetadataCache cache(int ttlSeconds, int refreshSeconds) {
+        return new ModelMetadataCache(ttlSeconds, refreshSeconds, 1024, this.nanos::get, Runnable::run);
+    }
+
+    private static long setUpNodes(AippModelCenterProxy proxy) {
+        long start = System.nanoTime();
+        for (int i = 0; i < 200; i++) {
+            ModelAccessInfo info = proxy.getModelAccessInfo("INTERNAL", "model-" + (i % 4), context("user1"));
+            assertThat(info.getServiceName()).isEqualTo("model-" + (i % 4));
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static OperationContext context(String operator) {
+        OperationContext context = new OperationContext();
+        context.setTenantId("tenant");
+        context.setOperator(operator);
+        return context;
+    }
+
+    /**
+     * 模拟模型中心的本地桩，每次查询等待指定时间，返回的地址带有查询次数作为版本号。
+     */
+    private static class FakeModelCenter implements AippModelCenterExtension {
+        private final long latencyMillis;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        FakeModelCenter(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public ModelListDto fetchModelList(String type, String scene, OperationContext context) {
+            return ModelListDto.builder().models(new ArrayList<>()).total(0).build();
+        }
+
+        @Override
+        public ModelAccessInfo getModelAccessInfo(String tag, String modelName, OperationContext context) {
+            return ModelAccessInfo.builder()
+                    .serviceName(modelName)
+                    .tag(tag)
+                    .baseUrl(this.call())
+                    .accessKey("key")
+                    .build();
+        }
+
+        @Override
+        public ModelAccessInfo getDefaultModel(String type, OperationContext context) {
+            return ModelAccessInfo.builder().serviceName("default").tag("INTERNAL").baseUrl(this.call()).build();
+        }
+
+        private String call() {
+            int version = this.calls.incrementAndGet();
+            try {
+                Thread.sleep(this.latencyMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return "http://model/v" + version;
+        }
+    }
+}
@@ -10,30 +10,36 @@ import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 import com.alibaba.fastjson.serializer.SerializerFeature;
 
-import lombok.Builder;
-import lombok.Data;
 import lombok.Getter;
 import modelengine.fel.tool.service.ToolExecuteService;
 import modelengine.fit.jade.aipp.tool.parallel.entities.Config;
 import modelengine.fit.jade.aipp.tool.parallel.entities.ToolCall;
 import modelengine.fit.jade.aipp.tool.parallel.support.AippInstanceStatus;
 import modelengine.fit.jade.aipp.tool.parallel.support.TaskExecutor;
+import modelengine.fit.jade.aipp.tool.parallel.support.ToolCallLimiter;
 import modelengine.fitframework.inspection.Validation;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.util.StringUtils;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
 
 /**
  * 批量工具调用的请求。
+ * <p>各工具调用的结果按下标无锁写入结果数组，全部完成后再按工具顺序组装为输出。
+ * 配置了失败取消时，第一个失败的调用会中断其它正在执行的调用。
+ * 工具调用先向限制器申请许可，获得许可后才投递到执行器，等待许可时不占用线程。</p>
  *
  * @author 宋永坦
  * @since 2025-04-23
@@ -42,21 +48,22 @@ public class BatchRequest {
     private static final Logger LOG = Logger.get(BatchRequest.class);
 
     private final String id = UUID.randomUUID().toString();
-    private final Queue<ToolCallTask> undoToolCallTasks = new LinkedList<>();
+    private final List<ToolCallTask> toolCallTasks = new ArrayList<>();
+    private final Queue<ToolCallTask> undoToolCallTasks = new ConcurrentLinkedQueue<>();
     private final Map<Integer, ToolCallTask> doingToolCallTasks = new ConcurrentHashMap<>();
     @Getter
     private final Map<String, Object> results = new LinkedHashMap<>();
+    private final AtomicReferenceArray<Object> outputs;
+    private final AtomicInteger waitOutputCount;
+    private final AtomicReference<Failure> failure = new AtomicReference<>();
     private final Config config;
     private final ToolExecuteService toolExecuteService;
     private final TaskExecutor taskExecutor;
     private final CountDownLatch countDownLatch = new CountDownLatch(1);
     private final AippInstanceStatus aippInstanceStatus;
+    private final ToolCallLimiter toolCallLimiter;
     private final Map<String, Object> context;
 
-    private volatile int waitOutputCount;
-    private volatile Throwable exception = null;
-    private volatile ToolCallTask exceptionToolCallTask = null;
-
     /**
      * 批量执行工具的请求的构造方法。
      *
@@ -65,24 +72,27 @@ public class BatchRequest {
      * @param toolExecuteService 表示工具执行服务的 {@link ToolExecuteService}。
      * @param taskExecutor 表示任务执行器的 {@link TaskExecutor}。
      * @param aippInstanceStatus 表示对话实例状态服务的 {@link AippInstanceStatus}。
+     * @param toolCallLimiter 表示工具调用并发限制器的 {@link ToolCallLimiter}。
      * @param context 表示对话执行上下文的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
      */
     public BatchRequest(List<ToolCall> toolCalls, Config config, ToolExecuteService toolExecuteService,
-            TaskExecutor taskExecutor, AippInstanceStatus aippInstanceStatus, Map<String, Object> context) {
+            TaskExecutor taskExecutor, AippInstanceStatus aippInstanceStatus, ToolCallLimiter toolCallLimiter,
+            Map<String, Object> context) {
         Validation.notEmpty(toolCalls, "The tool call list should not be empty.");
         Validation.notNull(toolExecuteService, "The tool execute service should not be null.");
         Validation.notNull(taskExecutor, "The task executor should not be null.");
         Validation.notNull(aippInstanceStatus, "The instance status service should not be null.");
+        Validation.notNull(toolCallLimiter, "The tool call limiter should not be null.");
         Validation.notNull(context, "The context should not be null.");
-        toolCalls.forEach(toolCall -> undoToolCallTasks.add(ToolCallTask.builder()
-                .index(this.undoToolCallTasks.size())
-                .toolCall(toolCall)
-                .build()));
-        this.waitOutputCount = this.undoToolCallTasks.size();
+        toolCalls.forEach(toolCall -> this.toolCallTasks.add(new ToolCallTask(this.toolCallTasks.size(), toolCall)));
+        this.undoToolCallTasks.addAll(this.toolCallTasks);
+        this.outputs = new AtomicReferenceArray<>(this.toolCallTasks.size());
+        this.waitOutputCount = new AtomicInteger(this.toolCallTasks.size());
         this.toolExecuteService = toolExecuteService;
         this.config = config;
         this.taskExecutor = taskExecutor;
         this.aippInstanceStatus = aippInstanceStatus;
+        this.toolCallLimiter = toolCallLimiter;
         this.context = context;
     }
 
@@ -107,50 +117,64 @@ public class BatchRequest {
      * @return 表示是否有任务投递的 {@code boolean}。
      */
     private boolean postUndoTask() {
-        ToolCallTask task;
-        synchronized (this.undoToolCallTasks) {
-            if (this.undoToolCallTasks.isEmpty()) {
-                return false;
-            }
-            task = this.undoToolCallTasks.poll();
+        ToolCallTask task = this.undoToolCallTasks.poll();
+        if (task == null) {
+            return false;
         }
-        this.taskExecutor.post(() -> {
+        // 许可不足时任务在限制器中排队，获得许可后才投递，不占用执行线程和投递线程。
+        this.toolCallLimiter.acquire(task.getToolCall().getUniqueName(), this.context, permit -> {
+            try {
+                this.taskExecutor.post(() -> this.run(task, permit));
+            } catch (RuntimeException e) {
+                permit.close();
+                this.setException(task, e);
+            }
+        });
+        return true;
+    }
+
+    private void run(ToolCallTask task, ToolCallLimiter.Permit permit) {
+        Object result;
+        try {
             if (this.hasException()) {
                 LOG.warn("Ignore the tool call, because the batch request has exception. [batchId={}, "
                         + "toolUniqueName={}, index={}]", this.id, task.getToolCall().getUniqueName(), task.getIndex());
                 return;
             }
-            try {
-                if (!this.aippInstanceStatus.isRunning(this.context)) {
-                    LOG.warn("Ignore the tool call, because the batch request is not running. [batchId={}, "
-                                    + "toolUniqueName={}, index={}, context={}]",
-                            this.id,
-                            task.getToolCall().getUniqueName(),
-                            task.getIndex(),
-                            this.context.toString());
-                    this.setException(task,
-                            new IllegalStateException(StringUtils.format("The instance is not running. [context={0}]",
-                                    this.context.toString())));
-                    return;
-                }
-                LOG.info("Start calling the tool. [batchId={}, toolUniqueName={}, index={}]",
+            if (!this.aippInstanceStatus.isRunning(this.context)) {
+                LOG.warn("Ignore the tool call, because the batch request is not running. [batchId={}, "
+                                + "toolUniqueName={}, index={}, context={}]",
                         this.id,
                         task.getToolCall().getUniqueName(),
-                        task.getIndex());
-
-                this.doingToolCallTasks.put(task.getIndex(), task);
-                String jsonArgs = JSONObject.toJSONString(task.getToolCall().getArgs(),
-                        SerializerFeature.WriteMapNullValue);
-                this.complete(task,
-                        JSONArray.parse(this.toolExecuteService.execute(task.getToolCall().getUniqueName(), jsonArgs)));
-            } catch (Throwable ex) {
-                this.setException(task, ex);
-            } finally {
-                this.doingToolCallTasks.remove(task.getIndex());
+                        task.getIndex(),
+                        this.context.toString());
+                this.setException(task,
+                        new IllegalStateException(StringUtils.format("The instance is not running. [context={0}]",
+                                this.context.toString())));
+                return;
             }
+            LOG.info("Start calling the tool. [batchId={}, toolUniqueName={}, index={}]",
+                    this.id,
+                    task.getToolCall().getUniqueName(),
+                    task.getIndex());
 
-        });
-        return true;
+            this.doingToolCallTasks.put(task.getIndex(), task);
+            task.bind(Thread.currentThread());
+            result = this.execute(task);
+        } catch (Throwable ex) {
+            this.setException(task, ex);
+            return;
+        } finally {
+            this.doingToolCallTasks.remove(task.getIndex());
+            task.unbind();
+            permit.close();
+        }
+        this.complete(task, result);
+    }
+
+    private Object execute(ToolCallTask task) {
+        String jsonArgs = JSONObject.toJSONString(task.getToolCall().getArgs(), SerializerFeature.WriteMapNullValue);
+        return JSONArray.parse(this.toolExecuteService.execute(task.getToolCall().getUniqueName(), jsonArgs));
     }
 
     /**
@@ -164,21 +188,29 @@ public class BatchRequest {
             this.countDownLatch.await();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new IllegalStateException(this.exception.getMessage(), this.exception);
+            throw new IllegalStateException(StringUtils.format("The batch request is interrupted. [batchId={0}]",
+                    this.id), e);
         }
-        if (this.hasException()) {
+        Failure current = this.failure.get();
+        if (current != null) {
             throw new IllegalStateException(StringUtils.format(
                     "Failed to call the tool. [batchId={0}, uniqueName={1}, index={2}, errorMessage={3}]",
                     this.id,
-                    this.exceptionToolCallTask.getToolCall().getUniqueName(),
-                    this.exceptionToolCallTask.getIndex(),
-                    this.exception.getMessage()), this.exception);
+                    current.task().getToolCall().getUniqueName(),
+                    current.task().getIndex(),
+                    current.exception().getMessage()), current.exception());
+        }
+        synchronized (this.results) {
+            if (this.results.isEmpty()) {
+                this.toolCallTasks.forEach(task -> this.results.put(task.getToolCall().getOutputName(),
+                        this.outputs.get(task.getIndex())));
+            }
         }
         return this.results;
     }
 
     private boolean hasException() {
-        return this.exception != null;
+        return this.failure.get() != null;
     }
 
     private void complete(ToolCallTask task, Object result) {
@@ -187,12 +219,9 @@ public class BatchRequest {
                 task.getToolCall().getUniqueName(),
                 task.getIndex());
 
-        synchronized (this.results) {
-            this.results.put(task.getToolCall().getOutputName(), result);
-            this.waitOutputCount--;
-            if (this.waitOutputCount == 0) {
-                this.countDownLatch.countDown();
-            }
+        this.outputs.set(task.getIndex(), result);
+        if (this.waitOutputCount.decrementAndGet() == 0) {
+            this.countDownLatch.countDown();
         }
         this.postUndoTask();
     }
@@ -205,14 +234,13 @@ public class BatchRequest {
                 ex.getMessage(),
                 this.dumpyDoingToolUniqueNames());
 
-        synchronized (this.results) {
-            if (hasException()) {
-                return;
-            }
-            this.exception = ex;
-            this.exceptionToolCallTask = task;
+        if (!this.failure.compareAndSet(null, new Failure(task, ex))) {
+            return;
         }
         this.countDownLatch.countDown();
+        if (Boolean.TRUE.equals(this.config.getCancelOnFailure())) {
+            this.doingToolCallTasks.values().stream().filter(doing -> doing != task).forEach(ToolCallTask::cancel);
+        }
     }
 
     private String dumpyDoingToolUniqueNames() {
@@ -225,19 +253,46 @@ public class BatchRequest {
     }
 
     private String dumpyUndoToolUniqueNames() {
-        synchronized (this.undoToolCallTasks) {
-            return this.undoToolCallTasks.stream()
-                    .map(toolCallTask -> StringUtils.format("{0}-{1}",
-                            toolCallTask.getIndex(),
-                            toolCallTask.getToolCall().getUniqueName()))
-                    .collect(Collectors.joining(","));
-        }
+        return this.undoToolCallTasks.stream()
+                .map(toolCallTask -> StringUtils.format("{0}-{1}",
+                        toolCallTask.getIndex(),
+                        toolCallTask.getToolCall().getUniqueName()))
+                .collect(Collectors.joining(","));
     }
 
-    @Data
-    @Builder
+    @Getter
     private static class ToolCallTask {
         private final int index;
         private final ToolCall toolCall;
+        private Thread runner;
+        private boolean isCancelled;
+
+        private ToolCallTask(int index, ToolCall toolCall) {
+            this.index = index;
+            this.toolCall = toolCall;
+        }
+
+        private synchronized void bind(Thread thread) {
+            this.runner = thread;
+        }
+
+        /**
+         * 解除与执行线程的绑定，并清除取消时设置的中断标记，避免影响执行线程后续的任务。
+         */
+        private synchronized void unbind() {
+            this.runner = null;
+            if (this.isCancelled) {
+                Thread.interrupted();
+            }
+        }
+
+        private synchronized void cancel() {
+            this.isCancelled = true;
+            if (this.runner != null) {
+                this.runner.interrupt();
+            }
+        }
     }
+
+    private record Failure(ToolCallTask task, Throwable exception) {}
 }
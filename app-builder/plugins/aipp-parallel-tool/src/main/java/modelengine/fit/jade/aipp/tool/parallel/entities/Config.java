@@ -23,4 +23,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class Config {
     private Integer concurrency;
+
+    /**
+     * 有工具调用失败时是否中断其它正在执行的工具调用，为空时使用默认配置。
+     */
+    private Boolean cancelOnFailure;
 }
@@ -13,6 +13,7 @@ import modelengine.fit.jade.aipp.tool.parallel.entities.ToolCall;
 import modelengine.fit.jade.aipp.tool.parallel.service.ParallelToolService;
 import modelengine.fit.jade.aipp.tool.parallel.support.AippInstanceStatus;
 import modelengine.fit.jade.aipp.tool.parallel.support.TaskExecutor;
+import modelengine.fit.jade.aipp.tool.parallel.support.ToolCallLimiter;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Fit;
 import modelengine.fitframework.annotation.Fitable;
@@ -20,6 +21,7 @@ import modelengine.fitframework.annotation.Property;
 import modelengine.fitframework.annotation.Value;
 import modelengine.fitframework.inspection.Validation;
 import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
 import modelengine.fel.tool.annotation.Attribute;
 import modelengine.fel.tool.annotation.Group;
@@ -47,9 +49,12 @@ public class ParallelToolServiceImpl implements ParallelToolService {
     private final TaskExecutor taskExecutor;
     private final Config defaultConfig;
     private final AippInstanceStatus aippInstanceStatus;
+    private final ToolCallLimiter toolCallLimiter;
 
     public ParallelToolServiceImpl(@Fit ToolExecuteService toolExecuteService, TaskExecutor taskExecutor,
-            @Value("${parallel-tool.concurrency:8}") int defaultConcurrency, AippInstanceStatus aippInstanceStatus) {
+            @Value("${parallel-tool.concurrency:8}") int defaultConcurrency,
+            @Value("${parallel-tool.cancel-on-failure:false}") boolean defaultCancelOnFailure,
+            AippInstanceStatus aippInstanceStatus, ToolCallLimiter toolCallLimiter) {
         this.toolExecuteService = toolExecuteService;
         this.taskExecutor = taskExecutor;
         this.defaultConfig = Config.builder()
@@ -59,8 +64,10 @@ public class ParallelToolServiceImpl implements ParallelToolService {
                         StringUtils.format("The parallel tool concurrent should between {0} and {1}.",
                                 MIN_CONCURRENCY,
                                 MAX_CONCURRENCY)))
+                .cancelOnFailure(defaultCancelOnFailure)
                 .build();
         this.aippInstanceStatus = aippInstanceStatus;
+        this.toolCallLimiter = toolCallLimiter;
     }
 
     @Override
@@ -78,6 +85,7 @@ public class ParallelToolServiceImpl implements ParallelToolService {
                 this.toolExecuteService,
                 this.taskExecutor,
                 this.aippInstanceStatus,
+                this.toolCallLimiter,
                 context);
         batchRequest.post();
         return batchRequest.await();
@@ -118,14 +126,25 @@ public class ParallelToolServiceImpl implements ParallelToolService {
     }
 
     private Config getConfig(Config config) {
-        if (config == null || config.getConcurrency() == null) {
+        if (config == null) {
             return this.defaultConfig;
         }
-        if (config.getConcurrency() < MIN_CONCURRENCY || config.getConcurrency() > MAX_CONCURRENCY) {
+        return Config.builder()
+                .concurrency(this.getConcurrency(config.getConcurrency()))
+                .cancelOnFailure(ObjectUtils.nullIf(config.getCancelOnFailure(),
+                        this.defaultConfig.getCancelOnFailure()))
+                .build();
+    }
+
+    private Integer getConcurrency(Integer concurrency) {
+        if (concurrency == null) {
+            return this.defaultConfig.getConcurrency();
+        }
+        if (concurrency < MIN_CONCURRENCY || concurrency > MAX_CONCURRENCY) {
             LOG.warn("The given concurrency is illegal, it should between {} and {}, use default config instead. "
-                    + "[concurrency={}]", MIN_CONCURRENCY, MAX_CONCURRENCY, config.getConcurrency());
-            return this.defaultConfig;
+                    + "[concurrency={}]", MIN_CONCURRENCY, MAX_CONCURRENCY, concurrency);
+            return this.defaultConfig.getConcurrency();
         }
-        return config;
+        return concurrency;
     }
 }
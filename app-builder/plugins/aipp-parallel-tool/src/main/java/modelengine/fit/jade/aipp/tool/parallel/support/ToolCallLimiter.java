@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ * This file is a part of the ModelEngine Project.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package modelengine.fit.jade.aipp.tool.parallel.support;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 工具调用并发限制器的接口。
+ *
+ * @author 宋永坦
+ * @since 2025-04-30
+ */
+public interface ToolCallLimiter {
+    /**
+     * 申请一次工具调用的许可，许可不足时登记等待，不阻塞当前线程。
+     * <p>许可充足时在当前线程回调，否则在其它调用释放许可的线程上回调，回调中应尽快将调用投递到执行器。</p>
+     *
+     * @param toolUniqueName 表示工具唯一名的 {@link String}。
+     * @param context 表示对话执行上下文的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
+     * @param onGranted 表示获得许可后回调的 {@link Consumer}{@code <}{@link Permit}{@code >}，许可在调用结束后需要关闭。
+     */
+    void acquire(String toolUniqueName, Map<String, Object> context, Consumer<Permit> onGranted);
+
+    /**
+     * 工具调用的许可。
+     */
+    interface Permit extends AutoCloseable {
+        /**
+         * 释放许可，重复释放时忽略。
+         */
+        @Override
+        void close();
+    }
+}
@@ -9,19 +9,31 @@ package modelengine.fit.jade.aipp.tool.parallel.support.impl;
 import modelengine.fit.jade.aipp.tool.parallel.domain.BatchRequest;
 import modelengine.fit.jade.aipp.tool.parallel.support.TaskExecutor;
 import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Destroy;
 import modelengine.fitframework.annotation.Value;
 import modelengine.fitframework.inspection.Validation;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.thread.DefaultThreadFactory;
 import modelengine.fitframework.util.StringUtils;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 任务执行器的实现。
+ * <p>支持两种执行模式：
+ * <ul>
+ *     <li>{@code pool}：使用有界线程池，线程池满时由投递线程执行任务；</li>
+ *     <li>{@code virtual}：每个任务使用一个虚拟线程执行，投递线程不会被占用，并发由调用配置和调用限制器控制。
+ *     运行环境不支持虚拟线程时，退化为线程数不超过线程池大小的平台线程池，超出的任务排队等待，投递线程同样不会被占用。</li>
+ * </ul>
+ * </p>
  *
  * @author 宋永坦
  * @since 2025-04-24
@@ -32,11 +44,20 @@ public class DefaultTaskExecutor implements TaskExecutor {
     private static final int MIN_THREAD_POOL_SIZE = 1;
     private static final int MAX_THREAD_POOL_SIZE = 128;
     private static final int MIN_THREAD_CORE_SIZE = 0;
+    private static final String POOL_MODE = "pool";
+    private static final String VIRTUAL_MODE = "virtual";
 
     private final ExecutorService executorService;
 
     public DefaultTaskExecutor(@Value("${parallel-tool.thread-pool-size:64}") int threadPoolSize,
-            @Value("${parallel-tool.thread-core-size:8}") int threadCoreSize) {
+            @Value("${parallel-tool.thread-core-size:8}") int threadCoreSize,
+            @Value("${parallel-tool.executor-mode:pool}") String executorMode) {
+        boolean isVirtualMode = StringUtils.equalsIgnoreCase(executorMode, VIRTUAL_MODE);
+        Validation.isTrue(isVirtualMode || StringUtils.equalsIgnoreCase(executorMode, POOL_MODE),
+                "The parallel tool executor mode should be {0} or {1}. [mode={2}]",
+                POOL_MODE,
+                VIRTUAL_MODE,
+                executorMode);
         Validation.between(threadPoolSize,
                 MIN_THREAD_POOL_SIZE,
                 MAX_THREAD_POOL_SIZE,
@@ -49,15 +70,16 @@ public class DefaultTaskExecutor implements TaskExecutor {
                 StringUtils.format("The parallel tool thread core size should between {0} and {1}.",
                         MIN_THREAD_CORE_SIZE,
                         threadPoolSize));
+        if (isVirtualMode) {
+            this.executorService = createPerTaskExecutor(threadPoolSize);
+            return;
+        }
         this.executorService = new ThreadPoolExecutor(threadCoreSize,
                 threadPoolSize,
                 5L,
                 TimeUnit.MINUTES,
                 new SynchronousQueue<>(),
-                new DefaultThreadFactory("parallel-tool", false, (thread, throwable) -> {
-                    LOG.error("[parallel-tool] Exception. [message={}]", throwable.getMessage());
-                    LOG.error("[parallel-tool] Details:", throwable);
-                }),
+                createThreadFactory(),
                 new ThreadPoolExecutor.CallerRunsPolicy());
     }
 
@@ -65,4 +87,37 @@ public class DefaultTaskExecutor implements TaskExecutor {
     public void post(Runnable runnable) {
         this.executorService.execute(runnable);
     }
+
+    /**
+     * 关闭执行器，正在执行的任务被中断。
+     */
+    @Destroy
+    public void close() {
+        this.executorService.shutdownNow();
+    }
+
+    private static ExecutorService createPerTaskExecutor(int threadPoolSize) {
+        try {
+            // 虚拟线程需要 Java 21 及以上版本，编译版本较低时通过反射创建。
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            LOG.warn("Virtual thread is not supported, use bounded platform thread pool instead. [javaVersion={}, "
+                    + "threadPoolSize={}]", System.getProperty("java.version"), threadPoolSize);
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threadPoolSize,
+                    threadPoolSize,
+                    5L,
+                    TimeUnit.MINUTES,
+                    new LinkedBlockingQueue<>(),
+                    createThreadFactory());
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        return new DefaultThreadFactory("parallel-tool", false, (thread, throwable) -> {
+            LOG.error("[parallel-tool] Exception. [message={}]", throwable.getMessage());
+            LOG.error("[parallel-tool] Details:", throwable);
+        });
+    }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ * This file is a part of the ModelEngine Project.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package modelengine.fit.jade.aipp.tool.parallel.support.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import modelengine.fit.jade.aipp.tool.parallel.support.ToolCallLimiter;
+import modelengine.fit.jober.aipp.constants.AippConst;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 工具调用并发限制器的实现。
+ * <p>按工具唯一名和租户分别限制同时进行的调用数量，租户取自上下文中的用户标识，限制值不大于 0 时不限制。
+ * 许可不足的调用登记在等待队列中，不占用执行线程，许可释放时直接转交给队首的等待者。
+ * 许可闸门以弱引用缓存，仍有调用持有许可时不会被回收，等待者只在许可被占满时存在，因此也不会丢失。</p>
+ *
+ * @author 宋永坦
+ * @since 2025-04-30
+ */
+@Component
+public class DefaultToolCallLimiter implements ToolCallLimiter {
+    private static final Permit NO_LIMIT = () -> {};
+
+    private final int maxConcurrencyPerTool;
+    private final int maxConcurrencyPerTenant;
+    private final Cache<String, Gate> toolGates = Caffeine.newBuilder().weakValues().build();
+    private final Cache<String, Gate> tenantGates = Caffeine.newBuilder().weakValues().build();
+
+    public DefaultToolCallLimiter(@Value("${parallel-tool.max-concurrency-per-tool:0}") int maxConcurrencyPerTool,
+            @Value("${parallel-tool.max-concurrency-per-tenant:0}") int maxConcurrencyPerTenant) {
+        this.maxConcurrencyPerTool = maxConcurrencyPerTool;
+        this.maxConcurrencyPerTenant = maxConcurrencyPerTenant;
+    }
+
+    @Override
+    public void acquire(String toolUniqueName, Map<String, Object> context, Consumer<Permit> onGranted) {
+        Validation.notBlank(toolUniqueName, "The tool unique name should not be blank.");
+        Validation.notNull(onGranted, "The granted callback should not be null.");
+        Gate tenantGate = this.getTenantGate(context);
+        Gate toolGate = this.maxConcurrencyPerTool > 0
+                ? this.toolGates.get(toolUniqueName, key -> new Gate(this.maxConcurrencyPerTool))
+                : null;
+        if (tenantGate == null && toolGate == null) {
+            onGranted.accept(NO_LIMIT);
+            return;
+        }
+        // 固定先租户后工具的获取顺序，避免交叉等待。
+        acquire(tenantGate, () -> acquire(toolGate, () -> onGranted.accept(new GatePermit(tenantGate, toolGate))));
+    }
+
+    private Gate getTenantGate(Map<String, Object> context) {
+        if (this.maxConcurrencyPerTenant <= 0 || context == null) {
+            return null;
+        }
+        Object tenant = context.get(AippConst.CONTEXT_USER_ID);
+        if (tenant == null || StringUtils.isBlank(tenant.toString())) {
+            return null;
+        }
+        return this.tenantGates.get(tenant.toString(), key -> new Gate(this.maxConcurrencyPerTenant));
+    }
+
+    private static void acquire(Gate gate, Runnable onGranted) {
+        if (gate == null) {
+            onGranted.run();
+            return;
+        }
+        gate.acquire(onGranted);
+    }
+
+    /**
+     * 表示一组并发许可，许可不足时将回调登记到等待队列。
+     */
+    private static class Gate {
+        private final int limit;
+        private final Queue<Runnable> waiters = new ArrayDeque<>();
+        private int inUse;
+
+        private Gate(int limit) {
+            this.limit = limit;
+        }
+
+        private void acquire(Runnable onGranted) {
+            synchronized (this) {
+                if (this.inUse >= this.limit) {
+                    this.waiters.add(onGranted);
+                    return;
+                }
+                this.inUse++;
+            }
+            onGranted.run();
+        }
+
+        private void release() {
+            Runnable next;
+            synchronized (this) {
+                next = this.waiters.poll();
+                if (next == null) {
+                    this.inUse--;
+                    return;
+                }
+            }
+            // 许可直接转交给等待者，占用数不变。
+            next.run();
+        }
+    }
+
+    private static class GatePermit implements Permit {
+        private final Gate tenantGate;
+        private final Gate toolGate;
+        private final AtomicBoolean isClosed = new AtomicBoolean();
+
+        private GatePermit(Gate tenantGate, Gate toolGate) {
+            this.tenantGate = tenantGate;
+            this.toolGate = toolGate;
+        }
+
+        @Override
+        public void close() {
+            if (!this.isClosed.compareAndSet(false, true)) {
+                return;
+            }
+            if (this.toolGate != null) {
+                this.toolGate.release();
+            }
+            if (this.tenantGate != null) {
+                this.tenantGate.release();
+            }
+        }
+    }
+}
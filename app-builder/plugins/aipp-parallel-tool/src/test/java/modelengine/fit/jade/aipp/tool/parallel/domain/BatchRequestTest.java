@@ -11,6 +11,10 @@ import modelengine.fit.jade.aipp.tool.parallel.entities.Config;
 import modelengine.fit.jade.aipp.tool.parallel.entities.ToolCall;
 import modelengine.fit.jade.aipp.tool.parallel.support.AippInstanceStatus;
 import modelengine.fit.jade.aipp.tool.parallel.support.TaskExecutor;
+import modelengine.fit.jade.aipp.tool.parallel.support.ToolCallLimiter;
+import modelengine.fit.jade.aipp.tool.parallel.support.impl.DefaultTaskExecutor;
+import modelengine.fit.jade.aipp.tool.parallel.support.impl.DefaultToolCallLimiter;
+import modelengine.fit.jober.aipp.constants.AippConst;
 import modelengine.fitframework.util.MapBuilder;
 
 import org.junit.jupiter.api.Assertions;
@@ -21,10 +25,16 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * {@link BatchRequest} 的测试类。
@@ -43,6 +53,8 @@ class BatchRequestTest {
     @Mock
     private AippInstanceStatus aippInstanceStatus;
 
+    private final ToolCallLimiter toolCallLimiter = new DefaultToolCallLimiter(0, 0);
+
     @Test
     void shouldCallExecutorByConcurrencyWhenPostGivenToolCall() {
         List<ToolCall> toolCalls = Arrays.asList(ToolCall.builder().uniqueName("u1").args(new HashMap<>()).build(),
@@ -56,6 +68,7 @@ class BatchRequestTest {
                 this.toolExecuteService,
                 this.taskExecutor,
                 this.aippInstanceStatus,
+                this.toolCallLimiter,
                 new HashMap<>());
         batchRequest.post();
 
@@ -88,6 +101,7 @@ class BatchRequestTest {
                 this.toolExecuteService,
                 this.taskExecutor,
                 this.aippInstanceStatus,
+                this.toolCallLimiter,
                 new HashMap<>());
         batchRequest.post();
         Map<String, Object> result = batchRequest.await();
@@ -119,6 +133,7 @@ class BatchRequestTest {
                 this.toolExecuteService,
                 this.taskExecutor,
                 this.aippInstanceStatus,
+                this.toolCallLimiter,
                 new HashMap<>());
         batchRequest.post();
         IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class, batchRequest::await);
@@ -146,6 +161,7 @@ class BatchRequestTest {
                 this.toolExecuteService,
                 this.taskExecutor,
                 this.aippInstanceStatus,
+                this.toolCallLimiter,
                 context);
         batchRequest.post();
         IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class, batchRequest::await);
@@ -156,4 +172,112 @@ class BatchRequestTest {
         Assertions.assertTrue(exception.getMessage()
                 .endsWith("errorMessage=The instance is not running. [context={instanceId=1}]]"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldKeepOrderAndLimitWhenAwaitGivenThousandToolCallsOnVirtualExecutor() {
+        int toolCallCount = 1000;
+        int maxConcurrencyPerTool = 4;
+        List<ToolCall> toolCalls = new ArrayList<>();
+        for (int i = 0; i < toolCallCount; i++) {
+            toolCalls.add(ToolCall.builder()
+                    .uniqueName("u" + (i % 2))
+                    .args(MapBuilder.<String, Object>get().put("i", i).build())
+                    .outputName("o" + i)
+                    .build());
+        }
+        Config config = Config.builder().concurrency(32).build();
+        Mockito.when(this.aippInstanceStatus.isRunning(Mockito.any())).thenReturn(true);
+        Map<String, AtomicInteger> running = new ConcurrentHashMap<>();
+        AtomicInteger peak = new AtomicInteger();
+        Mockito.when(this.toolExecuteService.execute(Mockito.any(String.class), Mockito.any(String.class)))
+                .thenAnswer(invocation -> {
+                    AtomicInteger counter =
+                            running.computeIfAbsent(invocation.getArgument(0), key -> new AtomicInteger());
+                    peak.accumulateAndGet(counter.incrementAndGet(), Math::max);
+                    Thread.sleep(1);
+                    counter.decrementAndGet();
+                    return invocation.<String>getArgument(1).replaceAll("\\D", "");
+                });
+
+        BatchRequest batchRequest = new BatchRequest(toolCalls,
+                config,
+                this.toolExecuteService,
+                new DefaultTaskExecutor(64, 8, "virtual"),
+                this.aippInstanceStatus,
+                new DefaultToolCallLimiter(maxConcurrencyPerTool, 0),
+                new HashMap<>());
+        batchRequest.post();
+        Map<String, Object> result = batchRequest.await();
+
+        Assertions.assertEquals(toolCallCount, result.size());
+        int index = 0;
+        for (Map.Entry<String, Object> entry : result.entrySet()) {
+            Assertions.assertEquals("o" + index, entry.getKey());
+            Assertions.assertEquals(index, entry.getValue());
+            index++;
+        }
+        Assertions.assertTrue(peak.get() <= maxConcurrencyPerTool);
+    }
+
+    @Test
+    void shouldInterruptRunningToolWhenAwaitGivenCancelOnFailure() throws InterruptedException {
+        List<ToolCall> toolCalls = Arrays.asList(ToolCall.builder().uniqueName("slow").args(new HashMap<>()).build(),
+                ToolCall.builder().uniqueName("failed").args(new HashMap<>()).build());
+        Config config = Config.builder().concurrency(2).cancelOnFailure(true).build();
+        Mockito.when(this.aippInstanceStatus.isRunning(Mockito.any())).thenReturn(true);
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch slowInterrupted = new CountDownLatch(1);
+        Mockito.when(this.toolExecuteService.execute(Mockito.eq("slow"), Mockito.any(String.class)))
+                .thenAnswer(invocation -> {
+                    slowStarted.countDown();
+                    try {
+                        Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+                    } catch (InterruptedException e) {
+                        slowInterrupted.countDown();
+                        throw e;
+                    }
+                    return "1";
+                });
+        Mockito.when(this.toolExecuteService.execute(Mockito.eq("failed"), Mockito.any(String.class)))
+                .thenAnswer(invocation -> {
+                    slowStarted.await(1, TimeUnit.SECONDS);
+                    throw new IllegalArgumentException("wrong argument");
+                });
+
+        BatchRequest batchRequest = new BatchRequest(toolCalls,
+                config,
+                this.toolExecuteService,
+                new DefaultTaskExecutor(64, 8, "virtual"),
+                this.aippInstanceStatus,
+                this.toolCallLimiter,
+                new HashMap<>());
+        batchRequest.post();
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class, batchRequest::await);
+
+        Assertions.assertTrue(exception.getMessage()
+                .endsWith("uniqueName=failed, index=1, errorMessage=wrong argument]"));
+        Assertions.assertTrue(slowInterrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldLimitByTenantWhenAcquireGivenSameUser() {
+        ToolCallLimiter limiter = new DefaultToolCallLimiter(0, 1);
+        Map<String, Object> context = MapBuilder.<String, Object>get().put(AippConst.CONTEXT_USER_ID, "user").build();
+        AtomicReference<ToolCallLimiter.Permit> first = new AtomicReference<>();
+        limiter.acquire("u1", context, first::set);
+        Assertions.assertNotNull(first.get());
+        AtomicReference<ToolCallLimiter.Permit> second = new AtomicReference<>();
+        limiter.acquire("u2", context, second::set);
+
+        Assertions.assertNull(second.get());
+        first.get().close();
+        Assertions.assertNotNull(second.get());
+        second.get().close();
+        AtomicReference<ToolCallLimiter.Permit> other = new AtomicReference<>();
+        Map<String, Object> otherContext =
+                MapBuilder.<String, Object>get().put(AippConst.CONTEXT_USER_ID, "other").build();
+        limiter.acquire("u1", otherContext, other::set);
+        Assertions.assertNotNull(other.get());
+        other.get().close();
+    }
+}
@@ -14,6 +14,7 @@ import modelengine.fit.jober.aipp.domains.appversion.AppVersion;
 import modelengine.fit.jober.aipp.domains.appversion.AppVersionFactory;
 import modelengine.fit.jober.aipp.domains.appversion.repository.AppVersionRepository;
 import modelengine.fit.jober.aipp.domains.appversion.service.AppVersionService;
+import modelengine.fit.jober.aipp.domains.log.AippLogWriteBehindSink;
 import modelengine.fit.jober.aipp.domains.task.AppTask;
 import modelengine.fit.jober.aipp.domains.taskinstance.AppTaskInstance;
 import modelengine.fit.jober.aipp.dto.export.AppExportDto;
@@ -59,6 +60,7 @@ public class App {
     private final AppBuilderFlowGraphRepository flowGraphRepository;
     private final AppBuilderFormPropertyRepository formPropertyRepository;
     private final AippLogMapper aippLogMapper;
+    private final AippLogWriteBehindSink aippLogSink;
     private final AppService appService;
     private final AippChatMapper aippChatMapper;
     private final Map<String, String> exportMeta;
@@ -72,16 +74,17 @@ public class App {
 
     App(String appSuiteId, AppVersionService appVersionService, AppBuilderConfigRepository configRepository,
             AppBuilderFlowGraphRepository flowGraphRepository, AppBuilderFormPropertyRepository formPropertyRepository,
-            AippLogMapper aippLogMapper, AppService appService, AippChatMapper aippChatMapper,
-            AppVersionRepository appVersionRepository, AppVersionFactory appVersionFactory,
-            Map<String, String> exportMeta, PluginToolService pluginToolService, PluginService pluginService,
-            DomainDivisionService domainDivisionService, boolean isEnableDomainDivision) {
+            AippLogMapper aippLogMapper, AippLogWriteBehindSink aippLogSink, AppService appService,
+            AippChatMapper aippChatMapper, AppVersionRepository appVersionRepository,
+            AppVersionFactory appVersionFactory, Map<String, String> exportMeta, PluginToolService pluginToolService,
+            PluginService pluginService, DomainDivisionService domainDivisionService, boolean isEnableDomainDivision) {
         this.appSuiteId = appSuiteId;
         this.appVersionService = appVersionService;
         this.configRepository = configRepository;
         this.flowGraphRepository = flowGraphRepository;
         this.formPropertyRepository = formPropertyRepository;
         this.aippLogMapper = aippLogMapper;
+        this.aippLogSink = aippLogSink;
         this.appService = appService;
         this.aippChatMapper = aippChatMapper;
         this.appVersionRepository = appVersionRepository;
@@ -172,6 +175,7 @@ public class App {
         List<AppTaskInstance> instances = appTasks.stream().flatMap(t -> t.getInstances(context).stream()).toList();
         List<String> instanceIds = instances.stream().map(i -> i.getEntity().getInstanceId()).toList();
         if (!CollectionUtils.isEmpty(instanceIds)) {
+            this.aippLogSink.discard(instanceIds);
             this.aippLogMapper.deleteByInstanceIds(instanceIds);
         }
         appTasks.forEach(t -> t.delete(context));
@@ -12,6 +12,7 @@ import modelengine.fit.jober.aipp.domains.appversion.AppVersionFactory;
 import modelengine.fit.jober.aipp.domains.appversion.repository.AppVersionRepository;
 import modelengine.fit.jober.aipp.domains.appversion.service.AppVersionService;
 import modelengine.fit.jober.aipp.mapper.AippChatMapper;
+import modelengine.fit.jober.aipp.domains.log.AippLogWriteBehindSink;
 import modelengine.fit.jober.aipp.mapper.AippLogMapper;
 import modelengine.fit.jober.aipp.repository.AppBuilderConfigRepository;
 import modelengine.fit.jober.aipp.repository.AppBuilderFlowGraphRepository;
@@ -38,6 +39,7 @@ public class AppFactory {
     private final AppBuilderFlowGraphRepository flowGraphRepository;
     private final AppBuilderFormPropertyRepository formPropertyRepository;
     private final AippLogMapper aippLogMapper;
+    private final AippLogWriteBehindSink aippLogSink;
     private final AppService appService;
     private final AippChatMapper aippChatMapper;
     private final AppVersionRepository appVersionRepository;
@@ -50,16 +52,18 @@ public class AppFactory {
 
     public AppFactory(AppVersionService appVersionService, AppBuilderConfigRepository configRepository,
             AppBuilderFlowGraphRepository flowGraphRepository, AppBuilderFormPropertyRepository formPropertyRepository,
-            AippLogMapper aippLogMapper, AppService appService, AippChatMapper aippChatMapper,
-            AppVersionRepository appVersionRepository, AppVersionFactory appVersionFactory,
-            @Value("${export-meta}") Map<String, String> exportMeta, PluginToolService pluginToolService,
-            PluginService pluginService, DomainDivisionService domainDivisionService,
+            AippLogMapper aippLogMapper, AippLogWriteBehindSink aippLogSink, AppService appService,
+            AippChatMapper aippChatMapper, AppVersionRepository appVersionRepository,
+            AppVersionFactory appVersionFactory, @Value("${export-meta}") Map<String, String> exportMeta,
+            PluginToolService pluginToolService, PluginService pluginService,
+            DomainDivisionService domainDivisionService,
             @Value("${domain-division.isEnable}") boolean isEnableDomainDivision) {
         this.appVersionService = appVersionService;
         this.configRepository = configRepository;
         this.flowGraphRepository = flowGraphRepository;
         this.formPropertyRepository = formPropertyRepository;
         this.aippLogMapper = aippLogMapper;
+        this.aippLogSink = aippLogSink;
         this.appService = appService;
         this.aippChatMapper = aippChatMapper;
         this.appVersionRepository = appVersionRepository;
@@ -84,6 +88,7 @@ public class AppFactory {
                 this.flowGraphRepository,
                 this.formPropertyRepository,
                 this.aippLogMapper,
+                this.aippLogSink,
                 this.appService,
                 this.aippChatMapper,
                 this.appVersionRepository,
@@ -101,6 +101,7 @@ import modelengine.fit.jober.aipp.service.UploadedFileManageService;
 import modelengine.fit.jober.aipp.util.AippFileUtils;
 import modelengine.fit.jober.aipp.util.AippStringUtils;
 import modelengine.fit.jober.aipp.util.AppImExportUtil;
+import modelengine.fit.jober.aipp.util.CacheUtils;
 import modelengine.fit.jober.aipp.util.FlowInfoUtil;
 import modelengine.fit.jober.aipp.util.JsonUtils;
 import modelengine.fit.jober.aipp.util.RandomPathUtils;
@@ -373,6 +374,8 @@ public class AppVersion {
         this.attributes.put(PUBLISH_UPDATE_LOG_KEY, context.getPublishData().getPublishedUpdateLog());
         this.attributes.put(ATTR_APP_IS_UPDATE, true);
         this.appVersionRepository.update(this);
+        FlowInfo flowInfo = context.getFlowInfo();
+        CacheUtils.invalidatePublished(this.data.getAppId(), flowInfo == null ? null : flowInfo.getFlowDefinitionId());
     }
 
     private String generateUniquePath() {
@@ -501,13 +504,7 @@ public class AppVersion {
     }
 
     private void validateUserContext(AppTask task, Map<String, Object> userContext, OperationContext context) {
-        String flowDefinitionId = task.getEntity().getFlowDefinitionId();
-        FlowInfo flowInfo = this.flowsService.getFlows(flowDefinitionId, context);
-        List<AppInputParam> inputParams = flowInfo.getInputParamsByName("input")
-                .stream()
-                .peek(map -> map.put("stringMaxLength", this.maxUserContextLen))
-                .map(AppInputParam::from)
-                .toList();
+        List<AppInputParam> inputParams = task.getStartPlan(context).getInputParams(this.maxUserContextLen);
 
         if (this.isApp()) {
             inputParams = inputParams.stream()
@@ -0,0 +1,502 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.domains.log;
+
+import modelengine.fit.jober.aipp.dto.aipplog.AippLogCreateDto;
+import modelengine.fit.jober.aipp.entity.AippInstLog;
+import modelengine.fit.jober.aipp.enums.AippInstLogType;
+import modelengine.fit.jober.aipp.mapper.AippLogMapper;
+import modelengine.fit.jober.aipp.util.AippLogUtils;
+
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Destroy;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.log.Logger;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * aipp 实例历史记录的延迟批量写入器。
+ * <p>历史记录在写入时立即分配 log id 并进入内存缓冲，由后台线程按数量或时间批量写入数据库。
+ * 同一实例的记录按 log id 顺序落库；未落库的记录可通过本类的查询方法读取，调用方将其与数据库的查询结果合并，
+ * 以保证本节点的读己之写，读取不会等待刷新，也不会因其它记录写入失败而失败。</p>
+ * <p>写入失败的记录保留在缓冲区中，后台线程按指数退避重试，超过最大重试次数后丢弃并计入丢弃数量；
+ * 缓冲区达到上限或写入器已关闭时新记录直接同步写入数据库。删除历史记录前需调用 {@link #discard(Collection)}
+ * 或 {@link #discardIf(Predicate)} 丢弃对应的未落库记录，避免删除后又被写入。</p>
+ * <p>该写入器默认关闭：开启后历史记录不再随业务事务回滚，且 create_at 取自本节点时钟而非数据库默认值。</p>
+ *
+ * @author 刘信宏
+ * @since 2025-04-17
+ */
+@Component
+public class AippLogWriteBehindSink {
+    private static final Logger log = Logger.get(AippLogWriteBehindSink.class);
+
+    /** 缓冲区积压达到批量大小的该倍数时，由写入线程同步刷新，避免数据库变慢时内存无限增长。 */
+    private static final int MAX_PENDING_FACTOR = 16;
+
+    /** 后台刷新失败后的最大退避时间（毫秒）。 */
+    private static final long MAX_BACKOFF_MILLIS = 30_000L;
+
+    private final AippLogMapper aippLogMapper;
+    private final boolean isEnabled;
+    private final int batchSize;
+    private final int maxPending;
+    private final int maxRetries;
+    private final long flushInterval;
+    private final Object lock = new Object();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Map<String, List<AippInstLog>> pendingByInstance = new LinkedHashMap<>();
+    private final Map<Long, AippInstLog> pendingById = new HashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Map<Long, Integer> attempts = new HashMap<>();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final Deque<Long> idPool = new ArrayDeque<>();
+    private final ScheduledExecutorService flusher;
+    private LocalDateTime lastCreateAt = LocalDateTime.MIN;
+    private long backoffMillis;
+    private long nextFlushAt;
+    private volatile boolean isClosed;
+
+    /**
+     * 使用数据库访问对象和写入配置创建 {@link AippLogWriteBehindSink} 的实例。
+     *
+     * @param aippLogMapper 表示历史记录数据库访问对象的 {@link AippLogMapper}。
+     * @param isEnabled 表示是否开启延迟批量写入的 {@code boolean}。
+     * @param batchSize 表示每批写入记录数的 {@code int}。
+     * @param flushInterval 表示后台刷新间隔（毫秒）的 {@code long}。
+     * @param maxPending 表示缓冲区最多保留记录数的 {@code int}，达到上限时新记录同步写入数据库。
+     * @param maxRetries 表示写入失败记录的最大重试次数的 {@code int}，超过后丢弃该记录。
+     */
+    public AippLogWriteBehindSink(AippLogMapper aippLogMapper,
+            @Value("${app-engine.log.write-behind.enabled:false}") boolean isEnabled,
+            @Value("${app-engine.log.write-behind.batch-size:64}") int batchSize,
+            @Value("${app-engine.log.write-behind.flush-interval:100}") long flushInterval,
+            @Value("${app-engine.log.write-behind.max-pending:10000}") int maxPending,
+            @Value("${app-engine.log.write-behind.max-retries:20}") int maxRetries) {
+        this.aippLogMapper = aippLogMapper;
+        this.isEnabled = isEnabled;
+        this.batchSize = Math.max(batchSize, 1);
+        this.maxPending = Math.max(maxPending, this.batchSize);
+        this.maxRetries = Math.max(maxRetries, 0);
+        this.flushInterval = Math.max(flushInterval, 1L);
+        if (isEnabled) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "aipp-log-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.flusher.scheduleWithFixedDelay(this::flushQuietly, flushInterval, flushInterval,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * 追加一条历史记录。调用返回时 {@link AippLogCreateDto#getLogId()} 已被赋值。
+     *
+     * @param logDto 表示待写入的历史记录的 {@link AippLogCreateDto}。
+     */
+    public void append(AippLogCreateDto logDto) {
+        if (!this.isEnabled || this.isClosed || this.pendingCount.get() >= this.maxPending) {
+            this.aippLogMapper.insertOne(logDto);
+            return;
+        }
+        Long logId = this.nextLogId();
+        logDto.setLogId(String.valueOf(logId));
+        int pending;
+        AippInstLog record;
+        synchronized (this.lock) {
+            record = AippInstLog.builder()
+                    .logId(logId)
+                    .aippId(logDto.getAippId())
+                    .version(logDto.getVersion())
+                    .aippType(logDto.getAippType())
+                    .instanceId(logDto.getInstanceId())
+                    .logData(logDto.getLogData())
+                    .logType(logDto.getLogType())
+                    .createUserAccount(logDto.getCreateUserAccount())
+                    .path(logDto.getPath())
+                    .createAt(this.nextCreateAt())
+                    .build();
+            this.pendingByInstance.computeIfAbsent(record.getInstanceId(), key -> new ArrayList<>()).add(record);
+            this.pendingById.put(logId, record);
+            pending = this.pendingCount.incrementAndGet();
+        }
+        if (this.isClosed) {
+            // 与关闭并发时，关闭前的最后一次刷新可能未带走该记录，改为同步写入。
+            AippInstLog appended = record;
+            if (this.discardIf(candidate -> candidate == appended) > 0) {
+                this.aippLogMapper.insertOne(logDto);
+            }
+            return;
+        }
+        if (pending >= this.batchSize * MAX_PENDING_FACTOR) {
+            this.flushQuietly();
+        } else if (pending % this.batchSize == 0) {
+            try {
+                this.flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException ex) {
+                log.debug("The aipp instance log flusher is closed, skip scheduling flush.");
+            }
+        }
+    }
+
+    /**
+     * 将缓冲区中的全部记录同步写入数据库。缓冲区为空时立即返回。
+     * <p>写入失败的记录保留在缓冲区中等待重试，超过最大重试次数的记录被丢弃。</p>
+     *
+     * @throws RuntimeException 当存在写入失败的记录时，抛出最后一次写入的异常。
+     */
+    public void flush() {
+        if (this.pendingCount.get() == 0) {
+            return;
+        }
+        this.flushLock.lock();
+        try {
+            List<AippInstLog> batch;
+            synchronized (this.lock) {
+                batch = new ArrayList<>(this.pendingById.values());
+            }
+            batch.sort(Comparator.comparing(AippInstLog::getLogId));
+            List<AippInstLog> failed = new ArrayList<>();
+            RuntimeException failure = null;
+            for (int from = 0; from < batch.size(); from += this.batchSize) {
+                RuntimeException ex = this.write(batch.subList(from, Math.min(from + this.batchSize, batch.size())),
+                        failed);
+                failure = ex == null ? failure : ex;
+            }
+            synchronized (this.lock) {
+                Set<AippInstLog> failedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+                failedSet.addAll(failed);
+                batch.stream().filter(record -> !failedSet.contains(record)).forEach(this::removePending);
+                failed.forEach(this::retryOrDrop);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    /**
+     * 丢弃指定实例尚未落库的历史记录，在删除实例的历史记录前调用。进行中的刷新结束后才会丢弃。
+     *
+     * @param instanceIds 表示实例 id 集合的 {@link Collection}{@code <}{@link String}{@code >}。
+     * @return 表示丢弃的记录数量的 {@code int}。
+     */
+    public int discard(Collection<String> instanceIds) {
+        if (instanceIds == null || instanceIds.isEmpty()) {
+            return 0;
+        }
+        Set<String> ids = new HashSet<>(instanceIds);
+        return this.discardIf(record -> ids.contains(record.getInstanceId()));
+    }
+
+    /**
+     * 丢弃满足条件的未落库历史记录，在按条件删除历史记录前调用。进行中的刷新结束后才会丢弃。
+     *
+     * @param filter 表示记录过滤条件的 {@link Predicate}{@code <}{@link AippInstLog}{@code >}。
+     * @return 表示丢弃的记录数量的 {@code int}。
+     */
+    public int discardIf(Predicate<AippInstLog> filter) {
+        if (this.pendingCount.get() == 0) {
+            return 0;
+        }
+        this.flushLock.lock();
+        try {
+            synchronized (this.lock) {
+                List<AippInstLog> records = this.pendingById.values().stream().filter(filter).toList();
+                records.forEach(this::removePending);
+                return records.size();
+            }
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    /**
+     * 若指定记录仍在缓冲区中，则直接在内存中修改。
+     *
+     * @param logId 表示历史记录 id 的 {@link Long}。
+     * @param logType 表示新的类型的 {@link String}，为 {@code null} 时不修改。
+     * @param logData 表示新的历史数据的 {@link String}，为 {@code null} 时不修改。
+     * @return 表示记录是否在缓冲区中并已修改的 {@code boolean}。为 {@code false} 时调用方需更新数据库。
+     */
+    public boolean updatePending(Long logId, String logType, String logData) {
+        if (this.pendingCount.get() == 0) {
+            return false;
+        }
+        // 等待进行中的刷新结束，避免修改已被序列化到 insert 语句中的记录。
+        this.flushLock.lock();
+        try {
+            synchronized (this.lock) {
+                AippInstLog record = this.pendingById.get(logId);
+                if (record == null) {
+                    return false;
+                }
+                Optional.ofNullable(logType).ifPresent(record::setLogType);
+                Optional.ofNullable(logData).ifPresent(record::setLogData);
+                return true;
+            }
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    /**
+     * 获取指定实例尚未落库的历史记录，按 log id 升序排列。
+     *
+     * @param instanceId 表示实例 id 的 {@link String}。
+     * @return 表示未落库历史记录副本的 {@link List}{@code <}{@link AippInstLog}{@code >}。
+     */
+    public List<AippInstLog> getPendingLogs(String instanceId) {
+        if (this.pendingCount.get() == 0) {
+            return Collections.emptyList();
+        }
+        synchronized (this.lock) {
+            return this.pendingByInstance.getOrDefault(instanceId, Collections.emptyList())
+                    .stream()
+                    .map(AippLogWriteBehindSink::copy)
+                    .toList();
+        }
+    }
+
+    /**
+     * 获取满足条件的未落库历史记录，按 log id 升序排列。
+     *
+     * @param filter 表示记录过滤条件的 {@link Predicate}{@code <}{@link AippInstLog}{@code >}。
+     * @return 表示未落库历史记录副本的 {@link List}{@code <}{@link AippInstLog}{@code >}。
+     */
+    public List<AippInstLog> getPendingLogs(Predicate<AippInstLog> filter) {
+        if (this.pendingCount.get() == 0) {
+            return Collections.emptyList();
+        }
+        synchronized (this.lock) {
+            return this.pendingById.values()
+                    .stream()
+                    .filter(filter)
+                    .sorted(Comparator.comparing(AippInstLog::getLogId))
+                    .map(AippLogWriteBehindSink::copy)
+                    .toList();
+        }
+    }
+
+    /**
+     * 获取指定实例及其子实例尚未落库的历史记录，过滤条件与
+     * {@link AippLogMapper#getFullLogsByInstanceIds(List)} 一致：实例自身的全部记录和子实例的表单记录。
+     *
+     * @param instanceIds 表示实例 id 集合的 {@link Collection}{@code <}{@link String}{@code >}。
+     * @return 表示未落库历史记录副本的 {@link List}{@code <}{@link AippInstLog}{@code >}。
+     */
+    public List<AippInstLog> getPendingFullLogs(Collection<String> instanceIds) {
+        Set<String> paths = new HashSet<>();
+        instanceIds.forEach(instanceId -> paths.add(AippLogUtils.PATH_DELIMITER + instanceId));
+        return this.getPendingLogs(record -> record.getPath() != null && (paths.contains(record.getPath())
+                || (AippInstLogType.FORM.name().equals(record.getLogType()) && paths.stream()
+                .anyMatch(path -> record.getPath().startsWith(path + AippLogUtils.PATH_DELIMITER)))));
+    }
+
+    /**
+     * 获取指定实例尚未落库的最新一条表单记录。
+     *
+     * @param instanceId 表示实例 id 的 {@link String}。
+     * @return 表示表单记录的 {@link Optional}{@code <}{@link AippInstLog}{@code >}。
+     */
+    public Optional<AippInstLog> getPendingLastFormLog(String instanceId) {
+        List<AippInstLog> logs = this.getPendingLogs(instanceId);
+        for (int i = logs.size() - 1; i >= 0; i--) {
+            if (AippInstLogType.FORM.name().equals(logs.get(i).getLogType())) {
+                return Optional.of(logs.get(i));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 获取指定实例尚未落库记录的 path。
+     *
+     * @param instanceId 表示实例 id 的 {@link String}。
+     * @return 表示 path 的 {@link Optional}{@code <}{@link String}{@code >}。
+     */
+    public Optional<String> getPendingPath(String instanceId) {
+        return this.getPendingLogs(instanceId).stream().map(AippInstLog::getPath).findFirst();
+    }
+
+    /**
+     * 获取缓冲区中的记录数量。
+     *
+     * @return 表示记录数量的 {@code int}。
+     */
+    public int size() {
+        return this.pendingCount.get();
+    }
+
+    /**
+     * 获取超过最大重试次数或关闭时仍未写入而被丢弃的记录数量。
+     *
+     * @return 表示丢弃的记录数量的 {@code long}。
+     */
+    public long getDroppedCount() {
+        return this.droppedCount.get();
+    }
+
+    /**
+     * 停止后台刷新线程并将剩余记录写入数据库，之后追加的记录直接同步写入数据库。
+     */
+    @Destroy
+    public void close() {
+        this.isClosed = true;
+        if (this.flusher != null) {
+            this.flusher.shutdown();
+        }
+        try {
+            this.flush();
+        } catch (RuntimeException ex) {
+            int remaining = this.pendingCount.get();
+            this.droppedCount.addAndGet(remaining);
+            log.error("Failed to flush aipp instance logs on close, drop them. [size={}]", remaining, ex);
+        }
+    }
+
+    /**
+     * 合并数据库中的历史记录与未落库的历史记录。刷新恰好发生在两次读取之间时，同一条记录可能同时出现在两者中，
+     * 按 log id 去重并保留数据库中的记录。
+     *
+     * @param stored 表示数据库中的历史记录的 {@link List}{@code <}{@link AippInstLog}{@code >}。
+     * @param pending 表示未落库的历史记录的 {@link List}{@code <}{@link AippInstLog}{@code >}。
+     * @return 表示合并后的历史记录的 {@link List}{@code <}{@link AippInstLog}{@code >}，数据库中的记录在前。
+     */
+    public static List<AippInstLog> merge(List<AippInstLog> stored, List<AippInstLog> pending) {
+        if (pending.isEmpty()) {
+            return stored;
+        }
+        Map<Long, AippInstLog> logs = new LinkedHashMap<>();
+        stored.forEach(record -> logs.putIfAbsent(record.getLogId(), record));
+        pending.forEach(record -> logs.putIfAbsent(record.getLogId(), record));
+        return new ArrayList<>(logs.values());
+    }
+
+    private RuntimeException write(List<AippInstLog> records, List<AippInstLog> failed) {
+        try {
+            this.aippLogMapper.insertBatch(records);
+            return null;
+        } catch (RuntimeException ex) {
+            log.warn("Failed to batch insert aipp instance logs, fallback to insert one by one. [size={}]",
+                    records.size(), ex);
+        }
+        RuntimeException failure = null;
+        for (AippInstLog record : records) {
+            try {
+                this.aippLogMapper.insertBatch(Collections.singletonList(record));
+            } catch (RuntimeException ex) {
+                failed.add(record);
+                failure = ex;
+            }
+        }
+        return failure;
+    }
+
+    private void retryOrDrop(AippInstLog record) {
+        int attempt = this.attempts.merge(record.getLogId(), 1, Integer::sum);
+        if (attempt <= this.maxRetries) {
+            return;
+        }
+        this.removePending(record);
+        this.droppedCount.incrementAndGet();
+        log.error("Failed to insert aipp instance log after retries, drop it. [logId={}, instanceId={}, attempts={}]",
+                record.getLogId(), record.getInstanceId(), attempt);
+    }
+
+    private void flushQuietly() {
+        synchronized (this.lock) {
+            if (System.currentTimeMillis() < this.nextFlushAt) {
+                return;
+            }
+        }
+        try {
+            this.flush();
+            synchronized (this.lock) {
+                this.backoffMillis = 0L;
+                this.nextFlushAt = 0L;
+            }
+        } catch (RuntimeException ex) {
+            synchronized (this.lock) {
+                this.backoffMillis = Math.min(Math.max(this.backoffMillis * 2, this.flushInterval), MAX_BACKOFF_MILLIS);
+                this.nextFlushAt = System.currentTimeMillis() + this.backoffMillis;
+            }
+            log.error("Failed to flush aipp instance logs, retry later. [pending={}, backoff={}ms]",
+                    this.pendingCount.get(), this.backoffMillis, ex);
+        }
+    }
+
+    private void removePending(AippInstLog record) {
+        this.attempts.remove(record.getLogId());
+        this.pendingById.remove(record.getLogId());
+        List<AippInstLog> logs = this.pendingByInstance.get(record.getInstanceId());
+        if (logs != null && logs.remove(record) && logs.isEmpty()) {
+            this.pendingByInstance.remove(record.getInstanceId());
+        }
+        this.pendingCount.decrementAndGet();
+    }
+
+    private Long nextLogId() {
+        synchronized (this.idPool) {
+            if (this.idPool.isEmpty()) {
+                this.idPool.addAll(this.aippLogMapper.nextLogIds(this.batchSize));
+            }
+            return this.idPool.poll();
+        }
+    }
+
+    private LocalDateTime nextCreateAt() {
+        // 保证同一节点内创建时间严格递增，使按 create_at 排序的查询与写入顺序一致。
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        this.lastCreateAt = now.isAfter(this.lastCreateAt) ? now : this.lastCreateAt.plus(1, ChronoUnit.MICROS);
+        return this.lastCreateAt;
+    }
+
+    private static AippInstLog copy(AippInstLog record) {
+        return AippInstLog.builder()
+                .logId(record.getLogId())
+                .aippId(record.getAippId())
+                .version(record.getVersion())
+                .aippType(record.getAippType())
+                .instanceId(record.getInstanceId())
+                .logData(record.getLogData())
+                .logType(record.getLogType())
+                .createUserAccount(record.getCreateUserAccount())
+                .path(record.getPath())
+                .createAt(record.getCreateAt())
+                .build();
+    }
+}
@@ -10,18 +10,23 @@ import modelengine.fit.jane.common.entity.OperationContext;
 import modelengine.fit.jober.aipp.common.exception.AippErrCode;
 import modelengine.fit.jober.aipp.common.exception.AippParamException;
 import modelengine.fit.jober.aipp.domains.log.AppLog;
+import modelengine.fit.jober.aipp.domains.log.AippLogWriteBehindSink;
 import modelengine.fit.jober.aipp.domains.log.AppLogFactory;
 import modelengine.fit.jober.aipp.domains.log.repository.AippLogRepository;
+import modelengine.fit.jober.aipp.entity.AippInstLog;
 import modelengine.fit.jober.aipp.enums.AippTypeEnum;
 import modelengine.fit.jober.aipp.mapper.AippLogMapper;
 
 import lombok.AllArgsConstructor;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.util.CollectionUtils;
 import modelengine.fitframework.util.StringUtils;
 
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -37,10 +42,13 @@ public class AippLogRepositoryImpl implements AippLogRepository {
 
     private final AippLogMapper aippLogMapper;
     private final AppLogFactory appLogFactory;
+    private final AippLogWriteBehindSink aippLogSink;
 
     @Override
     public List<AppLog> selectAllLogsByInstanceId(String instanceId) {
-        return this.aippLogMapper.getFullLogsByInstanceIds(Collections.singletonList(instanceId))
+        List<String> instanceIds = Collections.singletonList(instanceId);
+        return AippLogWriteBehindSink.merge(this.aippLogMapper.getFullLogsByInstanceIds(instanceIds),
+                        this.aippLogSink.getPendingFullLogs(instanceIds))
                 .stream()
                 .map(this.appLogFactory::create)
                 .toList();
@@ -48,7 +56,12 @@ public class AippLogRepositoryImpl implements AippLogRepository {
 
     @Override
     public String getParentPath(String parentInstId) {
-        return Optional.ofNullable(parentInstId).map(this.aippLogMapper::getParentPath).orElse(StringUtils.EMPTY);
+        if (parentInstId == null) {
+            return StringUtils.EMPTY;
+        }
+        return this.aippLogSink.getPendingPath(parentInstId)
+                .orElseGet(() -> Optional.ofNullable(this.aippLogMapper.getParentPath(parentInstId))
+                        .orElse(StringUtils.EMPTY));
     }
 
     @Override
@@ -57,8 +70,14 @@ public class AippLogRepositoryImpl implements AippLogRepository {
             log.error("When queryLogsByInstanceIdAndLogTypes input instance id is empty.");
             throw new AippParamException(AippErrCode.INPUT_PARAM_IS_INVALID);
         }
-        return this.aippLogMapper.getLogsByInstanceIdAndLogTypes(instanceId, logTypes)
+        List<AippInstLog> pendingLogs = this.aippLogSink.getPendingLogs(instanceId)
+                .stream()
+                .filter(l -> CollectionUtils.isEmpty(logTypes) || logTypes.contains(l.getLogType()))
+                .toList();
+        return AippLogWriteBehindSink.merge(this.aippLogMapper.getLogsByInstanceIdAndLogTypes(instanceId, logTypes),
+                        pendingLogs)
                 .stream()
+                .sorted(Comparator.comparing(AippInstLog::getCreateAt, Comparator.nullsLast(Comparator.reverseOrder())))
                 .map(this.appLogFactory::create)
                 .toList();
     }
@@ -69,16 +88,22 @@ public class AippLogRepositoryImpl implements AippLogRepository {
             log.error("Instance id is null or empty.");
             throw new AippParamException(AippErrCode.INPUT_PARAM_IS_INVALID);
         }
+        this.aippLogSink.discard(Collections.singletonList(instanceId));
         this.aippLogMapper.deleteInstanceLog(instanceId);
     }
 
     @Override
     public void deleteAippPreviewLog(String previewAippId, OperationContext context) {
+        this.aippLogSink.discardIf(l -> Objects.equals(previewAippId, l.getAippId())
+                && AippTypeEnum.PREVIEW.name().equals(l.getAippType())
+                && Objects.equals(context.getAccount(), l.getCreateUserAccount()));
         this.aippLogMapper.deleteByType(previewAippId, AippTypeEnum.PREVIEW.name(), context.getAccount(), null);
     }
 
     @Override
     public void updateDataAndType(Long logId, String newLogType, String newLogData) {
-        this.aippLogMapper.updateDataAndType(logId, newLogType, newLogData);
+        if (!this.aippLogSink.updatePending(logId, newLogType, newLogData)) {
+            this.aippLogMapper.updateDataAndType(logId, newLogType, newLogData);
+        }
     }
 }
@@ -0,0 +1,110 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.domains.task;
+
+import modelengine.fit.jade.waterflow.dto.FlowInfo;
+import modelengine.fit.jober.aipp.constants.AippConst;
+import modelengine.fit.jober.aipp.dto.AppInputParam;
+import modelengine.fit.jober.common.exceptions.JobberException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 对话启动计划，由流程定义编译得到，包含启动对话所需的输入参数定义与记忆配置。
+ * <p>已发布的流程定义不会再变化，因此同一流程定义的启动计划只需编译一次，启动对话时无需再查询流程定义。</p>
+ *
+ * @author 张越
+ * @since 2025-04-18
+ */
+public final class AppStartPlan {
+    private static final String INPUT_KEY = "input";
+    private static final String STRING_MAX_LENGTH_KEY = "stringMaxLength";
+
+    private final String flowDefinitionId;
+    private final List<Map<String, Object>> inputParamSpecs;
+    private final List<String> inputParamNames;
+    private final List<Map<String, Object>> memoryConfigs;
+    private final Map<Integer, List<AppInputParam>> inputParams = new ConcurrentHashMap<>();
+
+    private AppStartPlan(String flowDefinitionId, List<Map<String, Object>> inputParamSpecs,
+            List<Map<String, Object>> memoryConfigs) {
+        this.flowDefinitionId = flowDefinitionId;
+        this.inputParamSpecs = inputParamSpecs;
+        this.inputParamNames = inputParamSpecs.stream().map(AppInputParam::from).map(AppInputParam::getName).toList();
+        this.memoryConfigs = memoryConfigs;
+    }
+
+    /**
+     * 根据流程信息编译启动计划。
+     *
+     * @param flowDefinitionId 表示流程定义唯一标识的 {@link String}。
+     * @param flowInfo 表示流程信息的 {@link FlowInfo}。
+     * @return 表示启动计划的 {@link AppStartPlan}。
+     * @throws JobberException 当流程缺少开始节点或输入参数定义时。
+     */
+    public static AppStartPlan compile(String flowDefinitionId, FlowInfo flowInfo) {
+        // 复制参数定义，避免后续注入长度限制时修改流程信息中的原始数据。
+        List<Map<String, Object>> inputParamSpecs = flowInfo.getInputParamsByName(INPUT_KEY)
+                .stream()
+                .map(spec -> Collections.unmodifiableMap(new HashMap<>(spec)))
+                .toList();
+        List<Map<String, Object>> memoryConfigs;
+        try {
+            memoryConfigs = Collections.unmodifiableList(flowInfo.getInputParamsByName(AippConst.MEMORY_CONFIG_KEY));
+        } catch (JobberException e) {
+            memoryConfigs = null;
+        }
+        return new AppStartPlan(flowDefinitionId, inputParamSpecs, memoryConfigs);
+    }
+
+    /**
+     * 获取流程定义唯一标识。
+     *
+     * @return 表示流程定义唯一标识的 {@link String}。
+     */
+    public String getFlowDefinitionId() {
+        return this.flowDefinitionId;
+    }
+
+    /**
+     * 获取带字符串长度限制的输入参数定义，同一长度限制只编译一次。
+     *
+     * @param stringMaxLength 表示字符串类型参数最大长度的 {@link Integer}。
+     * @return 表示输入参数定义的 {@link List}{@code <}{@link AppInputParam}{@code >}。
+     */
+    public List<AppInputParam> getInputParams(Integer stringMaxLength) {
+        return this.inputParams.computeIfAbsent(stringMaxLength, length -> this.inputParamSpecs.stream().map(spec -> {
+            Map<String, Object> copied = new HashMap<>(spec);
+            copied.put(STRING_MAX_LENGTH_KEY, length);
+            return AppInputParam.from(copied);
+        }).toList());
+    }
+
+    /**
+     * 获取输入参数名称列表。
+     *
+     * @return 表示输入参数名称的 {@link List}{@code <}{@link String}{@code >}。
+     */
+    public List<String> getInputParamNames() {
+        return this.inputParamNames;
+    }
+
+    /**
+     * 获取记忆配置，流程未配置记忆时为空。
+     *
+     * @return 表示记忆配置的 {@link Optional}{@code <}{@link List}{@code <}{@link Map}{@code <}{@link String}{@code ,
+     * }{@link Object}{@code >>>}。
+     */
+    public Optional<List<Map<String, Object>>> getMemoryConfigs() {
+        return Optional.ofNullable(this.memoryConfigs);
+    }
+}
@@ -19,7 +19,6 @@ import lombok.Getter;
 import lombok.Setter;
 import modelengine.fit.jade.waterflow.FlowInstanceService;
 import modelengine.fit.jade.waterflow.FlowsService;
-import modelengine.fit.jade.waterflow.dto.FlowInfo;
 import modelengine.fit.jane.common.entity.OperationContext;
 import modelengine.fit.jane.task.domain.type.DateTimeConverter;
 import modelengine.fit.jober.aipp.common.AppTaskRunnable;
@@ -35,7 +34,6 @@ import modelengine.fit.jober.aipp.domains.task.service.AppTaskService;
 import modelengine.fit.jober.aipp.domains.taskinstance.AppTaskInstance;
 import modelengine.fit.jober.aipp.domains.taskinstance.TaskInstanceDecorator;
 import modelengine.fit.jober.aipp.domains.taskinstance.service.AppTaskInstanceService;
-import modelengine.fit.jober.aipp.dto.AppInputParam;
 import modelengine.fit.jober.aipp.dto.aipplog.AippLogCreateDto;
 import modelengine.fit.jober.aipp.entity.AippLogData;
 import modelengine.fit.jober.aipp.entity.ChatSession;
@@ -49,6 +47,7 @@ import modelengine.fit.jober.aipp.service.AopAippLogService;
 import modelengine.fit.jober.aipp.service.AppChatSessionService;
 import modelengine.fit.jober.aipp.service.AppChatSseService;
 import modelengine.fit.jober.aipp.util.AippLogUtils;
+import modelengine.fit.jober.aipp.util.CacheUtils;
 import modelengine.fit.jober.aipp.util.DataUtils;
 import modelengine.fit.jober.aipp.util.FormUtils;
 import modelengine.fit.jober.aipp.util.JsonUtils;
@@ -97,6 +96,7 @@ public class AppTask implements AppTaskRunnable {
 
     private List<AppTaskInstance> instances;
     private List<AppBuilderFormProperty> formProperties;
+    private AppStartPlan startPlan;
 
     AppTask(TaskEntity<?> entity) {
         this.entity = entity;
@@ -252,13 +252,7 @@ public class AppTask implements AppTaskRunnable {
     }
 
     private Map<String, Object> buildLogInfos(RunContext runContext) {
-        FlowInfo flowInfo = this.flowsService.getFlows(this.entity.getFlowDefinitionId(),
-                runContext.getOperationContext());
-        List<String> names = flowInfo.getInputParamsByName("input")
-                .stream()
-                .map(AppInputParam::from)
-                .map(AppInputParam::getName)
-                .toList();
+        List<String> names = this.getStartPlan(runContext.getOperationContext()).getInputParamNames();
         if (CollectionUtils.isEmpty(names)) {
             return new HashMap<>();
         }
@@ -337,14 +331,32 @@ public class AppTask implements AppTaskRunnable {
 
     private List<Map<String, Object>> getMemoryConfigs(String flowDefinitionId, OperationContext context) {
         try {
-            FlowInfo flowInfo = this.flowsService.getFlows(flowDefinitionId, context);
-            return flowInfo.getInputParamsByName(AippConst.MEMORY_CONFIG_KEY);
+            return this.getStartPlan(context).getMemoryConfigs().orElseThrow(() -> {
+                log.error("no memory config in flow, flowDefinitionId {}", flowDefinitionId);
+                return new AippException(context, AippErrCode.OBTAIN_APP_ORCHESTRATION_INFO_FAILED);
+            });
         } catch (JobberException e) {
             log.error("get flow failed, flowDefinitionId {}", flowDefinitionId);
             throw new AippException(context, AippErrCode.OBTAIN_APP_ORCHESTRATION_INFO_FAILED);
         }
     }
 
+    /**
+     * 获取对话启动计划。已发布的任务从缓存中获取，其余任务的流程定义可能变化，每次重新编译。
+     *
+     * @param context 操作人上下文信息。
+     * @return {@link AppStartPlan} 启动计划。
+     */
+    public AppStartPlan getStartPlan(OperationContext context) {
+        return UsefulUtils.lazyGet(this.startPlan, () -> {
+            String flowDefinitionId = this.entity.getFlowDefinitionId();
+            if (this.isNormal() && this.isActive()) {
+                return CacheUtils.getStartPlanWithCache(this.flowsService, flowDefinitionId, context);
+            }
+            return AppStartPlan.compile(flowDefinitionId, this.flowsService.getFlows(flowDefinitionId, context));
+        }, plan -> this.startPlan = plan);
+    }
+
     /**
      * 是否处于草稿态。
      *
@@ -14,12 +14,12 @@ import modelengine.fit.jane.meta.multiversion.instance.MetaInstanceFilter;
 import modelengine.fit.jober.aipp.domains.taskinstance.AppTaskInstance;
 import modelengine.fit.jober.aipp.domains.taskinstance.AppTaskInstanceFactory;
 import modelengine.fit.jober.aipp.domains.taskinstance.service.AppTaskInstanceService;
-import modelengine.fit.jober.aipp.util.MetaUtils;
 
 import lombok.RequiredArgsConstructor;
 import modelengine.fitframework.annotation.Component;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -49,7 +49,12 @@ public class AppTaskInstanceServiceImpl implements AppTaskInstanceService {
 
     @Override
     public Stream<AppTaskInstance> getInstanceStreamByTaskId(String taskId, int limit, OperationContext context) {
-        return MetaUtils.getAllFromRangedResult(limit, os -> metaInstanceService.list(taskId, os, limit, context))
+        // 按游标逐页查询，遍历期间修改实例不会导致结果重复或遗漏，且每页查询代价与页码无关。
+        return Stream.iterate(this.metaInstanceService.listAfter(taskId, null, limit, context), Objects::nonNull,
+                        page -> page.getCursor() == null
+                                ? null
+                                : this.metaInstanceService.listAfter(taskId, page.getCursor(), limit, context))
+                .flatMap(page -> page.getResults().stream())
                 .map(instance -> this.factory.create(instance, taskId, this));
     }
 
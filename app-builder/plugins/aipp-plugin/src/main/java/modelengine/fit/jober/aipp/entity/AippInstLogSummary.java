@@ -0,0 +1,45 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import modelengine.fitframework.annotation.Property;
+
+import java.time.LocalDateTime;
+
+/**
+ * aipp 实例历史记录的摘要，由数据库触发器随历史记录的写入与删除同步维护。
+ *
+ * @author 刘信宏
+ * @since 2025-04-18
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AippInstLogSummary {
+    @Property(description = "aipp实例id")
+    private String instanceId;
+
+    @Property(description = "aipp id")
+    private String aippId;
+
+    @Property(description = "aipp type(NORMAL/PREVIEW)")
+    private String aippType;
+
+    @Property(description = "创建用户账号")
+    private String createUserAccount;
+
+    @Property(description = "最后一条历史记录的创建时间")
+    private LocalDateTime lastUpdate;
+
+    @Property(description = "未删除的历史记录数量")
+    private Integer logCount;
+}
@@ -0,0 +1,186 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.entity.ffmpeg;
+
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * FfmpegProcessPool ffmpeg进程池
+ * <p>限制同时运行的ffmpeg进程数, 超出的任务按租户排队等待, 租户之间轮询分配空闲进程, 同一租户内先进先出,
+ * 避免单个租户的大批量任务占满进程; 排队任务数达到上限时直接拒绝.</p>
+ *
+ * @author 易文渊
+ * @since 2025/12/24
+ */
+public class FfmpegProcessPool {
+    private final int maxProcesses;
+    private final int maxWaiting;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Deque<Waiter>> waiters = new HashMap<>();
+    private final Deque<String> tenants = new ArrayDeque<>();
+    private int running;
+    private int waiting;
+    private int peakRunning;
+
+    /**
+     * 构造函数
+     *
+     * @param maxProcesses 最大同时运行的ffmpeg进程数
+     * @param maxWaiting 最大排队任务数
+     * @author 易文渊
+     * @since 2025/12/24
+     */
+    public FfmpegProcessPool(int maxProcesses, int maxWaiting) {
+        this.maxProcesses = Validation.greaterThan(maxProcesses, 0,
+                "The max processes must be positive. [maxProcesses={0}]", maxProcesses);
+        this.maxWaiting = Math.max(maxWaiting, 0);
+    }
+
+    /**
+     * exec 在进程池中执行ffmpeg任务, 没有空闲进程时排队等待
+     *
+     * @param tenantId 租户id, 用于租户间轮询调度
+     * @param task ffmpeg任务
+     * @return String 执行打印结果
+     * @throws IOException 排队已满、等待被中断或ffmpeg执行出错
+     * @author 易文渊
+     * @since 2025/12/24
+     */
+    public String exec(String tenantId, FfmpegTask task) throws IOException {
+        this.acquire(StringUtils.blankIf(tenantId, StringUtils.EMPTY));
+        try {
+            return task.exec();
+        } finally {
+            this.release();
+        }
+    }
+
+    /**
+     * getMaxProcesses 获取最大同时运行的ffmpeg进程数
+     *
+     * @return int 最大同时运行的ffmpeg进程数
+     * @author 易文渊
+     * @since 2025/12/24
+     */
+    public int getMaxProcesses() {
+        return this.maxProcesses;
+    }
+
+    /**
+     * getPeakRunning 获取同时运行进程数的峰值
+     *
+     * @return int 同时运行进程数的峰值
+     * @author 易文渊
+     * @since 2025/12/24
+     */
+    public int getPeakRunning() {
+        this.lock.lock();
+        try {
+            return this.peakRunning;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void acquire(String tenantId) throws IOException {
+        this.lock.lock();
+        try {
+            if (this.running < this.maxProcesses && this.waiting == 0) {
+                this.start();
+                return;
+            }
+            if (this.waiting >= this.maxWaiting) {
+                throw new IOException("ffmpeg process pool is full.");
+            }
+            Waiter waiter = new Waiter(tenantId, this.lock.newCondition());
+            this.waiters.computeIfAbsent(tenantId, key -> {
+                this.tenants.addLast(key);
+                return new ArrayDeque<>();
+            }).addLast(waiter);
+            this.waiting++;
+            while (!waiter.isGranted) {
+                try {
+                    waiter.condition.await();
+                } catch (InterruptedException e) {
+                    this.abandon(waiter);
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("wait for ffmpeg process interrupted.");
+                }
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void release() {
+        this.lock.lock();
+        try {
+            this.running--;
+            this.dispatch();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void abandon(Waiter waiter) {
+        if (waiter.isGranted) {
+            this.running--;
+            this.dispatch();
+            return;
+        }
+        Deque<Waiter> queue = this.waiters.get(waiter.tenantId);
+        queue.remove(waiter);
+        this.waiting--;
+        if (queue.isEmpty()) {
+            this.waiters.remove(waiter.tenantId);
+            this.tenants.remove(waiter.tenantId);
+        }
+    }
+
+    private void dispatch() {
+        while (this.running < this.maxProcesses && !this.tenants.isEmpty()) {
+            String tenantId = this.tenants.pollFirst();
+            Deque<Waiter> queue = this.waiters.get(tenantId);
+            Waiter waiter = queue.pollFirst();
+            if (queue.isEmpty()) {
+                this.waiters.remove(tenantId);
+            } else {
+                this.tenants.addLast(tenantId);
+            }
+            this.waiting--;
+            this.start();
+            waiter.isGranted = true;
+            waiter.condition.signal();
+        }
+    }
+
+    private void start() {
+        this.running++;
+        this.peakRunning = Math.max(this.peakRunning, this.running);
+    }
+
+    private static class Waiter {
+        private final String tenantId;
+        private final Condition condition;
+        private boolean isGranted;
+
+        Waiter(String tenantId, Condition condition) {
+            this.tenantId = tenantId;
+            this.condition = condition;
+        }
+    }
+}
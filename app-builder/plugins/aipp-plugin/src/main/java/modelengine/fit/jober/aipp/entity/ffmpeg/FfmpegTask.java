@@ -9,6 +9,7 @@ package modelengine.fit.jober.aipp.entity.ffmpeg;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +24,10 @@ import java.util.Map;
 public class FfmpegTask {
     private final List<String> command;
 
+    private volatile Process process;
+
+    private volatile boolean isCancelled;
+
     /**
      * 构造函数
      *
@@ -72,14 +77,61 @@ public class FfmpegTask {
     public String exec() throws IOException {
         ProcessBuilder builder = new ProcessBuilder();
         StringBuilder sb = new StringBuilder();
-        Process p = builder.command(command).redirectErrorStream(true).start();
+        Process p;
+        synchronized (this) {
+            if (this.isCancelled) {
+                throw new InterruptedIOException("ffmpeg task cancelled.");
+            }
+            p = builder.command(command).redirectErrorStream(true).start();
+            this.process = p;
+        }
         try (BufferedReader br = new BufferedReader(new InputStreamReader(p.getInputStream(),
                 StandardCharsets.UTF_8))) {
             String s;
             while ((s = br.readLine()) != null) {
                 sb.append(s);
             }
+            p.waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("ffmpeg task interrupted.");
+        } finally {
+            if (p.isAlive()) {
+                p.destroyForcibly();
+            }
+        }
+        if (this.isCancelled) {
+            throw new InterruptedIOException("ffmpeg task cancelled.");
         }
         return sb.toString();
     }
+
+    /**
+     * cancel 取消ffmpeg任务, 未启动的任务不再启动, 运行中的进程及其子进程被强制终止
+     *
+     * @author 易文渊
+     * @since 2025/12/24
+     */
+    public void cancel() {
+        Process p;
+        synchronized (this) {
+            this.isCancelled = true;
+            p = this.process;
+        }
+        if (p != null) {
+            p.descendants().forEach(ProcessHandle::destroyForcibly);
+            p.destroyForcibly();
+        }
+    }
+
+    /**
+     * isCancelled 任务是否已取消
+     *
+     * @return boolean 已取消返回true
+     * @author 易文渊
+     * @since 2025/12/24
+     */
+    public boolean isCancelled() {
+        return this.isCancelled;
+    }
 }
\ No newline at end of file
@@ -9,9 +9,11 @@ package modelengine.fit.jober.aipp.mapper;
 import modelengine.fit.jober.aipp.dto.aipplog.AippLogCreateDto;
 import modelengine.fit.jober.aipp.dto.aipplog.AippLogQueryCondition;
 import modelengine.fit.jober.aipp.entity.AippInstLog;
+import modelengine.fit.jober.aipp.entity.AippInstLogSummary;
 
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -54,6 +56,20 @@ public interface AippLogMapper {
     List<String> selectRecentInstanceIdByAippIds(List<String> aippIds, String aippType, Integer number,
             String createUserAccount);
 
+    /**
+     * 根据 aipp id 列表按最后更新时间倒序分页查询实例摘要。游标为空时返回第一页。
+     *
+     * @param aippIds 表示指定 aipp id 的 {@link List}{@code <}{@link String}{@code >}。
+     * @param aippType 表示指定 aipp 类型的 {@link String}。
+     * @param createUserAccount 表示创建者账号的 {@link String}。
+     * @param lastUpdate 表示上一页最后一条摘要的更新时间的 {@link LocalDateTime}。
+     * @param lastInstanceId 表示上一页最后一条摘要的实例 id 的 {@link String}。
+     * @param number 表示查询数量的 {@link Integer}。
+     * @return 表示查询到的实例摘要的 {@link List}{@code <}{@link AippInstLogSummary}{@code >}。
+     */
+    List<AippInstLogSummary> selectRecentInstanceSummaries(List<String> aippIds, String aippType,
+            String createUserAccount, LocalDateTime lastUpdate, String lastInstanceId, Integer number);
+
     /**
      * 用于查询简历之后的实例 id 列表。
      *
@@ -125,6 +141,21 @@ public interface AippLogMapper {
      */
     void insertOne(AippLogCreateDto data);
 
+    /**
+     * 批量插入历史记录，记录的 log id 与创建时间由调用方指定。
+     *
+     * @param logs 表示 aipp 实例历史记录的 {@link List}{@code <}{@link AippInstLog}{@code >}。
+     */
+    void insertBatch(@Param("logs") List<AippInstLog> logs);
+
+    /**
+     * 从历史记录主键序列中预分配若干个 log id。
+     *
+     * @param count 表示分配数量的 {@code int}。
+     * @return 表示分配到的 log id 的 {@link List}{@code <}{@link Long}{@code >}。
+     */
+    List<Long> nextLogIds(int count);
+
     /**
      * 更新指定历史记录。
      *
@@ -14,21 +14,39 @@ package modelengine.fit.jober.aipp.mapper;
  */
 public interface AppChatNumMapper {
     /**
-     * 插入或者更新app的对话数量 +1
+     * 插入或者更新app的对话数量 +num，并记入当前节点的租约，超过上限时抛出异常
      *
      * @param id 表的id
+     * @param nodeId 持有租约的节点id
      * @param appId 应用id
      * @param chatMode 应用对话方式（active、inactive）
+     * @param num 增加的对话数量
      */
-    void insertOrAddOne(String id, String appId, String chatMode);
+    void insertOrAdd(String id, String nodeId, String appId, String chatMode, int num);
 
     /**
-     * 更新app的对话数量 -1
+     * 更新app的对话数量 -num，并从当前节点的租约中扣除
      *
+     * @param nodeId 持有租约的节点id
      * @param appId 应用id
      * @param chatMode 应用对话方式
+     * @param num 减少的对话数量
      */
-    void minusOne(String appId, String chatMode);
+    void minus(String nodeId, String appId, String chatMode, int num);
+
+    /**
+     * 刷新节点所有租约的心跳时间
+     *
+     * @param nodeId 持有租约的节点id
+     */
+    void renewLeases(String nodeId);
+
+    /**
+     * 回收心跳超时节点的租约，将其持有的对话数量从app计数中扣除
+     *
+     * @param ttlSeconds 租约的有效秒数
+     */
+    void reclaimExpiredLeases(int ttlSeconds);
 
     /**
      * 清空所有 app 计数
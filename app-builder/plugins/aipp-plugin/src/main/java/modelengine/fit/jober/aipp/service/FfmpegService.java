@@ -8,7 +8,11 @@ package modelengine.fit.jober.aipp.service;
 
 import modelengine.fit.jober.aipp.entity.ffmpeg.FfmpegMeta;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 
 /**
  * FfmpegService ffmpeg服务
@@ -50,4 +54,23 @@ public interface FfmpegService {
      * @since 2024/1/7 15:49
      */
     void splitAudio(String inputFilePath, String outputPatten, int segmentSize) throws IOException;
-}
\ No newline at end of file
+
+    /**
+     * splitAudio 将音频按照时间并行切片
+     * <p>每个切片按起始时间定位(-ss/-t)由独立的ffmpeg进程生成, 进程在进程池中按租户公平调度,
+     * 切片生成后立即按完成顺序回调下游. 取消返回的任务时终止未完成的ffmpeg进程并删除已生成的切片,
+     * 任一切片失败时同样终止其余切片并删除已生成的切片.</p>
+     *
+     * @param tenantId 租户id, 用于ffmpeg进程池内的租户间公平调度
+     * @param inputFilePath 输入文件路径
+     * @param outputDir 输出文件目录, 输出文件名如split_%03d.{input_suffix}
+     * @param segmentSize 切片长度，单位为秒
+     * @param onSegment 切片生成后的回调, 参数为切片序号与切片文件
+     * @return CompletableFuture<List<File>> 全部切片生成后按序号排列的切片文件
+     * @throws IOException 读取元数据出错
+     * @author 易文渊
+     * @since 2025/12/24
+     */
+    CompletableFuture<List<File>> splitAudio(String tenantId, String inputFilePath, String outputDir, int segmentSize,
+            BiConsumer<Integer, File> onSegment) throws IOException;
+}
@@ -11,6 +11,7 @@ import modelengine.fit.jober.aipp.common.exception.AippErrCode;
 import modelengine.fit.jober.aipp.common.exception.AippParamException;
 import modelengine.fit.jober.aipp.constants.AippConst;
 import modelengine.fit.jober.aipp.domains.business.RunContext;
+import modelengine.fit.jober.aipp.domains.log.AippLogWriteBehindSink;
 import modelengine.fit.jober.aipp.domains.log.repository.AippLogRepository;
 import modelengine.fit.jober.aipp.domains.task.AppTask;
 import modelengine.fit.jober.aipp.domains.task.service.AppTaskService;
@@ -20,6 +21,7 @@ import modelengine.fit.jober.aipp.dto.aipplog.AippInstLogDataDto;
 import modelengine.fit.jober.aipp.dto.aipplog.AippLogCreateDto;
 import modelengine.fit.jober.aipp.dto.aipplog.AippLogQueryCondition;
 import modelengine.fit.jober.aipp.entity.AippInstLog;
+import modelengine.fit.jober.aipp.entity.AippInstLogSummary;
 import modelengine.fit.jober.aipp.entity.AippLogData;
 import modelengine.fit.jober.aipp.enums.AippInstLogType;
 import modelengine.fit.jober.aipp.enums.AippTypeEnum;
@@ -48,13 +50,18 @@ import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -69,6 +76,9 @@ import java.util.stream.Collectors;
 public class AippLogServiceImpl implements AippLogService {
     private static final Logger log = Logger.get(AippLogServiceImpl.class);
 
+    /** 查询最近实例时按游标向后翻页的最大次数，摘要对应的实例已不存在时用后续页补足数量。 */
+    private static final int MAX_RECENT_PAGES = 4;
+
     private final AippLogMapper aippLogMapper;
     private final AippChatMapper aippChatMapper;
     private final UploadedFileManageService uploadedFileManageService;
@@ -76,6 +86,7 @@ public class AippLogServiceImpl implements AippLogService {
     private final AppTaskInstanceService appTaskInstanceService;
     private final AppTaskService appTaskService;
     private final AippLogRepository aippLogRepository;
+    private final AippLogWriteBehindSink aippLogSink;
 
     private AippInstLog completeFormDataJson(AippInstLog instanceLog, OperationContext context) {
         if (AippInstLogType.FORM.name().equals(instanceLog.getLogType())) {
@@ -138,9 +149,46 @@ public class AippLogServiceImpl implements AippLogService {
 
     private List<AippInstLogDataDto> queryAippRecentInstLog(List<String> aippIds, String aippType, Integer count,
             OperationContext context) {
-        List<String> instanceIds =
-                this.aippLogMapper.selectRecentInstanceIdByAippIds(aippIds, aippType, count, context.getAccount());
-        return this.queryAndSortLogs(instanceIds, context);
+        // 本节点未落库的实例最新，排在摘要表查询结果之前。
+        List<String> pendingIds = this.getPendingInstanceIds(aippIds, aippType, context.getAccount());
+        Set<String> seen = new HashSet<>(pendingIds);
+        List<AippInstLogDataDto> logs = new ArrayList<>(this.queryAndSortLogs(pendingIds.stream().limit(count).toList(),
+                context));
+        AippInstLogSummary last = null;
+        for (int page = 0; page < MAX_RECENT_PAGES && logs.size() < count; page++) {
+            int remaining = count - logs.size();
+            List<AippInstLogSummary> summaries = this.aippLogMapper.selectRecentInstanceSummaries(aippIds, aippType,
+                    context.getAccount(),
+                    last == null ? null : last.getLastUpdate(),
+                    last == null ? null : last.getInstanceId(),
+                    remaining);
+            logs.addAll(this.queryAndSortLogs(summaries.stream()
+                    .map(AippInstLogSummary::getInstanceId)
+                    .filter(seen::add)
+                    .toList(), context));
+            if (summaries.size() < remaining) {
+                break;
+            }
+            last = summaries.get(summaries.size() - 1);
+        }
+        return logs.stream().sorted(Comparator.comparing(AippInstLogDataDto::getCreateAt)).toList();
+    }
+
+    private List<String> getPendingInstanceIds(Collection<String> aippIds, String aippType, String account) {
+        List<AippInstLog> pendingLogs = this.aippLogSink.getPendingLogs(l -> aippIds.contains(l.getAippId())
+                && Objects.equals(aippType, l.getAippType()) && Objects.equals(account, l.getCreateUserAccount()));
+        Set<String> instanceIds = new LinkedHashSet<>();
+        for (int i = pendingLogs.size() - 1; i >= 0; i--) {
+            instanceIds.add(pendingLogs.get(i).getInstanceId());
+        }
+        return new ArrayList<>(instanceIds);
+    }
+
+    private List<String> mergePendingInstanceIds(List<String> instanceIds, Collection<String> aippIds,
+            String aippType, String account) {
+        Set<String> merged = new LinkedHashSet<>(this.getPendingInstanceIds(aippIds, aippType, account));
+        merged.addAll(instanceIds);
+        return new ArrayList<>(merged);
     }
 
     @Override
@@ -212,7 +260,9 @@ public class AippLogServiceImpl implements AippLogService {
     @Override
     public List<AippInstLogDataDto> queryRecentLogsSinceResume(String aippId, String aippType,
             OperationContext context) {
-        List<String> instanceIds = aippLogMapper.selectRecentAfterResume(aippId, aippType, context.getAccount());
+        List<String> instanceIds = this.mergePendingInstanceIds(
+                aippLogMapper.selectRecentAfterResume(aippId, aippType, context.getAccount()),
+                Collections.singletonList(aippId), aippType, context.getAccount());
         // 该功能未上线，待测试
         return this.queryAndSortLogs(instanceIds, context);
     }
@@ -263,9 +313,19 @@ public class AippLogServiceImpl implements AippLogService {
                 .instanceId(instanceId)
                 .afterAt(sinceTime)
                 .build();
-        return aippLogMapper.selectWithCondition(sqlCondition)
+        // 先取未落库的记录再查库，刷新恰好发生在两次读取之间时按 log id 去重。
+        List<AippInstLog> pendingLogs = this.aippLogSink.getPendingLogs(instanceId);
+        Map<Long, AippInstLog> logs = aippLogMapper.selectWithCondition(sqlCondition)
+                .stream()
+                .collect(Collectors.toMap(AippInstLog::getLogId, Function.identity(), (l1, l2) -> l1,
+                        LinkedHashMap::new));
+        pendingLogs.stream()
+                .filter(l -> sinceTime == null || !l.getCreateAt().isBefore(sinceTime))
+                .forEach(l -> logs.putIfAbsent(l.getLogId(), l));
+        return logs.values()
                 .stream()
                 .filter(AippLogServiceImpl::isNeededLog)
+                .sorted(Comparator.comparing(AippInstLog::getLogId))
                 .collect(Collectors.toList());
     }
 
@@ -313,7 +373,8 @@ public class AippLogServiceImpl implements AippLogService {
             log.error("instanceId is null");
             throw new AippParamException(AippErrCode.INPUT_PARAM_IS_INVALID);
         }
-        return aippLogMapper.selectLastInstanceFormLog(instanceId);
+        return this.aippLogSink.getPendingLastFormLog(instanceId)
+                .orElseGet(() -> aippLogMapper.selectLastInstanceFormLog(instanceId));
     }
 
     /**
@@ -330,8 +391,9 @@ public class AippLogServiceImpl implements AippLogService {
         if (metaIds.isEmpty()) {
             return;
         }
-        List<String> instanceIdList =
-                this.aippLogMapper.selectNormalInstanceIdOrderByTimeDesc(metaIds, aippType, context.getAccount());
+        List<String> instanceIdList = this.mergePendingInstanceIds(
+                this.aippLogMapper.selectNormalInstanceIdOrderByTimeDesc(metaIds, aippType, context.getAccount()),
+                metaIds, aippType, context.getAccount());
         if (!instanceIdList.isEmpty()) {
             // check最后的实例是不是还在运行
             String instanceId = instanceIdList.get(0);
@@ -343,6 +405,10 @@ public class AippLogServiceImpl implements AippLogService {
                 } else {
                     this.uploadedFileManageService.cleanAippFiles(metaIds);
                 }
+                String excluded = instanceIdExclude;
+                this.aippLogSink.discardIf(l -> metaIds.contains(l.getAippId()) && Objects.equals(aippType,
+                        l.getAippType()) && Objects.equals(context.getAccount(), l.getCreateUserAccount())
+                        && !Objects.equals(excluded, l.getInstanceId()));
                 this.aippLogMapper.delete(metaIds, aippType, context.getAccount(), instanceIdExclude);
             });
         }
@@ -432,7 +498,9 @@ public class AippLogServiceImpl implements AippLogService {
             log.error("logId is null");
             throw new AippParamException(AippErrCode.INPUT_PARAM_IS_INVALID);
         }
-        aippLogMapper.updateOne(logId, newLogData);
+        if (!this.aippLogSink.updatePending(logId, null, newLogData)) {
+            aippLogMapper.updateOne(logId, newLogData);
+        }
     }
 
     @Override
@@ -441,7 +509,9 @@ public class AippLogServiceImpl implements AippLogService {
             log.error("logId is null");
             throw new AippParamException(AippErrCode.INPUT_PARAM_IS_INVALID);
         }
-        this.aippLogMapper.updateLogType(logId, newLogType);
+        if (!this.aippLogSink.updatePending(logId, newLogType, null)) {
+            this.aippLogMapper.updateLogType(logId, newLogType);
+        }
     }
 
     @Override
@@ -478,8 +548,12 @@ public class AippLogServiceImpl implements AippLogService {
     @Override
     public List<AippInstLogDataDto> queryAippRecentInstLogAfterSplice(String aippId, String aippType, Integer count,
         OperationContext context) {
-        List<String> instanceIds =
-            aippLogMapper.selectRecentInstanceId(aippId, aippType, count, context.getAccount());
+        List<String> instanceIds = this.mergePendingInstanceIds(
+                aippLogMapper.selectRecentInstanceId(aippId, aippType, count, context.getAccount()),
+                Collections.singletonList(aippId), aippType, context.getAccount())
+                .stream()
+                .limit(count)
+                .toList();
         // 该功能未上线，待测试
         return queryRecentLogByInstanceIds(instanceIds, context).values()
             .stream()
@@ -498,7 +572,8 @@ public class AippLogServiceImpl implements AippLogService {
             log.error("Instance id list is null or empty.");
             throw new AippParamException(AippErrCode.INPUT_PARAM_IS_INVALID);
         }
-        return this.aippLogMapper.getFullLogsByInstanceIds(instanceIds)
+        return AippLogWriteBehindSink.merge(this.aippLogMapper.getFullLogsByInstanceIds(instanceIds),
+                        this.aippLogSink.getPendingFullLogs(instanceIds))
                 .stream()
                 .filter(log -> !filterLogTypes.contains(log.getLogType()))
                 .collect(Collectors.toList());
@@ -510,6 +585,8 @@ public class AippLogServiceImpl implements AippLogService {
             log.error("logIds is null or empty.");
             return;
         }
+        Set<Long> ids = new HashSet<>(logIds);
+        this.aippLogSink.discardIf(l -> ids.contains(l.getLogId()));
         this.aippLogMapper.deleteInstanceLogs(logIds);
     }
 }
@@ -9,8 +9,8 @@ package modelengine.fit.jober.aipp.service.impl;
 import modelengine.fit.jober.aipp.aop.AippLogInsert;
 import modelengine.fit.jober.aipp.common.exception.AippErrCode;
 import modelengine.fit.jober.aipp.common.exception.AippParamException;
+import modelengine.fit.jober.aipp.domains.log.AippLogWriteBehindSink;
 import modelengine.fit.jober.aipp.dto.aipplog.AippLogCreateDto;
-import modelengine.fit.jober.aipp.mapper.AippLogMapper;
 import modelengine.fit.jober.aipp.service.AopAippLogService;
 import modelengine.fit.jober.aipp.util.SensitiveFilterTools;
 
@@ -27,12 +27,12 @@ import modelengine.fitframework.log.Logger;
 public class AopAippLogServiceImpl implements AopAippLogService {
     private static final Logger log = Logger.get(AopAippLogServiceImpl.class);
 
-    private final AippLogMapper aippLogMapper;
+    private final AippLogWriteBehindSink aippLogSink;
 
     private final SensitiveFilterTools sensitiveFilterTools;
 
-    public AopAippLogServiceImpl(AippLogMapper aippLogMapper, SensitiveFilterTools sensitiveFilterTools) {
-        this.aippLogMapper = aippLogMapper;
+    public AopAippLogServiceImpl(AippLogWriteBehindSink aippLogSink, SensitiveFilterTools sensitiveFilterTools) {
+        this.aippLogSink = aippLogSink;
         this.sensitiveFilterTools = sensitiveFilterTools;
     }
 
@@ -49,7 +49,7 @@ public class AopAippLogServiceImpl implements AopAippLogService {
     public String insertLog(AippLogCreateDto logDto) throws IllegalArgumentException {
         if (logDto.allFieldsNotNull()) {
             logDto.setLogData(this.sensitiveFilterTools.filterString(logDto.getLogData()));
-            aippLogMapper.insertOne(logDto);
+            this.aippLogSink.append(logDto);
             return logDto.getLogId();
         }
         log.error("null field exists in req {}", logDto);
@@ -6,18 +6,16 @@
 
 package modelengine.fit.jober.aipp.service.impl;
 
-import modelengine.fit.jane.task.util.Entities;
 import modelengine.fit.jober.aipp.common.exception.AippErrCode;
 import modelengine.fit.jober.aipp.common.exception.AippException;
 import modelengine.fit.jober.aipp.entity.ChatSession;
 import modelengine.fit.jober.aipp.mapper.AppChatNumMapper;
 import modelengine.fit.jober.aipp.service.AppChatSessionService;
 
-import lombok.RequiredArgsConstructor;
 import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.schedule.annotation.Scheduled;
-import modelengine.fitframework.transaction.DataAccessException;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -33,25 +31,27 @@ import java.util.stream.Collectors;
  * @since 2024-10-14
  */
 @Component
-@RequiredArgsConstructor
 public class AppChatSessionServiceImpl implements AppChatSessionService {
     private static final Logger log = Logger.get(AppChatSessionServiceImpl.class);
 
     private final Map<String, ChatSession<Object>> emitterMap = new ConcurrentHashMap<>();
-    private final AppChatNumMapper appChatNumMapper;
+    private final ChatAdmissionCounter admissionCounter;
+
+    public AppChatSessionServiceImpl(AppChatNumMapper appChatNumMapper,
+            @Value("${app-engine.chat.lease-size:4}") int leaseSize,
+            @Value("${app-engine.chat.lease-low-water:2}") int lowWaterMark,
+            @Value("${app-engine.chat.lease-ttl-seconds:60}") int leaseTtlSeconds) {
+        this.admissionCounter = new ChatAdmissionCounter(appChatNumMapper, leaseSize, lowWaterMark, leaseTtlSeconds);
+    }
 
     @Override
     public void addSession(String instanceId, ChatSession<Object> chatSession) {
         this.emitterMap.put(instanceId, chatSession);
-        try {
-            this.appChatNumMapper.insertOrAddOne(Entities.generateId(),
-                    chatSession.getAppId(),
-                    String.valueOf(chatSession.isDebug()));
-            chatSession.setOccupied(true);
-        } catch (DataAccessException e) {
+        if (!this.admissionCounter.tryAcquire(chatSession.getAppId(), String.valueOf(chatSession.isDebug()))) {
             log.warn("chat queue too long");
             throw new AippException(AippErrCode.CHAT_QUEUE_TOO_LONG);
         }
+        chatSession.setOccupied(true);
     }
 
     @Override
@@ -59,7 +59,7 @@ public class AppChatSessionServiceImpl implements AppChatSessionService {
         ChatSession<Object> removedSession = this.emitterMap.remove(instanceId);
         Optional.ofNullable(removedSession)
                 .filter(ChatSession::isOccupied)
-                .ifPresent(session -> this.appChatNumMapper.minusOne(session.getAppId(),
+                .ifPresent(session -> this.admissionCounter.release(session.getAppId(),
                         String.valueOf(session.isDebug())));
     }
 
@@ -81,4 +81,12 @@ public class AppChatSessionServiceImpl implements AppChatSessionService {
                 .collect(Collectors.toList());
         expiredSessionId.forEach(this::removeSession);
     }
+
+    /**
+     * 定时将超出保留水位的空闲对话名额归还数据库，并回收崩溃节点的租约。
+     */
+    @Scheduled(strategy = Scheduled.Strategy.FIXED_RATE, value = "5000")
+    public void reconcileChatNum() {
+        this.admissionCounter.reconcile();
+    }
 }
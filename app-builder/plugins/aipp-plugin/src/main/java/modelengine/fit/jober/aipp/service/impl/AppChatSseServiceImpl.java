@@ -6,6 +6,7 @@
 
 package modelengine.fit.jober.aipp.service.impl;
 
+import modelengine.fit.jober.aipp.domains.log.AippLogWriteBehindSink;
 import modelengine.fit.jober.aipp.entity.ChatSession;
 import modelengine.fit.jober.aipp.mapper.AippLogMapper;
 import modelengine.fit.jober.aipp.service.AppChatSessionService;
@@ -29,6 +30,7 @@ import java.util.Optional;
 public class AppChatSseServiceImpl implements AppChatSseService {
     private final AippLogMapper aippLogMapper;
     private final AppChatSessionService appChatSessionService;
+    private final AippLogWriteBehindSink aippLogSink;
 
     @Override
     public Optional<ChatSession<Object>> getEmitter(String instanceId) {
@@ -62,7 +64,8 @@ public class AppChatSseServiceImpl implements AppChatSseService {
     }
 
     private String getProcessedInstanceId(String instanceId) {
-        String path = this.aippLogMapper.getParentPath(instanceId);
+        String path = this.aippLogSink.getPendingPath(instanceId)
+                .orElseGet(() -> this.aippLogMapper.getParentPath(instanceId));
         if (StringUtils.isNotEmpty(path)) {
             return path.split(AippLogUtils.PATH_DELIMITER)[1];
         }
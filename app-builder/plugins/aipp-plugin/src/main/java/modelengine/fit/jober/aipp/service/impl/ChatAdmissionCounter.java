@@ -0,0 +1,219 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.service.impl;
+
+import modelengine.fit.jane.task.util.Entities;
+import modelengine.fit.jober.aipp.mapper.AppChatNumMapper;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.transaction.DataAccessException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 应用对话并发数的本地计数器。
+ * <p>实例以租约的方式批量向数据库申请对话名额，名额由数据库中 app_chat_num 的上限约束在集群范围内生效；
+ * 对话开始与结束只在本地计数，名额用完时才同步申请新的租约。定时任务只归还超过保留水位的空闲名额，
+ * 刷新本节点租约的心跳，并回收心跳超时（节点已崩溃）的租约。数据库访问都在租约锁之外进行。</p>
+ *
+ * @author 陈潇文
+ * @since 2025-04-16
+ */
+class ChatAdmissionCounter {
+    private static final Logger log = Logger.get(ChatAdmissionCounter.class);
+
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    private final AppChatNumMapper appChatNumMapper;
+
+    private final String nodeId = Entities.generateId();
+
+    private final int leaseSize;
+
+    private final int lowWaterMark;
+
+    private final int leaseTtlSeconds;
+
+    ChatAdmissionCounter(AppChatNumMapper appChatNumMapper, int leaseSize, int lowWaterMark, int leaseTtlSeconds) {
+        this.appChatNumMapper = appChatNumMapper;
+        this.leaseSize = Math.max(leaseSize, 1);
+        this.lowWaterMark = Math.max(Math.min(lowWaterMark, this.leaseSize), 0);
+        this.leaseTtlSeconds = Math.max(leaseTtlSeconds, 1);
+    }
+
+    /**
+     * 占用一个对话名额。
+     *
+     * @param appId 表示应用唯一标识的 {@link String}。
+     * @param chatMode 表示对话方式的 {@link String}。
+     * @return 表示是否占用成功的 {@code boolean}。
+     */
+    boolean tryAcquire(String appId, String chatMode) {
+        Lease lease = this.reserve(appId, chatMode);
+        if (lease == null) {
+            return true;
+        }
+        int granted = 0;
+        try {
+            for (int size = this.leaseSize; size >= 1 && granted == 0; size /= 2) {
+                granted = this.tryLease(lease, size);
+            }
+        } finally {
+            synchronized (lease) {
+                lease.pending--;
+                lease.leased += granted;
+                if (granted > 0) {
+                    lease.inUse++;
+                }
+            }
+        }
+        return granted > 0;
+    }
+
+    /**
+     * 释放一个对话名额，名额保留在本地租约中，由 {@link #reconcile()} 统一归还。
+     *
+     * @param appId 表示应用唯一标识的 {@link String}。
+     * @param chatMode 表示对话方式的 {@link String}。
+     */
+    void release(String appId, String chatMode) {
+        Lease lease = this.leases.get(key(appId, chatMode));
+        if (lease == null) {
+            return;
+        }
+        synchronized (lease) {
+            lease.inUse = Math.max(lease.inUse - 1, 0);
+        }
+    }
+
+    /**
+     * 归还空闲的名额，刷新本节点租约的心跳并回收崩溃节点的租约。
+     * <p>上一周期内有对话开始的租约保留不超过保留水位的空闲名额，只归还超出部分；没有对话开始的租约归还全部空闲名额，
+     * 名额归零后从本地移除。移除与占用在同一把租约锁内判断，数据库访问在锁外进行，归还失败时名额记回租约。</p>
+     */
+    void reconcile() {
+        this.leases.forEach((key, lease) -> {
+            int excess;
+            synchronized (lease) {
+                if (lease.leased == 0 && lease.inUse == 0 && lease.pending == 0 && !lease.isRecentlyAcquired) {
+                    lease.isRemoved = true;
+                    this.leases.remove(key, lease);
+                    return;
+                }
+                int kept = lease.isRecentlyAcquired ? this.lowWaterMark : 0;
+                excess = Math.max(lease.leased - lease.inUse - kept, 0);
+                lease.leased -= excess;
+                lease.isRecentlyAcquired = false;
+            }
+            if (excess > 0) {
+                this.returnLease(lease, excess);
+            }
+        });
+        try {
+            this.appChatNumMapper.renewLeases(this.nodeId);
+            this.appChatNumMapper.reclaimExpiredLeases(this.leaseTtlSeconds);
+        } catch (DataAccessException e) {
+            log.warn("Failed to renew or reclaim chat leases. [nodeId={}]", this.nodeId);
+        }
+    }
+
+    /**
+     * 获取本地正在进行的对话数量。
+     *
+     * @param appId 表示应用唯一标识的 {@link String}。
+     * @param chatMode 表示对话方式的 {@link String}。
+     * @return 表示对话数量的 {@code int}。
+     */
+    int inUse(String appId, String chatMode) {
+        Lease lease = this.leases.get(key(appId, chatMode));
+        return lease == null ? 0 : lease.inUse;
+    }
+
+    /**
+     * 获取本地持有的对话名额数量。
+     *
+     * @param appId 表示应用唯一标识的 {@link String}。
+     * @param chatMode 表示对话方式的 {@link String}。
+     * @return 表示名额数量的 {@code int}。
+     */
+    int leased(String appId, String chatMode) {
+        Lease lease = this.leases.get(key(appId, chatMode));
+        return lease == null ? 0 : lease.leased;
+    }
+
+    /**
+     * 在本地租约中占用名额；名额不足时标记一次待申请的租约，返回该租约由调用方在锁外申请。
+     *
+     * @param appId 表示应用唯一标识的 {@link String}。
+     * @param chatMode 表示对话方式的 {@link String}。
+     * @return 表示需要申请名额的 {@link Lease}，本地名额已占用成功时返回 {@code null}。
+     */
+    private Lease reserve(String appId, String chatMode) {
+        while (true) {
+            Lease lease = this.leases.computeIfAbsent(key(appId, chatMode), key -> new Lease(appId, chatMode));
+            synchronized (lease) {
+                // 租约可能在取出后被 reconcile 移除，此时重新获取，避免在已脱离计数器的租约上占用名额。
+                if (lease.isRemoved) {
+                    continue;
+                }
+                lease.isRecentlyAcquired = true;
+                if (lease.inUse < lease.leased) {
+                    lease.inUse++;
+                    return null;
+                }
+                lease.pending++;
+                return lease;
+            }
+        }
+    }
+
+    private int tryLease(Lease lease, int size) {
+        try {
+            this.appChatNumMapper.insertOrAdd(Entities.generateId(), this.nodeId, lease.appId, lease.chatMode, size);
+            return size;
+        } catch (DataAccessException e) {
+            return 0;
+        }
+    }
+
+    private void returnLease(Lease lease, int excess) {
+        try {
+            this.appChatNumMapper.minus(this.nodeId, lease.appId, lease.chatMode, excess);
+        } catch (DataAccessException e) {
+            log.warn("Failed to return chat lease. [appId={}, chatMode={}, idle={}]", lease.appId, lease.chatMode,
+                    excess);
+            synchronized (lease) {
+                lease.leased += excess;
+            }
+        }
+    }
+
+    private static String key(String appId, String chatMode) {
+        return appId + ":" + chatMode;
+    }
+
+    private static class Lease {
+        private final String appId;
+
+        private final String chatMode;
+
+        private int leased;
+
+        private int inUse;
+
+        private int pending;
+
+        private boolean isRecentlyAcquired;
+
+        private boolean isRemoved;
+
+        Lease(String appId, String chatMode) {
+            this.appId = appId;
+            this.chatMode = chatMode;
+        }
+    }
+}
@@ -7,22 +7,41 @@
 package modelengine.fit.jober.aipp.service.impl;
 
 import modelengine.fit.jober.aipp.entity.ffmpeg.FfmpegMeta;
+import modelengine.fit.jober.aipp.entity.ffmpeg.FfmpegProcessPool;
 import modelengine.fit.jober.aipp.entity.ffmpeg.FfmpegTask;
 import modelengine.fit.jober.aipp.entity.ffmpeg.FfmpegUtil;
 import modelengine.fit.jober.aipp.service.FfmpegService;
 
 import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Destroy;
+import modelengine.fitframework.annotation.Value;
 import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.thread.DefaultThreadFactory;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * FfmpegServiceImpl
+ * <p>所有ffmpeg进程都在有界进程池中执行, 并行切片时每个切片任务最多同时占用进程池上限个进程.
+ * 切片线程数不超过进程池的运行与排队上限之和, 服务销毁时停止切片线程并终止运行中的ffmpeg进程.</p>
  *
  * @author 易文渊
  * @since 2024/1/7
@@ -31,13 +50,78 @@ import java.util.regex.Pattern;
 public class FfmpegServiceImpl implements FfmpegService {
     private static final Pattern STAT_PATTERN = Pattern.compile("Duration: (.*?),(.*?)Audio: (.*?) ");
     private static final Logger log = Logger.get(FfmpegServiceImpl.class);
+    private static final String DEFAULT_TENANT = "default";
+
+    private final String executable;
+    private final FfmpegProcessPool processPool;
+    private final ThreadPoolExecutor splitExecutor;
+    private final Set<FfmpegTask> runningTasks = ConcurrentHashMap.newKeySet();
+    private final Set<SplitJob> runningJobs = ConcurrentHashMap.newKeySet();
+    private volatile boolean isClosed;
+
+    public FfmpegServiceImpl(@Value("${app-engine.ffmpeg.executable:ffmpeg}") String executable,
+            @Value("${app-engine.ffmpeg.max-processes:4}") int maxProcesses,
+            @Value("${app-engine.ffmpeg.max-waiting:64}") int maxWaiting) {
+        this.executable = executable;
+        this.processPool = new FfmpegProcessPool(maxProcesses, maxWaiting);
+        // 超出进程池运行与排队上限的切片线程只会被进程池拒绝, 因此以两者之和作为线程上限.
+        int splitThreads = maxProcesses + Math.max(maxWaiting, 0);
+        this.splitExecutor = new ThreadPoolExecutor(splitThreads, splitThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new DefaultThreadFactory("ffmpeg-split", true,
+                (thread, throwable) -> {
+                    log.error("[ffmpeg-split] Exception. [message={}]", throwable.getMessage());
+                    log.error("[ffmpeg-split] Details:", throwable);
+                }));
+        this.splitExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * getProcessPool 获取ffmpeg进程池
+     *
+     * @return FfmpegProcessPool ffmpeg进程池
+     */
+    public FfmpegProcessPool getProcessPool() {
+        return this.processPool;
+    }
+
+    /**
+     * close 停止切片线程, 终止运行中的ffmpeg进程, 未完成的切片任务以失败结束并删除已生成的切片
+     */
+    @Destroy
+    public void close() {
+        this.isClosed = true;
+        this.splitExecutor.shutdownNow();
+        IOException closed = new IOException("ffmpeg service is closed.");
+        this.runningJobs.forEach(job -> job.result.completeExceptionally(closed));
+        this.runningTasks.forEach(FfmpegTask::cancel);
+    }
+
+    private String exec(String tenantId, FfmpegTask task) throws IOException {
+        if (this.isClosed) {
+            throw new IOException("ffmpeg service is closed.");
+        }
+        this.runningTasks.add(task);
+        try {
+            // 登记后再次检查, 避免关闭时遗漏刚登记的任务.
+            if (this.isClosed) {
+                task.cancel();
+            }
+            return this.processPool.exec(tenantId, task);
+        } finally {
+            this.runningTasks.remove(task);
+        }
+    }
 
     @Override
     public FfmpegMeta stat(String inputFilePath) throws IOException {
+        return this.stat(DEFAULT_TENANT, inputFilePath);
+    }
+
+    private FfmpegMeta stat(String tenantId, String inputFilePath) throws IOException {
         HashMap<String, List<String>> inputs = new HashMap<String, List<String>>() {{
             put(inputFilePath, null);
         }};
-        String output = new FfmpegTask(inputs, null).exec();
+        String output = this.exec(tenantId, new FfmpegTask(this.executable, inputs, null));
         Matcher matcher = STAT_PATTERN.matcher(output);
         if (!matcher.find()) {
             throw new IOException("ffmpeg parse meta fail.");
@@ -53,7 +137,7 @@ public class FfmpegServiceImpl implements FfmpegService {
         HashMap<String, List<String>> outputs = new HashMap<String, List<String>>() {{
             put(outputFilePath, Arrays.asList("-vn", "-acodec", "copy", "-hide_banner", "-loglevel", "quiet"));
         }};
-        new FfmpegTask(inputs, outputs).exec();
+        this.exec(DEFAULT_TENANT, new FfmpegTask(this.executable, inputs, outputs));
         log.info("extract {} to {} success.", inputFilePath, outputFilePath);
     }
 
@@ -67,7 +151,173 @@ public class FfmpegServiceImpl implements FfmpegService {
                     Arrays.asList("-f", "segment", "-segment_time", String.valueOf(segmentSize),
                             "-c", "copy", "-hide_banner", "-loglevel", "quiet"));
         }};
-        new FfmpegTask(inputs, outputs).exec();
+        this.exec(DEFAULT_TENANT, new FfmpegTask(this.executable, inputs, outputs));
         log.info("split {} to {} success.", inputFilePath, outputPatten);
     }
+
+    @Override
+    public CompletableFuture<List<File>> splitAudio(String tenantId, String inputFilePath, String outputDir,
+            int segmentSize, BiConsumer<Integer, File> onSegment) throws IOException {
+        if (segmentSize <= 0) {
+            throw new IOException("ffmpeg segment size must be positive.");
+        }
+        FfmpegMeta meta = this.stat(tenantId, inputFilePath);
+        int segmentCount = Math.max((meta.getDuration() + segmentSize - 1) / segmentSize, 1);
+        SplitJob job = new SplitJob(tenantId, inputFilePath, outputDir, meta, segmentSize, segmentCount, onSegment);
+        this.runningJobs.add(job);
+        job.result.whenComplete((segments, ex) -> this.runningJobs.remove(job));
+        int workerCount = Math.min(segmentCount, this.processPool.getMaxProcesses());
+        List<CompletableFuture<Void>> workers = new ArrayList<>(workerCount);
+        try {
+            for (int i = 0; i < workerCount; i++) {
+                workers.add(CompletableFuture.runAsync(job::work, this.splitExecutor));
+            }
+        } catch (RejectedExecutionException e) {
+            job.result.completeExceptionally(new IOException("ffmpeg service is closed.", e));
+            return job.result;
+        }
+        CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).whenComplete((ignored, ex) -> {
+            if (ex != null) {
+                job.result.completeExceptionally(ex instanceof CompletionException ? ex.getCause() : ex);
+            } else {
+                job.result.complete(job.segments());
+            }
+        });
+        return job.result;
+    }
+
+    /**
+     * 一次并行切片任务, 工作线程依次领取切片序号生成切片, 任务取消或失败时终止运行中的进程并删除已生成的切片
+     */
+    private class SplitJob {
+        private final String tenantId;
+        private final String inputFilePath;
+        private final String outputDir;
+        private final FfmpegMeta meta;
+        private final int segmentSize;
+        private final int segmentCount;
+        private final BiConsumer<Integer, File> onSegment;
+        private final AtomicInteger next = new AtomicInteger();
+        private final File[] files;
+        private final List<FfmpegTask> runningTasks = new ArrayList<>();
+        private final CompletableFuture<List<File>> result = new CompletableFuture<>();
+        private final long startTime = System.currentTimeMillis();
+        private boolean isAborted;
+
+        SplitJob(String tenantId, String inputFilePath, String outputDir, FfmpegMeta meta, int segmentSize,
+                int segmentCount, BiConsumer<Integer, File> onSegment) {
+            this.tenantId = tenantId;
+            this.inputFilePath = inputFilePath;
+            this.outputDir = outputDir;
+            this.meta = meta;
+            this.segmentSize = segmentSize;
+            this.segmentCount = segmentCount;
+            this.onSegment = onSegment;
+            this.files = new File[segmentCount];
+            this.result.whenComplete((segments, ex) -> {
+                if (ex != null) {
+                    this.abort();
+                } else {
+                    log.info("split {} to {} segments success, cost {}ms.", inputFilePath, segmentCount,
+                            System.currentTimeMillis() - this.startTime);
+                }
+            });
+        }
+
+        void work() {
+            int index;
+            while (!this.isAborted() && (index = this.next.getAndIncrement()) < this.segmentCount) {
+                try {
+                    this.split(index);
+                } catch (IOException | RuntimeException e) {
+                    this.result.completeExceptionally(e);
+                    throw new CompletionException(e);
+                }
+            }
+        }
+
+        private void split(int index) throws IOException {
+            int start = index * this.segmentSize;
+            int length = Math.min(this.segmentSize, Math.max(this.meta.getDuration() - start, 1));
+            File file = new File(this.outputDir, String.format("split_%03d.%s", index, this.meta.getVideoExt()));
+            HashMap<String, List<String>> inputs = new HashMap<>();
+            inputs.put(this.inputFilePath,
+                    Arrays.asList("-ss", FfmpegUtil.formatTimestamps(start), "-t", String.valueOf(length)));
+            HashMap<String, List<String>> outputs = new HashMap<>();
+            outputs.put(file.getPath(), Arrays.asList("-c", "copy", "-y", "-hide_banner", "-loglevel", "quiet"));
+            FfmpegTask task = new FfmpegTask(FfmpegServiceImpl.this.executable, inputs, outputs);
+            if (!this.track(task)) {
+                return;
+            }
+            try {
+                FfmpegServiceImpl.this.exec(this.tenantId, task);
+                if (!file.isFile() || file.length() == 0) {
+                    throw new IOException(String.format("ffmpeg split segment %d of %s fail.", index,
+                            this.inputFilePath));
+                }
+            } catch (IOException e) {
+                deleteQuietly(file);
+                throw e;
+            } finally {
+                this.untrack(task);
+            }
+            if (!this.publish(index, file)) {
+                return;
+            }
+            if (this.onSegment != null) {
+                this.onSegment.accept(index, file);
+            }
+        }
+
+        private synchronized boolean isAborted() {
+            return this.isAborted;
+        }
+
+        private synchronized boolean track(FfmpegTask task) {
+            if (this.isAborted) {
+                return false;
+            }
+            this.runningTasks.add(task);
+            return true;
+        }
+
+        private synchronized void untrack(FfmpegTask task) {
+            this.runningTasks.remove(task);
+        }
+
+        private synchronized boolean publish(int index, File file) {
+            if (this.isAborted) {
+                deleteQuietly(file);
+                return false;
+            }
+            this.files[index] = file;
+            return true;
+        }
+
+        private synchronized List<File> segments() {
+            List<File> segments = new ArrayList<>(this.segmentCount);
+            Collections.addAll(segments, this.files);
+            return segments;
+        }
+
+        private synchronized void abort() {
+            if (this.isAborted) {
+                return;
+            }
+            this.isAborted = true;
+            this.runningTasks.forEach(FfmpegTask::cancel);
+            for (File file : this.files) {
+                if (file != null) {
+                    deleteQuietly(file);
+                }
+            }
+            log.warn("split {} aborted, segments are cleaned up.", this.inputFilePath);
+        }
+    }
+
+    private static void deleteQuietly(File file) {
+        if (file.exists() && !file.delete()) {
+            log.warn("delete ffmpeg segment {} fail.", file.getPath());
+        }
+    }
 }
@@ -21,6 +21,8 @@ import modelengine.fit.jober.aipp.util.AippFileUtils;
 import modelengine.fit.jober.aipp.util.JsonUtils;
 import modelengine.fit.jober.aipp.util.LLMUtils;
 import modelengine.fit.jober.aipp.util.UUIDUtil;
+import modelengine.jade.authentication.context.UserContext;
+import modelengine.jade.authentication.context.UserContextHolder;
 import modelengine.jade.voice.service.VoiceService;
 
 import modelengine.fel.core.chat.ChatModel;
@@ -40,7 +42,12 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -68,6 +75,8 @@ public class AudioExtractor implements FileExtractor {
 
     private static final String TMP_DIR_PREFIX = "audioTmp-";
 
+    private static final int SPLIT_DURATION = 6 * 60;
+
     private static final ExecutorService SUMMARY_EXECUTOR =
             new ThreadPoolExecutor(8, 8, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
 
@@ -96,16 +105,7 @@ public class AudioExtractor implements FileExtractor {
             int id = i;
             SUMMARY_EXECUTOR.execute(() -> {
                 try {
-                    File audio = audioList.get(id);
-                    String audioPath = AippFileUtils.getFileDownloadFilePath(
-                            endpoint, this.pathPrefix, audio.getPath());
-                    log.info("audio filePath: {}, audio fileName: {}", audioPath, audio.getName());
-                    String text = voiceService.getText(audioPath + "&fileName=" + audio.getName());
-                    String summary = LLMUtils.askModelForSummary(openAiClient, String.format(PROMPT, text),
-                            LlmModelNameEnum.QWEN_72B, 16000);
-                    output.set(id, summary);
-                } catch (IOException e) {
-                    output.set(id, "");
+                    output.set(id, this.summarizeSegment(audioList.get(id)));
                 } finally {
                     countDownLatch.countDown();
                 }
@@ -121,6 +121,55 @@ public class AudioExtractor implements FileExtractor {
         return summaryDto;
     }
 
+    private String summarizeSegment(File audio) {
+        try {
+            String audioPath = AippFileUtils.getFileDownloadFilePath(endpoint, this.pathPrefix, audio.getPath());
+            log.info("audio filePath: {}, audio fileName: {}", audioPath, audio.getName());
+            String text = voiceService.getText(audioPath + "&fileName=" + audio.getName());
+            return LLMUtils.askModelForSummary(openAiClient, String.format(PROMPT, text),
+                    LlmModelNameEnum.QWEN_72B, 16000);
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    /**
+     * 并行切分长音频，每个切片生成后立即开始总结，无需等待全部切片完成。
+     * 切分失败或等待被中断时取消切片任务，已生成的切片由 ffmpeg 服务删除。
+     */
+    private SummaryDto splitSummary(String dirName, File audio, FfmpegMeta meta)
+            throws IOException, InterruptedException {
+        File targetDir = Paths.get(NAS_SHARE_DIR, dirName).toFile();
+        Files.createDirectories(targetDir.toPath());
+        int segmentCount = Math.max(1, Math.min(meta.getDuration() / 300, 8));
+        int segmentSize = (meta.getDuration() + segmentCount - 1) / segmentCount;
+        long startTime = System.currentTimeMillis();
+        Map<Integer, CompletableFuture<String>> summaries = new ConcurrentHashMap<>();
+        String tenantId = Optional.ofNullable(UserContextHolder.get()).map(UserContext::getName).orElse(null);
+        CompletableFuture<List<File>> split = ffmpegService.splitAudio(tenantId, audio.getCanonicalPath(),
+                targetDir.getCanonicalPath(), segmentSize, (index, segment) -> summaries.put(index,
+                        CompletableFuture.supplyAsync(() -> this.summarizeSegment(segment), SUMMARY_EXECUTOR)));
+        List<File> segments;
+        try {
+            segments = split.get();
+        } catch (ExecutionException e) {
+            throw new IOException("split audio failed.", e.getCause());
+        } catch (InterruptedException e) {
+            split.cancel(true);
+            throw e;
+        }
+        List<String> output = new ArrayList<>(segments.size());
+        for (int i = 0; i < segments.size(); ++i) {
+            output.add(summaries.get(i).join());
+        }
+        SummaryDto summaryDto = generateSummary(output, segmentSize);
+        log.info("Split and summarize {} task use time {} seconds, segment size: {} seconds.",
+                segments.size(),
+                (System.currentTimeMillis() - startTime) / 1000,
+                segmentSize);
+        return summaryDto;
+    }
+
     private SummaryDto generateSummary(List<String> output, int segmentSize) {
         SummaryDto summaryDto = new SummaryDto(output, segmentSize);
         StringBuilder sb = new StringBuilder();
@@ -138,23 +187,6 @@ public class AudioExtractor implements FileExtractor {
         return summaryDto;
     }
 
-    private AudioSplitInfo covertAudio(String dirName, File audio) throws IOException {
-        File targetDir = Paths.get(NAS_SHARE_DIR, dirName).toFile();
-        FfmpegMeta meta = ffmpegService.stat(audio.getCanonicalPath());
-        FileUtils.copyFile(audio, Paths.get(targetDir.getPath(), audio.getName()).toFile());
-        File copyAudio = Paths.get(targetDir.getPath(), audio.getName()).toFile();
-        if (meta.getDuration() >= 6 * 60) {
-            int segmentCount = Math.max(1, Math.min(meta.getDuration() / 300, 8));
-            int segmentSize = (meta.getDuration() + segmentCount - 1) / segmentCount;
-            ffmpegService.splitAudio(audio.getCanonicalPath(),
-                    targetDir.getCanonicalPath() + "/split_%03d." + meta.getVideoExt(),
-                    segmentSize);
-            FileUtils.delete(copyAudio);
-            return new AudioSplitInfo(targetDir.getCanonicalPath(), segmentSize);
-        }
-        return new AudioSplitInfo(targetDir.getCanonicalPath(), meta.getDuration());
-    }
-
     private AudioSplitInfo covertAudioSimple(String dirName, File audio) throws IOException {
         File targetDir = Paths.get(NAS_SHARE_DIR, dirName).toFile();
         FileUtils.copyFile(audio, Paths.get(targetDir.getPath(), audio.getName()).toFile());
@@ -166,24 +198,13 @@ public class AudioExtractor implements FileExtractor {
     public String extractFile(File file) {
         // file -> audioDir 切分为多个音频文件，存在临时目录下
         String tmpDir = TMP_DIR_PREFIX + UUIDUtil.uuid();
-        AudioSplitInfo audioSplitInfo;
         try {
-            audioSplitInfo = this.covertAudioSimple(tmpDir, file);
-        } catch (IOException e) {
-            log.error("error occurs during audio segmentation.");
-            throw new AippException(AippErrCode.AUDIO_SEGMENTATION_FAILED);
-        }
-
-        try (Stream<Path> audioPathStream = Files.list(Paths.get(audioSplitInfo.getDirPath()))) {
-            List<File> audioFiles = audioPathStream.map(Path::toFile).collect(Collectors.toList());
-            SummaryDto summaryDto = batchSummary(audioFiles, audioSplitInfo.getSegmentSize());
+            SummaryDto summaryDto = this.summarizeAudio(tmpDir, file);
             if (summaryDto.getSectionList().isEmpty()) {
                 log.error("audio summary result is empty.");
                 throw new AippException(AippErrCode.AUDIO_SUMMARY_EMPTY);
             }
             return summaryDto.getSummary();
-        } catch (InterruptedException | IOException e) {
-            throw new AippException(AippErrCode.AUDIO_CONTENT_EXTRACT_FAILED);
         } finally {
             // 删除临时目录
             try {
@@ -193,4 +214,42 @@ public class AudioExtractor implements FileExtractor {
             }
         }
     }
+
+    private SummaryDto summarizeAudio(String dirName, File audio) {
+        FfmpegMeta meta = this.statAudio(audio);
+        if (meta != null && meta.getDuration() >= SPLIT_DURATION) {
+            try {
+                return this.splitSummary(dirName, audio, meta);
+            } catch (IOException e) {
+                log.error("error occurs during audio segmentation.");
+                throw new AippException(AippErrCode.AUDIO_SEGMENTATION_FAILED);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AippException(AippErrCode.AUDIO_CONTENT_EXTRACT_FAILED);
+            }
+        }
+        AudioSplitInfo audioSplitInfo;
+        try {
+            audioSplitInfo = this.covertAudioSimple(dirName, audio);
+        } catch (IOException e) {
+            log.error("error occurs during audio segmentation.");
+            throw new AippException(AippErrCode.AUDIO_SEGMENTATION_FAILED);
+        }
+        try (Stream<Path> audioPathStream = Files.list(Paths.get(audioSplitInfo.getDirPath()))) {
+            List<File> audioFiles = audioPathStream.map(Path::toFile).collect(Collectors.toList());
+            return batchSummary(audioFiles, audioSplitInfo.getSegmentSize());
+        } catch (InterruptedException | IOException e) {
+            throw new AippException(AippErrCode.AUDIO_CONTENT_EXTRACT_FAILED);
+        }
+    }
+
+    private FfmpegMeta statAudio(File audio) {
+        try {
+            return ffmpegService.stat(audio.getCanonicalPath());
+        } catch (IOException e) {
+            // 无法读取元数据时不切分，整段音频一起总结。
+            log.warn("read audio meta failed, summarize the whole audio. [fileName={}]", audio.getName());
+            return null;
+        }
+    }
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ import modelengine.fit.jober.aipp.common.exception.AippErrCode;
 import modelengine.fit.jober.aipp.common.exception.AippException;
 import modelengine.fit.jober.aipp.domains.appversion.AppVersion;
 import modelengine.fit.jober.aipp.domains.appversion.service.AppVersionService;
+import modelengine.fit.jober.aipp.domains.task.AppStartPlan;
 import modelengine.fit.jober.aipp.domains.task.AppTask;
 import modelengine.fit.jober.aipp.po.AppBuilderAppPo;
 import modelengine.fitframework.annotation.Component;
@@ -56,6 +57,12 @@ public class CacheUtils {
     private static final Cache<String, AppTask> APP_ID_TO_LAST_APP_TASK_CACHE =
             Caffeine.newBuilder().expireAfterAccess(5, TimeUnit.SECONDS).maximumSize(1000).build();
 
+    /**
+     * 用于缓存已发布的flowDefinitionId to 对话启动计划
+     */
+    private static final Cache<String, AppStartPlan> START_PLAN_CACHE =
+            Caffeine.newBuilder().expireAfterAccess(48, TimeUnit.HOURS).maximumSize(2000).build();
+
     /**
      * 清理缓存
      */
@@ -63,10 +70,12 @@ public class CacheUtils {
         APP_CACHE.invalidateAll();
         FLOW_CACHE.invalidateAll();
         APP_ID_TO_LAST_APP_TASK_CACHE.invalidateAll();
+        START_PLAN_CACHE.invalidateAll();
 
         APP_CACHE.cleanUp();
         FLOW_CACHE.cleanUp();
         APP_ID_TO_LAST_APP_TASK_CACHE.cleanUp();
+        START_PLAN_CACHE.cleanUp();
     }
 
     /**
@@ -82,6 +91,35 @@ public class CacheUtils {
         return FLOW_CACHE.get(flowDefinitionId, id -> flowsService.getFlows(id, context));
     }
 
+    /**
+     * 获取已发布流程定义的对话启动计划，未命中时查询流程定义并编译。
+     *
+     * @param flowsService 操作flow的service
+     * @param flowDefinitionId 已发布的flowDefinition的id
+     * @param context 人员上下文
+     * @return 缓存的对话启动计划
+     */
+    public static AppStartPlan getStartPlanWithCache(FlowsService flowsService, String flowDefinitionId,
+            OperationContext context) {
+        return START_PLAN_CACHE.get(flowDefinitionId,
+                id -> AppStartPlan.compile(id, flowsService.getFlows(id, context)));
+    }
+
+    /**
+     * 应用发布后清理与其相关的缓存。
+     *
+     * @param appId 应用唯一标识
+     * @param flowDefinitionId 新发布的flowDefinition的id
+     */
+    public static void invalidatePublished(String appId, String flowDefinitionId) {
+        if (appId != null) {
+            APP_ID_TO_LAST_APP_TASK_CACHE.invalidate(appId);
+        }
+        if (flowDefinitionId != null) {
+            START_PLAN_CACHE.invalidate(flowDefinitionId);
+        }
+    }
+
     /**
      * 根据应用唯一标识查询对应元数据。
      *
@@ -0,0 +1,18 @@
+INSERT INTO aipp_instance_log_summary (instance_id, aipp_id, aipp_type, create_by, last_update, log_count)
+SELECT
+	instance_id,
+	MIN(aipp_id),
+	MIN(aipp_type),
+	MIN(create_by),
+	MAX(create_at),
+	COUNT(1)
+FROM
+	aipp_instance_log
+WHERE
+	is_deleted = 0
+GROUP BY
+	instance_id
+ON CONFLICT (instance_id) DO UPDATE
+SET
+	last_update = EXCLUDED.last_update,
+	log_count = EXCLUDED.log_count;
@@ -27,6 +27,50 @@ create table if not exists aipp_instance_log
 
 CREATE INDEX IF NOT EXISTS "idx_aipp_instance_log_path" ON "aipp_instance_log" USING btree ("path" COLLATE "pg_catalog"."default" "pg_catalog"."text_pattern_ops" ASC NULLS LAST);
 
+CREATE INDEX IF NOT EXISTS "idx_aipp_instance_log_instance_id" ON "aipp_instance_log" USING btree ("instance_id", "create_at" DESC);
+
+create table if not exists aipp_instance_log_summary
+(
+    instance_id varchar(255) not null primary key,
+    aipp_id     varchar(255) not null,
+    aipp_type   varchar(64),
+    create_by   varchar(64)  not null,
+    last_update timestamp    not null,
+    log_count   int4         not null default 0
+    );
+
+CREATE INDEX IF NOT EXISTS "idx_aipp_instance_log_summary_recent" ON "aipp_instance_log_summary" USING btree ("create_by", "aipp_id", "aipp_type", "last_update" DESC, "instance_id" DESC);
+
+create or replace function aipp_instance_log_summary_sync() returns trigger as $$
+begin
+    if (TG_OP = 'INSERT' and NEW.is_deleted = 0)
+        or (TG_OP = 'UPDATE' and OLD.is_deleted <> 0 and NEW.is_deleted = 0) then
+        insert into aipp_instance_log_summary (instance_id, aipp_id, aipp_type, create_by, last_update, log_count)
+        values (NEW.instance_id, NEW.aipp_id, NEW.aipp_type, NEW.create_by, coalesce(NEW.create_at, now()), 1)
+        on conflict (instance_id) do update
+            set last_update = greatest(aipp_instance_log_summary.last_update, excluded.last_update),
+                log_count   = aipp_instance_log_summary.log_count + 1;
+    elsif (TG_OP = 'UPDATE' and OLD.is_deleted = 0 and NEW.is_deleted <> 0)
+        or (TG_OP = 'DELETE' and OLD.is_deleted = 0) then
+        update aipp_instance_log_summary
+        set log_count   = log_count - 1,
+            last_update = coalesce((select max(create_at)
+                                    from aipp_instance_log
+                                    where instance_id = OLD.instance_id
+                                      and is_deleted = 0), last_update)
+        where instance_id = OLD.instance_id;
+        delete from aipp_instance_log_summary where instance_id = OLD.instance_id and log_count <= 0;
+    end if;
+    if TG_OP = 'DELETE' then
+        return OLD;
+    end if;
+    return NEW;
+end;
+$$ language plpgsql;
+
+drop trigger if exists aipp_instance_log_summary_updater on aipp_instance_log;
+create trigger aipp_instance_log_summary_updater after INSERT or DELETE or UPDATE of is_deleted on aipp_instance_log for each row execute function aipp_instance_log_summary_sync();
+
 create table if not exists form_data(
     form_id varchar(64) not null,
     form_version varchar(32) not null,
@@ -272,6 +316,16 @@ create table if not exists app_chat_num (
 );
 create unique index if not exists idx_app_chat_mode on app_chat_num("app_id", "chat_mode");
 
+create table if not exists app_chat_lease (
+      node_id varchar(32) not null,
+      app_id varchar(32) not null,
+      chat_mode varchar(8) not null, --true\false
+      leased int not null default 0,
+      heartbeat_at timestamp not null default now(),
+      primary key (node_id, app_id, chat_mode)
+);
+create index if not exists idx_app_chat_lease_heartbeat on app_chat_lease("heartbeat_at");
+
 CREATE UNIQUE INDEX IF NOT EXISTS idx_unique_inspiration ON user_custom_inspiration (aipp_id, inspiration_id);
 
 CREATE TABLE IF NOT EXISTS aipp_system_config (
@@ -323,7 +377,7 @@ CREATE TABLE IF NOT EXISTS task_new (
     "version" varchar(64) NOT NULL,
     "template_id" char(32) NOT NULL,
     "tenant_id" char(32) NOT NULL,
-    "attributes" json NOT NULL DEFAULT '{}'::json,
+    "attributes" jsonb NOT NULL DEFAULT '{}'::jsonb,
     "created_by" varchar(127) NOT NULL,
     "created_at" timestamp(6) NOT NULL,
     "updated_by" varchar(127) NOT NULL,
@@ -331,12 +385,25 @@ CREATE TABLE IF NOT EXISTS task_new (
     "is_deleted" int2 NOT NULL DEFAULT 0
 );
 
+-- 存量库中 attributes 为 json 类型，转换为 jsonb 以支持包含查询和 GIN 索引。
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_name = 'task_new' AND column_name = 'attributes' AND data_type = 'json') THEN
+        ALTER TABLE task_new ALTER COLUMN attributes DROP DEFAULT;
+        ALTER TABLE task_new ALTER COLUMN attributes TYPE jsonb USING attributes::jsonb;
+        ALTER TABLE task_new ALTER COLUMN attributes SET DEFAULT '{}'::jsonb;
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS "idx_task_new_attributes" ON "task_new" USING gin ("attributes" jsonb_path_ops) WHERE "is_deleted" = 0;
+
 CREATE TABLE IF NOT EXISTS task_instance_new (
     "id" char(32) NOT NULL PRIMARY KEY,
     "task_id" char(32) NOT NULL,
     "task_name" varchar(255),
     "creator" varchar(127),
-    "create_time" timestamp(6),
+    "create_time" timestamp(6) NOT NULL DEFAULT LOCALTIMESTAMP,
     "modify_by" varchar(127),
     "modify_time" timestamp(6),
     "finish_time" timestamp(6),
@@ -352,4 +419,16 @@ CREATE TABLE IF NOT EXISTS task_instance_new (
     "instance_curr_node_id" varchar(127),
     "is_deleted" int2 NOT NULL DEFAULT 0,
     "resume_duration" varchar(127)
-);
\ No newline at end of file
+);
+-- 存量库中 create_time 可为空，游标分页按 (create_time, id) 比较，先回填空值再加非空约束。
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_name = 'task_instance_new' AND column_name = 'create_time' AND is_nullable = 'YES') THEN
+        UPDATE task_instance_new SET create_time = COALESCE(modify_time, LOCALTIMESTAMP) WHERE create_time IS NULL;
+        ALTER TABLE task_instance_new ALTER COLUMN create_time SET DEFAULT LOCALTIMESTAMP;
+        ALTER TABLE task_instance_new ALTER COLUMN create_time SET NOT NULL;
+    END IF;
+END $$;
+CREATE INDEX IF NOT EXISTS "idx_task_instance_new_task_create" ON "task_instance_new" USING btree ("task_id", "create_time", "id") WHERE "is_deleted" = 0;
+CREATE INDEX IF NOT EXISTS "idx_task_instance_new_create_time" ON "task_instance_new" USING btree ("create_time");
\ No newline at end of file
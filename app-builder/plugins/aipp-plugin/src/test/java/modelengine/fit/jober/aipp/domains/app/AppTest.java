@@ -10,10 +10,12 @@ import static modelengine.fit.jober.aipp.common.exception.AippErrCode.APP_NOT_FO
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -25,9 +27,12 @@ import modelengine.fit.jober.aipp.domains.appversion.AppVersion;
 import modelengine.fit.jober.aipp.domains.appversion.AppVersionFactory;
 import modelengine.fit.jober.aipp.domains.appversion.repository.AppVersionRepository;
 import modelengine.fit.jober.aipp.domains.appversion.service.AppVersionService;
+import modelengine.fit.jober.aipp.domains.log.AippLogWriteBehindSink;
 import modelengine.fit.jober.aipp.domains.task.AppTask;
 import modelengine.fit.jober.aipp.domains.taskinstance.AppTaskInstance;
+import modelengine.fit.jober.aipp.dto.aipplog.AippLogCreateDto;
 import modelengine.fit.jober.aipp.dto.export.AppExportDto;
+import modelengine.fit.jober.aipp.enums.AippInstLogType;
 import modelengine.fit.jober.aipp.mapper.AippChatMapper;
 import modelengine.fit.jober.aipp.mapper.AippLogMapper;
 import modelengine.fit.jober.aipp.po.AppBuilderAppPo;
@@ -39,6 +44,7 @@ import modelengine.jade.store.service.AppService;
 import modelengine.jade.store.service.PluginService;
 import modelengine.jade.store.service.PluginToolService;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -47,6 +53,7 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.stream.LongStream;
 
 /**
  * {@link App} 的测试类。
@@ -61,6 +68,7 @@ public class AppTest {
     private AppBuilderFlowGraphRepository appBuilderFlowGraphRepository;
     private AppBuilderFormPropertyRepository formPropertyRepository;
     private AippLogMapper aippLogMapper;
+    private AippLogWriteBehindSink aippLogSink;
     private AppService appService;
     private AippChatMapper aippChatMapper;
     private AppVersionFactory appVersionFactory;
@@ -75,6 +83,9 @@ public class AppTest {
         this.appBuilderFlowGraphRepository = mock(AppBuilderFlowGraphRepository.class);
         this.formPropertyRepository = mock(AppBuilderFormPropertyRepository.class);
         this.aippLogMapper = mock(AippLogMapper.class);
+        when(this.aippLogMapper.nextLogIds(anyInt())).thenAnswer(invocation -> LongStream.rangeClosed(1,
+                invocation.<Integer>getArgument(0)).boxed().toList());
+        this.aippLogSink = new AippLogWriteBehindSink(this.aippLogMapper, true, 4, 60000L, 64, 2);
         this.appService = mock(AppService.class);
         this.aippChatMapper = mock(AippChatMapper.class);
         AppVersionRepository appVersionRepository = mock(AppVersionRepository.class);
@@ -84,7 +95,8 @@ public class AppTest {
         this.domainDivisionService = mock(DomainDivisionService.class);
 
         this.factory = new AppFactory(this.appVersionService, this.appBuilderConfigRepository,
-                this.appBuilderFlowGraphRepository, this.formPropertyRepository, this.aippLogMapper, this.appService,
+                this.appBuilderFlowGraphRepository, this.formPropertyRepository, this.aippLogMapper, this.aippLogSink,
+                this.appService,
                 this.aippChatMapper,
                 appVersionRepository,
                 this.appVersionFactory,
@@ -95,6 +107,11 @@ public class AppTest {
                 true);
     }
 
+    @AfterEach
+    public void tearDown() {
+        this.aippLogSink.close();
+    }
+
     @Test
     @DisplayName("测试 getVersions")
     public void testGetVersions() {
@@ -211,4 +228,39 @@ public class AppTest {
         verify(this.appService, times(1)).deleteApp(eq("unique_name_1"));
         verify(this.aippChatMapper, times(1)).deleteAppByAippId(eq("app_1"));
     }
+
+    @Test
+    @DisplayName("测试删除应用时丢弃实例未落库的历史记录，刷新后不会重新写入")
+    public void testDeleteDiscardsPendingLogs() {
+        // given.
+        App app = this.factory.create("app_1");
+        AppVersion appVersion = mock(AppVersion.class);
+        when(appVersion.getData()).thenReturn(AppBuilderAppPo.builder()
+                .configId("config_1")
+                .flowGraphId("flow_1")
+                .appId("app_version_1")
+                .build());
+        when(this.appVersionService.getByAppSuiteId(anyString())).thenReturn(List.of(appVersion));
+        AppTask task = mock(AppTask.class);
+        when(appVersion.getTasks(any())).thenReturn(List.of(task));
+        when(task.getEntity()).thenReturn(AppTask.asEntity().setUniqueName("unique_name_1"));
+        AppTaskInstance instance = mock(AppTaskInstance.class);
+        when(task.getInstances(any())).thenReturn(List.of(instance));
+        when(instance.getEntity()).thenReturn(AppTaskInstance.asEntity().setInstanceId("instance_1"));
+        this.aippLogSink.append(AippLogCreateDto.builder()
+                .aippId("app_version_1")
+                .instanceId("instance_1")
+                .logType(AippInstLogType.MSG.name())
+                .logData("{}")
+                .build());
+
+        // when.
+        app.delete(new OperationContext());
+        this.aippLogSink.flush();
+
+        // then.
+        assertEquals(0, this.aippLogSink.size());
+        verify(this.aippLogMapper, times(1)).deleteByInstanceIds(eq(List.of("instance_1")));
+        verify(this.aippLogMapper, never()).insertBatch(any());
+    }
 }
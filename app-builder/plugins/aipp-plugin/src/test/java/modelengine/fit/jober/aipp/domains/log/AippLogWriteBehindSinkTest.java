@@ -0,0 +1,267 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.domains.log;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import modelengine.fit.jober.aipp.dto.aipplog.AippLogCreateDto;
+import modelengine.fit.jober.aipp.entity.AippInstLog;
+import modelengine.fit.jober.aipp.enums.AippInstLogType;
+import modelengine.fit.jober.aipp.mapper.AippLogMapper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/**
+ * {@link AippLogWriteBehindSink} 的测试类。
+ *
+ * @author 刘信宏
+ * @since 2025-04-17
+ */
+public class AippLogWriteBehindSinkTest {
+    private final AippLogMapper mapper = mock(AippLogMapper.class);
+    private final AtomicLong sequence = new AtomicLong();
+    private AippLogWriteBehindSink sink;
+
+    @BeforeEach
+    void setUp() {
+        when(this.mapper.nextLogIds(anyInt())).thenAnswer(invocation -> {
+            int count = invocation.getArgument(0);
+            return LongStream.range(0, count).mapToObj(i -> this.sequence.incrementAndGet()).toList();
+        });
+        this.sink = new AippLogWriteBehindSink(this.mapper, true, 4, 60000L, 64, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.sink.close();
+    }
+
+    @Test
+    @DisplayName("测试写入时立即分配 log id 且不访问数据库插入")
+    void shouldAssignLogIdWithoutInsert() {
+        AippLogCreateDto dto = this.createDto("inst1", AippInstLogType.QUESTION.name());
+        this.sink.append(dto);
+
+        Assertions.assertEquals("1", dto.getLogId());
+        Assertions.assertEquals(1, this.sink.size());
+        verify(this.mapper, never()).insertBatch(any());
+        verify(this.mapper, never()).insertOne(any());
+    }
+
+    @Test
+    @DisplayName("测试未落库记录可被读取，包括 path 和最新表单")
+    void shouldServePendingLogsFromMemory() {
+        this.sink.append(this.createDto("inst1", AippInstLogType.QUESTION.name()));
+        this.sink.append(this.createDto("inst1", AippInstLogType.FORM.name()));
+        this.sink.append(this.createDto("inst2", AippInstLogType.MSG.name()));
+
+        List<AippInstLog> logs = this.sink.getPendingLogs("inst1");
+        Assertions.assertEquals(2, logs.size());
+        Assertions.assertTrue(logs.get(0).getCreateAt().isBefore(logs.get(1).getCreateAt()));
+        Assertions.assertEquals(2L, this.sink.getPendingLastFormLog("inst1").map(AippInstLog::getLogId).orElse(null));
+        Assertions.assertEquals("/inst1", this.sink.getPendingPath("inst1").orElse(null));
+        Assertions.assertTrue(this.sink.getPendingPath("inst3").isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("测试刷新时按 log id 顺序批量写入并清空缓冲区")
+    void shouldFlushInLogIdOrder() {
+        for (int i = 0; i < 3; i++) {
+            this.sink.append(this.createDto("inst" + (i % 2), AippInstLogType.MSG.name()));
+        }
+        this.sink.flush();
+
+        ArgumentCaptor<List<AippInstLog>> captor = ArgumentCaptor.forClass(List.class);
+        verify(this.mapper, times(1)).insertBatch(captor.capture());
+        List<Long> logIds = captor.getValue().stream().map(AippInstLog::getLogId).toList();
+        Assertions.assertEquals(List.of(1L, 2L, 3L), logIds);
+        Assertions.assertEquals(0, this.sink.size());
+        Assertions.assertTrue(this.sink.getPendingLogs("inst0").isEmpty());
+    }
+
+    @Test
+    @DisplayName("测试未落库记录的更新在内存中完成")
+    void shouldUpdatePendingInMemory() {
+        AippLogCreateDto dto = this.createDto("inst1", AippInstLogType.MSG.name());
+        this.sink.append(dto);
+
+        Assertions.assertTrue(this.sink.updatePending(Long.valueOf(dto.getLogId()), null, "{\"msg\":\"new\"}"));
+        Assertions.assertFalse(this.sink.updatePending(100L, null, "{}"));
+        Assertions.assertEquals("{\"msg\":\"new\"}", this.sink.getPendingLogs("inst1").get(0).getLogData());
+    }
+
+    @Test
+    @DisplayName("测试批量写入失败时逐条重试")
+    void shouldFallbackToSingleInsertWhenBatchFailed() {
+        List<Integer> sizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<AippInstLog> logs = invocation.getArgument(0);
+            sizes.add(logs.size());
+            if (logs.size() > 1) {
+                throw new IllegalStateException("batch failed");
+            }
+            return null;
+        }).when(this.mapper).insertBatch(any());
+        this.sink.append(this.createDto("inst1", AippInstLogType.MSG.name()));
+        this.sink.append(this.createDto("inst1", AippInstLogType.MSG.name()));
+        this.sink.flush();
+
+        Assertions.assertEquals(List.of(2, 1, 1), sizes);
+        Assertions.assertEquals(0, this.sink.size());
+    }
+
+    @Test
+    @DisplayName("测试写入失败的记录保留在缓冲区中，超过最大重试次数后丢弃")
+    void shouldKeepFailedRecordsAndDropAfterMaxRetries() {
+        doThrow(new IllegalStateException("db down")).when(this.mapper).insertBatch(any());
+        this.sink.append(this.createDto("inst1", AippInstLogType.MSG.name()));
+        this.sink.append(this.createDto("inst2", AippInstLogType.MSG.name()));
+
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertThrows(IllegalStateException.class, () -> this.sink.flush());
+            Assertions.assertEquals(2, this.sink.size());
+            Assertions.assertEquals(0L, this.sink.getDroppedCount());
+        }
+        Assertions.assertThrows(IllegalStateException.class, () -> this.sink.flush());
+        Assertions.assertEquals(0, this.sink.size());
+        Assertions.assertEquals(2L, this.sink.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("测试重试成功后记录写入数据库")
+    void shouldWriteFailedRecordsOnRetry() {
+        doThrow(new IllegalStateException("db down")).doThrow(new IllegalStateException("db down"))
+                .doNothing()
+                .when(this.mapper)
+                .insertBatch(any());
+        AippLogCreateDto dto = this.createDto("inst1", AippInstLogType.MSG.name());
+        this.sink.append(dto);
+        Assertions.assertThrows(IllegalStateException.class, () -> this.sink.flush());
+        Assertions.assertEquals(1, this.sink.size());
+
+        this.sink.flush();
+        Assertions.assertEquals(0, this.sink.size());
+        Assertions.assertEquals(0L, this.sink.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("测试缓冲区达到上限时新记录同步写入数据库")
+    void shouldInsertDirectlyWhenBufferIsFull() {
+        doThrow(new IllegalStateException("db down")).when(this.mapper).insertBatch(any());
+        AippLogWriteBehindSink bounded = new AippLogWriteBehindSink(this.mapper, true, 2, 60000L, 2, 100);
+        try {
+            bounded.append(this.createDto("inst1", AippInstLogType.MSG.name()));
+            bounded.append(this.createDto("inst1", AippInstLogType.MSG.name()));
+            AippLogCreateDto overflow = this.createDto("inst1", AippInstLogType.MSG.name());
+            bounded.append(overflow);
+
+            verify(this.mapper, times(1)).insertOne(overflow);
+            Assertions.assertEquals(2, bounded.size());
+        } finally {
+            bounded.close();
+        }
+    }
+
+    @Test
+    @DisplayName("测试丢弃指定实例未落库的记录")
+    void shouldDiscardPendingRecordsOfInstances() {
+        this.sink.append(this.createDto("inst1", AippInstLogType.MSG.name()));
+        this.sink.append(this.createDto("inst1", AippInstLogType.FORM.name()));
+        this.sink.append(this.createDto("inst2", AippInstLogType.MSG.name()));
+
+        Assertions.assertEquals(2, this.sink.discard(List.of("inst1", "inst3")));
+        Assertions.assertTrue(this.sink.getPendingLogs("inst1").isEmpty());
+        Assertions.assertEquals(1, this.sink.size());
+        Assertions.assertEquals(1, this.sink.getPendingLogs("inst2").size());
+    }
+
+    @Test
+    @DisplayName("测试按条件读取和丢弃未落库记录时不写入数据库")
+    void shouldQueryAndDiscardPendingRecordsByFilter() {
+        this.sink.append(this.createDto("inst1", AippInstLogType.MSG.name()));
+        this.sink.append(this.createDto("inst1", AippInstLogType.FORM.name()));
+        AippLogCreateDto child = this.createDto("inst2", AippInstLogType.FORM.name());
+        child.setPath("/inst1/inst2");
+        this.sink.append(child);
+
+        List<Long> fullLogIds = this.sink.getPendingFullLogs(List.of("inst1"))
+                .stream()
+                .map(AippInstLog::getLogId)
+                .toList();
+        Assertions.assertEquals(List.of(1L, 2L, 3L), fullLogIds);
+        Assertions.assertTrue(this.sink.getPendingFullLogs(List.of("inst2")).isEmpty());
+        Assertions.assertEquals(1, this.sink.discardIf(record -> "inst2".equals(record.getInstanceId())));
+        Assertions.assertEquals(2, this.sink.size());
+        verify(this.mapper, never()).insertBatch(any());
+    }
+
+    @Test
+    @DisplayName("测试读取时合并数据库记录和未落库记录，按 log id 去重")
+    void shouldMergeStoredAndPendingLogs() {
+        AippInstLog stored = AippInstLog.builder().logId(1L).logData("stored").build();
+        AippInstLog flushed = AippInstLog.builder().logId(1L).logData("pending").build();
+        AippInstLog pending = AippInstLog.builder().logId(2L).logData("pending").build();
+
+        List<AippInstLog> merged = AippLogWriteBehindSink.merge(List.of(stored), List.of(flushed, pending));
+
+        Assertions.assertEquals(List.of(stored, pending), merged);
+    }
+
+    @Test
+    @DisplayName("测试写入器关闭后追加的记录直接插入数据库")
+    void shouldInsertDirectlyAfterClose() {
+        this.sink.close();
+        AippLogCreateDto dto = this.createDto("inst1", AippInstLogType.MSG.name());
+        this.sink.append(dto);
+
+        verify(this.mapper, times(1)).insertOne(dto);
+        Assertions.assertEquals(0, this.sink.size());
+    }
+
+    @Test
+    @DisplayName("测试关闭写入后直接插入数据库")
+    void shouldInsertDirectlyWhenDisabled() {
+        AippLogWriteBehindSink disabled = new AippLogWriteBehindSink(this.mapper, false, 4, 100L, 64, 2);
+        AippLogCreateDto dto = this.createDto("inst1", AippInstLogType.MSG.name());
+        disabled.append(dto);
+
+        verify(this.mapper, times(1)).insertOne(dto);
+        Assertions.assertEquals(0, disabled.size());
+    }
+
+    private AippLogCreateDto createDto(String instanceId, String logType) {
+        return AippLogCreateDto.builder()
+                .aippId("aipp1")
+                .version("1.0.0")
+                .aippType("NORMAL")
+                .instanceId(instanceId)
+                .logData("{}")
+                .logType(logType)
+                .createUserAccount("user")
+                .path("/" + instanceId)
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.domains.task;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import modelengine.fit.jade.waterflow.FlowsService;
+import modelengine.fit.jade.waterflow.dto.FlowInfo;
+import modelengine.fit.jane.common.entity.OperationContext;
+import modelengine.fit.jober.aipp.common.exception.AippParamException;
+import modelengine.fit.jober.aipp.constants.AippConst;
+import modelengine.fit.jober.aipp.dto.AppInputParam;
+import modelengine.fit.jober.aipp.util.CacheUtils;
+import modelengine.fit.jober.common.ErrorCodes;
+import modelengine.fit.jober.common.exceptions.JobberException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link AppStartPlan} 的测试类。
+ *
+ * @author 张越
+ * @since 2025-04-18
+ */
+public class AppStartPlanTest {
+    @AfterEach
+    void tearDown() {
+        CacheUtils.clear();
+    }
+
+    @Test
+    @DisplayName("测试编译启动计划时不修改流程中的原始参数定义")
+    void shouldCompileWithoutMutatingFlowInfo() {
+        Map<String, Object> spec = this.buildInputSpec("city");
+        FlowInfo flowInfo = this.mockFlowInfo(spec);
+
+        AppStartPlan plan = AppStartPlan.compile("def_1", flowInfo);
+        List<AppInputParam> params = plan.getInputParams(3);
+
+        Assertions.assertEquals("def_1", plan.getFlowDefinitionId());
+        Assertions.assertEquals(List.of("city"), plan.getInputParamNames());
+        Assertions.assertSame(params, plan.getInputParams(3));
+        Assertions.assertThrows(AippParamException.class, () -> params.get(0).validate(Map.of("city", "Hangzhou")));
+        Assertions.assertDoesNotThrow(() -> plan.getInputParams(100).get(0).validate(Map.of("city", "Hangzhou")));
+        Assertions.assertFalse(spec.containsKey("stringMaxLength"));
+        Assertions.assertTrue(plan.getMemoryConfigs().isPresent());
+    }
+
+    @Test
+    @DisplayName("测试流程未配置记忆时启动计划的记忆配置为空")
+    void shouldReturnEmptyMemoryConfigsWhenAbsent() {
+        FlowInfo flowInfo = mock(FlowInfo.class);
+        when(flowInfo.getInputParamsByName("input")).thenReturn(List.of(this.buildInputSpec("city")));
+        when(flowInfo.getInputParamsByName(AippConst.MEMORY_CONFIG_KEY)).thenThrow(
+                new JobberException(ErrorCodes.UN_EXCEPTED_ERROR, "no start node"));
+
+        AppStartPlan plan = AppStartPlan.compile("def_1", flowInfo);
+
+        Assertions.assertTrue(plan.getMemoryConfigs().isEmpty());
+    }
+
+    @Test
+    @DisplayName("测试已发布流程的启动计划只查询一次流程定义")
+    void shouldLoadFlowOnceForPublishedDefinition() {
+        FlowsService flowsService = mock(FlowsService.class);
+        FlowInfo flowInfo = this.mockFlowInfo(this.buildInputSpec("city"));
+        when(flowsService.getFlows(eq("def_1"), any())).thenReturn(flowInfo);
+        OperationContext context = new OperationContext();
+
+        AppStartPlan first = CacheUtils.getStartPlanWithCache(flowsService, "def_1", context);
+        AppStartPlan second = CacheUtils.getStartPlanWithCache(flowsService, "def_1", context);
+        CacheUtils.invalidatePublished("app_1", "def_1");
+        CacheUtils.getStartPlanWithCache(flowsService, "def_1", context);
+
+        Assertions.assertSame(first, second);
+        verify(flowsService, times(2)).getFlows(eq("def_1"), any());
+    }
+
+    private FlowInfo mockFlowInfo(Map<String, Object> spec) {
+        FlowInfo flowInfo = mock(FlowInfo.class);
+        when(flowInfo.getInputParamsByName("input")).thenReturn(List.of(spec));
+        when(flowInfo.getInputParamsByName(AippConst.MEMORY_CONFIG_KEY)).thenReturn(
+                List.of(Map.of("name", "type", "value", "ByConversationTurn")));
+        return flowInfo;
+    }
+
+    private Map<String, Object> buildInputSpec(String name) {
+        Map<String, Object> spec = new HashMap<>();
+        spec.put("name", name);
+        spec.put("type", "String");
+        spec.put("displayName", name);
+        spec.put("isRequired", false);
+        return spec;
+    }
+}
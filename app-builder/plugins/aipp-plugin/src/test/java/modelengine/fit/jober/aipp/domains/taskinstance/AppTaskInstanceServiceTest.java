@@ -10,9 +10,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -22,6 +22,7 @@ import modelengine.fit.jane.common.entity.OperationContext;
 import modelengine.fit.jane.meta.multiversion.MetaInstanceService;
 import modelengine.fit.jane.meta.multiversion.instance.Instance;
 import modelengine.fit.jane.meta.multiversion.instance.InstanceDeclarationInfo;
+import modelengine.fit.jane.meta.multiversion.instance.InstancePage;
 import modelengine.fit.jober.aipp.constants.AippConst;
 import modelengine.fit.jober.aipp.domains.taskinstance.service.AppTaskInstanceService;
 import modelengine.fit.jober.aipp.domains.taskinstance.service.impl.AppTaskInstanceServiceImpl;
@@ -103,9 +104,10 @@ public class AppTaskInstanceServiceTest {
 
         Instance instance2 = new Instance();
         instance2.setId("task_instance_id_2");
-        when(this.metaInstanceService.list(eq("task_id"), anyLong(), anyInt(), any())).thenReturn(
-                        RangedResultSet.create(List.of(instance, instance1), new DefaultRange(0, 2), 3))
-                .thenReturn(RangedResultSet.create(List.of(instance2), new DefaultRange(0, 2), 3));
+        when(this.metaInstanceService.listAfter(eq("task_id"), isNull(), eq(2), any())).thenReturn(
+                new InstancePage(List.of(instance, instance1), "cursor_1"));
+        when(this.metaInstanceService.listAfter(eq("task_id"), eq("cursor_1"), eq(2), any())).thenReturn(
+                new InstancePage(List.of(instance2), null));
 
         // when.
         List<AppTaskInstance> instances = this.appTaskInstanceService.getInstancesByTaskId("task_id", 2,
@@ -116,7 +118,7 @@ public class AppTaskInstanceServiceTest {
         assertEquals("task_instance_id", instances.get(0).getId());
         assertEquals("task_instance_id_1", instances.get(1).getId());
         assertEquals("task_instance_id_2", instances.get(2).getId());
-        verify(this.metaInstanceService, times(2)).list(eq("task_id"), anyLong(), anyInt(), any());
+        verify(this.metaInstanceService, times(2)).listAfter(eq("task_id"), any(), anyInt(), any());
     }
 
     @Test
@@ -129,8 +131,8 @@ public class AppTaskInstanceServiceTest {
         Instance instance1 = new Instance();
         instance1.setId("task_instance_id_1");
 
-        when(this.metaInstanceService.list(eq("task_id"), anyLong(), anyInt(), any())).thenReturn(
-                RangedResultSet.create(List.of(instance, instance1), new DefaultRange(0, 2), 2));
+        when(this.metaInstanceService.listAfter(eq("task_id"), isNull(), eq(2), any())).thenReturn(
+                new InstancePage(List.of(instance, instance1), null));
 
         // when.
         Stream<AppTaskInstance> instanceStream = this.appTaskInstanceService.getInstanceStreamByTaskId("task_id", 2,
@@ -142,7 +144,7 @@ public class AppTaskInstanceServiceTest {
         assertEquals(2, instances.size());
         assertEquals("task_instance_id", instances.get(0).getId());
         assertEquals("task_instance_id_1", instances.get(1).getId());
-        verify(this.metaInstanceService, times(1)).list(eq("task_id"), anyLong(), anyInt(), any());
+        verify(this.metaInstanceService, times(1)).listAfter(eq("task_id"), any(), anyInt(), any());
     }
 
     @Test
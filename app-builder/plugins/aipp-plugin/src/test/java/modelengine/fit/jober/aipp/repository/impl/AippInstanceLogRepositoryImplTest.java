@@ -8,15 +8,22 @@ package modelengine.fit.jober.aipp.repository.impl;
 
 import modelengine.fit.jober.aipp.dto.aipplog.AippLogCreateDto;
 import modelengine.fit.jober.aipp.entity.AippInstLog;
+import modelengine.fit.jober.aipp.entity.AippInstLogSummary;
 import modelengine.fit.jober.aipp.mapper.AippLogMapper;
 import modelengine.fit.jober.aipp.repository.AippInstanceLogRepository;
 import modelengine.fit.jober.aipp.service.DatabaseBaseTest;
 
+import org.apache.ibatis.session.SqlSession;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
@@ -87,4 +94,34 @@ public class AippInstanceLogRepositoryImplTest extends DatabaseBaseTest {
         Assertions.assertEquals(1, aippInstLogs.size());
         Assertions.assertEquals("3", aippInstLogs.get(0).getInstanceId());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("测试按游标分页查询最近实例摘要")
+    void testSelectRecentInstanceSummariesByKeyset() throws SQLException {
+        LocalDateTime base = LocalDateTime.of(2025, 4, 18, 10, 0);
+        try (SqlSession session = sqlSessionManager.openSession(true);
+             Connection connection = session.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "insert into aipp_instance_log_summary (instance_id, aipp_id, aipp_type, create_by, last_update,"
+                             + " log_count) values (?, 'app', 'NORMAL', 'yyy', ?, 1)")) {
+            for (int i = 0; i < 5; i++) {
+                statement.setString(1, "inst" + i);
+                // inst3 与 inst4 的更新时间相同，由实例 id 决定先后。
+                statement.setTimestamp(2, Timestamp.valueOf(base.plusMinutes(Math.min(i, 3))));
+                statement.executeUpdate();
+            }
+        }
+        List<String> appIds = Collections.singletonList("app");
+
+        List<AippInstLogSummary> first = this.mapper.selectRecentInstanceSummaries(appIds, "NORMAL", "yyy", null,
+                null, 2);
+        AippInstLogSummary last = first.get(first.size() - 1);
+        List<AippInstLogSummary> second = this.mapper.selectRecentInstanceSummaries(appIds, "NORMAL", "yyy",
+                last.getLastUpdate(), last.getInstanceId(), 2);
+
+        Assertions.assertEquals(List.of("inst4", "inst3"),
+                first.stream().map(AippInstLogSummary::getInstanceId).toList());
+        Assertions.assertEquals(List.of("inst2", "inst1"),
+                second.stream().map(AippInstLogSummary::getInstanceId).toList());
+    }
+}
@@ -23,6 +23,7 @@ import modelengine.fit.dynamicform.DynamicFormService;
 import modelengine.fit.jane.common.entity.OperationContext;
 import modelengine.fit.jober.aipp.common.exception.AippParamException;
 import modelengine.fit.jober.aipp.constants.AippConst;
+import modelengine.fit.jober.aipp.domains.log.AippLogWriteBehindSink;
 import modelengine.fit.jober.aipp.domains.log.repository.AippLogRepository;
 import modelengine.fit.jober.aipp.domains.task.AppTask;
 import modelengine.fit.jober.aipp.domains.task.service.AppTaskService;
@@ -104,6 +105,8 @@ public class AippLogServiceTest {
     private AppTaskService appTaskService;
     @Mock
     private AippLogRepository aippLogRepository;
+    @Mock
+    private AippLogWriteBehindSink aippLogSinkMock;
 
     private AtomicLong logId;
     private Function<AippInstLogType, AippInstLog> generateAippInstLogFunc;
@@ -177,7 +180,7 @@ public class AippLogServiceTest {
                 .build();
         String returnedLogId = this.aopAippLogService.insertLog(dummyCreateDto);
         Assertions.assertEquals(returnedLogId, dummyCreateDto.getLogId());
-        verify(aippLogMapperMock, times(1)).insertOne(eq(dummyCreateDto));
+        verify(aippLogSinkMock, times(1)).append(eq(dummyCreateDto));
     }
 
     @Test
@@ -394,7 +397,7 @@ public class AippLogServiceTest {
         List<AippInstLog> aippInstLogList = generateAippInstLogList();
         List<String> instanceIds = new ArrayList<>(Arrays.asList("1", "2", "3"));
         when(this.aippLogMapperMock.selectRecentInstanceId(any(), any(), any(), any())).thenReturn(instanceIds);
-        when(this.aippLogService.queryBatchAndFilterFullLogsByLogType(instanceIds, any())).thenReturn(aippInstLogList);
+        when(this.aippLogMapperMock.getFullLogsByInstanceIds(instanceIds)).thenReturn(aippInstLogList);
         when(this.appTaskInstanceService.getInstance(any(), any(), any())).thenReturn(
                 Optional.of(AppTaskInstance.asEntity().setInstanceId("1").build()));
         List<AippInstLogDataDto> list = this.aippLogService
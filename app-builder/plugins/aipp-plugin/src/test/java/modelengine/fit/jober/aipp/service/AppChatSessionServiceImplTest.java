@@ -6,19 +6,29 @@
 
 package modelengine.fit.jober.aipp.service;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
+import modelengine.fit.jober.aipp.common.exception.AippException;
 import modelengine.fit.jober.aipp.entity.ChatSession;
 import modelengine.fit.jober.aipp.mapper.AppChatNumMapper;
 import modelengine.fit.jober.aipp.service.impl.AppChatSessionServiceImpl;
 
 import modelengine.fitframework.flowable.Emitter;
 import modelengine.fitframework.flowable.emitter.DefaultEmitter;
+import modelengine.fitframework.transaction.DataAccessException;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.util.Locale;
 import java.util.Optional;
@@ -36,7 +46,7 @@ public class AppChatSessionServiceImplTest {
 
     @BeforeEach
     void before() {
-        this.appChatSessionService = new AppChatSessionServiceImpl(this.mockMapper);
+        this.appChatSessionService = new AppChatSessionServiceImpl(this.mockMapper, 4, 2, 60);
     }
 
     @Test
@@ -60,4 +70,91 @@ public class AppChatSessionServiceImplTest {
                 Assertions.assertDoesNotThrow(() -> this.appChatSessionService.getSession("hello"));
         Assertions.assertFalse(hello.isPresent());
     }
+
+    @Test
+    @DisplayName("测试租约内的对话不写数据库")
+    void testChatsWithinLeaseDoNotWriteDatabase() {
+        for (int i = 0; i < 4; i++) {
+            this.appChatSessionService.addSession("chat" + i,
+                    new ChatSession<>(new DefaultEmitter<>(), "123", true, Locale.ENGLISH));
+        }
+        for (int i = 0; i < 4; i++) {
+            this.appChatSessionService.removeSession("chat" + i);
+        }
+
+        verify(this.mockMapper, times(1)).insertOrAdd(any(), any(), eq("123"), eq("true"), eq(4));
+        verify(this.mockMapper, never()).minus(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("测试集群名额不足时拒绝对话")
+    void testRejectWhenClusterLimitReached() {
+        doThrow(new DataAccessException("chat_num check")).when(this.mockMapper)
+                .insertOrAdd(any(), any(), any(), any(), anyInt());
+
+        Assertions.assertThrows(AippException.class, () -> this.appChatSessionService.addSession("hello",
+                new ChatSession<>(new DefaultEmitter<>(), "123", true, Locale.ENGLISH)));
+    }
+
+    @Test
+    @DisplayName("测试活跃租约保留水位内的空闲名额，空闲租约全部归还")
+    void testReconcileReturnsExcessAboveLowWaterMark() {
+        AppChatSessionServiceImpl service = (AppChatSessionServiceImpl) this.appChatSessionService;
+        service.addSession("hello", new ChatSession<>(new DefaultEmitter<>(), "123", false, Locale.ENGLISH));
+
+        service.reconcileChatNum();
+        verify(this.mockMapper, times(1)).minus(any(), eq("123"), eq("false"), eq(1));
+
+        service.removeSession("hello");
+        service.reconcileChatNum();
+        verify(this.mockMapper, times(1)).minus(any(), eq("123"), eq("false"), eq(3));
+
+        service.reconcileChatNum();
+        verify(this.mockMapper, times(2)).minus(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("测试租约移除后再次对话重新申请名额")
+    void testAcquireAfterLeaseRemoved() {
+        AppChatSessionServiceImpl service = (AppChatSessionServiceImpl) this.appChatSessionService;
+        service.addSession("hello", new ChatSession<>(new DefaultEmitter<>(), "123", false, Locale.ENGLISH));
+        service.removeSession("hello");
+        service.reconcileChatNum();
+        service.reconcileChatNum();
+        service.reconcileChatNum();
+
+        service.addSession("world", new ChatSession<>(new DefaultEmitter<>(), "123", false, Locale.ENGLISH));
+        service.reconcileChatNum();
+
+        verify(this.mockMapper, times(2)).insertOrAdd(any(), any(), eq("123"), eq("false"), eq(4));
+        verify(this.mockMapper, times(2)).minus(any(), eq("123"), eq("false"), eq(2));
+        verify(this.mockMapper, times(1)).minus(any(), eq("123"), eq("false"), eq(1));
+    }
+
+    @Test
+    @DisplayName("测试归还失败时名额保留在本地租约中")
+    void testKeepLeaseWhenReturnFailed() {
+        doThrow(new DataAccessException("db down")).when(this.mockMapper).minus(any(), any(), any(), anyInt());
+        AppChatSessionServiceImpl service = (AppChatSessionServiceImpl) this.appChatSessionService;
+        service.addSession("hello", new ChatSession<>(new DefaultEmitter<>(), "123", false, Locale.ENGLISH));
+        service.removeSession("hello");
+        service.reconcileChatNum();
+        service.reconcileChatNum();
+
+        service.addSession("world", new ChatSession<>(new DefaultEmitter<>(), "123", false, Locale.ENGLISH));
+        verify(this.mockMapper, times(1)).insertOrAdd(any(), any(), eq("123"), eq("false"), eq(4));
+    }
+
+    @Test
+    @DisplayName("测试定时任务刷新本节点租约并回收超时租约")
+    void testReconcileRenewsAndReclaimsLeases() {
+        AppChatSessionServiceImpl service = (AppChatSessionServiceImpl) this.appChatSessionService;
+        service.addSession("hello", new ChatSession<>(new DefaultEmitter<>(), "123", false, Locale.ENGLISH));
+        service.reconcileChatNum();
+
+        ArgumentCaptor<String> nodeId = ArgumentCaptor.forClass(String.class);
+        verify(this.mockMapper, times(1)).insertOrAdd(any(), nodeId.capture(), eq("123"), eq("false"), eq(4));
+        verify(this.mockMapper, times(1)).renewLeases(nodeId.getValue());
+        verify(this.mockMapper, times(1)).reclaimExpiredLeases(60);
+    }
 }
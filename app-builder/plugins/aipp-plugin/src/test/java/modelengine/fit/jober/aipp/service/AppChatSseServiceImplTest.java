@@ -8,6 +8,7 @@ package modelengine.fit.jober.aipp.service;
 
 import static org.mockito.Mockito.mock;
 
+import modelengine.fit.jober.aipp.domains.log.AippLogWriteBehindSink;
 import modelengine.fit.jober.aipp.entity.ChatSession;
 import modelengine.fit.jober.aipp.mapper.AippLogMapper;
 import modelengine.fit.jober.aipp.mapper.AppChatNumMapper;
@@ -50,8 +51,9 @@ public class AppChatSseServiceImplTest {
 
     @BeforeEach
     void before() {
-        this.appChatSessionService = new AppChatSessionServiceImpl(mockMapper);
-        this.appChatSseService = new AppChatSseServiceImpl(aippLogMapper, appChatSessionService);
+        this.appChatSessionService = new AppChatSessionServiceImpl(mockMapper, 4, 2, 60);
+        this.appChatSseService = new AppChatSseServiceImpl(aippLogMapper, appChatSessionService,
+                new AippLogWriteBehindSink(aippLogMapper, false, 64, 100, 10000, 20));
     }
 
     @Test
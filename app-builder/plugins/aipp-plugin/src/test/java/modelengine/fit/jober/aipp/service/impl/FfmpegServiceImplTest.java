@@ -0,0 +1,175 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import modelengine.fit.jober.aipp.entity.ffmpeg.FfmpegTask;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 为 {@link FfmpegServiceImpl} 提供测试
+ * <p>使用模拟 ffmpeg 的脚本代替真实可执行文件: 只有输入参数时打印 60 秒 mp3 音频的元数据,
+ * 否则等待指定时间后写出最后一个参数指定的输出文件并记录执行顺序.</p>
+ *
+ * @author 易文渊
+ * @since 2025/12/24
+ */
+class FfmpegServiceImplTest {
+    private static final int SEGMENT_COUNT = 6;
+
+    @TempDir
+    private Path workDir;
+
+    private Path input;
+
+    private Path outputDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Assumptions.assumeTrue(new File("/bin/sh").canExecute(), "A posix shell is required.");
+        this.input = Files.writeString(this.workDir.resolve("input.mp3"), "audio");
+        this.outputDir = Files.createDirectory(this.workDir.resolve("output"));
+    }
+
+    @Test
+    @DisplayName("并行切片时按完成顺序回调切片，进程数不超过进程池上限")
+    void shouldSplitInParallelWithinProcessLimit() throws Exception {
+        FfmpegServiceImpl sequential = new FfmpegServiceImpl(this.fakeFfmpeg("0.2"), 1, 64);
+        long sequentialStart = System.nanoTime();
+        sequential.splitAudio("tenant", this.input.toString(), this.outputDir.toString(), 10, null)
+                .get(10, TimeUnit.SECONDS);
+        long sequentialMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sequentialStart);
+
+        FfmpegServiceImpl service = new FfmpegServiceImpl(this.fakeFfmpeg("0.2"), 3, 64);
+        Map<Integer, File> streamed = new ConcurrentHashMap<>();
+        long start = System.nanoTime();
+        List<File> segments = service.splitAudio("tenant", this.input.toString(), this.outputDir.toString(), 10,
+                streamed::put).get(10, TimeUnit.SECONDS);
+        long parallelMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(segments).hasSize(SEGMENT_COUNT).allMatch(File::isFile);
+        assertThat(segments.get(0).getName()).isEqualTo("split_000.mp3");
+        assertThat(streamed).hasSize(SEGMENT_COUNT);
+        assertThat(service.getProcessPool().getPeakRunning()).isEqualTo(3);
+        assertThat(sequential.getProcessPool().getPeakRunning()).isEqualTo(1);
+        assertThat(parallelMillis).isLessThan(sequentialMillis);
+    }
+
+    @Test
+    @DisplayName("取消切片时终止运行中的进程并删除已生成的切片")
+    void shouldCancelRunningProcessesAndCleanUp() throws Exception {
+        FfmpegServiceImpl service = new FfmpegServiceImpl(this.fakeFfmpeg("0.3"), 2, 64);
+        CompletableFuture<CompletableFuture<List<File>>> job = new CompletableFuture<>();
+        CompletableFuture<List<File>> future = service.splitAudio("tenant", this.input.toString(),
+                this.outputDir.toString(), 10, (index, file) -> job.join().cancel(true));
+        job.complete(future);
+
+        assertThrows(CancellationException.class, future::join);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (this.listOutput().length > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(500);
+        assertThat(this.listOutput()).isEmpty();
+        assertThat(Files.readAllLines(this.workDir.resolve("order.log"), StandardCharsets.UTF_8).size())
+                .isLessThan(SEGMENT_COUNT);
+    }
+
+    @Test
+    @DisplayName("关闭服务时终止运行中的切片并拒绝新的切片")
+    void shouldAbortSplitWhenClosed() throws Exception {
+        FfmpegServiceImpl service = new FfmpegServiceImpl(this.fakeFfmpeg("0.3"), 2, 64);
+        CompletableFuture<List<File>> future =
+                service.splitAudio("tenant", this.input.toString(), this.outputDir.toString(), 10, null);
+        Thread.sleep(100);
+        service.close();
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertThat(exception.getCause()).isInstanceOf(IOException.class);
+        Thread.sleep(500);
+        assertThat(this.listOutput()).isEmpty();
+        assertThrows(IOException.class,
+                () -> service.splitAudio("tenant", this.input.toString(), this.outputDir.toString(), 10, null));
+    }
+
+    @Test
+    @DisplayName("进程池已满时不同租户轮询获得进程")
+    void shouldScheduleTenantsInRoundRobin() throws Exception {
+        FfmpegServiceImpl service = new FfmpegServiceImpl(this.fakeFfmpeg("0.3"), 1, 64);
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        String[][] submissions = {{"tenant-a", "a0"}, {"tenant-a", "a1"}, {"tenant-a", "a2"}, {"tenant-b", "b0"}};
+        for (String[] submission : submissions) {
+            FfmpegTask task = this.task(submission[1]);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return service.getProcessPool().exec(submission[0], task);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            Thread.sleep(50);
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        List<String> order = Files.readAllLines(this.workDir.resolve("order.log"), StandardCharsets.UTF_8);
+        assertThat(order).containsExactly("a0", "a1", "b0", "a2");
+        assertThat(service.getProcessPool().getPeakRunning()).isEqualTo(1);
+    }
+
+    private FfmpegTask task(String name) {
+        Map<String, List<String>> inputs = Collections.singletonMap(this.input.toString(), null);
+        Map<String, List<String>> outputs = new HashMap<>();
+        outputs.put(this.outputDir.resolve(name).toString(), null);
+        return new FfmpegTask(this.workDir.resolve("ffmpeg").toString(), inputs, outputs);
+    }
+
+    private File[] listOutput() {
+        File[] files = this.outputDir.toFile().listFiles();
+        return files == null ? new File[0] : files;
+    }
+
+    private String fakeFfmpeg(String delaySeconds) throws IOException {
+        Path script = this.workDir.resolve("ffmpeg");
+        String content = "#!/bin/sh\n"
+                + "last=\"\"\n"
+                + "for arg in \"$@\"; do last=\"$arg\"; done\n"
+                + "if [ \"$#\" -le 2 ]; then\n"
+                + "  echo \"Duration: 00:01:00.00, start: 0.000000, bitrate: 128 kb/s\"\n"
+                + "  echo \"Stream #0:0: Audio: mp3 (mp3float), 44100 Hz, stereo\"\n"
+                + "  exit 0\n"
+                + "fi\n"
+                + "sleep " + delaySeconds + "\n"
+                + "echo segment > \"$last\"\n"
+                + "basename \"$last\" >> \"" + this.workDir.resolve("order.log") + "\"\n";
+        Files.writeString(script, content, StandardCharsets.UTF_8);
+        assertThat(script.toFile().setExecutable(true)).isTrue();
+        return script.toString();
+    }
+}
@@ -2,6 +2,8 @@ truncate table aipp_instance_file;
 
 truncate table aipp_instance_log;
 
+truncate table aipp_instance_log_summary;
+
 truncate table app_builder_app;
 
 truncate table app_builder_component;
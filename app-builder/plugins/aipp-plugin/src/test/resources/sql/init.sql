@@ -23,6 +23,16 @@ create table if not exists aipp_instance_log
     is_deleted int2 DEFAULT 0
     );
 
+create table if not exists aipp_instance_log_summary
+(
+    instance_id varchar(255) not null primary key,
+    aipp_id     varchar(255) not null,
+    aipp_type   varchar(64),
+    create_by   varchar(64)  not null,
+    last_update timestamp    not null,
+    log_count   int4         not null default 0
+    );
+
 create table if not exists app_builder_app
 (
     id         varchar(64) not null primary key,
@@ -0,0 +1,50 @@
+-- 在 PostgreSQL 中生成 100 万条 aipp_instance_log 记录（200 个应用 × 50 个用户 × 每实例 4 条），
+-- 用于对比窗口函数查询与 aipp_instance_log_summary 分页查询的耗时。需先执行 appbuilder_create.sql。
+-- 用法：psql -f aipp_instance_log_1m.sql
+
+TRUNCATE TABLE aipp_instance_log;
+TRUNCATE TABLE aipp_instance_log_summary;
+
+INSERT INTO aipp_instance_log (aipp_id, version, aipp_type, instance_id, log_data, log_type, create_at, create_by, path)
+SELECT
+	'aipp_' || (i % 200),
+	'1.0.0',
+	'NORMAL',
+	'inst_' || (i / 4),
+	'{"msg": "hello"}',
+	CASE WHEN i % 4 = 0 THEN 'QUESTION' ELSE 'MSG' END,
+	TIMESTAMP '2025-01-01 00:00:00' + (i || ' seconds')::INTERVAL,
+	'user_' || ((i / 4) % 50),
+	'/inst_' || (i / 4)
+FROM
+	generate_series(0, 999999) AS i;
+
+ANALYZE aipp_instance_log;
+ANALYZE aipp_instance_log_summary;
+
+-- 原窗口函数查询
+EXPLAIN ANALYZE
+SELECT instance_id
+FROM (SELECT instance_id, create_at, row_number() OVER (PARTITION BY instance_id ORDER BY create_at DESC) rn
+	FROM aipp_instance_log
+	WHERE create_by = 'user_7' AND aipp_id = 'aipp_28' AND aipp_type = 'NORMAL' AND is_deleted = 0) t
+WHERE t.rn = 1
+ORDER BY t.create_at DESC
+LIMIT 5;
+
+-- 摘要表第一页
+EXPLAIN ANALYZE
+SELECT instance_id, last_update
+FROM aipp_instance_log_summary
+WHERE create_by = 'user_7' AND aipp_id = 'aipp_28' AND aipp_type = 'NORMAL'
+ORDER BY last_update DESC, instance_id DESC
+LIMIT 5;
+
+-- 摘要表按游标翻页
+EXPLAIN ANALYZE
+SELECT instance_id, last_update
+FROM aipp_instance_log_summary
+WHERE create_by = 'user_7' AND aipp_id = 'aipp_28' AND aipp_type = 'NORMAL'
+	AND (last_update, instance_id) < (TIMESTAMP '2025-01-06 00:00:00', 'inst_99999')
+ORDER BY last_update DESC, instance_id DESC
+LIMIT 5;
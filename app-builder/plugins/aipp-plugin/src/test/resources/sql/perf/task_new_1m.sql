@@ -0,0 +1,47 @@
+-- 在 PostgreSQL 中生成 100 万条 task_new 记录（1 万个应用 × 每应用 100 个版本），
+-- 用于对比逐键 attributes ->> 过滤与 attributes @> 包含查询的耗时。需先执行 appbuilder_create.sql。
+-- 用法：psql -f task_new_1m.sql
+
+TRUNCATE TABLE task_new;
+
+INSERT INTO task_new (id, name, version, template_id, tenant_id, attributes, created_by, created_at, updated_by,
+	updated_at)
+SELECT
+	md5('task_' || i),
+	'task_' || i,
+	'1.0.' || (i % 100),
+	md5('template_' || (i / 100)),
+	md5('tenant'),
+	jsonb_build_object('app_id', 'app_' || (i / 100), 'aipp_type', CASE WHEN i % 10 = 0 THEN 'NORMAL' ELSE 'PREVIEW' END,
+		'status', CASE WHEN i % 3 = 0 THEN 'active' ELSE 'inactive' END, 'unique_name', 'unique_' || i),
+	'user_' || (i % 50),
+	TIMESTAMP '2025-01-01 00:00:00' + (i || ' seconds')::INTERVAL,
+	'user_' || (i % 50),
+	TIMESTAMP '2025-01-01 00:00:00' + (i || ' seconds')::INTERVAL
+FROM
+	generate_series(0, 999999) AS i;
+
+ANALYZE task_new;
+
+-- 原逐键过滤
+EXPLAIN ANALYZE
+SELECT id
+FROM task_new
+WHERE is_deleted = 0 AND attributes ->> 'app_id' = 'app_4242' AND attributes ->> 'aipp_type' = 'NORMAL'
+ORDER BY updated_at DESC
+LIMIT 10;
+
+-- 包含查询
+EXPLAIN ANALYZE
+SELECT id
+FROM task_new
+WHERE is_deleted = 0 AND attributes @> '{"app_id": "app_4242", "aipp_type": "NORMAL"}'::jsonb
+ORDER BY updated_at DESC
+LIMIT 10;
+
+-- 按唯一名称查询
+EXPLAIN ANALYZE
+SELECT id
+FROM task_new
+WHERE is_deleted = 0 AND attributes @> '{"unique_name": "unique_424242"}'::jsonb
+LIMIT 1;
@@ -0,0 +1,137 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.template.render;
+
+import static modelengine.fitframework.util.ObjectUtils.nullIf;
+
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.parameterization.StringFormatException;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 表示编译后的文本模板。
+ * <p>模板被解析为交替出现的文本片段和变量占位符，语法与 {@code ParameterizedStringResolver.create("{{", "}}", '/',
+ * ParameterizationMode.LENIENT_EMPTY)} 一致：{@code /} 用于转义下一个字符，缺失的变量替换为空字符串。</p>
+ *
+ * @author 孙怡菲
+ * @since 2025-09-05
+ */
+public final class CompiledTemplate {
+    private static final String PREFIX = "{{";
+    private static final String SUFFIX = "}}";
+    private static final char ESCAPE = '/';
+
+    private final String[] literals;
+    private final String[] names;
+    private final int literalLength;
+
+    private CompiledTemplate(List<String> literals, List<String> names) {
+        this.literals = literals.toArray(new String[0]);
+        this.names = names.toArray(new String[0]);
+        this.literalLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    /**
+     * 编译文本模板。
+     *
+     * @param template 表示模板内容的 {@link String}。
+     * @return 表示编译后的模板的 {@link CompiledTemplate}。
+     * @throws StringFormatException 当模板格式不正确时。
+     */
+    public static CompiledTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        StringBuilder literal = new StringBuilder(template.length());
+        StringBuilder parameter = null;
+        int position = 0;
+        while (position < template.length()) {
+            char current = template.charAt(position);
+            if (current == ESCAPE) {
+                if (position >= template.length() - 1) {
+                    throw new StringFormatException(StringUtils.format(
+                            "Invalid escape character position. [string={0}, position={1}]", template, position));
+                }
+                nullIf(parameter, literal).append(template.charAt(position + 1));
+                position += 2;
+            } else if (parameter == null && template.startsWith(PREFIX, position)) {
+                parameter = new StringBuilder();
+                position += PREFIX.length();
+            } else if (parameter != null && template.startsWith(SUFFIX, position)) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                names.add(Validation.notBlank(parameter.toString(), "Name cannot be blank."));
+                parameter = null;
+                position += SUFFIX.length();
+            } else if (parameter != null && template.startsWith(PREFIX, position)) {
+                throw new StringFormatException(StringUtils.format(
+                        "Invalid prefix position. [string={0}, position={1}]", template, position));
+            } else {
+                nullIf(parameter, literal).append(current);
+                position++;
+            }
+        }
+        if (parameter != null) {
+            throw new StringFormatException(StringUtils.format("Incomplete parameter. [string={0}, position={1}]",
+                    template,
+                    position - parameter.length() - PREFIX.length()));
+        }
+        literals.add(literal.toString());
+        return new CompiledTemplate(literals, names);
+    }
+
+    /**
+     * 使用变量渲染模板。
+     *
+     * @param args 表示模板变量的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
+     * @return 表示渲染结果的 {@link String}。
+     */
+    public String render(Map<String, Object> args) {
+        if (this.names.length == 0) {
+            return this.literals[0];
+        }
+        String[] values = new String[this.names.length];
+        int length = this.literalLength;
+        for (int i = 0; i < this.names.length; i++) {
+            values[i] = valueOf(args, this.names[i]);
+            length += values[i].length();
+        }
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < values.length; i++) {
+            builder.append(this.literals[i]).append(values[i]);
+        }
+        return builder.append(this.literals[values.length]).toString();
+    }
+
+    /**
+     * 使用变量渲染模板，并将结果写入输出。
+     *
+     * @param args 表示模板变量的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
+     * @param writer 表示渲染结果输出的 {@link Writer}。
+     * @throws IOException 当写入输出失败时。
+     */
+    public void render(Map<String, Object> args, Writer writer) throws IOException {
+        for (int i = 0; i < this.names.length; i++) {
+            writer.write(this.literals[i]);
+            writer.write(valueOf(args, this.names[i]));
+        }
+        writer.write(this.literals[this.names.length]);
+    }
+
+    private static String valueOf(Map<String, Object> args, String name) {
+        if (!args.containsKey(name)) {
+            return StringUtils.EMPTY;
+        }
+        return StringUtils.normalize(ObjectUtils.toString(args.get(name)));
+    }
+}
@@ -8,34 +8,67 @@ package modelengine.fit.jade.aipp.template.render;
 
 import static modelengine.fitframework.util.ObjectUtils.nullIf;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import modelengine.fitframework.annotation.Component;
-import modelengine.fitframework.parameterization.ParameterizationMode;
-import modelengine.fitframework.parameterization.ParameterizedString;
-import modelengine.fitframework.parameterization.ParameterizedStringResolver;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.inspection.Validation;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.Map;
 
 /**
  * {@link TemplateService} 的实现类。
+ * <p>模板只在首次使用时编译为 {@link CompiledTemplate}，并按模板内容缓存，重复渲染时直接复用。
+ * 缓存按模板长度计算权重，缓存模板的总字符数不超过上限，避免少量超长模板占用过多内存。</p>
  *
  * @author 孙怡菲
  * @since 2025-08-29
  */
 @Component
 public class TemplateServiceImpl implements TemplateService {
+    private final Cache<String, CompiledTemplate> templates;
+
+    /**
+     * 使用编译模板缓存的容量创建 {@link TemplateServiceImpl} 的实例。
+     *
+     * @param cacheMaxChars 表示编译模板缓存中模板总字符数上限的 {@code long}。
+     */
+    public TemplateServiceImpl(@Value("${template-render.cache-max-chars:4194304}") long cacheMaxChars) {
+        Validation.greaterThan(cacheMaxChars, 0L,
+                "The template cache max chars must be positive. [cacheMaxChars={0}]", cacheMaxChars);
+        this.templates = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxChars)
+                .weigher((String template, CompiledTemplate compiled) -> Math.max(template.length(), 1))
+                .build();
+    }
+
     @Override
     public String renderTemplate(String template, Map<String, Object> args) {
         if (template == null) {
             return null;
         }
-        if (args == null) {
-            args = Map.of();
+        return this.compile(template).render(nullIf(args, Collections.emptyMap()));
+    }
+
+    @Override
+    public void renderTemplate(String template, Map<String, Object> args, Writer writer) throws IOException {
+        Validation.notNull(writer, "The writer cannot be null.");
+        if (template == null) {
+            return;
         }
-        Map<String, Object> params = nullIf(args, Collections.emptyMap());
-        ParameterizedStringResolver resolver =
-                ParameterizedStringResolver.create("{{", "}}", '/', ParameterizationMode.LENIENT_EMPTY);
-        ParameterizedString parameterizedString = resolver.resolve(template);
-        return parameterizedString.format(params, null);
+        this.compile(template).render(nullIf(args, Collections.emptyMap()), writer);
+    }
+
+    /**
+     * 获取模板编译后的结果，未缓存时编译并缓存。
+     *
+     * @param template 表示模板内容的 {@link String}。
+     * @return 表示编译后的模板的 {@link CompiledTemplate}。
+     */
+    CompiledTemplate compile(String template) {
+        return this.templates.get(template, CompiledTemplate::compile);
     }
 }
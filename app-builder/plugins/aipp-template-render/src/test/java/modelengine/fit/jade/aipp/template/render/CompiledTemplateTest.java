@@ -0,0 +1,79 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.template.render;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import modelengine.fitframework.parameterization.ParameterizationMode;
+import modelengine.fitframework.parameterization.ParameterizedStringResolver;
+import modelengine.fitframework.parameterization.StringFormatException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * {@link CompiledTemplate} 的测试类。
+ *
+ * @author 孙怡菲
+ * @since 2025-09-05
+ */
+class CompiledTemplateTest {
+    private static final ParameterizedStringResolver RESOLVER =
+            ParameterizedStringResolver.create("{{", "}}", '/', ParameterizationMode.LENIENT_EMPTY);
+    private static final char[] ALPHABET = {'{', '}', '/', 'a', 'b', ' '};
+
+    @Test
+    @DisplayName("转义字符和不完整的后缀按原样输出")
+    void shouldHandleEscapeAndDanglingSuffix() {
+        CompiledTemplate template = CompiledTemplate.compile("//a /{{b}} }} {{a}}");
+
+        assertThat(template.render(Map.of("a", 1))).isEqualTo("/a {{b}} }} 1");
+    }
+
+    @Test
+    @DisplayName("模板格式错误时抛出异常")
+    void shouldThrowWhenTemplateInvalid() {
+        assertThatThrownBy(() -> CompiledTemplate.compile("Hello {{name")).isInstanceOf(StringFormatException.class)
+                .hasMessageContaining("Incomplete parameter");
+        assertThatThrownBy(() -> CompiledTemplate.compile("Hello {{a{{b}}")).isInstanceOf(
+                StringFormatException.class).hasMessageContaining("Invalid prefix position");
+        assertThatThrownBy(() -> CompiledTemplate.compile("Hello /")).isInstanceOf(StringFormatException.class)
+                .hasMessageContaining("Invalid escape character position");
+    }
+
+    @Test
+    @DisplayName("随机模板的渲染结果与 ParameterizedStringResolver 一致")
+    void shouldRenderSameAsParameterizedStringResolver() {
+        Random random = new Random(20250905L);
+        Map<String, Object> args = new HashMap<>();
+        args.put("a", "A");
+        args.put("b", null);
+        args.put(" ", 1);
+        for (int i = 0; i < 20000; i++) {
+            char[] chars = new char[random.nextInt(16)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = ALPHABET[random.nextInt(ALPHABET.length)];
+            }
+            String template = new String(chars);
+            String expected;
+            try {
+                expected = RESOLVER.resolve(template).format(args, null);
+            } catch (IllegalArgumentException e) {
+                assertThatThrownBy(() -> CompiledTemplate.compile(template)).as(template)
+                        .isExactlyInstanceOf(e.getClass())
+                        .hasMessage(e.getMessage());
+                continue;
+            }
+            assertThat(CompiledTemplate.compile(template).render(args)).as(template).isEqualTo(expected);
+        }
+    }
+}
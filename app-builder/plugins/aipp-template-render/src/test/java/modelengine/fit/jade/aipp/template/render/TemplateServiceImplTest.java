@@ -12,6 +12,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -28,7 +30,7 @@ class TemplateServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        this.textTool = new TemplateServiceImpl();
+        this.textTool = new TemplateServiceImpl(1024L);
     }
 
     @Test
@@ -115,4 +117,26 @@ class TemplateServiceImplTest {
         String result = this.textTool.renderTemplate(template, args);
         assertEquals("Map data: {a=1, b=2}", result);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("相同模板只编译一次")
+    void shouldReuseCompiledTemplate() {
+        String template = "Hello {{name}}!";
+
+        assertEquals("Hello Tom!", this.textTool.renderTemplate(template, Map.of("name", "Tom")));
+        assertEquals("Hello Jerry!", this.textTool.renderTemplate(template, Map.of("name", "Jerry")));
+        assertSame(this.textTool.compile(template), this.textTool.compile(new String(template)));
+    }
+
+    @Test
+    @DisplayName("流式渲染结果与直接渲染一致")
+    void shouldRenderToWriter() throws IOException {
+        String template = "Hello {{name}}, your score is {{score}}. /{{raw}}";
+        Map<String, Object> args = Map.of("name", "Tom", "score", 95);
+        StringWriter writer = new StringWriter();
+
+        this.textTool.renderTemplate(template, args, writer);
+        assertEquals(this.textTool.renderTemplate(template, args), writer.toString());
+        assertEquals("Hello Tom, your score is 95. {{raw}}", writer.toString());
+    }
+}
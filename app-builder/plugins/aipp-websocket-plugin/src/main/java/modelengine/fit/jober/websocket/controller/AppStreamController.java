@@ -17,6 +17,8 @@ import modelengine.fit.jober.aipp.service.AppWsCommand;
 import modelengine.fit.jober.aipp.service.AppWsRegistryService;
 import modelengine.fit.jober.websocket.dto.AippWebsocketRsp;
 import modelengine.fit.jober.websocket.dto.AppWsParams;
+import modelengine.fit.jober.websocket.outbound.SessionOutbound;
+import modelengine.fit.jober.websocket.outbound.SessionOutboundRegistry;
 import modelengine.jade.authentication.AuthenticationService;
 import modelengine.jade.authentication.context.HttpRequestUtils;
 import modelengine.jade.authentication.context.UserContext;
@@ -60,13 +62,16 @@ public class AppStreamController extends AbstractController {
     private final ObjectSerializer serializer;
     private final AuthenticationService authenticationService;
     private final AppWsRegistryService registry;
+    private final SessionOutboundRegistry outbounds;
 
     AppStreamController(Authenticator authenticator, @Fit(alias = "json") ObjectSerializer serializer,
-            AuthenticationService authenticationService, AppWsRegistryService registry) {
+            AuthenticationService authenticationService, AppWsRegistryService registry,
+            SessionOutboundRegistry outbounds) {
         super(authenticator);
         this.serializer = serializer;
         this.authenticationService = authenticationService;
         this.registry = registry;
+        this.outbounds = outbounds;
     }
 
     /**
@@ -89,6 +94,7 @@ public class AppStreamController extends AbstractController {
     @OnMessage
     public void onMessage(Session session, @TextMessage String message, @PathVariable("tenant_id") String tenantId) {
         log.info("WebSocket session start. sessionId: {}", session.getId());
+        SessionOutbound outbound = this.outbounds.get(session);
         HttpClassicServerRequest request = cast(session.getHandshakeMessage());
         UserContext operationContext = new UserContext(this.authenticationService.getUserName(request),
                 HttpRequestUtils.getUserIp(request),
@@ -108,17 +114,23 @@ public class AppStreamController extends AbstractController {
                 notNull(command, () -> new AippException(AippErrCode.NOT_FOUND, method));
                 Choir<Object> result =
                         command.execute(context, this.castParam(params, this.registry.getParamClass(method)));
-                result.subscribe(null, (subscription, data) -> {
-                    session.send(this.createUnCompleteRsp(requestId, data));
+                // 对话数据流由流程引擎推送，不支持按需拉取，这里不限制请求数量，由发送队列的水位控制积压。
+                result.subscribe(subscription -> {
+                    outbound.register(subscription);
+                    subscription.request(Long.MAX_VALUE);
+                }, (subscription, data) -> {
+                    outbound.send(this.createUnCompleteRsp(requestId, data));
                 }, (subscription) -> {
-                    session.send(this.createCompletedRsp(requestId));
+                    outbound.unregister(subscription);
+                    outbound.sendLast(this.createCompletedRsp(requestId));
                 }, (subscription, exception) -> {
-                    session.send(this.createFailedRsp(requestId, exception));
+                    outbound.unregister(subscription);
+                    outbound.sendLast(this.createFailedRsp(requestId, exception));
                 });
                 log.info("End dispatch method.");
             } catch (Exception e) {
                 log.error("Apply method error.", e);
-                session.send(this.createFailedRsp(requestIdLog, e));
+                outbound.sendLast(this.createFailedRsp(requestIdLog, e));
             }
         });
     }
@@ -134,6 +146,7 @@ public class AppStreamController extends AbstractController {
                 session.getCloseCode(),
                 session.getCloseReason(),
                 session.getId());
+        this.outbounds.remove(session);
     }
 
     /**
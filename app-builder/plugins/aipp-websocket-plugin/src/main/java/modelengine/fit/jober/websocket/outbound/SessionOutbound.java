@@ -0,0 +1,256 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.websocket.outbound;
+
+import modelengine.fit.http.websocket.CloseReason;
+import modelengine.fit.http.websocket.Session;
+import modelengine.fitframework.flowable.Subscription;
+import modelengine.fitframework.log.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebSocket 会话的发送队列。
+ * <p>数据流的消息先进入队列，由发送线程按帧发送，数据流所在线程不会被慢速客户端阻塞。
+ * 发送时将积压的多条消息合并为一帧，合并后的帧为各消息组成的 json 数组。
+ * 积压达到高水位时按 {@link SlowConsumerPolicy} 处理，结束消息始终进入队列。
+ * 会话的发送是阻塞的，单帧发送超过 {@link SessionOutboundOptions#sendTimeout()} 时由注册表关闭会话，释放发送线程。</p>
+ *
+ * @author 姚江
+ * @since 2025-04-18
+ */
+public class SessionOutbound {
+    private static final Logger log = Logger.get(SessionOutbound.class);
+
+    private final Session session;
+    private final SessionOutboundOptions options;
+    private final ScheduledExecutorService sender;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Object lock = new Object();
+    private final Deque<String> pending = new ArrayDeque<>();
+    private boolean isScheduled;
+    private boolean isCongested;
+    private boolean isClosed;
+    private long sentMessages;
+    private long sentFrames;
+    private long droppedMessages;
+    private int maxPending;
+    private volatile boolean isSending;
+    private volatile long sendStartedNanos;
+
+    /**
+     * 创建会话的发送队列。
+     *
+     * @param session 表示 WebSocket 会话的 {@link Session}。
+     * @param options 表示发送队列配置的 {@link SessionOutboundOptions}。
+     * @param sender 表示共享发送线程池的 {@link ScheduledExecutorService}。
+     */
+    SessionOutbound(Session session, SessionOutboundOptions options, ScheduledExecutorService sender) {
+        this.session = session;
+        this.options = options;
+        this.sender = sender;
+    }
+
+    /**
+     * 登记会话上的数据流订阅，会话因积压被关闭时取消这些订阅。
+     *
+     * @param subscription 表示数据流订阅的 {@link Subscription}。
+     */
+    public void register(Subscription subscription) {
+        this.subscriptions.add(subscription);
+    }
+
+    /**
+     * 注销已结束的数据流订阅。
+     *
+     * @param subscription 表示数据流订阅的 {@link Subscription}。
+     */
+    public void unregister(Subscription subscription) {
+        this.subscriptions.remove(subscription);
+    }
+
+    /**
+     * 发送一条中间消息，积压达到高水位时按慢速客户端策略处理。
+     *
+     * @param message 表示消息的 {@link String}。
+     */
+    public void send(String message) {
+        boolean shouldClose = false;
+        synchronized (this.lock) {
+            if (this.isClosed) {
+                return;
+            }
+            if (this.isCongested || this.pending.size() >= this.options.highWatermark()) {
+                if (!this.isCongested) {
+                    this.isCongested = true;
+                    log.warn("WebSocket session is congested. [sessionId={}, pending={}, policy={}]",
+                            this.session.getId(),
+                            this.pending.size(),
+                            this.options.slowConsumerPolicy());
+                }
+                if (this.options.slowConsumerPolicy() == SlowConsumerPolicy.CLOSE) {
+                    shouldClose = true;
+                } else {
+                    this.droppedMessages++;
+                    return;
+                }
+            } else {
+                this.enqueue(message, this.options.flushInterval());
+            }
+        }
+        if (shouldClose) {
+            this.closeSlowConsumer();
+        }
+    }
+
+    /**
+     * 发送一条结束消息，结束消息不受水位限制并尽快发送。
+     *
+     * @param message 表示消息的 {@link String}。
+     */
+    public void sendLast(String message) {
+        synchronized (this.lock) {
+            if (this.isClosed) {
+                return;
+            }
+            this.enqueue(message, 0L);
+        }
+    }
+
+    /**
+     * 会话关闭时释放队列，并取消会话上仍在进行的数据流。
+     */
+    public void close() {
+        synchronized (this.lock) {
+            if (this.isClosed) {
+                return;
+            }
+            this.isClosed = true;
+            this.pending.clear();
+        }
+        this.subscriptions.forEach(Subscription::cancel);
+        this.subscriptions.clear();
+        log.info("WebSocket session outbound closed. [sessionId={}, messages={}, frames={}, dropped={}, "
+                        + "maxPending={}]",
+                this.session.getId(),
+                this.sentMessages,
+                this.sentFrames,
+                this.droppedMessages,
+                this.maxPending);
+    }
+
+    /**
+     * 获取当前会话的发送统计。
+     *
+     * @return 表示发送统计的 {@link Metrics}。
+     */
+    public Metrics metrics() {
+        synchronized (this.lock) {
+            return new Metrics(this.sentMessages,
+                    this.sentFrames,
+                    this.droppedMessages,
+                    this.pending.size(),
+                    this.maxPending);
+        }
+    }
+
+    private void enqueue(String message, long delay) {
+        this.pending.addLast(message);
+        this.maxPending = Math.max(this.maxPending, this.pending.size());
+        if (!this.isScheduled) {
+            this.isScheduled = true;
+            this.sender.schedule(this::drain, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            List<String> frame;
+            synchronized (this.lock) {
+                frame = this.pollFrame();
+                if (frame.isEmpty()) {
+                    this.isScheduled = false;
+                    return;
+                }
+                if (this.isCongested && this.pending.size() <= this.options.lowWatermark()) {
+                    this.isCongested = false;
+                }
+                this.sentMessages += frame.size();
+                this.sentFrames++;
+            }
+            this.sendStartedNanos = System.nanoTime();
+            this.isSending = true;
+            try {
+                this.session.send(frame.size() == 1 ? frame.get(0) : "[" + String.join(",", frame) + "]");
+            } catch (RuntimeException e) {
+                log.error("Failed to send websocket frame. [sessionId={}]", this.session.getId(), e);
+            } finally {
+                this.isSending = false;
+            }
+        }
+    }
+
+    private List<String> pollFrame() {
+        List<String> frame = new ArrayList<>();
+        int chars = 0;
+        while (!this.pending.isEmpty() && frame.size() < this.options.maxFrameMessages()) {
+            String next = this.pending.peekFirst();
+            if (!frame.isEmpty() && chars + next.length() > this.options.maxFrameChars()) {
+                break;
+            }
+            frame.add(this.pending.pollFirst());
+            chars += next.length();
+        }
+        return frame;
+    }
+
+    /**
+     * 判断当前帧的发送是否已超过发送超时时间。
+     *
+     * @param nowNanos 表示当前时间的 {@code long}，取自 {@link System#nanoTime()}。
+     * @return 表示是否发送超时的 {@code boolean}。
+     */
+    boolean isSendTimedOut(long nowNanos) {
+        return this.isSending
+                && nowNanos - this.sendStartedNanos > TimeUnit.MILLISECONDS.toNanos(this.options.sendTimeout());
+    }
+
+    /**
+     * 关闭发送超时的会话，关闭会话后阻塞中的发送随之结束，发送线程得以释放。
+     */
+    void closeTimedOut() {
+        log.warn("Close websocket session with send timeout. [sessionId={}, sendTimeout={}ms]",
+                this.session.getId(),
+                this.options.sendTimeout());
+        this.close();
+        this.session.close(CloseReason.TRY_AGAIN_LATER);
+    }
+
+    private void closeSlowConsumer() {
+        log.warn("Close slow websocket consumer. [sessionId={}]", this.session.getId());
+        this.close();
+        this.session.close(CloseReason.TRY_AGAIN_LATER);
+    }
+
+    /**
+     * 表示会话的发送统计。
+     *
+     * @param sentMessages 表示已发送消息数的 {@code long}。
+     * @param sentFrames 表示已发送帧数的 {@code long}。
+     * @param droppedMessages 表示被丢弃的消息数的 {@code long}。
+     * @param pending 表示当前积压消息数的 {@code int}。
+     * @param maxPending 表示历史最大积压消息数的 {@code int}。
+     */
+    public record Metrics(long sentMessages, long sentFrames, long droppedMessages, int pending, int maxPending) {}
+}
@@ -0,0 +1,43 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.websocket.outbound;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.greaterThanOrEquals;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+/**
+ * 会话发送队列的配置。
+ *
+ * @param highWatermark 表示积压消息数高水位的 {@code int}，达到后按慢速客户端策略处理。
+ * @param lowWatermark 表示积压消息数低水位的 {@code int}，积压降到该值后恢复接收消息。
+ * @param maxFrameMessages 表示单帧最多合并的消息数的 {@code int}，为 1 时不合并。
+ * @param maxFrameChars 表示单帧合并的最大字符数的 {@code int}，单条消息超过该值时单独成帧。
+ * @param flushInterval 表示中间消息的合并等待时间的 {@code long}，单位为毫秒。
+ * @param slowConsumerPolicy 表示慢速客户端策略的 {@link SlowConsumerPolicy}。
+ * @param sendTimeout 表示单帧发送的超时时间的 {@code long}，单位为毫秒，发送超时的会话被关闭。
+ * @author 姚江
+ * @since 2025-04-18
+ */
+public record SessionOutboundOptions(int highWatermark, int lowWatermark, int maxFrameMessages, int maxFrameChars,
+        long flushInterval, SlowConsumerPolicy slowConsumerPolicy, long sendTimeout) {
+    /**
+     * 校验并创建会话发送队列的配置。
+     *
+     * @throws IllegalArgumentException 当水位、帧大小、等待时间或超时时间不合法时。
+     */
+    public SessionOutboundOptions {
+        greaterThan(highWatermark, 0, "The high watermark should be positive.");
+        greaterThanOrEquals(lowWatermark, 0, "The low watermark should not be negative.");
+        greaterThan(highWatermark, lowWatermark, "The high watermark should be greater than the low watermark.");
+        greaterThan(maxFrameMessages, 0, "The max frame messages should be positive.");
+        greaterThan(maxFrameChars, 0, "The max frame chars should be positive.");
+        greaterThanOrEquals(flushInterval, 0L, "The flush interval should not be negative.");
+        notNull(slowConsumerPolicy, "The slow consumer policy cannot be null.");
+        greaterThan(sendTimeout, 0L, "The send timeout should be positive.");
+    }
+}
@@ -0,0 +1,127 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.websocket.outbound;
+
+import modelengine.fit.http.websocket.Session;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Destroy;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.thread.DefaultThreadFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 会话发送队列的注册表，每个 WebSocket 会话对应一个发送队列，全部会话共享发送线程。
+ * <p>发送线程在发送时阻塞，少数慢速客户端可能占满全部发送线程。注册表使用独立的巡检线程，
+ * 定期关闭单帧发送超时的会话，使被阻塞的发送线程尽快释放。</p>
+ *
+ * @author 姚江
+ * @since 2025-04-18
+ */
+@Component
+public class SessionOutboundRegistry {
+    private static final Logger log = Logger.get(SessionOutboundRegistry.class);
+
+    private final SessionOutboundOptions options;
+    private final ScheduledExecutorService sender;
+    private final ScheduledExecutorService watchdog;
+    private final Map<String, SessionOutbound> outbounds = new ConcurrentHashMap<>();
+
+    /**
+     * 创建会话发送队列的注册表。
+     *
+     * @param highWatermark 表示积压消息数高水位的 {@code int}。
+     * @param lowWatermark 表示积压消息数低水位的 {@code int}。
+     * @param maxFrameMessages 表示单帧最多合并的消息数的 {@code int}。
+     * @param maxFrameChars 表示单帧合并的最大字符数的 {@code int}。
+     * @param flushInterval 表示中间消息的合并等待时间的 {@code long}，单位为毫秒。
+     * @param slowConsumerPolicy 表示慢速客户端策略名称的 {@link String}。
+     * @param senderThreads 表示共享发送线程数的 {@code int}。
+     * @param sendTimeout 表示单帧发送的超时时间的 {@code long}，单位为毫秒。
+     */
+    public SessionOutboundRegistry(@Value("${app-websocket.outbound.high-watermark:1024}") int highWatermark,
+            @Value("${app-websocket.outbound.low-watermark:256}") int lowWatermark,
+            @Value("${app-websocket.outbound.max-frame-messages:1}") int maxFrameMessages,
+            @Value("${app-websocket.outbound.max-frame-chars:65536}") int maxFrameChars,
+            @Value("${app-websocket.outbound.flush-interval:0}") long flushInterval,
+            @Value("${app-websocket.outbound.slow-consumer-policy:CLOSE}") String slowConsumerPolicy,
+            @Value("${app-websocket.outbound.sender-threads:4}") int senderThreads,
+            @Value("${app-websocket.outbound.send-timeout:10000}") long sendTimeout) {
+        this.options = new SessionOutboundOptions(highWatermark,
+                lowWatermark,
+                maxFrameMessages,
+                maxFrameChars,
+                flushInterval,
+                SlowConsumerPolicy.valueOf(slowConsumerPolicy),
+                sendTimeout);
+        this.sender = new ScheduledThreadPoolExecutor(Math.max(senderThreads, 1), threadFactory("app-ws-sender"));
+        this.watchdog = new ScheduledThreadPoolExecutor(1, threadFactory("app-ws-send-watchdog"));
+        long period = Math.max(sendTimeout / 2, 1L);
+        this.watchdog.scheduleWithFixedDelay(this::closeTimedOutSessions, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 获取会话对应的发送队列，不存在时创建。
+     *
+     * @param session 表示 WebSocket 会话的 {@link Session}。
+     * @return 表示发送队列的 {@link SessionOutbound}。
+     */
+    public SessionOutbound get(Session session) {
+        return this.outbounds.computeIfAbsent(session.getId(),
+                id -> new SessionOutbound(session, this.options, this.sender));
+    }
+
+    /**
+     * 会话关闭时移除并关闭对应的发送队列。
+     *
+     * @param session 表示 WebSocket 会话的 {@link Session}。
+     */
+    public void remove(Session session) {
+        SessionOutbound outbound = this.outbounds.remove(session.getId());
+        if (outbound != null) {
+            outbound.close();
+        }
+    }
+
+    /**
+     * 关闭全部发送队列，并停止发送线程和巡检线程。
+     */
+    @Destroy
+    public void close() {
+        this.watchdog.shutdownNow();
+        this.outbounds.values().forEach(SessionOutbound::close);
+        this.outbounds.clear();
+        this.sender.shutdownNow();
+    }
+
+    private void closeTimedOutSessions() {
+        long now = System.nanoTime();
+        this.outbounds.forEach((id, outbound) -> {
+            if (!outbound.isSendTimedOut(now) || !this.outbounds.remove(id, outbound)) {
+                return;
+            }
+            try {
+                outbound.closeTimedOut();
+            } catch (RuntimeException e) {
+                log.error("Failed to close websocket session with send timeout. [sessionId={}]", id, e);
+            }
+        });
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        return new DefaultThreadFactory(name, true, (thread, throwable) -> {
+            log.error("[{}] Exception. [message={}]", name, throwable.getMessage());
+            log.error("[{}] Details:", name, throwable);
+        });
+    }
+}
@@ -0,0 +1,25 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.websocket.outbound;
+
+/**
+ * 会话发送队列积压达到高水位时的处理策略。
+ *
+ * @author 姚江
+ * @since 2025-04-18
+ */
+public enum SlowConsumerPolicy {
+    /**
+     * 取消会话上的全部数据流并关闭会话。
+     */
+    CLOSE,
+
+    /**
+     * 丢弃新的中间消息，直到积压降到低水位，结束消息不会被丢弃。
+     */
+    DROP
+}
@@ -10,6 +10,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import modelengine.fit.http.protocol.Address;
@@ -22,6 +24,7 @@ import modelengine.fit.jober.aipp.common.exception.AippErrCode;
 import modelengine.fit.jober.aipp.common.exception.AippException;
 import modelengine.fit.jober.aipp.service.AppWsCommand;
 import modelengine.fit.jober.aipp.service.AppWsRegistryService;
+import modelengine.fit.jober.websocket.outbound.SessionOutboundRegistry;
 import modelengine.fit.serialization.json.jackson.JacksonObjectSerializer;
 import modelengine.fitframework.flowable.Choir;
 import modelengine.fitframework.serialization.ObjectSerializer;
@@ -35,8 +38,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * {@link AppStreamController} 测试类。
@@ -67,7 +70,7 @@ public class AppStreamControllerTest {
                     }
                 }
             }""";
-    private final List<String> result = new ArrayList<>();
+    private final List<String> result = new CopyOnWriteArrayList<>();
     @Mock
     private Session session;
     @Mock
@@ -86,8 +89,12 @@ public class AppStreamControllerTest {
     @BeforeEach
     public void setup() {
         this.serializer = new JacksonObjectSerializer(null, null, null, true);
-        this.appStreamController =
-                new AppStreamController(this.authenticator, this.serializer, this.authenticationService, this.registry);
+        this.appStreamController = new AppStreamController(this.authenticator,
+                this.serializer,
+                this.authenticationService,
+                this.registry,
+                new SessionOutboundRegistry(1024, 256, 1, 65536, 0L, "CLOSE", 1, 10000L));
+        when(this.session.getId()).thenReturn("session_1");
         when(this.request.headers()).thenReturn(new DefaultMessageHeaders());
         when(this.request.cookies()).thenReturn(new DefaultCookieCollection());
         when(this.request.remoteAddress()).thenReturn(Address.builder().hostAddress("127.0.0.1").port(6666).build());
@@ -104,6 +111,7 @@ public class AppStreamControllerTest {
     void testAppStreamControllerRouter() {
         when(this.command.execute(any(), any())).then(invocationOnMock -> Choir.<Object>just("test route success"));
         this.appStreamController.onMessage(this.session, this.chatMsg, "123");
+        verify(this.session, timeout(1000).times(2)).send(anyString());
         assertThat(this.result).hasSize(2)
                 .contains("{\"requestId\":\"1\",\"code\":0,\"data\":\"test route success\","
                                 + "\"completed\":false}",
@@ -136,6 +144,7 @@ public class AppStreamControllerTest {
                     }
                 }""";
         this.appStreamController.onMessage(this.session, message, "123");
+        verify(this.session, timeout(1000).times(1)).send(anyString());
         assertThat(this.result).hasSize(1)
                 .contains("{\"requestId\":\"1\",\"code\":90000001,\"msg\":\"资源不存在: nonexist。\","
                         + "\"completed\":true}");
@@ -146,6 +155,7 @@ public class AppStreamControllerTest {
     void testInterfaceThrowFitException() {
         when(this.command.execute(any(), any())).thenThrow(new AippException(AippErrCode.UNKNOWN));
         this.appStreamController.onMessage(this.session, this.chatMsg, "123");
+        verify(this.session, timeout(1000).times(1)).send(anyString());
         assertThat(this.result).hasSize(1)
                 .contains("{\"requestId\":\"1\",\"code\":90000002,\"msg\":\"服务器内部错误，请联系管理员。\","
                         + "\"completed\":true}");
@@ -156,6 +166,7 @@ public class AppStreamControllerTest {
     void testInterfaceThrowException() {
         when(this.command.execute(any(), any())).thenThrow(new RuntimeException("other exception"));
         this.appStreamController.onMessage(this.session, this.chatMsg, "123");
+        verify(this.session, timeout(1000).times(1)).send(anyString());
         assertThat(this.result).hasSize(1)
                 .contains("{\"requestId\":\"1\",\"code\":90000002,\"msg\":\"other exception\","
                         + "\"completed\":true}");
@@ -169,6 +180,7 @@ public class AppStreamControllerTest {
             emitter.fail(new IOException("emit fail"));
         }));
         this.appStreamController.onMessage(this.session, this.chatMsg, "123");
+        verify(this.session, timeout(1000).times(2)).send(anyString());
         assertThat(this.result).hasSize(2)
                 .contains("{\"requestId\":\"1\",\"code\":0,\"data\":\"emit success\",\"completed\":false}",
                         "{\"requestId\":\"1\",\"code\":90000002,\"msg\":\"emit fail\","
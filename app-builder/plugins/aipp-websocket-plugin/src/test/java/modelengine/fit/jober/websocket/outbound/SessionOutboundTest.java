@@ -0,0 +1,170 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.websocket.outbound;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import modelengine.fit.http.websocket.CloseReason;
+import modelengine.fit.http.websocket.Session;
+import modelengine.fitframework.flowable.Subscription;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SessionOutbound} 的测试类。
+ *
+ * @author 姚江
+ * @since 2025-04-18
+ */
+public class SessionOutboundTest {
+    private final List<String> frames = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private Session session;
+    private SessionOutboundRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        this.session = mock(Session.class);
+        when(this.session.getId()).thenReturn("session_1");
+        // 模拟慢速客户端：第一帧发送时阻塞，直到测试放行。
+        doAnswer(invocation -> {
+            if (this.frames.isEmpty()) {
+                this.release.await(5, TimeUnit.SECONDS);
+            }
+            this.frames.add(invocation.getArgument(0));
+            return null;
+        }).when(this.session).send(anyString());
+    }
+
+    @AfterEach
+    void teardown() {
+        this.release.countDown();
+        if (this.registry != null) {
+            this.registry.close();
+        }
+    }
+
+    @Test
+    @DisplayName("测试慢速客户端积压的消息按帧合并发送")
+    void shouldCoalesceWhileClientIsSlow() {
+        SessionOutbound outbound = this.outbound(10, 2, 3, "DROP");
+
+        outbound.send("{\"i\":0}");
+        verify(this.session, timeout(1000)).send(anyString());
+        for (int i = 1; i <= 5; i++) {
+            outbound.send("{\"i\":" + i + "}");
+        }
+        outbound.sendLast("{\"completed\":true}");
+        this.release.countDown();
+
+        verify(this.session, timeout(1000).times(3)).send(anyString());
+        assertThat(this.frames).containsExactly("{\"i\":0}",
+                "[{\"i\":1},{\"i\":2},{\"i\":3}]",
+                "[{\"i\":4},{\"i\":5},{\"completed\":true}]");
+        assertThat(outbound.metrics()).isEqualTo(new SessionOutbound.Metrics(7, 3, 0, 0, 6));
+    }
+
+    @Test
+    @DisplayName("测试积压达到高水位时丢弃中间消息，结束消息仍然发送")
+    void shouldDropWhenCongested() {
+        SessionOutbound outbound = this.outbound(3, 1, 1, "DROP");
+
+        outbound.send("0");
+        verify(this.session, timeout(1000)).send(anyString());
+        for (int i = 1; i < 10; i++) {
+            outbound.send(String.valueOf(i));
+        }
+        outbound.sendLast("done");
+        this.release.countDown();
+
+        verify(this.session, timeout(1000).times(5)).send(anyString());
+        assertThat(this.frames).containsExactly("0", "1", "2", "3", "done");
+        assertThat(outbound.metrics().droppedMessages()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("测试积压达到高水位时取消数据流并关闭会话")
+    void shouldCloseWhenCongested() {
+        SessionOutbound outbound = this.outbound(3, 1, 1, "CLOSE");
+        Subscription subscription = mock(Subscription.class);
+        outbound.register(subscription);
+
+        outbound.send("0");
+        verify(this.session, timeout(1000)).send(anyString());
+        for (int i = 1; i < 10; i++) {
+            outbound.send(String.valueOf(i));
+        }
+        this.release.countDown();
+
+        verify(subscription).cancel();
+        verify(this.session).close(CloseReason.TRY_AGAIN_LATER);
+        assertThat(outbound.metrics().pending()).isZero();
+        assertThat(outbound.metrics().droppedMessages()).isZero();
+    }
+
+    @Test
+    @DisplayName("测试单帧发送超时时关闭会话并取消数据流")
+    void shouldCloseWhenSendTimedOut() {
+        SessionOutbound outbound = this.outbound(10, 2, 1, "DROP", 200L);
+        Subscription subscription = mock(Subscription.class);
+        outbound.register(subscription);
+
+        outbound.send("0");
+
+        verify(this.session, timeout(2000)).close(CloseReason.TRY_AGAIN_LATER);
+        verify(subscription).cancel();
+        outbound.send("1");
+        assertThat(outbound.metrics().pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("测试注册表关闭时关闭全部发送队列")
+    void shouldCloseOutboundsWhenRegistryClosed() {
+        SessionOutbound outbound = this.outbound(10, 2, 1, "DROP");
+        Subscription subscription = mock(Subscription.class);
+        outbound.register(subscription);
+
+        this.registry.close();
+
+        verify(subscription).cancel();
+        outbound.send("0");
+        assertThat(outbound.metrics().pending()).isZero();
+        verify(this.session, never()).send(anyString());
+    }
+
+    private SessionOutbound outbound(int highWatermark, int lowWatermark, int maxFrameMessages, String policy) {
+        return this.outbound(highWatermark, lowWatermark, maxFrameMessages, policy, 10000L);
+    }
+
+    private SessionOutbound outbound(int highWatermark, int lowWatermark, int maxFrameMessages, String policy,
+            long sendTimeout) {
+        this.registry = new SessionOutboundRegistry(highWatermark,
+                lowWatermark,
+                maxFrameMessages,
+                65536,
+                0L,
+                policy,
+                1,
+                sendTimeout);
+        return this.registry.get(this.session);
+    }
+}
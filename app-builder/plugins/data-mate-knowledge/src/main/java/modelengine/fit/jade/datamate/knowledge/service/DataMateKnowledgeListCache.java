@@ -0,0 +1,218 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.datamate.knowledge.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import modelengine.fit.jade.datamate.knowledge.dto.DataMateKnowledgeListQueryParam;
+import modelengine.fit.jade.datamate.knowledge.entity.DataMateKnowledgeEntity;
+import modelengine.fit.jade.datamate.knowledge.entity.DataMateKnowledgeListEntity;
+import modelengine.fit.jade.datamate.knowledge.external.DataMateKnowledgeBaseManager;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.thread.DefaultThreadFactory;
+import modelengine.fitframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+/**
+ * 表示 DataMate 知识库列表的缓存。
+ * <p>按鉴权 api key 缓存知识库列表快照，快照在有效期内被所有翻页与名称搜索共享：
+ * <ul>
+ *     <li>快照首次加载时先查询第一页，总数不超过快照上限时并行查询其余各页，拼成完整列表；</li>
+ *     <li>完整快照上的翻页与名称搜索在内存中完成，按名称包含关系（忽略大小写）过滤，保持远端返回的顺序；</li>
+ *     <li>总数超过快照上限时按页缓存远端结果，并在返回当前页时并行预取下一页。</li>
+ * </ul>
+ * 同一个快照或同一页的并发请求只会触发一次远端查询。有效期不大于 0 时不使用缓存，每次直接查询远端。</p>
+ *
+ * @author 陈镕希
+ * @since 2025-12-22
+ */
+@Component
+public class DataMateKnowledgeListCache {
+    private static final Logger log = Logger.get(DataMateKnowledgeListCache.class);
+
+    private final DataMateKnowledgeBaseManager knowledgeBaseManager;
+    private final boolean isEnabled;
+    private final int fetchSize;
+    private final int maxSnapshotSize;
+    private final ExecutorService executor;
+    private final AsyncCache<String, Snapshot> snapshots;
+    private final AsyncCache<PageKey, DataMateKnowledgeListEntity> pages;
+
+    /**
+     * 使用 DataMate 知识库调用工具和缓存配置创建 {@link DataMateKnowledgeListCache} 的实例。
+     *
+     * @param knowledgeBaseManager 表示 DataMate 知识库调用工具的 {@link DataMateKnowledgeBaseManager}。
+     * @param ttlSeconds 表示列表快照有效期（秒）的 {@code int}，不大于 0 时不使用缓存。
+     * @param fetchSize 表示加载快照时每次查询的条数的 {@code int}。
+     * @param maxSnapshotSize 表示完整快照最多保存的知识库数量的 {@code int}。
+     * @param maxCredentials 表示最多缓存快照的 api key 数量的 {@code int}。
+     * @param parallelism 表示并行查询远端的线程数的 {@code int}。
+     */
+    public DataMateKnowledgeListCache(DataMateKnowledgeBaseManager knowledgeBaseManager,
+            @Value("${datamate.list-cache.ttl:0}") int ttlSeconds,
+            @Value("${datamate.list-cache.fetch-size:100}") int fetchSize,
+            @Value("${datamate.list-cache.max-snapshot-size:1000}") int maxSnapshotSize,
+            @Value("${datamate.list-cache.max-credentials:256}") int maxCredentials,
+            @Value("${datamate.list-cache.parallelism:4}") int parallelism) {
+        this.knowledgeBaseManager =
+                Validation.notNull(knowledgeBaseManager, "The knowledge base manager cannot be null.");
+        this.isEnabled = ttlSeconds > 0;
+        this.fetchSize = Validation.greaterThan(fetchSize, 0,
+                "The fetch size must be positive. [fetchSize={0}]", fetchSize);
+        this.maxSnapshotSize = maxSnapshotSize;
+        Duration ttl = Duration.ofSeconds(Math.max(ttlSeconds, 1));
+        this.executor = Executors.newFixedThreadPool(Validation.greaterThan(parallelism, 0,
+                        "The parallelism must be positive. [parallelism={0}]", parallelism),
+                new DefaultThreadFactory("datamate-list", true, (thread, throwable) -> {
+                    log.error("[datamate-list] Exception. [message={}]", throwable.getMessage());
+                    log.error("[datamate-list] Details:", throwable);
+                }));
+        this.snapshots = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxCredentials)
+                .executor(this.executor)
+                .buildAsync();
+        this.pages = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize((long) maxCredentials * 16)
+                .executor(this.executor)
+                .buildAsync();
+    }
+
+    /**
+     * 查询一页知识库列表。
+     *
+     * @param apiKey 表示知识库接口鉴权 api key 的 {@link String}。
+     * @param repoName 表示知识库名称过滤条件的 {@link String}，为空时不过滤。
+     * @param page 表示页码（从 0 开始）的 {@code int}。
+     * @param size 表示每页数量的 {@code int}。
+     * @return 表示一页知识库列表的 {@link DataMateKnowledgeListEntity}。
+     */
+    public DataMateKnowledgeListEntity list(String apiKey, String repoName, int page, int size) {
+        if (!this.isEnabled) {
+            return this.fetch(apiKey, repoName, page, size);
+        }
+        String credential = credentialOf(apiKey);
+        Snapshot snapshot = join(this.snapshots.get(credential, (key, ignored) -> this.loadSnapshot(apiKey)));
+        if (snapshot.isComplete()) {
+            return snapshot.page(repoName, page, size);
+        }
+        PageKey key = new PageKey(credential, StringUtils.blankIf(repoName, StringUtils.EMPTY), page, size);
+        DataMateKnowledgeListEntity current = join(this.pages.get(key, (ignored, executor) ->
+                CompletableFuture.supplyAsync(() -> this.fetch(apiKey, repoName, page, size), executor)));
+        int total = current.getTotalElements() == null ? 0 : current.getTotalElements();
+        if ((long) (page + 1) * size < total) {
+            this.pages.get(new PageKey(credential, key.repoName(), page + 1, size), (ignored, executor) ->
+                    CompletableFuture.supplyAsync(() -> this.fetch(apiKey, repoName, page + 1, size), executor));
+        }
+        return current;
+    }
+
+    private CompletableFuture<Snapshot> loadSnapshot(String apiKey) {
+        return CompletableFuture.supplyAsync(() -> this.fetch(apiKey, null, 0, this.fetchSize), this.executor)
+                .thenCompose(first -> {
+                    int total = first.getTotalElements() == null ? 0 : first.getTotalElements();
+                    if (total > this.maxSnapshotSize) {
+                        return CompletableFuture.completedFuture(Snapshot.PARTIAL);
+                    }
+                    int pageCount = (total + this.fetchSize - 1) / this.fetchSize;
+                    List<CompletableFuture<DataMateKnowledgeListEntity>> rest = IntStream.range(1, pageCount)
+                            .mapToObj(page -> CompletableFuture.supplyAsync(() -> this.fetch(apiKey,
+                                    null,
+                                    page,
+                                    this.fetchSize), this.executor))
+                            .toList();
+                    return CompletableFuture.allOf(rest.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+                        List<DataMateKnowledgeEntity> repos = new ArrayList<>(contentOf(first));
+                        rest.forEach(future -> repos.addAll(contentOf(future.join())));
+                        return new Snapshot(Collections.unmodifiableList(repos));
+                    });
+                });
+    }
+
+    private DataMateKnowledgeListEntity fetch(String apiKey, String repoName, int page, int size) {
+        DataMateKnowledgeListQueryParam queryParam = DataMateKnowledgeListQueryParam.builder()
+                .name(repoName)
+                .page(page)
+                .size(size)
+                .build();
+        return this.knowledgeBaseManager.listRepos(apiKey, queryParam);
+    }
+
+    private static List<DataMateKnowledgeEntity> contentOf(DataMateKnowledgeListEntity entity) {
+        return entity.getContent() == null ? Collections.emptyList() : entity.getContent();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static String credentialOf(String apiKey) {
+        String value = StringUtils.blankIf(apiKey, StringUtils.EMPTY);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            return value;
+        }
+    }
+
+    private record PageKey(String credential, String repoName, int page, int size) {}
+
+    private record Snapshot(List<DataMateKnowledgeEntity> repos) {
+        private static final Snapshot PARTIAL = new Snapshot(null);
+
+        boolean isComplete() {
+            return this.repos != null;
+        }
+
+        DataMateKnowledgeListEntity page(String repoName, int page, int size) {
+            List<DataMateKnowledgeEntity> matched = this.repos;
+            if (StringUtils.isNotBlank(repoName)) {
+                String keyword = repoName.trim().toLowerCase(Locale.ROOT);
+                matched = this.repos.stream()
+                        .filter(repo -> repo.getName() != null && repo.getName()
+                                .toLowerCase(Locale.ROOT)
+                                .contains(keyword))
+                        .toList();
+            }
+            int from = (int) Math.min((long) page * size, matched.size());
+            int to = (int) Math.min((long) from + size, matched.size());
+            return DataMateKnowledgeListEntity.builder()
+                    .page(page)
+                    .size(size)
+                    .totalElements(matched.size())
+                    .totalPages(size == 0 ? 0 : (matched.size() + size - 1) / size)
+                    .content(new ArrayList<>(matched.subList(from, to)))
+                    .build();
+        }
+    }
+}
@@ -7,7 +7,6 @@
 package modelengine.fit.jade.datamate.knowledge.service;
 
 import modelengine.fit.jade.datamate.knowledge.convertor.ParamConvertor;
-import modelengine.fit.jade.datamate.knowledge.dto.DataMateKnowledgeListQueryParam;
 import modelengine.fit.jade.datamate.knowledge.dto.DataMateRetrievalParam;
 import modelengine.fit.jade.datamate.knowledge.entity.DataMateKnowledgeEntity;
 import modelengine.fit.jade.datamate.knowledge.entity.DataMateKnowledgeListEntity;
@@ -56,11 +55,13 @@ public class DataMateKnowledgeRepoServiceImpl implements KnowledgeRepoService {
 
     private final DataMateKnowledgeBaseManager knowledgeBaseManager;
     private final KnowledgeI18nService knowledgeI18nService;
+    private final DataMateKnowledgeListCache knowledgeListCache;
 
     public DataMateKnowledgeRepoServiceImpl(DataMateKnowledgeBaseManager knowledgeBaseManager,
-            KnowledgeI18nService knowledgeI18nService) {
+            KnowledgeI18nService knowledgeI18nService, DataMateKnowledgeListCache knowledgeListCache) {
         this.knowledgeBaseManager = knowledgeBaseManager;
         this.knowledgeI18nService = knowledgeI18nService;
+        this.knowledgeListCache = knowledgeListCache;
     }
 
     @Override
@@ -134,7 +135,8 @@ public class DataMateKnowledgeRepoServiceImpl implements KnowledgeRepoService {
     private PageVoKnowledgeList queryKnowledgeList(String apiKey, ListRepoQueryParam param) {
         int page = Math.max(param.getPageIndex() - 1, 0);
         int size = param.getPageSize();
-        DataMateKnowledgeListEntity listEntity = this.executeQuery(apiKey, param.getRepoName(), page, size);
+        DataMateKnowledgeListEntity listEntity =
+                this.knowledgeListCache.list(apiKey, param.getRepoName(), page, size);
         List<DataMateKnowledgeEntity> content = listEntity.getContent() == null
                 ? Collections.emptyList()
                 : listEntity.getContent();
@@ -143,13 +145,4 @@ public class DataMateKnowledgeRepoServiceImpl implements KnowledgeRepoService {
                 .total(listEntity.getTotalElements() == null ? 0 : listEntity.getTotalElements())
                 .build();
     }
-
-    private DataMateKnowledgeListEntity executeQuery(String apiKey, String repoName, int page, int size) {
-        DataMateKnowledgeListQueryParam queryParam = DataMateKnowledgeListQueryParam.builder()
-                .name(repoName)
-                .page(page)
-                .size(size)
-                .build();
-        return this.knowledgeBaseManager.listRepos(apiKey, queryParam);
-    }
 }
@@ -0,0 +1,180 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.datamate.knowledge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import modelengine.fit.jade.datamate.knowledge.dto.DataMateKnowledgeListQueryParam;
+import modelengine.fit.jade.datamate.knowledge.entity.DataMateKnowledgeEntity;
+import modelengine.fit.jade.datamate.knowledge.entity.DataMateKnowledgeListEntity;
+import modelengine.fit.jade.datamate.knowledge.external.DataMateKnowledgeBaseManager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * {@link DataMateKnowledgeListCache} 的测试类。
+ * <p>使用本地桩 {@link StubKnowledgeBaseManager} 模拟 DataMate 服务端的分页与名称过滤，统计远端调用次数。</p>
+ *
+ * @author 陈镕希
+ * @since 2025-12-22
+ */
+class DataMateKnowledgeListCacheTest {
+    private static final String API_KEY = "test-api-key";
+
+    @Test
+    @DisplayName("快照加载后翻页与名称搜索不再访问远端")
+    void shouldServePagesAndSearchFromSnapshot() {
+        StubKnowledgeBaseManager server = new StubKnowledgeBaseManager(250, 0);
+        DataMateKnowledgeListCache cache = new DataMateKnowledgeListCache(server, 30, 100, 1000, 16, 4);
+
+        for (int page = 0; page < 25; page++) {
+            DataMateKnowledgeListEntity result = cache.list(API_KEY, null, page, 10);
+            assertThat(result.getTotalElements()).isEqualTo(250);
+            assertThat(result.getContent()).extracting(DataMateKnowledgeEntity::getId)
+                    .containsExactlyElementsOf(ids(page * 10, page * 10 + 10));
+        }
+        DataMateKnowledgeListEntity searched = cache.list(API_KEY, "REPO-1", 1, 5);
+
+        assertThat(server.calls.get()).isEqualTo(3);
+        assertThat(searched.getTotalElements()).isEqualTo(server.search("repo-1").size());
+        assertThat(searched.getContent()).extracting(DataMateKnowledgeEntity::getName)
+                .containsExactlyElementsOf(server.search("repo-1").subList(5, 10));
+
+        StubKnowledgeBaseManager uncachedServer = new StubKnowledgeBaseManager(250, 0);
+        DataMateKnowledgeListCache uncached = new DataMateKnowledgeListCache(uncachedServer, 0, 100, 1000, 16, 4);
+        IntStream.range(0, 25).forEach(page -> uncached.list(API_KEY, null, page, 10));
+        uncached.list(API_KEY, "REPO-1", 1, 5);
+        assertThat(uncachedServer.calls.get()).isEqualTo(26);
+    }
+
+    @Test
+    @DisplayName("并发首次查询共享同一次快照加载，其余各页并行查询")
+    void shouldLoadSnapshotOnceForConcurrentRequests() throws Exception {
+        StubKnowledgeBaseManager server = new StubKnowledgeBaseManager(500, 50);
+        DataMateKnowledgeListCache cache = new DataMateKnowledgeListCache(server, 30, 100, 1000, 16, 4);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<DataMateKnowledgeListEntity>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                int page = i;
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return cache.list(API_KEY, null, page, 10);
+                }));
+            }
+            start.countDown();
+            for (Future<DataMateKnowledgeListEntity> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getContent()).hasSize(10);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(server.calls.get()).isEqualTo(5);
+        assertThat(server.maxConcurrency.get()).isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("总数超过快照上限时按页缓存并预取下一页")
+    void shouldPrefetchNextPageWhenSnapshotTooLarge() throws InterruptedException {
+        StubKnowledgeBaseManager server = new StubKnowledgeBaseManager(50, 0);
+        DataMateKnowledgeListCache cache = new DataMateKnowledgeListCache(server, 30, 10, 20, 16, 4);
+
+        DataMateKnowledgeListEntity first = cache.list(API_KEY, null, 0, 10);
+        awaitRequested(server, 1);
+        int callsBeforeSecondPage = server.calls.get();
+        DataMateKnowledgeListEntity second = cache.list(API_KEY, null, 1, 10);
+        DataMateKnowledgeListEntity firstAgain = cache.list(API_KEY, null, 0, 10);
+
+        assertThat(first.getContent()).extracting(DataMateKnowledgeEntity::getId).containsExactlyElementsOf(ids(0, 10));
+        assertThat(second.getContent()).extracting(DataMateKnowledgeEntity::getId)
+                .containsExactlyElementsOf(ids(10, 20));
+        assertThat(firstAgain).isSameAs(first);
+        assertThat(callsBeforeSecondPage).isEqualTo(3);
+        assertThat(server.requestedPages.get(1).get()).isEqualTo(1);
+    }
+
+    private static void awaitRequested(StubKnowledgeBaseManager server, int page) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!server.requestedPages.containsKey(page) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static List<String> ids(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "kb-" + i).toList();
+    }
+
+    /**
+     * 模拟 DataMate 知识库列表接口的本地桩，按名称包含关系过滤并分页，记录调用次数与并发数。
+     */
+    private static class StubKnowledgeBaseManager extends DataMateKnowledgeBaseManager {
+        private final List<DataMateKnowledgeEntity> repos;
+        private final long latencyMillis;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxConcurrency = new AtomicInteger();
+        private final Map<Integer, AtomicInteger> requestedPages = new ConcurrentHashMap<>();
+
+        StubKnowledgeBaseManager(int total, long latencyMillis) {
+            super(Collections.emptyMap(), null, 30);
+            this.repos = IntStream.range(0, total)
+                    .mapToObj(i -> DataMateKnowledgeEntity.builder().id("kb-" + i).name("Repo-" + i).build())
+                    .toList();
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public DataMateKnowledgeListEntity listRepos(String apiKey, DataMateKnowledgeListQueryParam param) {
+            this.calls.incrementAndGet();
+            this.requestedPages.computeIfAbsent(param.getPage(), key -> new AtomicInteger()).incrementAndGet();
+            this.maxConcurrency.accumulateAndGet(this.running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(this.latencyMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                this.running.decrementAndGet();
+            }
+            List<DataMateKnowledgeEntity> matched = param.getName() == null
+                    ? this.repos
+                    : this.repos.stream()
+                            .filter(repo -> repo.getName().toLowerCase().contains(param.getName().toLowerCase()))
+                            .toList();
+            int from = Math.min(param.getPage() * param.getSize(), matched.size());
+            int to = Math.min(from + param.getSize(), matched.size());
+            return DataMateKnowledgeListEntity.builder()
+                    .page(param.getPage())
+                    .size(param.getSize())
+                    .totalElements(matched.size())
+                    .content(matched.subList(from, to))
+                    .build();
+        }
+
+        List<String> search(String keyword) {
+            return this.repos.stream()
+                    .map(DataMateKnowledgeEntity::getName)
+                    .filter(name -> name.toLowerCase().contains(keyword))
+                    .toList();
+        }
+    }
+}
@@ -44,7 +44,7 @@ import java.util.List;
  * {@link DataMateKnowledgeRepoServiceImpl} 的测试类。
  * 不使用 @Nested，确保 FitTestWithJunit 能正确注入 @Mock 与 @Fit。
  */
-@FitTestWithJunit(includeClasses = {DataMateKnowledgeRepoServiceImpl.class})
+@FitTestWithJunit(includeClasses = {DataMateKnowledgeRepoServiceImpl.class, DataMateKnowledgeListCache.class})
 class DataMateKnowledgeRepoServiceImplTest {
 
     private static final String API_KEY = "test-api-key";
@@ -12,8 +12,11 @@ import modelengine.fit.jane.common.entity.OperationContext;
 import modelengine.fit.jane.meta.multiversion.MetaInstanceService;
 import modelengine.fit.jane.meta.multiversion.instance.Instance;
 import modelengine.fit.jane.meta.multiversion.instance.InstanceDeclarationInfo;
+import modelengine.fit.jane.meta.multiversion.instance.InstancePage;
 import modelengine.fit.jane.meta.multiversion.instance.MetaInstanceFilter;
+import modelengine.fit.jober.common.BadRequestException;
 import modelengine.fit.jober.common.RangedResultSet;
+import modelengine.fit.task_new.condition.InstanceCursor;
 import modelengine.fit.task_new.condition.MetaInstanceCondition;
 import modelengine.fit.task_new.converter.ConvertorUtils;
 import modelengine.fit.task_new.entity.MetaInstance;
@@ -23,7 +26,6 @@ import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Value;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.schedule.annotation.Scheduled;
-import modelengine.fitframework.util.CollectionUtils;
 
 import java.util.Collections;
 import java.util.List;
@@ -40,7 +42,7 @@ public class MetaInstanceServiceImpl implements MetaInstanceService {
     private static final Logger log = Logger.get(MetaInstanceServiceImpl.class);
 
     /**
-     * 表示待清理数据的数量的上限。
+     * 表示单批清理数据的数量的上限。
      */
     private static final int LIMIT = 1000;
 
@@ -103,6 +105,27 @@ public class MetaInstanceServiceImpl implements MetaInstanceService {
         return this.getInstances(builder, offset, limit);
     }
 
+    @Override
+    public InstancePage listAfter(String versionId, String cursor, int limit, OperationContext context) {
+        if (limit <= 0) {
+            throw new BadRequestException("The limit must be positive.");
+        }
+        // 多查询一条用于判断是否还有下一页，避免调用方在最后一页之后再发起一次空查询。
+        MetaInstanceCondition condition = MetaInstanceCondition.builder()
+                .metaIds(Collections.singletonList(versionId))
+                .after(InstanceCursor.decode(cursor))
+                .limit(limit + 1)
+                .build();
+        List<MetaInstance> metaInstances = this.metaInstanceRepository.selectAfter(condition);
+        String nextCursor = null;
+        if (metaInstances.size() > limit) {
+            metaInstances = metaInstances.subList(0, limit);
+            MetaInstance last = metaInstances.get(limit - 1);
+            nextCursor = new InstanceCursor(last.getCreateTime(), last.getId()).encode();
+        }
+        return new InstancePage(metaInstances.stream().map(ConvertorUtils::toInstance).toList(), nextCursor);
+    }
+
     private RangedResultSet<Instance> getInstances(MetaInstanceCondition.MetaInstanceConditionBuilder builder,
             long offset, int limit) {
         MetaInstanceCondition condition = builder.offset(offset).limit(limit).build();
@@ -132,13 +155,10 @@ public class MetaInstanceServiceImpl implements MetaInstanceService {
     public void taskInstanceDbCleanSchedule() {
         log.info("Start clean task instance db");
         try {
-            while (true) {
-                List<String> expiredInstanceIds = this.metaInstanceRepository.getExpiredInstanceIds(expiredDays, LIMIT);
-                if (CollectionUtils.isEmpty(expiredInstanceIds)) {
-                    break;
-                }
-                this.metaInstanceRepository.forceDelete(expiredInstanceIds);
-            }
+            int deleted;
+            do {
+                deleted = this.metaInstanceRepository.deleteExpired(this.expiredDays, LIMIT);
+            } while (deleted >= LIMIT);
         } catch (Exception e) {
             log.error("Error clean task instance db, exception:", e);
         }
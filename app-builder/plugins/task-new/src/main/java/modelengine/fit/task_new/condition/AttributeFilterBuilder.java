@@ -0,0 +1,45 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.task_new.condition;
+
+import com.alibaba.fastjson.JSONObject;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Meta 属性过滤条件构造器。
+ * <p>将多个属性相等条件合并为一个 jsonb 包含条件 {@code attributes @> ?::jsonb} 的参数，
+ * 属性的键和值都作为参数绑定，可以使用 attributes 上的 GIN 索引。</p>
+ *
+ * @author 孙怡菲
+ * @since 2025-04-18
+ */
+public final class AttributeFilterBuilder {
+    private AttributeFilterBuilder() {}
+
+    /**
+     * 根据属性过滤条件构造包含条件的 json 文本。每个属性只取第一个值。
+     *
+     * @param attributes 表示属性过滤条件的 {@link Map}{@code <}{@link String}{@code , }{@link List}{@code <}{@link
+     * String}{@code >>}。
+     * @return 表示包含条件的 json 文本的 {@link String}，没有有效条件时返回 {@code null}。
+     */
+    public static String build(Map<String, List<String>> attributes) {
+        if (attributes == null || attributes.isEmpty()) {
+            return null;
+        }
+        Map<String, String> containment = new LinkedHashMap<>();
+        attributes.forEach((key, values) -> {
+            if (values != null && !values.isEmpty()) {
+                containment.put(key, values.get(0));
+            }
+        });
+        return containment.isEmpty() ? null : JSONObject.toJSONString(containment);
+    }
+}
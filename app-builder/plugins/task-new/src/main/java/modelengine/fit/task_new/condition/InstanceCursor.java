@@ -0,0 +1,74 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.task_new.condition;
+
+import static modelengine.fitframework.inspection.Validation.notBlank;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fit.jober.common.BadRequestException;
+import modelengine.fitframework.util.StringUtils;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * MetaInstance 游标分页的游标，记录上一页最后一条实例的创建时间和唯一标识。
+ * <p>对外以不透明的字符串传递，调用方不应解析其内容。task_instance_new 的 create_time 非空，
+ * 游标中的创建时间和唯一标识都不能为空。</p>
+ *
+ * @author 邬涨财
+ * @since 2025-04-18
+ */
+@Getter
+public class InstanceCursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createTime;
+    private final String id;
+
+    public InstanceCursor(LocalDateTime createTime, String id) {
+        this.createTime = notNull(createTime, "The create time of instance cursor cannot be null.");
+        this.id = notBlank(id, "The id of instance cursor cannot be blank.");
+    }
+
+    /**
+     * 将游标编码为不透明的字符串。
+     *
+     * @return 表示编码后游标的 {@link String}。
+     */
+    public String encode() {
+        String raw = this.createTime + SEPARATOR + this.id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串。
+     *
+     * @param cursor 表示编码后游标的 {@link String}。
+     * @return 表示游标的 {@link InstanceCursor}，{@code cursor} 为空时返回 {@code null}。
+     * @throws BadRequestException 当游标无效时。
+     */
+    public static InstanceCursor decode(String cursor) {
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.indexOf(SEPARATOR);
+            if (index <= 0 || index == raw.length() - 1) {
+                throw new BadRequestException("Invalid instance cursor.");
+            }
+            return new InstanceCursor(LocalDateTime.parse(raw.substring(0, index)), raw.substring(index + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid instance cursor.", e);
+        }
+    }
+}
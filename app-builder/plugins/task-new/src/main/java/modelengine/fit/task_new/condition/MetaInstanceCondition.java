@@ -24,4 +24,9 @@ public class MetaInstanceCondition {
     private List<String> metaIds;
     private long offset;
     private int limit;
+
+    /**
+     * 游标分页时上一页最后一条实例的游标，为 {@code null} 时从第一条开始查询。
+     */
+    private InstanceCursor after;
 }
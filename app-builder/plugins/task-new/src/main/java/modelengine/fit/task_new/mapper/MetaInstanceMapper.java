@@ -47,6 +47,14 @@ public interface MetaInstanceMapper {
      */
     List<MetaInstancePo> select(MetaInstanceCondition cond);
 
+    /**
+     * 按 (create_time, id) 升序游标分页查找 MetaInstance 列表。
+     *
+     * @param cond 表示需要查找的 {@link MetaInstanceCondition}，其中 {@code after} 为上一页最后一条实例的游标。
+     * @return 表示查找到的 {@link List}{@code <}{@link MetaInstancePo}{@code >}。
+     */
+    List<MetaInstancePo> selectAfter(MetaInstanceCondition cond);
+
     /**
      * 统计 MetaInstance 个数
      *
@@ -63,11 +71,12 @@ public interface MetaInstanceMapper {
     void forceDelete(List<String> ids);
 
     /**
-     * 获取超期的元数据实例唯一标识列表。
+     * 删除一批超期的元数据实例。
+     * <p>已被其他节点锁定的实例会被跳过，因此多个节点可以并行清理而互不阻塞。</p>
      *
      * @param expiredDays 表示超期时间的 {@code int}。
-     * @param limit 表示查询条数的 {@code int}。
-     * @return 表示元数据实例的唯一标识列表的 {@link List}{@code <}{@link String}{@code >}。
+     * @param limit 表示单批删除条数上限的 {@code int}。
+     * @return 表示实际删除条数的 {@code int}。
      */
-    List<String> getExpiredInstanceIds(int expiredDays, int limit);
+    int deleteExpired(int expiredDays, int limit);
 }
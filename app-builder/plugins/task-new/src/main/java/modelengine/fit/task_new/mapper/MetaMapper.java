@@ -12,7 +12,6 @@ import modelengine.fit.task_new.po.MetaPo;
 import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -32,16 +31,16 @@ public interface MetaMapper {
 
     Optional<MetaPo> retrieve(String id);
 
-    List<MetaPo> list(@Param("metaFilter") MetaFilter metaFilter, @Param("attributes") Map<String, String> attributes,
+    List<MetaPo> list(@Param("metaFilter") MetaFilter metaFilter, @Param("attributes") String attributes,
             @Param("orderBy") OrderBy orderBy, @Param("offset") long offset, @Param("limit") int limit);
 
-    int getCount(@Param("metaFilter") MetaFilter metaFilter, @Param("attributes") Map<String, String> attributes,
+    int getCount(@Param("metaFilter") MetaFilter metaFilter, @Param("attributes") String attributes,
             @Param("orderBy") OrderBy orderBy);
 
     List<MetaPo> listLatest(@Param("metaFilter") MetaFilter metaFilter,
-            @Param("attributes") Map<String, String> attributes, @Param("orderBy") OrderBy orderBy,
+            @Param("attributes") String attributes, @Param("orderBy") OrderBy orderBy,
             @Param("offset") long offset, @Param("limit") int limit);
 
-    int getLatestCount(@Param("metaFilter") MetaFilter metaFilter, @Param("attributes") Map<String, String> attributes,
+    int getLatestCount(@Param("metaFilter") MetaFilter metaFilter, @Param("attributes") String attributes,
             @Param("orderBy") OrderBy orderBy);
 }
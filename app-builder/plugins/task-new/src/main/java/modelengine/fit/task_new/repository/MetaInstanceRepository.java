@@ -9,7 +9,6 @@ package modelengine.fit.task_new.repository;
 import modelengine.fit.task_new.condition.MetaInstanceCondition;
 import modelengine.fit.task_new.entity.MetaInstance;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -48,6 +47,14 @@ public interface MetaInstanceRepository {
      */
     List<MetaInstance> select(MetaInstanceCondition condition);
 
+    /**
+     * 按创建时间和唯一标识升序游标分页查询。
+     *
+     * @param condition 表示所要查询的条件的 {@link MetaInstanceCondition}。
+     * @return 表示查询后的结果的 {@link List}{@code <}{@link MetaInstance}{@code >}。
+     */
+    List<MetaInstance> selectAfter(MetaInstanceCondition condition);
+
     /**
      * 数据统计
      *
@@ -57,13 +64,13 @@ public interface MetaInstanceRepository {
     long count(MetaInstanceCondition condition);
 
     /**
-     * 获取超期的元数据实例唯一标识列表。
+     * 删除一批超期的元数据实例。
      *
-     * @param expiredDays 表示超期时间的 {@link LocalDateTime}。
-     * @param limit 表示查询条数的 {@code int}。
-     * @return 表示元数据实例的唯一标识列表的 {@link List}{@code <}{@link String}{@code >}。
+     * @param expiredDays 表示超期时间的 {@code int}。
+     * @param limit 表示单批删除条数上限的 {@code int}。
+     * @return 表示实际删除条数的 {@code int}。
      */
-    List<String> getExpiredInstanceIds(int expiredDays, int limit);
+    int deleteExpired(int expiredDays, int limit);
 
     /**
      * 根据元数据实例唯一标识列表强制删除会话记录。
@@ -56,14 +56,22 @@ public class MetaInstanceRepositoryImpl implements MetaInstanceRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<MetaInstance> selectAfter(MetaInstanceCondition cond) {
+        return this.metaInstanceMapper.selectAfter(cond)
+                .stream()
+                .map(this.serializer::deserialize)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public long count(MetaInstanceCondition cond) {
         return this.metaInstanceMapper.count(cond);
     }
 
     @Override
-    public List<String> getExpiredInstanceIds(int expiredDays, int limit) {
-        return this.metaInstanceMapper.getExpiredInstanceIds(expiredDays, limit);
+    public int deleteExpired(int expiredDays, int limit) {
+        return this.metaInstanceMapper.deleteExpired(expiredDays, limit);
     }
 
     @Override
@@ -8,27 +8,34 @@ package modelengine.fit.task_new.repository.impl;
 
 import static modelengine.fit.jober.aipp.common.exception.AippErrCode.TASK_NOT_FOUND;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
 import modelengine.fit.jane.common.entity.OperationContext;
 import modelengine.fit.jane.meta.multiversion.definition.Meta;
 import modelengine.fit.jane.meta.multiversion.definition.MetaDeclarationInfo;
 import modelengine.fit.jane.meta.multiversion.definition.MetaFilter;
 import modelengine.fit.jober.aipp.common.exception.AippException;
+import modelengine.fit.task_new.condition.AttributeFilterBuilder;
 import modelengine.fit.task_new.condition.OrderBy;
 import modelengine.fit.task_new.mapper.MetaMapper;
 import modelengine.fit.task_new.po.MetaPo;
 import modelengine.fit.task_new.repository.MetaRepository;
 import modelengine.fit.task_new.util.UUIDUtil;
 import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
 import modelengine.fitframework.util.StringUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Meta 数据库 Repo 层实现
+ * <p>按 id 查询的 Meta 缓存在本地，条目数有上限。写入超过刷新间隔后再次读取时返回当前值并在后台重新加载一次，
+ * 同一 id 的并发加载只查询一次数据库；超过过期时间的条目重新同步加载，更新和删除时立即失效。</p>
  *
  * @author 孙怡菲
  * @since 2025-03-31
@@ -36,9 +43,19 @@ import java.util.stream.Collectors;
 @Component
 public class MetaRepositoryImpl implements MetaRepository {
     private final MetaMapper metaMapper;
+    private final LoadingCache<String, MetaPo> metaCache;
 
-    public MetaRepositoryImpl(MetaMapper metaMapper) {
+    public MetaRepositoryImpl(MetaMapper metaMapper,
+            @Value("${task.meta-cache.maximum-size:1000}") long maximumSize,
+            @Value("${task.meta-cache.refresh-after-write:30000}") long refreshAfterWrite,
+            @Value("${task.meta-cache.expire-after-write:300000}") long expireAfterWrite) {
         this.metaMapper = metaMapper;
+        this.metaCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfterWrite, TimeUnit.MILLISECONDS)
+                .expireAfterWrite(expireAfterWrite, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build(id -> this.metaMapper.retrieve(id).orElse(null));
     }
 
     @Override
@@ -58,6 +75,7 @@ public class MetaRepositoryImpl implements MetaRepository {
     @Override
     public void deleteOne(String id) {
         this.metaMapper.deleteOne(id);
+        this.metaCache.invalidate(id);
     }
 
     @Override
@@ -66,6 +84,7 @@ public class MetaRepositoryImpl implements MetaRepository {
         metaPo.setId(id);
         metaPo.setUpdatedAt(LocalDateTime.now());
         this.metaMapper.updateOne(metaPo);
+        this.metaCache.invalidate(id);
     }
 
     @Override
@@ -75,39 +94,45 @@ public class MetaRepositoryImpl implements MetaRepository {
 
     @Override
     public Meta retrieve(String id) {
-        return this.metaMapper.retrieve(id).map(MetaPo::convertToMeta).orElseThrow(() -> new AippException(TASK_NOT_FOUND));
+        // 缓存的是持久化对象，每次转换出新的 Meta，调用方修改返回值不会影响缓存。
+        return Optional.ofNullable(this.metaCache.get(id))
+                .map(MetaPo::convertToMeta)
+                .orElseThrow(() -> new AippException(TASK_NOT_FOUND));
+    }
+
+    /**
+     * 获取 Meta 缓存的命中、未命中、加载耗时等统计信息。
+     *
+     * @return 表示缓存统计信息的 {@link CacheStats}。
+     */
+    public CacheStats getCacheStats() {
+        return this.metaCache.stats();
     }
 
     @Override
     public List<Meta> list(MetaFilter metaFilter, long offset, int limit) {
-        List<MetaPo> metas = this.metaMapper.list(metaFilter, this.getAttributes(metaFilter), getOrderBy(metaFilter), offset, limit);
+        List<MetaPo> metas = this.metaMapper.list(metaFilter, AttributeFilterBuilder.build(metaFilter.getAttributes()),
+                getOrderBy(metaFilter), offset, limit);
         return metas.stream().map(MetaPo::convertToMeta).toList();
     }
 
     @Override
     public int getCount(MetaFilter metaFilter) {
-        return this.metaMapper.getCount(metaFilter, this.getAttributes(metaFilter), getOrderBy(metaFilter));
+        return this.metaMapper.getCount(metaFilter, AttributeFilterBuilder.build(metaFilter.getAttributes()),
+                getOrderBy(metaFilter));
     }
 
     @Override
     public List<Meta> listLatest(MetaFilter metaFilter, long offset, int limit) {
-        List<MetaPo> metas = this.metaMapper.listLatest(metaFilter, this.getAttributes(metaFilter), getOrderBy(metaFilter), offset, limit);
+        List<MetaPo> metas = this.metaMapper.listLatest(metaFilter,
+                AttributeFilterBuilder.build(metaFilter.getAttributes()), getOrderBy(metaFilter), offset, limit);
         return metas.stream().map(MetaPo::convertToMeta).toList();
     }
 
     @Override
     public int getLatestCount(MetaFilter metaFilter) {
-        return this.metaMapper.getLatestCount(metaFilter, this.getAttributes(metaFilter), getOrderBy(metaFilter));
-    }
-
-    private Map<String, String> getAttributes(MetaFilter metaFilter) {
-        Map<String, List<String>> attributes = metaFilter.getAttributes();
-        return attributes == null ? Map.of() : attributes.entrySet().stream()
-                .filter(entry -> entry.getValue() != null && !entry.getValue().isEmpty())
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> entry.getValue().get(0)
-                ));
+        return this.metaMapper.getLatestCount(metaFilter, AttributeFilterBuilder.build(metaFilter.getAttributes()),
+                getOrderBy(metaFilter));
     }
 
     private OrderBy getOrderBy(MetaFilter metaFilter) {
@@ -0,0 +1,114 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.task_new;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import modelengine.fit.jane.meta.multiversion.instance.Instance;
+import modelengine.fit.jane.meta.multiversion.instance.InstancePage;
+import modelengine.fit.jober.common.BadRequestException;
+import modelengine.fit.task_new.condition.InstanceCursor;
+import modelengine.fit.task_new.condition.MetaInstanceCondition;
+import modelengine.fit.task_new.entity.MetaInstance;
+import modelengine.fit.task_new.repository.MetaInstanceRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link MetaInstanceServiceImpl} 的测试类。
+ *
+ * @author 邬涨财
+ * @since 2025-04-18
+ */
+class MetaInstanceServiceImplTest {
+    private static final LocalDateTime CREATE_TIME = LocalDateTime.of(2025, 4, 18, 10, 0);
+
+    private final MetaInstanceRepository repository = mock(MetaInstanceRepository.class);
+    private MetaInstanceServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        this.service = new MetaInstanceServiceImpl(this.repository, 30);
+    }
+
+    @Test
+    @DisplayName("还有下一页时返回当前页最后一条实例的游标")
+    void shouldReturnCursorOfLastInstanceWhenMoreRows() {
+        when(this.repository.selectAfter(any())).thenReturn(List.of(instance("inst1", 0), instance("inst2", 1),
+                instance("inst3", 2)));
+
+        InstancePage page = this.service.listAfter("version1", null, 2, null);
+
+        assertThat(page.getResults()).extracting(Instance::getId).containsExactly("inst1", "inst2");
+        InstanceCursor cursor = InstanceCursor.decode(page.getCursor());
+        assertThat(cursor.getId()).isEqualTo("inst2");
+        assertThat(cursor.getCreateTime()).isEqualTo(CREATE_TIME.plusSeconds(1));
+        ArgumentCaptor<MetaInstanceCondition> captor = ArgumentCaptor.forClass(MetaInstanceCondition.class);
+        verify(this.repository).selectAfter(captor.capture());
+        assertThat(captor.getValue().getMetaIds()).containsExactly("version1");
+        assertThat(captor.getValue().getAfter()).isNull();
+        assertThat(captor.getValue().getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("最后一页不返回游标，传入的游标作为查询起点")
+    void shouldReturnNullCursorOnLastPage() {
+        when(this.repository.selectAfter(any())).thenReturn(List.of(instance("inst3", 2)));
+        String cursor = new InstanceCursor(CREATE_TIME.plusSeconds(1), "inst2").encode();
+
+        InstancePage page = this.service.listAfter("version1", cursor, 2, null);
+
+        assertThat(page.getResults()).extracting(Instance::getId).containsExactly("inst3");
+        assertThat(page.getCursor()).isNull();
+        ArgumentCaptor<MetaInstanceCondition> captor = ArgumentCaptor.forClass(MetaInstanceCondition.class);
+        verify(this.repository).selectAfter(captor.capture());
+        assertThat(captor.getValue().getAfter().getId()).isEqualTo("inst2");
+        assertThat(captor.getValue().getAfter().getCreateTime()).isEqualTo(CREATE_TIME.plusSeconds(1));
+    }
+
+    @Test
+    @DisplayName("没有数据时返回空页")
+    void shouldReturnEmptyPageWhenNoRows() {
+        when(this.repository.selectAfter(any())).thenReturn(Collections.emptyList());
+
+        InstancePage page = this.service.listAfter("version1", null, 2, null);
+
+        assertThat(page.getResults()).isEmpty();
+        assertThat(page.getCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("分页大小或游标无效时抛出请求错误")
+    void shouldThrowBadRequestWhenArgumentsInvalid() {
+        assertThatThrownBy(() -> this.service.listAfter("version1", null, 0, null)).isInstanceOf(
+                BadRequestException.class);
+        assertThatThrownBy(() -> this.service.listAfter("version1", "invalid!", 2, null)).isInstanceOf(
+                BadRequestException.class);
+        verify(this.repository, never()).selectAfter(any());
+    }
+
+    private static MetaInstance instance(String id, int offsetSeconds) {
+        return MetaInstance.builder()
+                .id(id)
+                .taskId("version1")
+                .createTime(CREATE_TIME.plusSeconds(offsetSeconds))
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.task_new.condition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.alibaba.fastjson.JSONObject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link AttributeFilterBuilder} 的测试类。
+ *
+ * @author 孙怡菲
+ * @since 2025-04-18
+ */
+class AttributeFilterBuilderTest {
+    @Test
+    @DisplayName("过滤条件为空时不生成包含条件")
+    void shouldReturnNullWhenFilterEmpty() {
+        assertThat(AttributeFilterBuilder.build(null)).isNull();
+        assertThat(AttributeFilterBuilder.build(Collections.emptyMap())).isNull();
+    }
+
+    @Test
+    @DisplayName("属性值均为空时不生成包含条件")
+    void shouldReturnNullWhenAllValuesEmpty() {
+        Map<String, List<String>> attributes = new LinkedHashMap<>();
+        attributes.put("app_id", null);
+        attributes.put("version", Collections.emptyList());
+
+        assertThat(AttributeFilterBuilder.build(attributes)).isNull();
+    }
+
+    @Test
+    @DisplayName("单个属性相等条件生成包含条件")
+    void shouldBuildSingleEquality() {
+        String containment = AttributeFilterBuilder.build(Map.of("app_id", List.of("app1")));
+
+        assertThat(containment).isEqualTo("{\"app_id\":\"app1\"}");
+    }
+
+    @Test
+    @DisplayName("多个属性相等条件合并为一个包含条件，跳过没有值的属性")
+    void shouldMergeMultipleEqualities() {
+        Map<String, List<String>> attributes = new LinkedHashMap<>();
+        attributes.put("app_id", List.of("app1"));
+        attributes.put("empty", Collections.emptyList());
+        attributes.put("version", List.of("1.0.0"));
+
+        String containment = AttributeFilterBuilder.build(attributes);
+
+        assertThat(containment).isEqualTo("{\"app_id\":\"app1\",\"version\":\"1.0.0\"}");
+    }
+
+    @Test
+    @DisplayName("属性有多个值时只取第一个值")
+    void shouldUseFirstValue() {
+        String containment = AttributeFilterBuilder.build(Map.of("app_id", List.of("app1", "app2")));
+
+        assertThat(containment).isEqualTo("{\"app_id\":\"app1\"}");
+    }
+
+    @Test
+    @DisplayName("属性键和值中的特殊字符被转义")
+    void shouldEscapeKeysAndValues() {
+        String key = "a' OR '1'='1";
+        String value = "x\"}, \"y\": \"z";
+
+        String containment = AttributeFilterBuilder.build(Map.of(key, List.of(value)));
+
+        JSONObject parsed = JSONObject.parseObject(containment);
+        assertThat(parsed).hasSize(1);
+        assertThat(parsed.getString(key)).isEqualTo(value);
+    }
+}
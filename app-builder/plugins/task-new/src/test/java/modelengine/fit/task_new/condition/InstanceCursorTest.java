@@ -0,0 +1,65 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.task_new.condition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import modelengine.fit.jober.common.BadRequestException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * {@link InstanceCursor} 的测试类。
+ *
+ * @author 邬涨财
+ * @since 2025-04-18
+ */
+class InstanceCursorTest {
+    @Test
+    @DisplayName("编码后的游标可以解析回相同的创建时间和唯一标识")
+    void shouldDecodeEncodedCursor() {
+        LocalDateTime createTime = LocalDateTime.of(2025, 4, 18, 10, 20, 30, 123456000);
+        InstanceCursor cursor = InstanceCursor.decode(new InstanceCursor(createTime, "inst|1").encode());
+
+        assertThat(cursor.getCreateTime()).isEqualTo(createTime);
+        assertThat(cursor.getId()).isEqualTo("inst|1");
+    }
+
+    @Test
+    @DisplayName("游标为空时返回空")
+    void shouldReturnNullWhenCursorBlank() {
+        assertThat(InstanceCursor.decode(null)).isNull();
+        assertThat(InstanceCursor.decode(" ")).isNull();
+    }
+
+    @Test
+    @DisplayName("游标内容无效时抛出请求错误")
+    void shouldThrowBadRequestWhenCursorInvalid() {
+        assertThatThrownBy(() -> InstanceCursor.decode("not base64!")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> InstanceCursor.decode(encode("null|inst1"))).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> InstanceCursor.decode(encode("2025-04-18T10:20:30"))).isInstanceOf(
+                BadRequestException.class);
+        assertThatThrownBy(() -> InstanceCursor.decode(encode("2025-04-18T10:20:30|"))).isInstanceOf(
+                BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("创建时间为空时不能构造游标")
+    void shouldRejectNullCreateTime() {
+        assertThatThrownBy(() -> new InstanceCursor(null, "inst1")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
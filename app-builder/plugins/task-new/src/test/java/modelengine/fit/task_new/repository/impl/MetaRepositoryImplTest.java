@@ -0,0 +1,128 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.task_new.repository.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import modelengine.fit.jane.common.entity.OperationContext;
+import modelengine.fit.jane.meta.multiversion.definition.Meta;
+import modelengine.fit.jane.meta.multiversion.definition.MetaDeclarationInfo;
+import modelengine.fit.jober.aipp.common.exception.AippException;
+import modelengine.fit.task_new.mapper.MetaMapper;
+import modelengine.fit.task_new.po.MetaPo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MetaRepositoryImpl} 的测试类。
+ *
+ * @author 孙怡菲
+ * @since 2025-04-18
+ */
+class MetaRepositoryImplTest {
+    private static final int THREADS = 64;
+
+    private final MetaMapper mapper = mock(MetaMapper.class);
+
+    @Test
+    @DisplayName("64 个线程并发读取同一个 Meta 时只查询一次数据库")
+    void shouldLoadOnceWhenConcurrentRetrieve() throws Exception {
+        MetaRepositoryImpl repository = new MetaRepositoryImpl(this.mapper, 100, 60000, 60000);
+        CountDownLatch loading = new CountDownLatch(1);
+        when(this.mapper.retrieve("version1")).thenAnswer(invocation -> {
+            loading.await(1, TimeUnit.SECONDS);
+            return Optional.of(metaPo("version1", "name1"));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch ready = new CountDownLatch(THREADS);
+            List<Future<Meta>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+                    return repository.retrieve("version1");
+                }));
+            }
+            ready.await(5, TimeUnit.SECONDS);
+            loading.countDown();
+            for (Future<Meta> future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS).getName()).isEqualTo("name1");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(this.mapper, times(1)).retrieve("version1");
+        assertThat(repository.getCacheStats().loadCount()).isEqualTo(1);
+        assertThat(repository.getCacheStats().requestCount()).isEqualTo(THREADS);
+    }
+
+    @Test
+    @DisplayName("更新和删除 Meta 后重新查询数据库")
+    void shouldReloadWhenUpdatedOrDeleted() {
+        MetaRepositoryImpl repository = new MetaRepositoryImpl(this.mapper, 100, 60000, 60000);
+        when(this.mapper.retrieve("version1")).thenReturn(Optional.of(metaPo("version1", "name1")),
+                Optional.of(metaPo("version1", "name2")), Optional.empty());
+
+        assertThat(repository.retrieve("version1").getName()).isEqualTo("name1");
+        assertThat(repository.retrieve("version1").getName()).isEqualTo("name1");
+        repository.updateOne("version1", new MetaDeclarationInfo(), new OperationContext());
+        assertThat(repository.retrieve("version1").getName()).isEqualTo("name2");
+        repository.deleteOne("version1");
+
+        assertThatThrownBy(() -> repository.retrieve("version1")).isInstanceOf(AippException.class);
+        verify(this.mapper).updateOne(any());
+        verify(this.mapper, times(3)).retrieve("version1");
+    }
+
+    @Test
+    @DisplayName("超过刷新间隔时返回旧值并在后台重新加载")
+    void shouldServeStaleWhileRefreshing() throws Exception {
+        MetaRepositoryImpl repository = new MetaRepositoryImpl(this.mapper, 100, 50, 60000);
+        CountDownLatch reloading = new CountDownLatch(1);
+        when(this.mapper.retrieve("version1")).thenReturn(Optional.of(metaPo("version1", "name1")))
+                .thenAnswer(invocation -> {
+                    reloading.await(1, TimeUnit.SECONDS);
+                    return Optional.of(metaPo("version1", "name2"));
+                });
+        assertThat(repository.retrieve("version1").getName()).isEqualTo("name1");
+        Thread.sleep(100);
+
+        assertThat(repository.retrieve("version1").getName()).isEqualTo("name1");
+        assertThat(repository.retrieve("version1").getName()).isEqualTo("name1");
+        reloading.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!"name2".equals(repository.retrieve("version1").getName())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(repository.retrieve("version1").getName()).isEqualTo("name2");
+        verify(this.mapper, times(2)).retrieve("version1");
+    }
+
+    private static MetaPo metaPo(String id, String name) {
+        return MetaPo.builder().id(id).name(name).version("1.0.0").templateId("template1").attributes("{}").build();
+    }
+}
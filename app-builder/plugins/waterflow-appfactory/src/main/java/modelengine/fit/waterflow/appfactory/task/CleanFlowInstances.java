@@ -25,13 +25,20 @@ public class CleanFlowInstances {
     private static final Logger LOG = Logger.get(CleanFlowInstances.class);
     private static final int LIMIT = 1000;
     private static final int BATCH_INTERNAL = 1000;
+    private static final int MAX_PERCENT = 100;
 
     private final int expiredDays;
+    private final int busyPercent;
+    private final long maxDuration;
     private final SingleFlowRuntimeService singleFlowRuntimeService;
 
     public CleanFlowInstances(@Value("${jane.flowsEngine.contextExpiredDays}") int expiredDays,
+            @Value("${jane.flowsEngine.clean.busyPercent:20}") int busyPercent,
+            @Value("${jane.flowsEngine.clean.maxDuration:7200000}") long maxDuration,
             SingleFlowRuntimeService singleFlowRuntimeService) {
         this.expiredDays = expiredDays;
+        this.busyPercent = Math.min(Math.max(busyPercent, 1), MAX_PERCENT);
+        this.maxDuration = maxDuration;
         this.singleFlowRuntimeService = singleFlowRuntimeService;
     }
 
@@ -39,20 +46,40 @@ public class CleanFlowInstances {
      * 每天凌晨 3 点定时清理超指定天数的流程运行数据。
      * <p>指定天数来源于 {@code ${jane.flowsEngine.contextExpiredDays}} 配置的值。</p>
      * <p>多实例并发执行分析：会并发执行超期链路信息查询，可能导致重复获取相同 {@code traceIds}，重复删除 {@code traceIds}
-     * 以及上下文数据不会对结果有影响。</p>
+     * 以及上下文数据不会对结果有影响，开启归档时重复归档的数据会被忽略。</p>
+     * <p>每批清理后按本批耗时休眠，使清理占用数据库的时间不超过 {@code busyPercent}，数据库繁忙导致批次变慢时清理也随之放缓；
+     * 单次清理超过 {@code maxDuration} 毫秒后停止，剩余数据在下次调度时继续清理。</p>
      */
     @Scheduled(strategy = Scheduled.Strategy.CRON, value = "0 0 3 * * ?")
     public void cleanContextSchedule() {
         LOG.info("Starting expired flow instances cleaning");
+        long deadline = System.currentTimeMillis() + this.maxDuration;
+        int batches = 0;
         try {
-            while (this.singleFlowRuntimeService.cleanInstances(this.expiredDays, LIMIT)) {
-                ThreadUtils.sleep(BATCH_INTERNAL);
+            while (true) {
+                long batchStart = System.currentTimeMillis();
+                if (!this.singleFlowRuntimeService.cleanInstances(this.expiredDays, LIMIT)) {
+                    break;
+                }
+                batches++;
+                long batchEnd = System.currentTimeMillis();
+                if (batchEnd >= deadline) {
+                    LOG.warn("Stop expired flow instances cleaning for time limit. [batches={}, maxDuration={}]",
+                            batches,
+                            this.maxDuration);
+                    break;
+                }
+                ThreadUtils.sleep(this.pauseAfter(batchEnd - batchStart));
             }
         } catch (Exception ex) {
             LOG.error("Clean expired flow instances error. [errorMessage={}]", ex.getMessage());
             LOG.error("Exception:", ex);
         } finally {
-            LOG.info("Finished expired flow instances cleaning.");
+            LOG.info("Finished expired flow instances cleaning. [batches={}]", batches);
         }
     }
+
+    private long pauseAfter(long batchCost) {
+        return Math.max(BATCH_INTERNAL, batchCost * (MAX_PERCENT - this.busyPercent) / this.busyPercent);
+    }
 }
@@ -0,0 +1,46 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.model.events;
+
+import modelengine.fitframework.event.Event;
+
+/**
+ * 模型配置变更事件，用户添加、删除模型或切换默认模型后发布，用于失效模型访问信息的缓存。
+ *
+ * @author 李智超
+ * @since 2025-12-26
+ */
+public class ModelConfigChangedEvent implements Event {
+    private final Object publisher;
+
+    private final String userId;
+
+    /**
+     * 构造函数。
+     *
+     * @param publisher 表示事件发布者的 {@link Object}。
+     * @param userId 表示模型配置发生变更的用户标识的 {@link String}，为空时表示所有用户的模型配置都可能变更。
+     */
+    public ModelConfigChangedEvent(Object publisher, String userId) {
+        this.publisher = publisher;
+        this.userId = userId;
+    }
+
+    /**
+     * 获取模型配置发生变更的用户标识。
+     *
+     * @return 表示用户标识的 {@link String}，为空时表示所有用户的模型配置都可能变更。
+     */
+    public String getUserId() {
+        return this.userId;
+    }
+
+    @Override
+    public Object publisher() {
+        return this.publisher;
+    }
+}
@@ -6,6 +6,8 @@
 
 package modelengine.fit.jade.aipp.template.render;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Map;
 
 /**
@@ -23,4 +25,14 @@ public interface TemplateService {
      * @return 渲染后的完整文本内容。
      */
     String renderTemplate(String template, Map<String, Object> args);
+
+    /**
+     * 渲染文本模板，并将结果直接写入输出，适用于较大的模板。
+     *
+     * @param template 模板内容，包含变量占位符。
+     * @param args 模板变量映射，key 为变量名，value 为变量值。
+     * @param writer 渲染结果的输出。
+     * @throws IOException 当写入输出失败时。
+     */
+    void renderTemplate(String template, Map<String, Object> args, Writer writer) throws IOException;
 }
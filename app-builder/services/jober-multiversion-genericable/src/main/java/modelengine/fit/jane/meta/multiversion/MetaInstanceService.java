@@ -9,6 +9,7 @@ package modelengine.fit.jane.meta.multiversion;
 import modelengine.fit.jane.common.entity.OperationContext;
 import modelengine.fit.jane.meta.multiversion.instance.Instance;
 import modelengine.fit.jane.meta.multiversion.instance.InstanceDeclarationInfo;
+import modelengine.fit.jane.meta.multiversion.instance.InstancePage;
 import modelengine.fit.jane.meta.multiversion.instance.MetaInstanceFilter;
 import modelengine.fit.jober.common.BadRequestException;
 import modelengine.fit.jober.common.JoberGenericableException;
@@ -98,6 +99,20 @@ public interface MetaInstanceService {
     @Genericable(id = "fcf1745068eb47559af543a037b89eg4")
     RangedResultSet<Instance> list(String versionId, long offset, int limit, OperationContext context);
 
+    /**
+     * 按游标分页查询meta实例，结果按创建时间和实例唯一标识升序排列。
+     * <p>与按偏移量分页不同，查询代价与页码无关，且翻页期间实例被修改不会导致结果重复或遗漏。</p>
+     *
+     * @param versionId 表示实例所属meta唯一标识的 {@link String}。
+     * @param cursor 表示上一页返回的游标的 {@link String}，查询第一页时为 {@code null}。
+     * @param limit 表示每页最大数量的 32 位整数的 {@code int}。
+     * @param context 表示操作上下文的 {@link OperationContext}。
+     * @return 表示查询到的一页实例的 {@link InstancePage}。
+     * @throws BadRequestException 当游标无效时。
+     */
+    @Genericable(id = "3c1f0a5e8b7d4f26a9e4d7b0c2f1e8a6")
+    InstancePage listAfter(String versionId, String cursor, int limit, OperationContext context);
+
     /**
      * 查询meta实例。
      *
@@ -0,0 +1,53 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jane.meta.multiversion.instance;
+
+import java.util.List;
+
+/**
+ * 表示按游标分页查询得到的一页meta实例。
+ *
+ * @author 邬涨财
+ * @since 2025-04-18
+ */
+public class InstancePage {
+    private List<Instance> results;
+
+    private String cursor;
+
+    /**
+     * InstancePage
+     */
+    public InstancePage() {
+    }
+
+    public InstancePage(List<Instance> results, String cursor) {
+        this.results = results;
+        this.cursor = cursor;
+    }
+
+    public List<Instance> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Instance> results) {
+        this.results = results;
+    }
+
+    /**
+     * 获取查询下一页所需的游标，没有下一页时为 {@code null}。
+     *
+     * @return 表示游标的 {@link String}。
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+}
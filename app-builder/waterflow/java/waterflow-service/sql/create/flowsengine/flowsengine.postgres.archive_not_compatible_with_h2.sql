@@ -0,0 +1,49 @@
+CREATE TABLE IF NOT EXISTS flow_trace_archive
+(
+    trace_id         VARCHAR(32) NOT NULL,
+    stream_id        VARCHAR(64) NOT NULL,
+    operator         VARCHAR(127) NOT NULL,
+    application_name VARCHAR(32) NOT NULL,
+    start_node       VARCHAR(32) NOT NULL,
+    cur_nodes        TEXT        NOT NULL,
+    start_time       timestamp without time zone NOT NULL,
+    end_time         timestamp without time zone,
+    status           VARCHAR(32) NOT NULL,
+    context_pool     TEXT,
+    archived_time    timestamp without time zone NOT NULL,
+    PRIMARY KEY (trace_id, start_time)
+) PARTITION BY RANGE (start_time);
+
+comment on table flow_trace_archive is '流程轨迹归档表，按start_time按月分区';
+comment on column flow_trace_archive.archived_time is '表示流程轨迹的归档时间';
+
+CREATE INDEX IF NOT EXISTS INDEX_FLOW_TRACE_ARCHIVE_STREAM_ID ON flow_trace_archive (stream_id);
+
+CREATE TABLE IF NOT EXISTS flow_context_archive
+(
+    context_id    VARCHAR(32) NOT NULL,
+    trace_id      TEXT NOT NULL,
+    trans_id      VARCHAR(32) NOT NULL,
+    root_id       VARCHAR(32) NOT NULL,
+    stream_id     VARCHAR(64) NOT NULL,
+    flow_data     JSONB       NOT NULL,
+    position_id   VARCHAR(32) NOT NULL,
+    joined        BOOLEAN,
+    status        VARCHAR(10) NOT NULL,
+    parallel      VARCHAR(32),
+    parallel_mode VARCHAR(10),
+    previous      VARCHAR(32),
+    batch_id      VARCHAR(32),
+    to_batch      VARCHAR(32),
+    sent          BOOLEAN,
+    create_at     timestamp without time zone NOT NULL,
+    update_at     timestamp without time zone,
+    archived_at   timestamp without time zone,
+    archived_time timestamp without time zone NOT NULL,
+    PRIMARY KEY (context_id, create_at)
+) PARTITION BY RANGE (create_at);
+
+comment on table flow_context_archive is '流程实例上下文归档表，按create_at按月分区';
+comment on column flow_context_archive.archived_time is '表示流程实例上下文的归档时间';
+
+CREATE INDEX IF NOT EXISTS INDEX_FLOW_CONTEXT_ARCHIVE_TRACE_ID ON flow_context_archive (trace_id);
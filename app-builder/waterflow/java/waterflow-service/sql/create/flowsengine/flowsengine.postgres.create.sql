@@ -72,6 +72,7 @@ CREATE INDEX IF NOT EXISTS INDEX_FLOW_BATCH_ID ON flow_context (batch_id, to_bat
 CREATE INDEX IF NOT EXISTS INDEX_FLOW_STREAM_ID ON flow_context (stream_id, position_id, batch_id);
 CREATE INDEX IF NOT EXISTS INDEX_FLOW_CONTEXT_ID ON flow_context (context_id);
 CREATE INDEX IF NOT EXISTS INDEX_FLOW_TO_BATCH ON flow_context (to_batch);
+CREATE INDEX IF NOT EXISTS INDEX_FLOW_CONTEXT_TRACE_ID ON flow_context (trace_id);
 
 CREATE TABLE IF NOT EXISTS flow_trace
 (
@@ -99,6 +100,7 @@ comment on column flow_trace.end_time is '表示流程实例结束时间';
 
 CREATE INDEX IF NOT EXISTS INDEX_FLOW_TRACE_STREAM_ID ON flow_trace (stream_id);
 CREATE INDEX IF NOT EXISTS INDEX_FLOW_TRACE_ID ON flow_trace (trace_id);
+CREATE INDEX IF NOT EXISTS INDEX_FLOW_TRACE_END_TIME ON flow_trace (end_time);
 
 CREATE TABLE IF NOT EXISTS flow_graph
 (
@@ -141,4 +143,14 @@ comment on column flow_retry.entity_type is '表示任务重试的上下文实
 comment on column flow_retry.next_retry_time is '表示任务重试的下次时间';
 comment on column flow_retry.last_retry_time is '表示上次执行的任务重试时间';
 comment on column flow_retry.retry_count is '表示到目前为止的任务重试次数';
-comment on column flow_retry.version is '表示当前重试的版本号';
\ No newline at end of file
+comment on column flow_retry.version is '表示当前重试的版本号';
+
+CREATE TABLE IF NOT EXISTS flow_instance_member
+(
+    instance_id  VARCHAR(32) NOT NULL PRIMARY KEY,
+    heartbeat_at timestamp without time zone NOT NULL
+);
+
+comment on table flow_instance_member is '流程引擎实例成员，用于trace分片';
+comment on column flow_instance_member.instance_id is '表示流程引擎实例的唯一标识';
+comment on column flow_instance_member.heartbeat_at is '表示实例最近一次心跳时间';
@@ -0,0 +1,51 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.biz.controller;
+
+import modelengine.fit.http.annotation.GetMapping;
+import modelengine.fit.http.annotation.RequestMapping;
+import modelengine.fit.waterflow.flowsengine.biz.service.admission.FlowAdmissionController;
+import modelengine.fit.waterflow.flowsengine.utils.FlowNodeMetrics;
+import modelengine.fitframework.annotation.Component;
+
+import java.util.Map;
+
+/**
+ * 流程节点执行耗时统计查询接口，用于本地排查节点排队、加锁、处理耗时
+ *
+ * @author 杨祥宇
+ * @since 2025/4/12
+ */
+@Component
+@RequestMapping("/v1/api/waterflow/metrics")
+public class FlowNodeMetricsController {
+    private final FlowAdmissionController admissionController;
+
+    public FlowNodeMetricsController(FlowAdmissionController admissionController) {
+        this.admissionController = admissionController;
+    }
+
+    /**
+     * 查询当前实例所有节点的分阶段耗时统计，耗时单位为毫秒
+     *
+     * @return key为streamId+nodeId，value为各阶段的count、mean、p50、p90、p99、max
+     */
+    @GetMapping("/nodes")
+    public Map<String, Map<String, Map<String, Object>>> getNodeMetrics() {
+        return FlowNodeMetrics.snapshot();
+    }
+
+    /**
+     * 查询当前实例流程启动准入控制的统计
+     *
+     * @return 运行中trace数量、准入和拒绝次数，以及各流程版本当前的并发上限
+     */
+    @GetMapping("/admission")
+    public Map<String, Object> getAdmissionMetrics() {
+        return this.admissionController.snapshot();
+    }
+}
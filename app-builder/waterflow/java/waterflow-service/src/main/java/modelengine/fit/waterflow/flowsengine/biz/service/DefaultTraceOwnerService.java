@@ -8,9 +8,11 @@ package modelengine.fit.waterflow.flowsengine.biz.service;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import modelengine.fit.ohscript.util.UUIDUtil;
 import modelengine.fit.waterflow.ErrorCodes;
 import modelengine.fit.waterflow.exceptions.ServerInternalException;
 import modelengine.fit.waterflow.exceptions.WaterflowException;
+import modelengine.fit.waterflow.flowsengine.biz.service.shard.FlowInstanceMembership;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowlock.FlowLocks;
 import modelengine.fit.waterflow.spi.lock.InvalidDistributedLockNotify;
 import modelengine.fitframework.annotation.Component;
@@ -58,6 +60,8 @@ public class DefaultTraceOwnerService implements TraceOwnerService {
 
     private final FlowLocks locks;
 
+    private final FlowInstanceMembership membership;
+
     private final Map<String, OwnInfo> traceMap = new ConcurrentHashMap<>();
 
     /**
@@ -65,9 +69,12 @@ public class DefaultTraceOwnerService implements TraceOwnerService {
      *
      * @param locks 锁
      * @param invalidDistributedLockNotify 锁的失效通知服务
+     * @param membership 实例成员管理，为空时新trace不按分片分配
      */
-    public DefaultTraceOwnerService(FlowLocks locks, InvalidDistributedLockNotify invalidDistributedLockNotify) {
+    public DefaultTraceOwnerService(FlowLocks locks, InvalidDistributedLockNotify invalidDistributedLockNotify,
+            FlowInstanceMembership membership) {
         this.locks = locks;
+        this.membership = membership;
         invalidDistributedLockNotify.subscribe(this::removeInvalidTrace);
     }
 
@@ -87,6 +94,13 @@ public class DefaultTraceOwnerService implements TraceOwnerService {
         throw new WaterflowException(ErrorCodes.UN_EXCEPTED_ERROR, "can not own trace");
     }
 
+    @Override
+    public String ownNew(String transId) {
+        String traceId = this.membership == null ? UUIDUtil.uuid() : this.membership.newLocalTraceId();
+        this.own(traceId, transId);
+        return traceId;
+    }
+
     @Override
     public boolean tryOwn(String traceId, String transId) {
         log.info("Start to try own trace. traceId={}.", traceId);
@@ -36,6 +36,7 @@ import modelengine.fit.waterflow.entity.FlowErrorInfo;
 import modelengine.fit.waterflow.entity.FlowNodePublishInfo;
 import modelengine.fit.waterflow.entity.FlowPublishContext;
 import modelengine.fit.waterflow.entity.FlowTransCompletionInfo;
+import modelengine.fit.waterflow.flowsengine.biz.service.admission.FlowAdmissionController;
 import modelengine.fit.waterflow.flowsengine.biz.service.cache.FlowDefinitionQueryService;
 import modelengine.fit.waterflow.flowsengine.biz.service.cache.FlowQueryService;
 import modelengine.fit.waterflow.flowsengine.biz.service.entity.FlowRetryInfo;
@@ -102,6 +103,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -145,6 +147,8 @@ public class FlowRuntimeServiceImpl implements FlowRuntimeService {
 
     private final FlowQueryService flowQueryService;
 
+    private final FlowAdmissionController admissionController;
+
     public FlowRuntimeServiceImpl(FlowDefinitionRepo definitionRepo,
                                   @Fit(alias = "flowContextPersistRepo") FlowContextRepo repo,
                                   @Fit(alias = "flowContextPersistMessenger") FlowContextMessenger messenger,
@@ -152,7 +156,8 @@ public class FlowRuntimeServiceImpl implements FlowRuntimeService {
                                   FlowLocks locks, TraceOwnerService traceOwnerService, TraceServiceImpl traceService,
                                   @Value("${jane.flowsEngine.isNeedFlowCallbackAdapt}")
                                   boolean isNeedFlowCallbackAdapt, BrokerClient brokerClient, FlowDefinitionQueryService
-                                          definitionQueryService, FlowQueryService flowQueryService) {
+                                          definitionQueryService, FlowQueryService flowQueryService,
+                                  FlowAdmissionController admissionController) {
         this.definitionRepo = definitionRepo;
         this.repo = repo;
         this.messenger = messenger;
@@ -166,6 +171,7 @@ public class FlowRuntimeServiceImpl implements FlowRuntimeService {
         this.brokerClient = brokerClient;
         this.definitionQueryService = definitionQueryService;
         this.flowQueryService = flowQueryService;
+        this.admissionController = admissionController;
     }
 
     private static boolean isContextRunning(FlowContextPO flowContextPO) {
@@ -206,7 +212,7 @@ public class FlowRuntimeServiceImpl implements FlowRuntimeService {
         contextData.put("flowDefinitionId", flowId);
         contextData.put("nodeType", FlowNodeType.START.getCode());
         LocalDateTime startTime = LocalDateTime.now();
-        FlowOfferId offerId = from.offer(flowData);
+        FlowOfferId offerId = this.offerWithAdmission(flowDefinition, () -> from.offer(flowData));
         LOG.info("[perf] [{}] startFlows offer end, flowId={}", System.currentTimeMillis(), flowId);
         this.publishStartNodeData(flowDefinition, offerId.getTraceId(), from, flowData, startTime);
         LOG.info("Flow1 has been started, the flow offer id is {}:{}.", offerId.getTrans().getId(),
@@ -222,7 +228,8 @@ public class FlowRuntimeServiceImpl implements FlowRuntimeService {
             throw new WaterflowParamException(FLOW_START_ERROR);
         }
         From<FlowData> from = ObjectUtils.cast(flowQueryService.getPublisher(flowDefinition.getStreamId()));
-        FlowOfferId offerId = from.offer(FlowData.parseFromJson(flowData));
+        FlowOfferId offerId = this.offerWithAdmission(flowDefinition,
+                () -> from.offer(FlowData.parseFromJson(flowData)));
         LOG.info("Flow2 has been started, the flow offer id is {}:{}.", offerId.getTrans().getId(),
                 offerId.getTraceId());
         return new FlowStartDTO(offerId.getTrans().getId(), offerId.getTraceId());
@@ -236,17 +243,33 @@ public class FlowRuntimeServiceImpl implements FlowRuntimeService {
             throw new WaterflowParamException(FLOW_START_ERROR);
         }
         From<FlowData> from = ObjectUtils.cast(flowQueryService.getPublisher(flowDefinition.getStreamId()));
-        FlowOfferId offerId = from.offer(FlowData.parseFromJson(flowData), new FlowTrans(transId));
+        FlowOfferId offerId = this.offerWithAdmission(flowDefinition,
+                () -> from.offer(FlowData.parseFromJson(flowData), new FlowTrans(transId)));
         LOG.info("Flow3 has been started, the flow offer id is {}:{}.", offerId.getTrans().getId(),
                 offerId.getTraceId());
         return new FlowStartDTO(offerId.getTrans().getId(), offerId.getTraceId());
     }
 
+    private FlowOfferId offerWithAdmission(FlowDefinition flowDefinition, Supplier<FlowOfferId> offer) {
+        FlowAdmissionController.Permit permit = this.admissionController.acquire(flowDefinition.getStreamId(),
+                flowDefinition.getTenant());
+        FlowOfferId offerId;
+        try {
+            offerId = offer.get();
+        } catch (RuntimeException ex) {
+            permit.cancel();
+            throw ex;
+        }
+        permit.bind(offerId.getTraceId());
+        return offerId;
+    }
+
     @Transactional
     public void deleteFlow(String transId) {
         List<String> traceIds = repo.getTraceByTransId(transId);
         repo.deleteByTransId(transId);
         traceRepo.deleteByIdList(traceIds);
+        this.admissionController.release(traceIds);
     }
 
     public void offerFlowNode(String metaId, String version, String nodeMetaId, InterStream<FlowData> publisher) {
@@ -539,6 +562,7 @@ public class FlowRuntimeServiceImpl implements FlowRuntimeService {
 
         traceRepo.updateStatus(new ArrayList<>(traceIdSet), FlowTraceStatus.TERMINATE.toString());
         repo.updateStatus(contextList, FlowNodeStatus.TERMINATE.toString(), null);
+        this.admissionController.release(traceIdSet);
         LOG.info("The trace is terminated, traceId={}, currentStatus={}, start={}.", flowTrace.getId(),
                 flowTrace.getStatus().name(), flowTrace.getStartTime());
     }
@@ -651,6 +675,10 @@ public class FlowRuntimeServiceImpl implements FlowRuntimeService {
                 }
             });
             flowTraces.forEach(trace -> {
+                if (FlowTraceStatus.isEndStatus(trace.getStatus())) {
+                    // trace已在其它位置结束（如其它实例或批量更新状态），只归还准入占用。
+                    this.admissionController.release(trace.getId());
+                }
                 calculateTraceStatus(trace);
             });
         } catch (Throwable e) {
@@ -666,6 +694,7 @@ public class FlowRuntimeServiceImpl implements FlowRuntimeService {
             return;
         }
         LOG.info("The missed trace is expired. id={}.", traceId);
+        this.admissionController.release(traceId);
         this.traceOwnerService.release(traceId);
     }
 
@@ -679,6 +708,7 @@ public class FlowRuntimeServiceImpl implements FlowRuntimeService {
             FlowDefinition flowDefinition = definitionQueryService.findByStreamId(trace.getStreamId());
             if (flowDefinition == null) {
                 LOG.warn("Flow definition is null, stream id:{}, trace:{}", trace.getStreamId(), trace.getId());
+                this.admissionController.release(trace.getId());
                 this.traceOwnerService.release(trace.getId());
                 return;
             }
@@ -697,6 +727,7 @@ public class FlowRuntimeServiceImpl implements FlowRuntimeService {
                                    FlowDefinition flowDefinition) {
         LOG.info("The trace is completed, traceId={}, status={}.", trace.getId(), status);
         traceRepo.updateStatus(Collections.singletonList(trace.getId()), status);
+        this.admissionController.release(trace.getId());
         Lock transIdLock = locks.getDistributedLock(transId);
         transIdLock.lock();
         try {
@@ -785,6 +816,9 @@ public class FlowRuntimeServiceImpl implements FlowRuntimeService {
 
     public void updateTraceStatus(List<String> traceIds, FlowTraceStatus status) {
         traceRepo.updateStatus(traceIds, status.toString());
+        if (FlowTraceStatus.isEndStatus(status)) {
+            this.admissionController.release(traceIds);
+        }
     }
 
     public List<String> findTraceIdsByContextIds(List<String> contextIds) {
@@ -15,6 +15,8 @@ import modelengine.fit.waterflow.exceptions.WaterflowException;
 import modelengine.fit.waterflow.exceptions.WaterflowParamException;
 import modelengine.fit.jade.waterflow.service.FlowDefinitionService;
 import modelengine.fit.waterflow.common.Constant;
+import modelengine.fit.waterflow.flowsengine.biz.service.cache.FlowCacheService;
+import modelengine.fit.waterflow.flowsengine.biz.service.cache.FlowRepublishReport;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextPersistRepo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.definitions.FlowDefinition;
 import modelengine.fit.waterflow.flowsengine.domain.flows.definitions.nodes.FlowNode;
@@ -68,6 +70,8 @@ public class FlowsDefinitionServiceImpl implements FlowDefinitionService {
 
     private final QueryFlowDefinitionRepo queryFlowDefinitionRepo;
 
+    private final FlowCacheService flowCacheService;
+
     @Override
     public FlowDefinitionResult createFlows(String graphData, OperationContext context) {
         FlowDefinition flowsDefinition = convertToDefinition(graphData, context);
@@ -105,12 +109,16 @@ public class FlowsDefinitionServiceImpl implements FlowDefinitionService {
     @Deprecated
     public FlowDefinitionResult updateFlows(String flowId, String graphData, OperationContext operationContext) {
         FlowDefinition flowDefinition = flowDefinitionRepo.find(flowId);
+        long parseStart = System.currentTimeMillis();
         FlowDefinition parseFlow = flowParser.parse(graphData);
+        long parseCost = System.currentTimeMillis() - parseStart;
         Validation.notNull(flowDefinition, () -> new WaterflowParamException(ENTITY_NOT_FOUND, "FlowDefinition", flowId));
         Validation.isTrue(FlowDefinitionStatus.ACTIVE.equals(flowDefinition.getStatus()),
                 () -> new WaterflowParamException(FLOW_DEFINITION_UPDATE_NOT_SUPPORT, flowDefinition.getStatus()));
         parseFlow.setDefinitionId(flowDefinition.getDefinitionId());
         flowDefinitionRepo.update(parseFlow, graphData);
+        FlowRepublishReport report = flowCacheService.republish(parseFlow);
+        log.info("[FlowsDefinitionServiceImpl::updateFlows] flow republished, parseCost={}ms, {}", parseCost, report);
         return convert(parseFlow, graphData);
     }
 
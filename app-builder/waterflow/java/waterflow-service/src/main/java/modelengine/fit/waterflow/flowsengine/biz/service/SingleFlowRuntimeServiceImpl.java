@@ -12,6 +12,7 @@ import modelengine.fit.waterflow.exceptions.WaterflowParamException;
 import modelengine.fit.waterflow.entity.FlowStartDTO;
 import modelengine.fit.waterflow.entity.FlowStartInfo;
 import modelengine.fit.waterflow.entity.JoberErrorInfo;
+import modelengine.fit.waterflow.flowsengine.biz.service.archive.FlowTraceArchiver;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowContext;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowTrace;
@@ -53,12 +54,15 @@ public class SingleFlowRuntimeServiceImpl implements SingleFlowRuntimeService {
     private final FlowTraceRepo traceRepo;
     private final QueryFlowContextPersistRepo contextRepo;
     private final FlowContextRepo<FlowData> repo;
+    private final FlowTraceArchiver archiver;
 
-    public SingleFlowRuntimeServiceImpl(FlowRuntimeService flowRuntimeService, FlowTraceRepo traceRepo, QueryFlowContextPersistRepo contextRepo, FlowContextRepo<FlowData> repo) {
+    public SingleFlowRuntimeServiceImpl(FlowRuntimeService flowRuntimeService, FlowTraceRepo traceRepo, QueryFlowContextPersistRepo contextRepo, FlowContextRepo<FlowData> repo,
+            FlowTraceArchiver archiver) {
         this.flowRuntimeService = flowRuntimeService;
         this.traceRepo = traceRepo;
         this.contextRepo = contextRepo;
         this.repo = repo;
+        this.archiver = archiver;
     }
 
     @Override
@@ -134,7 +138,12 @@ public class SingleFlowRuntimeServiceImpl implements SingleFlowRuntimeService {
         if (traceIds.isEmpty()) {
             return false;
         }
-        this.deleteFlowContext(traceIds);
+        if (this.archiver.isEnabled()) {
+            this.archiver.preparePartitions(traceIds);
+            this.archiver.archive(traceIds);
+        } else {
+            this.deleteFlowContext(traceIds);
+        }
         return true;
     }
 
@@ -25,6 +25,14 @@ public interface TraceOwnerService {
      */
     void own(String traceId, String transId);
 
+    /**
+     * 创建新的trace并占有，trace标识优先分配在本实例的分片内
+     *
+     * @param transId transId
+     * @return 新trace的标识
+     */
+    String ownNew(String transId);
+
     /**
      * tryOwn
      *
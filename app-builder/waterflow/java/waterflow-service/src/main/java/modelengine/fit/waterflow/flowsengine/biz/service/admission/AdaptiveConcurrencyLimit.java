@@ -0,0 +1,70 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.biz.service.admission;
+
+/**
+ * 根据节点排队耗时自适应调整的并发上限
+ * <p>排队耗时不超过目标值时每个样本加性增加 {@code 1/limit}，约每处理一轮增加1；
+ * 超过目标值时按 {@code target/sample} 的梯度乘性减小，最多减半，且在一个冷却周期内只减小一次，避免一批慢样本把上限压到最低。</p>
+ *
+ * @author 杨祥宇
+ * @since 2025/4/28
+ */
+class AdaptiveConcurrencyLimit {
+    private static final double MIN_DECREASE_RATIO = 0.5D;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long targetNanos;
+
+    private final long cooldownNanos;
+
+    private double limit;
+
+    private long lastDecreaseNanos;
+
+    private boolean hasDecreased;
+
+    AdaptiveConcurrencyLimit(int minLimit, int maxLimit, long targetNanos) {
+        this.minLimit = Math.min(minLimit, maxLimit);
+        this.maxLimit = maxLimit;
+        this.targetNanos = targetNanos;
+        this.cooldownNanos = targetNanos;
+        this.limit = maxLimit;
+    }
+
+    /**
+     * 获取当前并发上限
+     *
+     * @return 当前并发上限
+     */
+    synchronized int get() {
+        return (int) this.limit;
+    }
+
+    /**
+     * 根据一次节点排队耗时调整并发上限
+     *
+     * @param sampleNanos 排队耗时，单位纳秒
+     * @param nowNanos 当前时间，单位纳秒
+     */
+    synchronized void onSample(long sampleNanos, long nowNanos) {
+        if (sampleNanos <= this.targetNanos) {
+            this.limit = Math.min(this.maxLimit, this.limit + 1D / this.limit);
+            return;
+        }
+        if (this.hasDecreased && nowNanos - this.lastDecreaseNanos < this.cooldownNanos) {
+            return;
+        }
+        double ratio = Math.max(MIN_DECREASE_RATIO, (double) this.targetNanos / sampleNanos);
+        this.limit = Math.max(this.minLimit, this.limit * ratio);
+        this.lastDecreaseNanos = nowNanos;
+        this.hasDecreased = true;
+    }
+}
@@ -0,0 +1,363 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.biz.service.admission;
+
+import modelengine.fit.waterflow.flowsengine.biz.service.admission.FlowAdmissionRejectedException.Reason;
+import modelengine.fit.waterflow.flowsengine.utils.FlowNodeMetrics;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Destroy;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.schedule.annotation.Scheduled;
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 流程启动的准入控制
+ * <p>按流程版本、租户、实例三级限制同时运行的trace数量，按流程版本限制启动速率，
+ * 并根据节点排队耗时自适应收缩流程版本的并发上限，使单个流程的洪峰不会拖慢其它流程。</p>
+ * <p>计数只在本实例内进行：trace结束或终止时释放占用；trace由其它实例结束时收不到通知，
+ * 占用在 {@code inFlightTtl} 之后过期释放。</p>
+ *
+ * @author 杨祥宇
+ * @since 2025/4/28
+ */
+@Component
+public class FlowAdmissionController implements FlowNodeMetrics.Listener {
+    private static final Logger LOG = Logger.get(FlowAdmissionController.class);
+
+    private static final long IN_FLIGHT_RETRY_AFTER_MILLIS = 1000L;
+
+    private static final String DEFAULT_TENANT = "default";
+
+    private static final Permit NOOP_PERMIT = new Permit(null, null, null);
+
+    private final boolean isEnabled;
+
+    private final FlowAdmissionLimits limits;
+
+    private final LongSupplier nanoClock;
+
+    private final Map<String, InFlight> inFlights = new ConcurrentHashMap<>();
+
+    private final Map<String, StreamState> streams = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicInteger> tenants = new ConcurrentHashMap<>();
+
+    private final AtomicInteger global = new AtomicInteger();
+
+    private final LongAdder admitted = new LongAdder();
+
+    private final Map<Reason, LongAdder> rejected = new EnumMap<>(Reason.class);
+
+    public FlowAdmissionController(@Value("${jane.flowsEngine.admission.enabled:false}") boolean isEnabled,
+            @Value("${jane.flowsEngine.admission.maxInFlightPerStream:1000}") int maxInFlightPerStream,
+            @Value("${jane.flowsEngine.admission.maxInFlightPerTenant:5000}") int maxInFlightPerTenant,
+            @Value("${jane.flowsEngine.admission.maxInFlightGlobal:20000}") int maxInFlightGlobal,
+            @Value("${jane.flowsEngine.admission.startRatePerStream:100}") int startRatePerStream,
+            @Value("${jane.flowsEngine.admission.minConcurrency:10}") int minConcurrency,
+            @Value("${jane.flowsEngine.admission.targetQueueWait:2000}") long targetQueueWaitMs,
+            @Value("${jane.flowsEngine.admission.inFlightTtl:1800000}") long inFlightTtlMs) {
+        this(isEnabled, FlowAdmissionLimits.builder()
+                .maxInFlightPerStream(maxInFlightPerStream)
+                .maxInFlightPerTenant(maxInFlightPerTenant)
+                .maxInFlightGlobal(maxInFlightGlobal)
+                .startRatePerStream(startRatePerStream)
+                .minConcurrency(minConcurrency)
+                .targetQueueWaitMs(targetQueueWaitMs)
+                .inFlightTtlMs(inFlightTtlMs)
+                .build(), System::nanoTime);
+        if (this.isAdaptive()) {
+            FlowNodeMetrics.addListener(this);
+        }
+    }
+
+    FlowAdmissionController(boolean isEnabled, FlowAdmissionLimits limits, LongSupplier nanoClock) {
+        this.isEnabled = isEnabled;
+        this.limits = limits;
+        this.nanoClock = nanoClock;
+        for (Reason reason : Reason.values()) {
+            this.rejected.put(reason, new LongAdder());
+        }
+    }
+
+    /**
+     * 申请启动一个trace，申请成功后需要在启动完成时调用 {@link Permit#bind(String)}，启动失败时调用 {@link Permit#cancel()}
+     *
+     * @param streamId 流程版本
+     * @param tenant 租户
+     * @return 启动许可
+     * @throws FlowAdmissionRejectedException 超过限制时抛出，调用方可以稍后重试
+     */
+    public Permit acquire(String streamId, String tenant) {
+        if (!this.isEnabled) {
+            return NOOP_PERMIT;
+        }
+        StreamState stream = this.streams.computeIfAbsent(streamId, this::createStreamState);
+        AtomicInteger tenantInFlight = this.tenants.computeIfAbsent(StringUtils.blankIf(tenant, DEFAULT_TENANT),
+                key -> new AtomicInteger());
+        Reason reason = this.reserve(stream, tenantInFlight);
+        if (reason != null) {
+            throw this.reject(stream, reason, IN_FLIGHT_RETRY_AFTER_MILLIS);
+        }
+        if (stream.bucket != null) {
+            long retryAfterMillis = stream.bucket.tryAcquire(this.nanoClock.getAsLong());
+            if (retryAfterMillis > 0) {
+                this.unreserve(stream, tenantInFlight);
+                throw this.reject(stream, Reason.STREAM_RATE, retryAfterMillis);
+            }
+        }
+        stream.admitted.increment();
+        this.admitted.increment();
+        return new Permit(this, stream, tenantInFlight);
+    }
+
+    /**
+     * trace结束或终止时释放其占用
+     *
+     * @param traceIds trace标识列表
+     */
+    public void release(Collection<String> traceIds) {
+        if (!this.isEnabled) {
+            return;
+        }
+        traceIds.forEach(this::release);
+    }
+
+    /**
+     * trace结束或终止时释放其占用，未占用时忽略
+     *
+     * @param traceId trace标识
+     */
+    public void release(String traceId) {
+        if (!this.isEnabled) {
+            return;
+        }
+        InFlight inFlight = this.inFlights.remove(traceId);
+        if (inFlight != null) {
+            this.unreserve(inFlight.stream, inFlight.tenant);
+        }
+    }
+
+    /**
+     * 释放超过 {@code inFlightTtl} 仍未收到结束通知的trace占用
+     */
+    @Scheduled(strategy = Scheduled.Strategy.FIXED_RATE, value = "60000")
+    public void expire() {
+        if (!this.isEnabled || this.limits.getInFlightTtlMs() <= 0) {
+            return;
+        }
+        long deadline = this.nanoClock.getAsLong() - TimeUnit.MILLISECONDS.toNanos(this.limits.getInFlightTtlMs());
+        int expired = 0;
+        Iterator<Map.Entry<String, InFlight>> iterator = this.inFlights.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, InFlight> entry = iterator.next();
+            InFlight inFlight = entry.getValue();
+            if (inFlight.admittedNanos - deadline < 0 && this.inFlights.remove(entry.getKey(), inFlight)) {
+                this.unreserve(inFlight.stream, inFlight.tenant);
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            LOG.info("Expired flow admission in-flight traces, count={}.", expired);
+        }
+    }
+
+    /**
+     * 实例销毁时注销节点耗时监听，避免全局的监听列表继续持有已销毁的实例
+     */
+    @Destroy
+    public void destroy() {
+        FlowNodeMetrics.removeListener(this);
+    }
+
+    @Override
+    public void onRecord(String streamId, String nodeId, FlowNodeMetrics.Phase phase, long nanos) {
+        if (phase != FlowNodeMetrics.Phase.QUEUE_WAIT) {
+            return;
+        }
+        StreamState stream = this.streams.get(streamId);
+        if (stream != null && stream.adaptive != null) {
+            stream.adaptive.onSample(nanos, this.nanoClock.getAsLong());
+        }
+    }
+
+    /**
+     * 获取准入控制的统计快照
+     *
+     * @return 包括全局、各流程版本、各租户的运行中trace数量，准入和拒绝次数，以及流程版本当前的并发上限
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", this.isEnabled);
+        result.put("inFlight", this.global.get());
+        result.put("admitted", this.admitted.sum());
+        Map<String, Long> rejectedSnapshot = new LinkedHashMap<>();
+        this.rejected.forEach((reason, count) -> rejectedSnapshot.put(reason.name(), count.sum()));
+        result.put("rejected", rejectedSnapshot);
+        Map<String, Map<String, Object>> streamSnapshot = new TreeMap<>();
+        this.streams.forEach((streamId, stream) -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("inFlight", stream.inFlight.get());
+            item.put("limit", this.streamLimit(stream));
+            item.put("admitted", stream.admitted.sum());
+            item.put("rejected", stream.rejected.sum());
+            streamSnapshot.put(streamId, item);
+        });
+        result.put("streams", streamSnapshot);
+        Map<String, Integer> tenantSnapshot = new TreeMap<>();
+        this.tenants.forEach((tenant, inFlight) -> tenantSnapshot.put(tenant, inFlight.get()));
+        result.put("tenants", tenantSnapshot);
+        return result;
+    }
+
+    private Reason reserve(StreamState stream, AtomicInteger tenantInFlight) {
+        if (isOver(stream.inFlight.incrementAndGet(), this.streamLimit(stream))) {
+            stream.inFlight.decrementAndGet();
+            return Reason.STREAM_IN_FLIGHT;
+        }
+        if (isOver(tenantInFlight.incrementAndGet(), this.limits.getMaxInFlightPerTenant())) {
+            tenantInFlight.decrementAndGet();
+            stream.inFlight.decrementAndGet();
+            return Reason.TENANT_IN_FLIGHT;
+        }
+        if (isOver(this.global.incrementAndGet(), this.limits.getMaxInFlightGlobal())) {
+            this.global.decrementAndGet();
+            tenantInFlight.decrementAndGet();
+            stream.inFlight.decrementAndGet();
+            return Reason.GLOBAL_IN_FLIGHT;
+        }
+        return null;
+    }
+
+    private void unreserve(StreamState stream, AtomicInteger tenantInFlight) {
+        stream.inFlight.decrementAndGet();
+        tenantInFlight.decrementAndGet();
+        this.global.decrementAndGet();
+    }
+
+    private FlowAdmissionRejectedException reject(StreamState stream, Reason reason, long retryAfterMillis) {
+        stream.rejected.increment();
+        this.rejected.get(reason).increment();
+        LOG.debug("Flow start is rejected, streamId={}, reason={}, retryAfterMillis={}.", stream.streamId, reason,
+                retryAfterMillis);
+        return new FlowAdmissionRejectedException(stream.streamId, reason, retryAfterMillis);
+    }
+
+    private int streamLimit(StreamState stream) {
+        return stream.adaptive == null ? this.limits.getMaxInFlightPerStream() : stream.adaptive.get();
+    }
+
+    private boolean isAdaptive() {
+        return this.isEnabled && this.limits.getTargetQueueWaitMs() > 0 && this.limits.getMaxInFlightPerStream() > 0;
+    }
+
+    private StreamState createStreamState(String streamId) {
+        TokenBucket bucket = this.limits.getStartRatePerStream() > 0
+                ? new TokenBucket(this.limits.getStartRatePerStream(), this.nanoClock.getAsLong())
+                : null;
+        AdaptiveConcurrencyLimit adaptive = this.isAdaptive()
+                ? new AdaptiveConcurrencyLimit(this.limits.getMinConcurrency(), this.limits.getMaxInFlightPerStream(),
+                TimeUnit.MILLISECONDS.toNanos(this.limits.getTargetQueueWaitMs()))
+                : null;
+        return new StreamState(streamId, bucket, adaptive);
+    }
+
+    private static boolean isOver(int value, int limit) {
+        return limit > 0 && value > limit;
+    }
+
+    private void bind(String traceId, StreamState stream, AtomicInteger tenantInFlight) {
+        InFlight previous = this.inFlights.put(traceId,
+                new InFlight(stream, tenantInFlight, this.nanoClock.getAsLong()));
+        if (previous != null) {
+            this.unreserve(previous.stream, previous.tenant);
+        }
+    }
+
+    /**
+     * trace启动许可
+     */
+    public static final class Permit {
+        private final FlowAdmissionController controller;
+
+        private final StreamState stream;
+
+        private final AtomicInteger tenant;
+
+        private Permit(FlowAdmissionController controller, StreamState stream, AtomicInteger tenant) {
+            this.controller = controller;
+            this.stream = stream;
+            this.tenant = tenant;
+        }
+
+        /**
+         * trace启动成功后将许可绑定到trace，trace结束时通过 {@link FlowAdmissionController#release(String)} 释放
+         *
+         * @param traceId trace标识
+         */
+        public void bind(String traceId) {
+            if (this.controller != null) {
+                this.controller.bind(traceId, this.stream, this.tenant);
+            }
+        }
+
+        /**
+         * trace启动失败时归还许可
+         */
+        public void cancel() {
+            if (this.controller != null) {
+                this.controller.unreserve(this.stream, this.tenant);
+            }
+        }
+    }
+
+    private static final class StreamState {
+        private final String streamId;
+
+        private final TokenBucket bucket;
+
+        private final AdaptiveConcurrencyLimit adaptive;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final LongAdder admitted = new LongAdder();
+
+        private final LongAdder rejected = new LongAdder();
+
+        private StreamState(String streamId, TokenBucket bucket, AdaptiveConcurrencyLimit adaptive) {
+            this.streamId = streamId;
+            this.bucket = bucket;
+            this.adaptive = adaptive;
+        }
+    }
+
+    private static final class InFlight {
+        private final StreamState stream;
+
+        private final AtomicInteger tenant;
+
+        private final long admittedNanos;
+
+        private InFlight(StreamState stream, AtomicInteger tenant, long admittedNanos) {
+            this.stream = stream;
+            this.tenant = tenant;
+            this.admittedNanos = admittedNanos;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.biz.service.admission;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 流程启动准入的限制参数，数量类参数不大于0时表示不限制
+ *
+ * @author 杨祥宇
+ * @since 2025/4/28
+ */
+@Getter
+@Builder
+public class FlowAdmissionLimits {
+    /**
+     * 单个流程版本同时运行的trace上限
+     */
+    private final int maxInFlightPerStream;
+
+    /**
+     * 单个租户同时运行的trace上限
+     */
+    private final int maxInFlightPerTenant;
+
+    /**
+     * 本实例同时运行的trace上限
+     */
+    private final int maxInFlightGlobal;
+
+    /**
+     * 单个流程版本每秒允许启动的trace数量，同时也是允许的突发数量
+     */
+    private final int startRatePerStream;
+
+    /**
+     * 自适应并发上限的下限
+     */
+    private final int minConcurrency;
+
+    /**
+     * 节点排队耗时的目标值，单位毫秒，超过时收缩该流程版本的并发上限，不大于0时不做自适应调整
+     */
+    private final long targetQueueWaitMs;
+
+    /**
+     * trace未收到结束通知时的最长占用时间，单位毫秒，超时后释放占用
+     */
+    private final long inFlightTtlMs;
+}
@@ -0,0 +1,69 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.biz.service.admission;
+
+import modelengine.fitframework.exception.RetryableException;
+import modelengine.fitframework.util.StringUtils;
+
+/**
+ * 流程启动被准入控制拒绝时抛出的异常，调用方可以在 {@link #getRetryAfterMillis()} 之后重试
+ *
+ * @author 杨祥宇
+ * @since 2025/4/28
+ */
+public class FlowAdmissionRejectedException extends RetryableException {
+    private final String streamId;
+
+    private final Reason reason;
+
+    private final long retryAfterMillis;
+
+    public FlowAdmissionRejectedException(String streamId, Reason reason, long retryAfterMillis) {
+        super(StringUtils.format("Flow start is rejected, please retry later. [streamId={0}, reason={1}, "
+                + "retryAfterMillis={2}]", streamId, reason, retryAfterMillis));
+        this.streamId = streamId;
+        this.reason = reason;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public String getStreamId() {
+        return this.streamId;
+    }
+
+    public Reason getReason() {
+        return this.reason;
+    }
+
+    public long getRetryAfterMillis() {
+        return this.retryAfterMillis;
+    }
+
+    /**
+     * 拒绝原因
+     */
+    public enum Reason {
+        /**
+         * 流程版本运行中的trace达到上限
+         */
+        STREAM_IN_FLIGHT,
+
+        /**
+         * 租户运行中的trace达到上限
+         */
+        TENANT_IN_FLIGHT,
+
+        /**
+         * 本实例运行中的trace达到上限
+         */
+        GLOBAL_IN_FLIGHT,
+
+        /**
+         * 流程版本启动速率超过上限
+         */
+        STREAM_RATE
+    }
+}
@@ -0,0 +1,48 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.biz.service.admission;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 令牌桶，用于限制流程启动速率
+ *
+ * @author 杨祥宇
+ * @since 2025/4/28
+ */
+class TokenBucket {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final int ratePerSecond;
+
+    private double tokens;
+
+    private long lastRefillNanos;
+
+    TokenBucket(int ratePerSecond, long nowNanos) {
+        this.ratePerSecond = ratePerSecond;
+        this.tokens = ratePerSecond;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @param nowNanos 当前时间，单位纳秒
+     * @return 获取成功时返回0，否则返回距离下一个令牌可用的毫秒数
+     */
+    synchronized long tryAcquire(long nowNanos) {
+        this.tokens = Math.min(this.ratePerSecond,
+                this.tokens + (double) (nowNanos - this.lastRefillNanos) * this.ratePerSecond / NANOS_PER_SECOND);
+        this.lastRefillNanos = nowNanos;
+        if (this.tokens >= 1) {
+            this.tokens--;
+            return 0L;
+        }
+        return Math.max(1L, (long) Math.ceil((1 - this.tokens) * TimeUnit.SECONDS.toMillis(1) / this.ratePerSecond));
+    }
+}
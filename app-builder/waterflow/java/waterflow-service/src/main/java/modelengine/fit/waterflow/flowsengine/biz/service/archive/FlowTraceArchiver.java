@@ -0,0 +1,113 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.biz.service.archive;
+
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextRepo;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowtrace.FlowTraceRepo;
+import modelengine.fit.waterflow.flowsengine.persist.mapper.FlowArchiveMapper;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.transaction.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 过期流程实例的归档器
+ * <p>将过期的trace和上下文从flow_trace、flow_context移动到按月分区的归档表，在线表只保留未过期的数据。</p>
+ *
+ * @author yangxiangyu
+ * @since 2025/4/25
+ */
+@Component
+public class FlowTraceArchiver {
+    private static final Logger log = Logger.get(FlowTraceArchiver.class);
+
+    private static final String TRACE_ARCHIVE_TABLE = "flow_trace_archive";
+
+    private static final String CONTEXT_ARCHIVE_TABLE = "flow_context_archive";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final DateTimeFormatter PARTITION_BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final FlowArchiveMapper archiveMapper;
+
+    private final FlowTraceRepo traceRepo;
+
+    private final FlowContextRepo<FlowData> contextRepo;
+
+    private final boolean isEnabled;
+
+    private final boolean isPartitioned;
+
+    private final Set<String> preparedPartitions = ConcurrentHashMap.newKeySet();
+
+    public FlowTraceArchiver(FlowArchiveMapper archiveMapper, FlowTraceRepo traceRepo,
+            FlowContextRepo<FlowData> contextRepo,
+            @Value("${jane.flowsEngine.archive.enabled:false}") boolean isEnabled,
+            @Value("${jane.flowsEngine.archive.partitioned:true}") boolean isPartitioned) {
+        this.archiveMapper = archiveMapper;
+        this.traceRepo = traceRepo;
+        this.contextRepo = contextRepo;
+        this.isEnabled = isEnabled;
+        this.isPartitioned = isPartitioned;
+    }
+
+    /**
+     * 是否开启归档，未开启时过期实例直接删除
+     *
+     * @return 开启归档时返回 {@code true}，否则返回 {@code false}
+     */
+    public boolean isEnabled() {
+        return this.isEnabled;
+    }
+
+    /**
+     * 为待归档的trace创建所需的月份分区
+     * <p>分区在归档事务之外创建，避免DDL锁和归档数据的事务互相等待；已创建过的分区会被记住，不会重复执行DDL。</p>
+     *
+     * @param traceIds 待归档的trace标识列表
+     */
+    public void preparePartitions(List<String> traceIds) {
+        if (!this.isPartitioned) {
+            return;
+        }
+        for (LocalDateTime month : this.archiveMapper.findArchiveMonths(traceIds)) {
+            String suffix = month.format(PARTITION_SUFFIX);
+            if (this.preparedPartitions.contains(suffix)) {
+                continue;
+            }
+            String from = month.format(PARTITION_BOUND);
+            String to = month.plusMonths(1).format(PARTITION_BOUND);
+            this.archiveMapper.createPartition(TRACE_ARCHIVE_TABLE, TRACE_ARCHIVE_TABLE + "_p" + suffix, from, to);
+            this.archiveMapper.createPartition(CONTEXT_ARCHIVE_TABLE, CONTEXT_ARCHIVE_TABLE + "_p" + suffix, from, to);
+            this.preparedPartitions.add(suffix);
+            log.info("Flow archive partition is ready. [month={}]", suffix);
+        }
+    }
+
+    /**
+     * 在同一个事务中将trace及其上下文复制到归档表，并从在线表删除
+     *
+     * @param traceIds 待归档的trace标识列表
+     */
+    @Transactional
+    public void archive(List<String> traceIds) {
+        LocalDateTime archivedTime = LocalDateTime.now();
+        int contexts = this.archiveMapper.archiveContexts(traceIds, archivedTime);
+        int traces = this.archiveMapper.archiveTraces(traceIds, archivedTime);
+        this.contextRepo.deleteByTraceIdList(traceIds);
+        this.traceRepo.deleteByIdList(traceIds);
+        log.debug("Flow instances are archived. [traces={}, contexts={}]", traces, contexts);
+    }
+}
@@ -32,4 +32,11 @@ public class FlowCache {
     @Getter
     @Setter
     private FitStream.Publisher<FlowData> publisher;
+
+    /**
+     * 缓存权重，为流程定义中的节点数量
+     */
+    @Getter
+    @Setter
+    private int weight;
 }
@@ -10,23 +10,34 @@ import static java.lang.System.identityHashCode;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
 import lombok.AllArgsConstructor;
+import modelengine.fit.waterflow.flowsengine.biz.service.CustomThreadFactory;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextMessenger;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextRepo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowlock.FlowLocks;
 import modelengine.fit.waterflow.flowsengine.domain.flows.definitions.FlowDefinition;
+import modelengine.fit.waterflow.flowsengine.domain.flows.definitions.FlowDefinitionDiff;
 import modelengine.fit.waterflow.flowsengine.domain.flows.definitions.repo.FlowDefinitionRepo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.streams.FitStream;
+import modelengine.fit.waterflow.flowsengine.utils.FlowNodeMetrics;
 import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Destroy;
 import modelengine.fitframework.log.Logger;
 
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
 
 /**
  * 提供流程运行时的缓存服务
@@ -38,16 +49,41 @@ import java.util.concurrent.TimeUnit;
 @AllArgsConstructor
 public class FlowCacheService {
     private static final Logger LOG = Logger.get(FlowCacheService.class);
-    private static final Cache<String, FlowCache> STREAM_ID_FLOW_CACHE =
-            Caffeine.newBuilder().expireAfterAccess(1, TimeUnit.DAYS).maximumSize(1000).build();
-    private static final Cache<String, FlowDefinition> DEFINITION_ID_FLOW_CACHE =
-            Caffeine.newBuilder().expireAfterAccess(1, TimeUnit.DAYS).maximumSize(1000).build();
+
+    /**
+     * 运行时缓存按节点数量计算权重，该值为所有缓存流程的节点总数上限
+     */
+    private static final long MAX_FLOW_NODE_WEIGHT = 50000L;
+
+    private static final int WARM_UP_PARALLELISM = 8;
+
+    private static final Cache<String, FlowCache> STREAM_ID_FLOW_CACHE = Caffeine.newBuilder()
+            .expireAfterAccess(1, TimeUnit.DAYS)
+            .maximumWeight(MAX_FLOW_NODE_WEIGHT)
+            .weigher((String streamId, FlowCache flowCache) -> flowCache.getWeight())
+            .removalListener((String streamId, FlowCache flowCache, RemovalCause cause) -> {
+                if (cause.wasEvicted()) {
+                    FlowNodeMetrics.remove(streamId);
+                }
+            })
+            .recordStats()
+            .build();
+    private static final Cache<String, FlowDefinition> DEFINITION_ID_FLOW_CACHE = Caffeine.newBuilder()
+            .expireAfterAccess(1, TimeUnit.DAYS)
+            .maximumWeight(MAX_FLOW_NODE_WEIGHT)
+            .weigher((String definitionId, FlowDefinition definition) -> weigh(definition))
+            .build();
 
     private final FlowContextRepo contextRepo;
     private final FlowContextMessenger contextMessenger;
     private final FlowLocks locks;
     private final FlowDefinitionRepo definitionRepo;
 
+    /**
+     * 所有预热共用的线程池，空闲线程超时后回收，实例销毁时关闭
+     */
+    private final ThreadPoolExecutor warmUpExecutor = createWarmUpExecutor();
+
     /**
      * 根据streamID获取缓存中的流程定义
      *
@@ -92,10 +128,111 @@ public class FlowCacheService {
             LOG.info("[WaterFlows::putPublisher] put new publisher only if not exists, "
                             + "streamId: {}, publisher: {}, exits: {}",
                     streamId, identityHashCode(publisher), identityHashCode(publisher));
-            return new FlowCache(definition, publisher);
+            return new FlowCache(definition, publisher, weigh(definition));
         });
     }
 
+    /**
+     * 流程更新后重新发布运行时缓存
+     * 运行时缓存中已有该流程时，图数据未变化的节点沿用已构建的处理器，只重新构建变化的节点，并原子替换各节点的订阅关系
+     * 重新发布失败时丢弃该流程的运行时缓存，不抛出异常
+     *
+     * @param definition 更新后的流程定义
+     * @return {@link FlowRepublishReport} 重新发布的结果
+     */
+    public FlowRepublishReport republish(FlowDefinition definition) {
+        String streamId = definition.getStreamId();
+        Optional.ofNullable(definition.getDefinitionId()).ifPresent(DEFINITION_ID_FLOW_CACHE::invalidate);
+        Lock lock = locks.getLocalLock(streamId);
+        lock.lock();
+        try {
+            FlowCache previous = STREAM_ID_FLOW_CACHE.getIfPresent(streamId);
+            if (previous == null || previous.getDefinition() == null) {
+                return FlowRepublishReport.notCached(streamId);
+            }
+            long start = System.nanoTime();
+            FlowDefinitionDiff diff = FlowDefinitionDiff.compare(previous.getDefinition(), definition);
+            long diffed = System.nanoTime();
+            Set<String> reusedNodeIds = diff.getReusableNodes();
+            FitStream.Publisher<FlowData> publisher = definition.convertToFlow(previous.getDefinition(),
+                    reusedNodeIds, contextRepo, contextMessenger, locks);
+            buildNodeInfoMap(new HashSet<>(), publisher, 1);
+            STREAM_ID_FLOW_CACHE.put(streamId, new FlowCache(definition, publisher, weigh(definition)));
+            long rebuilt = System.nanoTime();
+            return new FlowRepublishReport(streamId, diff, reusedNodeIds.size(),
+                    definition.getNodeMap().size() - reusedNodeIds.size(),
+                    TimeUnit.NANOSECONDS.toMillis(diffed - start), TimeUnit.NANOSECONDS.toMillis(rebuilt - diffed),
+                    false);
+        } catch (RuntimeException ex) {
+            // 重新发布失败时丢弃运行时缓存，下次使用时按最新定义完整构建，不影响流程定义的更新。
+            STREAM_ID_FLOW_CACHE.invalidate(streamId);
+            LOG.error("[FlowCacheService::republish] republish flow failed, cache invalidated, streamId: {}, "
+                    + "errorMessage: {}.", streamId, ex.getMessage());
+            LOG.error("[FlowCacheService::republish] republish flow failed details: ", ex);
+            return FlowRepublishReport.failed(streamId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 预热运行时缓存，并行构建指定流程的定义与publisher
+     *
+     * @param streamIds 需要预热的流程版本列表
+     * @return 成功预热的流程数量
+     */
+    public int warmUp(List<String> streamIds) {
+        if (streamIds == null || streamIds.isEmpty()) {
+            return 0;
+        }
+        AtomicInteger loaded = new AtomicInteger();
+        CompletableFuture.allOf(streamIds.stream()
+                .map(streamId -> CompletableFuture.runAsync(() -> warmUpOne(streamId, loaded), warmUpExecutor))
+                .toArray(CompletableFuture[]::new)).join();
+        LOG.info("[FlowCacheService::warmUp] warm up finished, expected: {}, loaded: {}.", streamIds.size(),
+                loaded.get());
+        return loaded.get();
+    }
+
+    private void warmUpOne(String streamId, AtomicInteger loaded) {
+        try {
+            if (getFlowCacheByStreamId(streamId) != null) {
+                loaded.incrementAndGet();
+            }
+        } catch (Exception ex) {
+            LOG.warn("[FlowCacheService::warmUp] warm up flow failed, streamId: {}, errorMessage: {}.", streamId,
+                    ex.getMessage());
+        }
+    }
+
+    /**
+     * 实例销毁时关闭预热线程池，未开始的预热任务不再执行
+     */
+    @Destroy
+    public void destroy() {
+        warmUpExecutor.shutdownNow();
+    }
+
+    private static ThreadPoolExecutor createWarmUpExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(WARM_UP_PARALLELISM, WARM_UP_PARALLELISM, 60L,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new CustomThreadFactory("flow-cache-warm-up"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 获取运行时缓存的统计信息
+     *
+     * @return 缓存命中、加载、淘汰等统计信息
+     */
+    public CacheStats getStats() {
+        return STREAM_ID_FLOW_CACHE.stats();
+    }
+
+    private static int weigh(FlowDefinition definition) {
+        return Optional.ofNullable(definition.getNodeMap()).map(nodes -> Math.max(nodes.size(), 1)).orElse(1);
+    }
+
     private void buildNodeInfoMap(Set<String> toIds, FitStream.Publisher publisher, int order) {
         toIds.add(publisher.getId());
         List<FitStream.Subscription> subscriptions = publisher.getSubscriptions();
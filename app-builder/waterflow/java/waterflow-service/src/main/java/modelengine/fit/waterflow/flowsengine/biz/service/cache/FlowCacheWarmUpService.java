@@ -0,0 +1,70 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.biz.service.cache;
+
+import modelengine.fit.service.FitablesRegisteredObserver;
+import modelengine.fit.waterflow.common.utils.GlobalExecutorUtil;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowtrace.FlowTraceRepo;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.schedule.ExecutePolicy;
+import modelengine.fitframework.schedule.Task;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 启动时预热流程运行时缓存，预先构建最近被使用过的流程，避免重启后首次请求的冷启动开销
+ *
+ * @author yangxiangyu
+ * @since 2025/4/10
+ */
+@Component
+public class FlowCacheWarmUpService implements FitablesRegisteredObserver {
+    private static final Logger LOG = Logger.get(FlowCacheWarmUpService.class);
+
+    private final FlowCacheService cacheService;
+
+    private final FlowTraceRepo traceRepo;
+
+    private final int warmUpSize;
+
+    private final int warmUpDays;
+
+    public FlowCacheWarmUpService(FlowCacheService cacheService, FlowTraceRepo traceRepo,
+            @Value("${jane.flowsEngine.cache.warmUp.size:200}") int warmUpSize,
+            @Value("${jane.flowsEngine.cache.warmUp.days:3}") int warmUpDays) {
+        this.cacheService = cacheService;
+        this.traceRepo = traceRepo;
+        this.warmUpSize = warmUpSize;
+        this.warmUpDays = warmUpDays;
+    }
+
+    @Override
+    public void onFitablesRegistered() {
+        if (this.warmUpSize <= 0) {
+            return;
+        }
+        Task warmUpTask = Task.builder().runnable(this::warmUp).policy(ExecutePolicy.disposable()).build();
+        GlobalExecutorUtil.getInstance().getSchedulerPool().schedule(warmUpTask, Instant.now());
+    }
+
+    /**
+     * 预热最近使用过的流程
+     */
+    public void warmUp() {
+        try {
+            List<String> streamIds = this.traceRepo.findRecentStreamIds(this.warmUpDays, this.warmUpSize);
+            LOG.info("Start warming up flow cache, size: {}.", streamIds.size());
+            this.cacheService.warmUp(streamIds);
+        } catch (Exception ex) {
+            LOG.error("Warm up flow cache failed, errorMessage: {}.", ex.getMessage());
+            LOG.debug("Warm up flow cache failed.", ex);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.biz.service.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import modelengine.fit.waterflow.flowsengine.domain.flows.definitions.FlowDefinitionDiff;
+
+/**
+ * 流程更新后重新发布运行时缓存的结果
+ *
+ * @author yangxiangyu
+ * @since 2025/4/29
+ */
+@Getter
+@AllArgsConstructor
+public class FlowRepublishReport {
+    /**
+     * 流程版本
+     */
+    private final String streamId;
+
+    /**
+     * 更新前的结构差异，运行时缓存中没有该流程时为空，下次使用时再完整构建
+     */
+    private final FlowDefinitionDiff diff;
+
+    /**
+     * 沿用已构建处理器的节点数量
+     */
+    private final int reusedNodes;
+
+    /**
+     * 重新构建的节点数量
+     */
+    private final int rebuiltNodes;
+
+    /**
+     * 比较结构差异的耗时，单位毫秒
+     */
+    private final long diffMillis;
+
+    /**
+     * 重新构建与替换订阅关系的耗时，单位毫秒
+     */
+    private final long rebuildMillis;
+
+    /**
+     * 重新发布是否失败，失败时运行时缓存已被丢弃，下次使用时再完整构建
+     */
+    private final boolean isFailed;
+
+    /**
+     * 构造运行时缓存中没有该流程时的结果
+     *
+     * @param streamId 流程版本
+     * @return {@link FlowRepublishReport} 重新发布的结果
+     */
+    public static FlowRepublishReport notCached(String streamId) {
+        return new FlowRepublishReport(streamId, null, 0, 0, 0L, 0L, false);
+    }
+
+    /**
+     * 构造重新发布失败时的结果
+     *
+     * @param streamId 流程版本
+     * @return {@link FlowRepublishReport} 重新发布的结果
+     */
+    public static FlowRepublishReport failed(String streamId) {
+        return new FlowRepublishReport(streamId, null, 0, 0, 0L, 0L, true);
+    }
+
+    @Override
+    public String toString() {
+        if (this.isFailed) {
+            return String.format("streamId=%s, failed and invalidated", this.streamId);
+        }
+        if (this.diff == null) {
+            return String.format("streamId=%s, not cached", this.streamId);
+        }
+        return String.format("streamId=%s, reused=%d, rebuilt=%d, %s, diffCost=%dms, rebuildCost=%dms",
+                this.streamId, this.reusedNodes, this.rebuiltNodes, this.diff, this.diffMillis, this.rebuildMillis);
+    }
+}
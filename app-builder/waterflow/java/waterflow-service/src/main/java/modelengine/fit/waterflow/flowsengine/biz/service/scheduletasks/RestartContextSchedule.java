@@ -12,6 +12,7 @@ import modelengine.fit.waterflow.exceptions.WaterflowParamException;
 import modelengine.fit.waterflow.flowsengine.biz.service.TraceOwnerService;
 import modelengine.fit.waterflow.flowsengine.biz.service.cache.FlowDefinitionQueryService;
 import modelengine.fit.waterflow.flowsengine.biz.service.cache.FlowQueryService;
+import modelengine.fit.waterflow.flowsengine.biz.service.shard.FlowInstanceMembership;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowContext;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowTrace;
@@ -32,9 +33,12 @@ import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.schedule.annotation.Scheduled;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -49,6 +53,11 @@ public class RestartContextSchedule {
 
     private static final List<String> APPLICATIONS = new ArrayList<>();
 
+    /**
+     * 非本分片的trace持续无人处理超过该时长后，任意实例都可以接管
+     */
+    private static final long ORPHAN_GRACE_MS = 180000L;
+
     private final FlowTraceRepo traceRepo;
 
     private final FlowContextPersistRepo contextPersistRepo;
@@ -65,10 +74,14 @@ public class RestartContextSchedule {
 
     private final FlowQueryService flowQueryService;
 
+    private final FlowInstanceMembership membership;
+
+    private final Map<String, Long> foreignTraceSeenTimes = new ConcurrentHashMap<>();
+
     public RestartContextSchedule(FlowTraceRepo traceRepo, FlowContextPersistRepo contextPersistRepo,
         DefaultFlowDefinitionRepo flowDefinitionRepo, FlowLocks locks, FlowContextPersistMessenger messenger,
         TraceOwnerService traceOwnerService, FlowDefinitionQueryService definitionQueryService,
-        FlowQueryService flowQueryService) {
+        FlowQueryService flowQueryService, FlowInstanceMembership membership) {
         this.traceRepo = traceRepo;
         this.contextPersistRepo = contextPersistRepo;
         this.flowDefinitionRepo = flowDefinitionRepo;
@@ -77,6 +90,7 @@ public class RestartContextSchedule {
         this.traceOwnerService = traceOwnerService;
         this.definitionQueryService = definitionQueryService;
         this.flowQueryService = flowQueryService;
+        this.membership = membership;
     }
 
     /**
@@ -95,14 +109,18 @@ public class RestartContextSchedule {
     }
 
     private void restartContext(List<String> traceIds) {
+        this.foreignTraceSeenTimes.keySet().retainAll(new HashSet<>(traceIds));
+        long now = System.currentTimeMillis();
         for (String traceId : traceIds) {
             try {
-                if (this.traceOwnerService.isOwn(traceId)) {
+                if (this.traceOwnerService.isOwn(traceId) || !this.isTakeoverCandidate(traceId, now)) {
                     continue;
                 }
                 if (!this.traceOwnerService.tryOwn(traceId, null)) {
+                    this.foreignTraceSeenTimes.computeIfPresent(traceId, (key, seenTime) -> now);
                     continue;
                 }
+                this.foreignTraceSeenTimes.remove(traceId);
                 log.warn("restartInterruptContext take over trace:{}", traceId);
                 Optional<FlowTrace> flowTrace = Optional.ofNullable(traceRepo.find(traceId));
                 if (!flowTrace.isPresent()) {
@@ -134,6 +152,22 @@ public class RestartContextSchedule {
         }
     }
 
+    /**
+     * 本分片的trace直接接管；非本分片的trace从首次发现起超过宽限期仍无实例持有时才接管，
+     * 避免分片所属实例异常或环视图不一致时trace无人恢复
+     *
+     * @param traceId trace标识
+     * @param now 当前时间
+     * @return 是否尝试接管
+     */
+    private boolean isTakeoverCandidate(String traceId, long now) {
+        if (this.membership.isLocalShard(traceId)) {
+            return true;
+        }
+        long seenTime = this.foreignTraceSeenTimes.computeIfAbsent(traceId, key -> now);
+        return now - seenTime >= ORPHAN_GRACE_MS;
+    }
+
     private void restartContext(From<FlowData> flow, List<List<FlowContext<FlowData>>> restartContexts,
             FlowDefinition flowDefinition) {
         restartContexts.forEach(contexts -> {
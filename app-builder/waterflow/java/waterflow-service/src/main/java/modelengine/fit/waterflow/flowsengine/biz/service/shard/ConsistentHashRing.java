@@ -0,0 +1,102 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.biz.service.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 一致性哈希环，用于将trace划分到不同的流程引擎实例
+ * 每个实例在环上放置多个虚拟节点，实例加入或离开时只有相邻区间的trace发生迁移
+ *
+ * @author 夏斐
+ * @since 2025/4/14
+ */
+public class ConsistentHashRing {
+    private static final int DEFAULT_VIRTUAL_NODES = 160;
+
+    private final int virtualNodes;
+
+    private volatile NavigableMap<Long, String> ring = Collections.emptyNavigableMap();
+
+    private volatile Set<String> members = Collections.emptySet();
+
+    public ConsistentHashRing() {
+        this(DEFAULT_VIRTUAL_NODES);
+    }
+
+    public ConsistentHashRing(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    /**
+     * 使用新的成员列表替换环上的成员，构建完成后整体替换，读取方无需加锁
+     *
+     * @param newMembers 新的实例成员列表
+     * @return 成员是否发生变化
+     */
+    public synchronized boolean update(Collection<String> newMembers) {
+        Set<String> memberSet = new HashSet<>(newMembers);
+        if (memberSet.equals(this.members)) {
+            return false;
+        }
+        NavigableMap<Long, String> newRing = new TreeMap<>();
+        memberSet.forEach(member -> {
+            for (int i = 0; i < this.virtualNodes; i++) {
+                newRing.put(hash(member + "#" + i), member);
+            }
+        });
+        this.ring = newRing;
+        this.members = Collections.unmodifiableSet(memberSet);
+        return true;
+    }
+
+    /**
+     * 获取key所属的实例
+     *
+     * @param key trace id等需要划分的key
+     * @return 所属实例，环上没有成员时返回null
+     */
+    public String ownerOf(String key) {
+        NavigableMap<Long, String> current = this.ring;
+        if (current.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = current.ceilingEntry(hash(key));
+        return entry == null ? current.firstEntry().getValue() : entry.getValue();
+    }
+
+    /**
+     * 获取当前环上的成员
+     *
+     * @return 成员集合
+     */
+    public Set<String> getMembers() {
+        return this.members;
+    }
+
+    private static long hash(String key) {
+        // FNV-1a后再做一次murmur3的fmix64，使虚拟节点在环上分布均匀
+        long hash = 0xcbf29ce484222325L;
+        for (byte value : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= value & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
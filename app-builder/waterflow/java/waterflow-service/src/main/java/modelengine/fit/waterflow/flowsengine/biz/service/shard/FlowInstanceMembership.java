@@ -0,0 +1,147 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.biz.service.shard;
+
+import modelengine.fit.ohscript.util.UUIDUtil;
+import modelengine.fit.service.FitablesRegisteredObserver;
+import modelengine.fit.waterflow.common.utils.GlobalExecutorUtil;
+import modelengine.fit.waterflow.flowsengine.persist.mapper.FlowInstanceMemberMapper;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Destroy;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.schedule.ExecutePolicy;
+import modelengine.fitframework.schedule.Task;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 流程引擎实例成员管理
+ * 各实例定时上报心跳并拉取存活实例列表，据此维护一致性哈希环，将trace划分到唯一的实例处理
+ *
+ * @author 夏斐
+ * @since 2025/4/14
+ */
+@Component
+public class FlowInstanceMembership implements FitablesRegisteredObserver {
+    private static final Logger LOG = Logger.get(FlowInstanceMembership.class);
+
+    private static final int EXPIRED_CLEAN_TIMES = 10;
+
+    private static final int MAX_LOCAL_ID_ATTEMPTS = 64;
+
+    private final FlowInstanceMemberMapper memberMapper;
+
+    private final long heartbeatIntervalMs;
+
+    private final long memberTtlMs;
+
+    private final String instanceId = UUIDUtil.uuid();
+
+    private final ConsistentHashRing ring = new ConsistentHashRing();
+
+    public FlowInstanceMembership(FlowInstanceMemberMapper memberMapper,
+            @Value("${jane.flowsEngine.shard.heartbeatInterval:5000}") long heartbeatIntervalMs,
+            @Value("${jane.flowsEngine.shard.memberTtl:20000}") long memberTtlMs) {
+        this.memberMapper = memberMapper;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.memberTtlMs = memberTtlMs;
+    }
+
+    @Override
+    public void onFitablesRegistered() {
+        this.heartbeat();
+        Task heartbeatTask = Task.builder()
+                .runnable(this::heartbeat)
+                .policy(ExecutePolicy.fixedRate(this.heartbeatIntervalMs))
+                .build();
+        GlobalExecutorUtil.getInstance().getSchedulerPool().schedule(heartbeatTask, Instant.now());
+    }
+
+    /**
+     * 上报本实例心跳并刷新一致性哈希环
+     */
+    public void heartbeat() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            this.memberMapper.heartbeat(this.instanceId, now);
+            List<String> alive = this.memberMapper.findAlive(now.minus(Duration.ofMillis(this.memberTtlMs)));
+            this.refresh(alive);
+            this.memberMapper.deleteExpired(now.minus(Duration.ofMillis(this.memberTtlMs * EXPIRED_CLEAN_TIMES)));
+        } catch (Exception ex) {
+            LOG.error("Flow instance heartbeat failed, instanceId={}, errorMessage={}.", this.instanceId,
+                    ex.getMessage());
+        }
+    }
+
+    /**
+     * 使用存活实例列表刷新一致性哈希环
+     *
+     * @param alive 存活实例列表
+     */
+    public void refresh(List<String> alive) {
+        Set<String> members = new HashSet<>(alive);
+        members.add(this.instanceId);
+        Set<String> previous = this.ring.getMembers();
+        if (this.ring.update(members)) {
+            LOG.info("Flow instance members changed, instanceId={}, previous={}, current={}.", this.instanceId,
+                    previous.size(), members.size());
+        }
+    }
+
+    /**
+     * 判断trace是否属于本实例的分片，环未初始化时认为属于本实例
+     *
+     * @param traceId trace标识
+     * @return 是否属于本实例
+     */
+    public boolean isLocalShard(String traceId) {
+        String owner = this.ring.ownerOf(traceId);
+        return owner == null || Objects.equals(owner, this.instanceId);
+    }
+
+    /**
+     * 生成落在本实例分片内的trace标识，使新trace由创建它的实例负责恢复
+     * 多次尝试仍未命中时返回最后一次生成的标识，由其所属分片的实例接管
+     *
+     * @return trace标识
+     */
+    public String newLocalTraceId() {
+        String traceId = UUIDUtil.uuid();
+        for (int i = 1; i < MAX_LOCAL_ID_ATTEMPTS && !this.isLocalShard(traceId); i++) {
+            traceId = UUIDUtil.uuid();
+        }
+        return traceId;
+    }
+
+    /**
+     * 获取本实例标识
+     *
+     * @return 实例标识
+     */
+    public String getInstanceId() {
+        return this.instanceId;
+    }
+
+    /**
+     * 实例退出时删除成员记录，使其他实例尽快接管本实例的分片
+     */
+    @Destroy
+    public void leave() {
+        try {
+            this.memberMapper.delete(this.instanceId);
+        } catch (Exception ex) {
+            LOG.warn("Flow instance leave failed, instanceId={}, errorMessage={}.", this.instanceId, ex.getMessage());
+        }
+    }
+}
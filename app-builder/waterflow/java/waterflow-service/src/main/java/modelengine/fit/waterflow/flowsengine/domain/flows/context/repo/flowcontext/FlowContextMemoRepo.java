@@ -41,7 +41,7 @@ public class FlowContextMemoRepo<T> implements FlowContextRepo<T> {
                 @Override
                 public void notify(Lock invalidLock) {
                 }
-            });
+            }, null);
 
     @Override
     public TraceOwnerService getTraceOwnerService() {
@@ -108,6 +108,11 @@ public class DefaultFlowTraceRepo implements FlowTraceRepo {
         return flowTraceMapper.getExpiredTrace(expired, limit);
     }
 
+    @Override
+    public List<String> findRecentStreamIds(int days, int limit) {
+        return flowTraceMapper.findRecentStreamIds(LocalDateTime.now().minusDays(days), limit);
+    }
+
     private FlowTracePO serializer(FlowTrace flowTrace) {
         String contextPool = String.join(", ", flowTrace.getContextPool());
         return FlowTracePO.builder()
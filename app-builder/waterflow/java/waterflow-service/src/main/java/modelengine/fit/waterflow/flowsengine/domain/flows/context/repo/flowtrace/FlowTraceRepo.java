@@ -108,4 +108,13 @@ public interface FlowTraceRepo {
      * @return 表示链路唯一标识列表的 {@link List}{@code <}{@link String}{@code >}。
      */
     List<String> getExpiredTrace(int expiredDays, int limit);
+
+    /**
+     * 查询最近被启动过的流程版本标识。
+     *
+     * @param days 表示回溯天数的 {@code int}。
+     * @param limit 表示查询限制的 {@code int}。
+     * @return 表示流程版本标识列表的 {@link List}{@code <}{@link String}{@code >}。
+     */
+    List<String> findRecentStreamIds(int days, int limit);
 }
@@ -187,6 +187,54 @@ public class FlowDefinition {
         }
     }
 
+    /**
+     * 流程更新后将流程定义转换为处理流
+     * 沿用的节点替换为更新前已构建的节点，保留其处理器，其余节点重新构建
+     * 先建立重新构建的节点的订阅关系，再逐个原子替换沿用节点的订阅关系，运行中的数据不会遇到没有下游的节点
+     * 最后将被替换或删除的节点的订阅关系从沿用的下游节点中移除
+     *
+     * @param previous 更新前已转换为处理流的流程定义
+     * @param reusedNodeIds 沿用的节点metaId集合
+     * @param repo 流程实例运行时的处理context的repo
+     * @param messenger 流程实例运行时的处理context的messenger
+     * @param locks 流程实例运行时的处理context的锁
+     * @return {@link FitStream.Publisher < FlowData >} stream流程
+     */
+    public FitStream.Publisher<FlowData> convertToFlow(FlowDefinition previous, Set<String> reusedNodeIds,
+            FlowContextRepo<FlowData> repo, FlowContextMessenger messenger, FlowLocks locks) {
+        String streamId = this.getStreamId();
+        Lock lock = locks.getLocalLock(streamId);
+        lock.lock();
+        try {
+            reusedNodeIds.forEach(metaId -> {
+                FlowNode reusedNode = previous.getFlowNode(metaId);
+                reusedNode.setEvents(nodeMap.get(metaId).getEvents());
+                nodeMap.put(metaId, reusedNode);
+            });
+            FlowNode.FlowEnv flowEnv = new FlowNode.FlowEnv(repo, messenger, locks);
+            nodeMap.values().forEach(node -> {
+                node.setParentFlow(this);
+                Optional.ofNullable(node.getJober()).ifPresent(jober -> jober.setContextRepo(repo));
+            });
+            nodeMap.values()
+                    .stream()
+                    .filter(node -> !reusedNodeIds.contains(node.getMetaId()))
+                    .forEach(node -> node.resubscribe(streamId, flowEnv, nodeMap));
+            nodeMap.values()
+                    .stream()
+                    .filter(node -> reusedNodeIds.contains(node.getMetaId()))
+                    .forEach(node -> node.resubscribe(streamId, flowEnv, nodeMap));
+            previous.getNodeMap()
+                    .values()
+                    .stream()
+                    .filter(node -> !reusedNodeIds.contains(node.getMetaId()))
+                    .forEach(node -> node.unsubscribe(streamId, flowEnv));
+            return getFlowNode(FlowNodeType.START).getPublisher(streamId, repo, messenger, locks);
+        } finally {
+            lock.unlock();
+        }
+    }
+
     /**
      * 获取流程定义的streamId
      *
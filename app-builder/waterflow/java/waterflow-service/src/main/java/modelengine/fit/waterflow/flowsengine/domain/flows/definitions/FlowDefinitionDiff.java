@@ -0,0 +1,144 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.domain.flows.definitions;
+
+import lombok.Getter;
+import modelengine.fit.waterflow.flowsengine.domain.flows.definitions.nodes.FlowNode;
+import modelengine.fit.waterflow.flowsengine.domain.flows.definitions.nodes.events.FlowEvent;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 流程定义更新前后的结构差异
+ * 节点按metaId与图数据签名比较，事件按metaId与起止节点、条件规则、优先级比较
+ *
+ * @author 杨祥宇
+ * @since 2025/4/29
+ */
+@Getter
+public class FlowDefinitionDiff {
+    private final Set<String> addedNodes = new LinkedHashSet<>();
+
+    private final Set<String> removedNodes = new LinkedHashSet<>();
+
+    private final Set<String> changedNodes = new LinkedHashSet<>();
+
+    private final Set<String> unchangedNodes = new LinkedHashSet<>();
+
+    private final Set<String> addedEvents = new LinkedHashSet<>();
+
+    private final Set<String> removedEvents = new LinkedHashSet<>();
+
+    private final Set<String> changedEvents = new LinkedHashSet<>();
+
+    /**
+     * 流程版本或流程级属性是否发生变化，发生变化时节点不能沿用
+     */
+    private final boolean flowChanged;
+
+    private FlowDefinitionDiff(boolean flowChanged) {
+        this.flowChanged = flowChanged;
+    }
+
+    /**
+     * 比较流程定义更新前后的结构差异
+     *
+     * @param previous 更新前的流程定义
+     * @param current 更新后的流程定义
+     * @return {@link FlowDefinitionDiff} 结构差异
+     */
+    public static FlowDefinitionDiff compare(FlowDefinition previous, FlowDefinition current) {
+        FlowDefinitionDiff diff = new FlowDefinitionDiff(isFlowChanged(previous, current));
+        Map<String, FlowNode> previousNodes = nodes(previous);
+        Map<String, FlowNode> currentNodes = nodes(current);
+        currentNodes.forEach((metaId, node) -> {
+            FlowNode previousNode = previousNodes.get(metaId);
+            if (previousNode == null) {
+                diff.addedNodes.add(metaId);
+            } else if (isSameNode(previousNode, node)) {
+                diff.unchangedNodes.add(metaId);
+            } else {
+                diff.changedNodes.add(metaId);
+            }
+        });
+        previousNodes.keySet()
+                .stream()
+                .filter(metaId -> !currentNodes.containsKey(metaId))
+                .forEach(diff.removedNodes::add);
+
+        Map<String, FlowEvent> previousEvents = events(previousNodes);
+        Map<String, FlowEvent> currentEvents = events(currentNodes);
+        currentEvents.forEach((metaId, event) -> {
+            FlowEvent previousEvent = previousEvents.get(metaId);
+            if (previousEvent == null) {
+                diff.addedEvents.add(metaId);
+            } else if (!isSameEvent(previousEvent, event)) {
+                diff.changedEvents.add(metaId);
+            }
+        });
+        previousEvents.keySet()
+                .stream()
+                .filter(metaId -> !currentEvents.containsKey(metaId))
+                .forEach(diff.removedEvents::add);
+        return diff;
+    }
+
+    /**
+     * 获取更新后可以沿用已构建处理器的节点
+     *
+     * @return 可以沿用的节点metaId集合
+     */
+    public Set<String> getReusableNodes() {
+        return this.flowChanged ? Collections.emptySet() : Collections.unmodifiableSet(this.unchangedNodes);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("nodes[added=%d, removed=%d, changed=%d, unchanged=%d], "
+                        + "events[added=%d, removed=%d, changed=%d], flowChanged=%s", this.addedNodes.size(),
+                this.removedNodes.size(), this.changedNodes.size(), this.unchangedNodes.size(),
+                this.addedEvents.size(), this.removedEvents.size(), this.changedEvents.size(), this.flowChanged);
+    }
+
+    private static boolean isFlowChanged(FlowDefinition previous, FlowDefinition current) {
+        return !Objects.equals(previous.getStreamId(), current.getStreamId())
+                || !Objects.equals(previous.getProperties(), current.getProperties())
+                || !Objects.equals(previous.getExceptionFitables(), current.getExceptionFitables())
+                || !Objects.equals(previous.getFinishedCallbackFitables(), current.getFinishedCallbackFitables());
+    }
+
+    private static boolean isSameNode(FlowNode previous, FlowNode current) {
+        return previous.getSignature() != null && Objects.equals(previous.getSignature(), current.getSignature())
+                && Objects.equals(previous.getType(), current.getType());
+    }
+
+    private static boolean isSameEvent(FlowEvent previous, FlowEvent current) {
+        return Objects.equals(previous.getFrom(), current.getFrom()) && Objects.equals(previous.getTo(),
+                current.getTo()) && Objects.equals(previous.getConditionRule(), current.getConditionRule())
+                && Objects.equals(previous.getPriority(), current.getPriority());
+    }
+
+    private static Map<String, FlowNode> nodes(FlowDefinition definition) {
+        return Optional.ofNullable(definition.getNodeMap()).orElse(Collections.emptyMap());
+    }
+
+    private static Map<String, FlowEvent> events(Map<String, FlowNode> nodes) {
+        Map<String, FlowEvent> events = new LinkedHashMap<>();
+        nodes.values()
+                .stream()
+                .filter(node -> node.getEvents() != null)
+                .flatMap(node -> node.getEvents().stream())
+                .forEach(event -> events.put(event.getMetaId(), event));
+        return events;
+    }
+}
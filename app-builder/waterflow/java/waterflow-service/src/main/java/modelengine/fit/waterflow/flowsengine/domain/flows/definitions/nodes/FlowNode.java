@@ -157,6 +157,11 @@ public abstract class FlowNode {
      */
     protected Set<String> exceptionFitables;
 
+    /**
+     * 节点图数据的签名，流程更新时用于判断节点是否发生变化
+     */
+    protected String signature;
+
     public void setJober(FlowJober jober) {
         if (!Objects.isNull(jober)) {
             jober.setParentNode(this);
@@ -232,6 +237,51 @@ public abstract class FlowNode {
                 getTo(streamId, flowEnv.getRepo(), flowEnv.getMessenger(), flowEnv.getLocks(), toNode), event);
     }
 
+    /**
+     * 按照节点当前的事件重建该节点到下游节点的订阅关系
+     * 新的订阅关系全部建立后一次性替换原有订阅关系，替换期间该节点发出的数据仍按原有订阅关系流转
+     *
+     * @param streamId stream流程Id
+     * @param flowEnv flowEnv
+     * @param nodeMap 流程定义中的全部节点
+     */
+    public void resubscribe(String streamId, FlowEnv flowEnv, Map<String, FlowNode> nodeMap) {
+        if (this.belongTo(FlowNodeType.END)) {
+            return;
+        }
+        this.getOutlet(streamId, flowEnv).resubscribe(() -> this.events.forEach(
+                event -> this.subscribe(streamId, flowEnv, nodeMap.get(event.getTo()), event)));
+    }
+
+    /**
+     * 将该节点到下游节点的订阅关系从下游节点中移除
+     * 流程更新时用于被替换或删除的节点，该节点已发出的数据仍按原有订阅关系流转
+     *
+     * @param streamId stream流程Id
+     * @param flowEnv flowEnv
+     */
+    public void unsubscribe(String streamId, FlowEnv flowEnv) {
+        if (this.belongTo(FlowNodeType.END)) {
+            return;
+        }
+        this.getOutlet(streamId, flowEnv).getSubscriptions().forEach(FlowNode::unsubscribe);
+    }
+
+    private static <O> void unsubscribe(FitStream.Subscription<?, O> subscription) {
+        subscription.getTo().onUnsubscribe(subscription);
+    }
+
+    /**
+     * 获取节点连接下游节点的publisher
+     *
+     * @param streamId stream流程Id
+     * @param flowEnv flowEnv
+     * @return {@link FitStream.Publisher} 节点连接下游节点的publisher
+     */
+    protected FitStream.Publisher<FlowData> getOutlet(String streamId, FlowEnv flowEnv) {
+        return getFrom(streamId, flowEnv.getRepo(), flowEnv.getMessenger(), flowEnv.getLocks());
+    }
+
     /**
      * 获取节点事件
      *
@@ -81,6 +81,12 @@ public class FlowParallelNode extends FlowNode {
         return this.processor;
     }
 
+    @Override
+    protected FitStream.Publisher<FlowData> getOutlet(String streamId, FlowEnv flowEnv) {
+        this.getProcessor(streamId, flowEnv.getRepo(), flowEnv.getMessenger(), flowEnv.getLocks());
+        return this.joiner;
+    }
+
     @Override
     protected void subscribe(FitStream.Publisher<FlowData> from, FitStream.Subscriber<FlowData, FlowData> to,
             FlowEvent event) {
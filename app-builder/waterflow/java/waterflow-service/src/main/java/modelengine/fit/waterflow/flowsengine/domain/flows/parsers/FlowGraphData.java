@@ -11,8 +11,10 @@ import static modelengine.fit.waterflow.ErrorCodes.INPUT_PARAM_IS_INVALID;
 import static modelengine.fit.waterflow.ErrorCodes.INVALID_EVENT_SIZE;
 import static modelengine.fitframework.util.ObjectUtils.cast;
 
+import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.serializer.SerializerFeature;
 
 import modelengine.fit.waterflow.exceptions.WaterflowException;
 import modelengine.fit.waterflow.exceptions.WaterflowParamException;
@@ -23,10 +25,14 @@ import modelengine.fitframework.inspection.Validation;
 import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -165,6 +171,10 @@ public class FlowGraphData {
 
     private static final Pattern FROM_CONNECTOR_PATTERN = Pattern.compile("dynamic-(\\d+)");
 
+    private static final String CONDITION_PARAMS = "conditionParams";
+
+    private static final String SIGNATURE_ALGORITHM = "SHA-256";
+
     private final JSONObject definitions;
 
     private final JSONArray nodes;
@@ -321,6 +331,25 @@ public class FlowGraphData {
         return getNode(index).getString(META_ID);
     }
 
+    /**
+     * 获取流程定义的节点签名
+     * 签名由节点图数据按键排序后计算摘要得到，条件节点的分支规则已提取到事件中，不计入节点签名
+     *
+     * @param index 节点索引
+     * @return 流程定义的节点签名
+     */
+    public String getNodeSignature(int index) {
+        JSONObject node = cast(getNode(index).clone());
+        node.remove(CONDITION_PARAMS);
+        String content = JSON.toJSONString(node, SerializerFeature.MapSortField);
+        try {
+            MessageDigest digest = MessageDigest.getInstance(SIGNATURE_ALGORITHM);
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            return content;
+        }
+    }
+
     /**
      * 获取流程定义的节点类型
      *
@@ -74,6 +74,7 @@ public class FlowParser implements Parser {
                     () -> new WaterflowParamException(INPUT_PARAM_IS_INVALID, "flow node type " + nodeType.getCode()));
             FlowNode flowNode = nodeParser.parseNode(flowGraphData, nodeIndex);
             flowNode.setBrokerClient(brokerClient);
+            flowNode.setSignature(flowGraphData.getNodeSignature(nodeIndex));
             if (Optional.ofNullable(flowNode.getJober()).isPresent()) {
                 flowNode.getJober().setBrokerClient(brokerClient);
             }
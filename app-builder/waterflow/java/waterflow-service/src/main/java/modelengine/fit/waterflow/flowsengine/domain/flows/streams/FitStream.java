@@ -288,6 +288,14 @@ public final class FitStream {
          * @return List<Subscription < I, ?>>
          */
         List<Subscription<I, ?>> getSubscriptions();
+
+        /**
+         * 重建全部订阅关系
+         * subscribing中建立的订阅关系在其执行完成后一次性替换原有订阅关系，被替换的订阅关系从下游节点中移除
+         *
+         * @param subscribing 建立新订阅关系的操作
+         */
+        void resubscribe(Runnable subscribing);
     }
 
     /**
@@ -354,6 +362,14 @@ public final class FitStream {
          */
         void onSubscribe(Subscription<?, I> subscription);
 
+        /**
+         * onUnsubscribe
+         * 流程更新时移除已被替换的上游订阅关系
+         *
+         * @param subscription subscription
+         */
+        void onUnsubscribe(Subscription<?, I> subscription);
+
         /**
          * 节点真正处理context方法onProcess
          *
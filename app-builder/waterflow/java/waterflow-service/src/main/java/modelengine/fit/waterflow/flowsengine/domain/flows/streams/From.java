@@ -73,7 +73,9 @@ public class From<I> extends IdGenerator implements FitStream.Publisher<I> {
      */
     protected final FlowLocks locks;
 
-    private final List<FitStream.Subscription<I, ?>> whens = new ArrayList<>();
+    private volatile List<FitStream.Subscription<I, ?>> whens = new ArrayList<>();
+
+    private List<FitStream.Subscription<I, ?>> rewiringWhens;
 
     private final String streamId;
 
@@ -250,7 +252,7 @@ public class From<I> extends IdGenerator implements FitStream.Publisher<I> {
      */
     public FlowOfferId offer(I[] data, FlowTrans trans) {
         FlowTrace trace = new FlowTrace();
-        repo.getTraceOwnerService().own(trace.getId(), trans.getId());
+        trace.setId(repo.getTraceOwnerService().ownNew(trans.getId()));
         Set<String> traceId = new HashSet<>();
         traceId.add(trace.getId());
         List<FlowContext<I>> contexts = Arrays.stream(data)
@@ -358,6 +360,30 @@ public class From<I> extends IdGenerator implements FitStream.Publisher<I> {
         return new ArrayList<>(this.whens);
     }
 
+    /**
+     * 重建全部订阅关系
+     * 流程更新时使用，重建期间新建立的订阅关系暂存，全部建立后整体替换，数据分发不会看到只建立了一部分的订阅关系
+     * 替换后将原有订阅关系从下游节点中移除，避免下游节点的上游订阅关系随每次更新增长
+     *
+     * @param subscribing 建立新订阅关系的操作
+     */
+    @Override
+    public synchronized void resubscribe(Runnable subscribing) {
+        List<FitStream.Subscription<I, ?>> previous = this.whens;
+        this.rewiringWhens = new ArrayList<>();
+        try {
+            subscribing.run();
+            this.whens = this.rewiringWhens;
+        } finally {
+            this.rewiringWhens = null;
+        }
+        previous.forEach(From::unsubscribe);
+    }
+
+    private static <O> void unsubscribe(FitStream.Subscription<?, O> subscription) {
+        subscription.getTo().onUnsubscribe(subscription);
+    }
+
     /**
      * publish到某subscriber
      * just,map,reduce,produce可以生成subscriber，这个是直接指定subscriber
@@ -380,7 +406,7 @@ public class From<I> extends IdGenerator implements FitStream.Publisher<I> {
     @Override
     public <M, O> void subscribe(FitStream.Subscriber<M, O> subscriber, Map<I, M> convert, Whether<I> whether) {
         // 默认只能将数据发给一个subscriber
-        this.whens.add(new When<>(this.streamId, subscriber, convert, whether, repo, messenger));
+        this.targetWhens().add(new When<>(this.streamId, subscriber, convert, whether, repo, messenger));
     }
 
     /**
@@ -407,7 +433,11 @@ public class From<I> extends IdGenerator implements FitStream.Publisher<I> {
     @Override
     public <M, O> void subscribe(String eventId, FitStream.Subscriber<M, O> subscriber, Map<I, M> convert,
             Whether<I> whether) {
-        this.whens.add(new When<>(this.streamId, eventId, subscriber, convert, whether, repo, messenger));
+        this.targetWhens().add(new When<>(this.streamId, eventId, subscriber, convert, whether, repo, messenger));
+    }
+
+    private List<FitStream.Subscription<I, ?>> targetWhens() {
+        return this.rewiringWhens != null ? this.rewiringWhens : this.whens;
     }
 
     @Override
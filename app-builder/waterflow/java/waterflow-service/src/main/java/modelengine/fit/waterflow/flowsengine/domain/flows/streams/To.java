@@ -27,12 +27,14 @@ import modelengine.fit.waterflow.flowsengine.domain.flows.streams.callbacks.ToCa
 import modelengine.fit.waterflow.flowsengine.domain.flows.streams.nodes.Blocks;
 import modelengine.fit.waterflow.flowsengine.domain.flows.streams.nodes.Retryable;
 import modelengine.fit.waterflow.flowsengine.utils.FlowExecutors;
+import modelengine.fit.waterflow.flowsengine.utils.FlowNodeMetrics;
 import modelengine.fit.waterflow.flowsengine.utils.PriorityThreadPool;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.util.CollectionUtils;
 import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -41,6 +43,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -74,7 +77,7 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
     /**
      * subscriber支持多publisher分发，前提是分发源出来的数据类型需要一致，不然无法统一处理
      */
-    protected final List<FitStream.Subscription<?, I>> froms = new ArrayList<>();
+    protected final List<FitStream.Subscription<?, I>> froms = new CopyOnWriteArrayList<>();
 
     /**
      * nodeType
@@ -576,6 +579,20 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
         this.froms.add(subscription); // 将该节点的from的event加入
     }
 
+    @Override
+    public void onUnsubscribe(FitStream.Subscription<?, I> subscription) {
+        this.froms.remove(subscription);
+    }
+
+    /**
+     * 获取该节点的上游订阅关系
+     *
+     * @return List<FitStream.Subscription<?, I>>
+     */
+    public List<FitStream.Subscription<?, I>> getFroms() {
+        return new ArrayList<>(this.froms);
+    }
+
     @Override
     public void onProcess(List<FlowContext<I>> pre) {
         if (CollectionUtils.isEmpty(pre)) {
@@ -587,6 +604,7 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
                         String.join(",", pre.get(0).getTraceId()));
                 return;
             }
+            recordQueueWait(pre);
             beforeProcess(pre);
             if (pre.size() == 1 && pre.get(0).getData() == null) {
                 this.afterProcess(pre, new ArrayList<>());
@@ -598,14 +616,18 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
                 return;
             }
             logFileTest(this, "before", pre);
+            long processStart = System.nanoTime();
             List<FlowContext<O>> after = this.getProcessMode().process(this, pre);
+            FlowNodeMetrics.recordSince(this.streamId, this.id, FlowNodeMetrics.Phase.PROCESS, processStart);
             logFileTest(this, "after", pre);
             if (!isOwnTrace(pre)) {
                 LOG.warn("[AfterProcess] The trace is not belong to this node, traceId={}.",
                         String.join(",", pre.get(0).getTraceId()));
                 return;
             }
+            long persistStart = System.nanoTime();
             this.afterProcess(pre, after);
+            FlowNodeMetrics.recordSince(this.streamId, this.id, FlowNodeMetrics.Phase.PERSIST, persistStart);
         } catch (Exception ex) {
             LOG.error("node process exception stream-id: {}, node-id: {}, position-id: {}, traceId: {}. errors: {}",
                     this.streamId, this.id, pre.get(0).getPosition(), pre.get(0).getTraceId(), ex.getMessage());
@@ -631,6 +653,15 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
         Optional.ofNullable(this.globalErrorHandler).ifPresent(handler -> handler.handle(ex, retryable, pre));
     }
 
+    private void recordQueueWait(List<FlowContext<I>> pre) {
+        LocalDateTime now = LocalDateTime.now();
+        pre.stream()
+                .map(FlowContext::getCreateAt)
+                .filter(Objects::nonNull)
+                .forEach(createAt -> FlowNodeMetrics.record(this.streamId, this.id, FlowNodeMetrics.Phase.QUEUE_WAIT,
+                        Duration.between(createAt, now).toNanos()));
+    }
+
     private boolean isOwnTrace(List<FlowContext<I>> pre) {
         return pre.get(0).getTraceId().stream().allMatch(traceId -> {
             if (!repo.getTraceOwnerService().isOwn(traceId)) {
@@ -978,7 +1009,6 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
          */
         public <T1, R1> void request(To<T1, R1> to) {
             while (true) {
-                LOG.warn("request enter");
                 if (to.curConcurrency >= MAX_CONCURRENCY) {
                     SleepUtil.sleep(1000);
                     continue;
@@ -999,17 +1029,12 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
                     } else {
                         this.submit(to, ready);
                     }
-                    LOG.warn("request after submit");
                 } catch (Exception ex) {
                     ready.forEach( // 如果是数据库或者redis挂了，会死循环，线程不退出等待数据库或者redis恢复
                             r -> LOG.error("process main loop exception stream-id: {}, node-id: {}, context-id: {}"
                                     + ", errors: {}", to.streamId, to.id, r.getId(), ex));
                     LOG.error("process main loop exception details: ", ex);
-                    LOG.warn("request before sleep");
                     SleepUtil.sleep(50);
-                    LOG.warn("request after sleep");
-                } finally {
-                    LOG.warn("request end");
                 }
             }
         }
@@ -1025,16 +1050,17 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
         protected abstract <T1, R1> List<FlowContext<T1>> requestAll(To<T1, R1> to);
 
         private <T1, R1> List<FlowContext<T1>> requestReady(To<T1, R1> to) {
-            LOG.warn("requestReady enter");
             Lock lock = to.locks.getDistributedLock(
                     to.locks.streamNodeLockKey(to.streamId, to.id, ProcessType.PROCESS.toString()));
+            long lockStart = System.nanoTime();
             lock.lock();
+            FlowNodeMetrics.recordSince(to.streamId, to.id, FlowNodeMetrics.Phase.LOCK_WAIT, lockStart);
             try {
+                long fetchStart = System.nanoTime();
                 List<FlowContext<T1>> all = requestAll(to);
-                LOG.warn("requestReady after request all");
+                FlowNodeMetrics.recordSince(to.streamId, to.id, FlowNodeMetrics.Phase.DB_FETCH, fetchStart);
                 List<FlowContext<T1>> ready = filterReady(to, all);
                 ready = to.filterTerminate(ready);
-                LOG.warn("requestReady after terminate all");
                 if (CollectionUtils.isEmpty(ready)) {
                     return new ArrayList<>();
                 }
@@ -1046,7 +1072,6 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
                 ready.forEach(context -> context.toBatch(toBatchId));
 
                 to.repo.updateProcessStatus(ready);
-                LOG.warn("requestReady after updateProcessStatus");
                 return ready;
             } finally {
                 lock.unlock();
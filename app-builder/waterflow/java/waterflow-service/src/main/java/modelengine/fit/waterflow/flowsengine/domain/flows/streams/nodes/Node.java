@@ -272,6 +272,11 @@ public class Node<T, R> extends To<T, R> implements FitStream.Processor<T, R>, I
         return this.publisher.getSubscriptions();
     }
 
+    @Override
+    public void resubscribe(Runnable subscribing) {
+        this.publisher.resubscribe(subscribing);
+    }
+
     /**
      * 开始处理数据
      * 把该publisher里所有的数据都publish到subscription
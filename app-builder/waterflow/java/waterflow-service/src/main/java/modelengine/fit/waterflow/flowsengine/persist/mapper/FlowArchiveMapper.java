@@ -0,0 +1,59 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.persist.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 流程轨迹和上下文归档表对应MybatisMapper类
+ *
+ * @author yangxiangyu
+ * @since 2025/4/25
+ */
+@Mapper
+public interface FlowArchiveMapper {
+    /**
+     * 查询trace及其上下文涉及的月份，用于提前创建归档表分区
+     *
+     * @param traceIds trace标识列表
+     * @return 各月份第一天零点的列表
+     */
+    List<LocalDateTime> findArchiveMonths(@Param("traceIds") List<String> traceIds);
+
+    /**
+     * 创建归档表的按月分区，分区已存在时忽略
+     *
+     * @param table 归档表名
+     * @param partition 分区表名
+     * @param from 分区起始时间（包含）
+     * @param to 分区结束时间（不包含）
+     */
+    void createPartition(@Param("table") String table, @Param("partition") String partition,
+            @Param("from") String from, @Param("to") String to);
+
+    /**
+     * 将trace复制到归档表，已归档的trace忽略
+     *
+     * @param traceIds trace标识列表
+     * @param archivedTime 归档时间
+     * @return 复制的行数
+     */
+    int archiveTraces(@Param("traceIds") List<String> traceIds, @Param("archivedTime") LocalDateTime archivedTime);
+
+    /**
+     * 将trace下的上下文复制到归档表，已归档的上下文忽略
+     *
+     * @param traceIds trace标识列表
+     * @param archivedTime 归档时间
+     * @return 复制的行数
+     */
+    int archiveContexts(@Param("traceIds") List<String> traceIds, @Param("archivedTime") LocalDateTime archivedTime);
+}
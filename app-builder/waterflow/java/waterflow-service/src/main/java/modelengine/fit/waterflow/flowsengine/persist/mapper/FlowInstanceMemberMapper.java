@@ -0,0 +1,52 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.persist.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 流程引擎实例成员表对应MybatisMapper类
+ *
+ * @author 夏斐
+ * @since 2025/4/14
+ */
+@Mapper
+public interface FlowInstanceMemberMapper {
+    /**
+     * 上报实例心跳，实例不存在时插入
+     *
+     * @param instanceId 实例标识
+     * @param heartbeatAt 心跳时间
+     */
+    void heartbeat(@Param("instanceId") String instanceId, @Param("heartbeatAt") LocalDateTime heartbeatAt);
+
+    /**
+     * 查询指定时间之后有心跳的实例
+     *
+     * @param since 心跳时间下限
+     * @return 存活实例标识列表
+     */
+    List<String> findAlive(@Param("since") LocalDateTime since);
+
+    /**
+     * 删除实例
+     *
+     * @param instanceId 实例标识
+     */
+    void delete(@Param("instanceId") String instanceId);
+
+    /**
+     * 删除指定时间之前没有心跳的实例
+     *
+     * @param before 心跳时间上限
+     */
+    void deleteExpired(@Param("before") LocalDateTime before);
+}
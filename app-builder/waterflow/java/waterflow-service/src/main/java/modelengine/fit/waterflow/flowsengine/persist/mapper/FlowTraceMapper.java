@@ -122,4 +122,13 @@ public interface FlowTraceMapper {
      * @return 表示链路唯一标识列表的 {@link List}{@code <}{@link String}{@code >}。
      */
     List<String> getExpiredTrace(LocalDateTime expiredDays, int limit);
+
+    /**
+     * 查询指定时间之后最近被启动过的流程版本列表，按最近启动时间倒序排列。
+     *
+     * @param since 表示起始时间的 {@link LocalDateTime}。
+     * @param limit 表示查询限制的 {@code int}。
+     * @return 表示流程版本标识列表的 {@link List}{@code <}{@link String}{@code >}。
+     */
+    List<String> findRecentStreamIds(LocalDateTime since, int limit);
 }
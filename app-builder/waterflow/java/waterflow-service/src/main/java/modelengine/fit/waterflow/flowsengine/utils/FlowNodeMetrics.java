@@ -0,0 +1,171 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.utils;
+
+import modelengine.fit.waterflow.common.Constant;
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * 流程节点执行耗时统计，以streamId+nodeId为粒度分阶段记录耗时直方图
+ *
+ * @author 杨祥宇
+ * @since 2025/4/12
+ */
+public final class FlowNodeMetrics {
+    private static final Map<String, Map<Phase, LatencyHistogram>> NODE_HISTOGRAMS = new ConcurrentHashMap<>();
+
+    private static final Set<Listener> LISTENERS = new CopyOnWriteArraySet<>();
+
+    private FlowNodeMetrics() {
+    }
+
+    /**
+     * 节点执行阶段
+     */
+    public enum Phase {
+        /**
+         * context在边上等待被节点捞取的时间
+         */
+        QUEUE_WAIT,
+
+        /**
+         * 获取节点分布式锁的时间
+         */
+        LOCK_WAIT,
+
+        /**
+         * 从数据库捞取边上context的时间
+         */
+        DB_FETCH,
+
+        /**
+         * 节点处理（jober、条件等）的时间
+         */
+        PROCESS,
+
+        /**
+         * 处理完成后持久化context的时间
+         */
+        PERSIST
+    }
+
+    /**
+     * 记录节点某个阶段的耗时
+     *
+     * @param streamId 流程版本
+     * @param nodeId 节点id
+     * @param phase 执行阶段
+     * @param nanos 耗时，单位纳秒
+     */
+    public static void record(String streamId, String nodeId, Phase phase, long nanos) {
+        NODE_HISTOGRAMS.computeIfAbsent(key(streamId, nodeId), k -> createHistograms()).get(phase).record(nanos);
+        for (Listener listener : LISTENERS) {
+            listener.onRecord(streamId, nodeId, phase, nanos);
+        }
+    }
+
+    /**
+     * 注册耗时记录的监听者，用于根据节点耗时做流控等调整
+     *
+     * @param listener 监听者
+     */
+    public static void addListener(Listener listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * 注销耗时记录的监听者
+     *
+     * @param listener 监听者
+     */
+    public static void removeListener(Listener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * 记录从指定时间开始至今的耗时
+     *
+     * @param streamId 流程版本
+     * @param nodeId 节点id
+     * @param phase 执行阶段
+     * @param startNanos 开始时间，取自{@link System#nanoTime()}
+     */
+    public static void recordSince(String streamId, String nodeId, Phase phase, long startNanos) {
+        record(streamId, nodeId, phase, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 获取所有节点的耗时统计快照
+     *
+     * @return key为streamId+nodeId，value为各阶段的统计快照
+     */
+    public static Map<String, Map<String, Map<String, Object>>> snapshot() {
+        Map<String, Map<String, Map<String, Object>>> result = new TreeMap<>();
+        NODE_HISTOGRAMS.forEach((key, histograms) -> {
+            Map<String, Map<String, Object>> phases = new LinkedHashMap<>();
+            histograms.forEach((phase, histogram) -> {
+                if (histogram.getCount() > 0) {
+                    phases.put(phase.name(), histogram.snapshot());
+                }
+            });
+            result.put(key, phases);
+        });
+        return result;
+    }
+
+    /**
+     * 删除流程版本所有节点的统计
+     *
+     * @param streamId 流程版本
+     */
+    public static void remove(String streamId) {
+        String prefix = streamId + Constant.STREAM_ID_SEPARATOR;
+        NODE_HISTOGRAMS.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * 清空所有统计
+     */
+    public static void clear() {
+        NODE_HISTOGRAMS.clear();
+    }
+
+    /**
+     * 节点耗时记录的监听者，在记录耗时的线程中同步回调，实现需要足够轻量
+     */
+    public interface Listener {
+        /**
+         * 记录一次节点某个阶段的耗时
+         *
+         * @param streamId 流程版本
+         * @param nodeId 节点id
+         * @param phase 执行阶段
+         * @param nanos 耗时，单位纳秒
+         */
+        void onRecord(String streamId, String nodeId, Phase phase, long nanos);
+    }
+
+    private static String key(String streamId, String nodeId) {
+        return StringUtils.join(Constant.STREAM_ID_SEPARATOR, streamId, nodeId);
+    }
+
+    private static Map<Phase, LatencyHistogram> createHistograms() {
+        Map<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            histograms.put(phase, new LatencyHistogram());
+        }
+        return histograms;
+    }
+}
@@ -0,0 +1,119 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁的耗时直方图，按微秒的2的幂次划分桶，记录开销为一次计数器自增
+ * 分位数为所在桶的上界，误差不超过2倍，用于观察节点排队、加锁、处理等耗时的分布
+ *
+ * @author 杨祥宇
+ * @since 2025/4/12
+ */
+public class LatencyHistogram {
+    private static final int BUCKET_SIZE = 40;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_SIZE];
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalMicros = new LongAdder();
+
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * 构造空的耗时直方图
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时，单位纳秒
+     */
+    public void record(long nanos) {
+        long micros = Math.max(nanos / 1000L, 0L);
+        this.buckets[bucketIndex(micros)].increment();
+        this.count.increment();
+        this.totalMicros.add(micros);
+        long currentMax = this.maxMicros.get();
+        while (micros > currentMax && !this.maxMicros.compareAndSet(currentMax, micros)) {
+            currentMax = this.maxMicros.get();
+        }
+    }
+
+    /**
+     * 获取记录次数
+     *
+     * @return 记录次数
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * 获取分位数耗时
+     *
+     * @param percentile 分位数，取值范围(0, 100]
+     * @return 分位数所在桶的上界，单位微秒
+     */
+    public long getPercentileMicros(double percentile) {
+        long total = this.count.sum();
+        if (total == 0) {
+            return 0L;
+        }
+        long threshold = (long) Math.ceil(total * percentile / 100.0);
+        long accumulated = 0L;
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            accumulated += this.buckets[i].sum();
+            if (accumulated >= threshold) {
+                return Math.min(bucketUpperBound(i), this.maxMicros.get());
+            }
+        }
+        return this.maxMicros.get();
+    }
+
+    /**
+     * 生成当前统计快照，耗时单位为毫秒
+     *
+     * @return 包含count、mean、p50、p90、p99、max的快照
+     */
+    public Map<String, Object> snapshot() {
+        long total = this.count.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", total);
+        result.put("mean", total == 0 ? 0.0 : toMillis(this.totalMicros.sum() / (double) total));
+        result.put("p50", toMillis(getPercentileMicros(50)));
+        result.put("p90", toMillis(getPercentileMicros(90)));
+        result.put("p99", toMillis(getPercentileMicros(99)));
+        result.put("max", toMillis(this.maxMicros.get()));
+        return result;
+    }
+
+    private static int bucketIndex(long micros) {
+        if (micros <= 1) {
+            return 0;
+        }
+        return Math.min(64 - Long.numberOfLeadingZeros(micros - 1), BUCKET_SIZE - 1);
+    }
+
+    private static long bucketUpperBound(int index) {
+        return 1L << index;
+    }
+
+    private static double toMillis(double micros) {
+        return Math.round(micros) / 1000.0;
+    }
+}
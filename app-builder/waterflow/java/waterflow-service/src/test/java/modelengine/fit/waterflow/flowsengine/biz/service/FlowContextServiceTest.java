@@ -23,6 +23,7 @@ import modelengine.fit.waterflow.FlowsDataBaseTest;
 import modelengine.fit.waterflow.MethodNameLoggerExtension;
 import modelengine.fit.waterflow.entity.FlowStartDTO;
 import modelengine.fit.waterflow.entity.FlowStartInfo;
+import modelengine.fit.waterflow.flowsengine.biz.service.admission.FlowAdmissionController;
 import modelengine.fit.waterflow.flowsengine.biz.service.cache.FlowDefinitionQueryService;
 import modelengine.fit.waterflow.flowsengine.biz.service.cache.FlowQueryService;
 import modelengine.fit.waterflow.flowsengine.biz.service.entity.FlowsErrorInfo;
@@ -97,7 +98,7 @@ class FlowContextServiceTest extends DatabaseBaseTest {
 
     private static InvalidDistributedLockNotify notify = Mockito.mock(InvalidDistributedLockNotify.class);
 
-    private static final TraceOwnerService traceOwnerService = new DefaultTraceOwnerService(locks, notify);
+    private static final TraceOwnerService traceOwnerService = new DefaultTraceOwnerService(locks, notify, null);
 
     private FlowTraceMapper traceMapper;
 
@@ -136,7 +137,8 @@ class FlowContextServiceTest extends DatabaseBaseTest {
         flowQueryService = Mockito.mock(FlowQueryService.class);
         flowContextsService = new FlowRuntimeServiceImpl(flowDefinitionRepo, contextPersistRepo, messenger,
                 queryContextRepo, traceRepo, retryRepo, locks, traceOwnerService, traceService, false,
-                brokerClient, definitionQueryService, flowQueryService);
+                brokerClient, definitionQueryService, flowQueryService,
+                new FlowAdmissionController(false, 0, 0, 0, 0, 0, 0L, 0L));
     }
 
     @Nested
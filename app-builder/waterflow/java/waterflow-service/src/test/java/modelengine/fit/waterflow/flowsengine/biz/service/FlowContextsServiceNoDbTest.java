@@ -18,6 +18,7 @@ import static org.mockito.Mockito.when;
 import modelengine.fit.waterflow.entity.OperationContext;
 import modelengine.fit.waterflow.exceptions.WaterflowParamException;
 import modelengine.fit.waterflow.MethodNameLoggerExtension;
+import modelengine.fit.waterflow.flowsengine.biz.service.admission.FlowAdmissionController;
 import modelengine.fit.waterflow.flowsengine.biz.service.cache.FlowDefinitionQueryService;
 import modelengine.fit.waterflow.flowsengine.biz.service.cache.FlowQueryService;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowContext;
@@ -86,7 +87,8 @@ public class FlowContextsServiceNoDbTest {
         flowQueryService = Mockito.mock(FlowQueryService.class);
         flowRuntimeService = new FlowRuntimeServiceImpl(flowDefinitionRepo, flowContextRepo, flowContextMessenger,
                 queryFlowContextPersistRepo, flowTraceRepo, null, flowLocks, traceOwnerService, null,
-                false, null, definitionQueryService, flowQueryService);
+                false, null, definitionQueryService, flowQueryService,
+                new FlowAdmissionController(false, 0, 0, 0, 0, 0, 0L, 0L));
     }
 
     @Test
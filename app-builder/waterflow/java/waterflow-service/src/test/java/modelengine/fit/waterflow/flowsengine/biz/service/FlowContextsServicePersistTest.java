@@ -20,6 +20,7 @@ import modelengine.fit.waterflow.DatabaseBaseTest;
 import modelengine.fit.waterflow.FlowsDataBaseTest;
 import modelengine.fit.waterflow.MethodNameLoggerExtension;
 import modelengine.fit.waterflow.common.utils.SleepUtil;
+import modelengine.fit.waterflow.flowsengine.biz.service.admission.FlowAdmissionController;
 import modelengine.fit.waterflow.flowsengine.biz.service.cache.FlowDefinitionQueryService;
 import modelengine.fit.waterflow.flowsengine.biz.service.cache.FlowQueryService;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowContext;
@@ -138,7 +139,7 @@ public class FlowContextsServicePersistTest extends DatabaseBaseTest {
         DEFINITION_REPO = new DefaultFlowDefinitionRepo(FLOW_DEFINITION_MAPPER, fitableUsageMapper, PARSER);
         FLOW_CONTEXTS_SERVICE = new FlowRuntimeServiceImpl(DEFINITION_REPO, REPO, MESSENGER, QUERY_REPO, TRACE_REPO,
                 FLOW_RETRY_REPO, LOCKS, traceOwnerService, null, false, BROKER_CLIENT,
-                definitionQueryService, flowQueryService);
+                definitionQueryService, flowQueryService, new FlowAdmissionController(false, 0, 0, 0, 0, 0, 0L, 0L));
         FLOW_RETRY_SERVICE = new FlowRetryService(REPO, FLOW_RETRY_REPO, LOCKS, traceOwnerService,
                 definitionQueryService, flowQueryService);
     }
@@ -51,7 +51,7 @@ class FlowInstanceServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        singleFlowRuntimeService = new SingleFlowRuntimeServiceImpl(flowRuntimeService, null, null, flowContextRepo) {
+        singleFlowRuntimeService = new SingleFlowRuntimeServiceImpl(flowRuntimeService, null, null, flowContextRepo, null) {
         };
     }
 
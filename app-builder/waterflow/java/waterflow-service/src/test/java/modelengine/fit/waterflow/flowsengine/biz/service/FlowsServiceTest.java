@@ -21,6 +21,7 @@ import modelengine.fit.jade.waterflow.service.FlowDefinitionService;
 import modelengine.fit.waterflow.DatabaseBaseTest;
 import modelengine.fit.waterflow.FlowsDataBaseTest;
 import modelengine.fit.waterflow.MethodNameLoggerExtension;
+import modelengine.fit.waterflow.flowsengine.biz.service.cache.FlowCacheService;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextPersistRepo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowretry.DefaultFlowRetryRepo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowretry.FlowRetryRepo;
@@ -102,7 +103,7 @@ class FlowsServiceTest extends DatabaseBaseTest {
                     defaultLimitation, useLimit, 1);
             queryFlowDefinitionRepo = new QueryFlowDefinitionRepo(flowDefinitionMapper);
             flowsService = new FlowsDefinitionServiceImpl(parser, flowValidator, flowDefinitionRepo, flowContextPersistRepo,
-                    queryFlowDefinitionRepo);
+                    queryFlowDefinitionRepo, Mockito.mock(FlowCacheService.class));
         }
 
         @Test
@@ -124,7 +125,7 @@ class FlowsServiceTest extends DatabaseBaseTest {
             FlowParser flowParser = Mockito.mock(FlowParser.class);
             when(flowParser.parse(anyString())).thenThrow(new WaterflowException(FLOW_GRAPH_DATA_PARSE_FAILED));
             flowsService = new FlowsDefinitionServiceImpl(flowParser, flowValidator, flowDefinitionRepo, flowContextPersistRepo,
-                    queryFlowDefinitionRepo);
+                    queryFlowDefinitionRepo, Mockito.mock(FlowCacheService.class));
             WaterflowException ex = assertThrows(WaterflowException.class,
                     () -> flowsService.createFlows(jsonData, operationContext));
 
@@ -139,7 +140,7 @@ class FlowsServiceTest extends DatabaseBaseTest {
             FlowValidator validator = Mockito.mock(FlowValidator.class);
             doThrow(new WaterflowException(FLOW_VALIDATE_ERROR)).when(validator).validate(any(FlowDefinition.class));
             flowsService = new FlowsDefinitionServiceImpl(parser, validator, flowDefinitionRepo, flowContextPersistRepo,
-                    queryFlowDefinitionRepo);
+                    queryFlowDefinitionRepo, Mockito.mock(FlowCacheService.class));
             WaterflowException ex = assertThrows(WaterflowException.class,
                     () -> flowsService.createFlows(jsonData, operationContext));
 
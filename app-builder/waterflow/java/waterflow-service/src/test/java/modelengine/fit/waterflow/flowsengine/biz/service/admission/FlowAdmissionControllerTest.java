@@ -0,0 +1,205 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.biz.service.admission;
+
+import modelengine.fit.waterflow.flowsengine.biz.service.admission.FlowAdmissionRejectedException.Reason;
+import modelengine.fit.waterflow.flowsengine.utils.FlowNodeMetrics;
+import modelengine.fitframework.exception.RetryableException;
+import modelengine.fitframework.util.ObjectUtils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FlowAdmissionController对应测试类
+ *
+ * @author 杨祥宇
+ * @since 2025/4/28
+ */
+class FlowAdmissionControllerTest {
+    private static final String STREAM_A = "streamA-1.0.0";
+
+    private static final String STREAM_B = "streamB-1.0.0";
+
+    private static final String TENANT = "tenant";
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("流程版本运行中trace达到上限时拒绝，trace结束后可以继续启动")
+    void shouldRejectWhenStreamInFlightExceeded() {
+        FlowAdmissionController controller = this.create(FlowAdmissionLimits.builder().maxInFlightPerStream(2));
+        controller.acquire(STREAM_A, TENANT).bind("t1");
+        controller.acquire(STREAM_A, TENANT).bind("t2");
+
+        FlowAdmissionRejectedException exception = Assertions.assertThrows(FlowAdmissionRejectedException.class,
+                () -> controller.acquire(STREAM_A, TENANT));
+        Assertions.assertEquals(Reason.STREAM_IN_FLIGHT, exception.getReason());
+        Assertions.assertTrue(exception.getRetryAfterMillis() > 0);
+        Assertions.assertInstanceOf(RetryableException.class, exception);
+        controller.acquire(STREAM_B, TENANT).bind("t3");
+
+        controller.release("t1");
+        controller.acquire(STREAM_A, TENANT).bind("t4");
+    }
+
+    @Test
+    @DisplayName("租户和实例运行中trace达到上限时拒绝")
+    void shouldRejectWhenTenantOrGlobalInFlightExceeded() {
+        FlowAdmissionController controller = this.create(
+                FlowAdmissionLimits.builder().maxInFlightPerTenant(1).maxInFlightGlobal(2));
+        controller.acquire(STREAM_A, TENANT).bind("t1");
+
+        Assertions.assertEquals(Reason.TENANT_IN_FLIGHT, Assertions.assertThrows(
+                FlowAdmissionRejectedException.class, () -> controller.acquire(STREAM_B, TENANT)).getReason());
+        controller.acquire(STREAM_B, "other").bind("t2");
+        Assertions.assertEquals(Reason.GLOBAL_IN_FLIGHT, Assertions.assertThrows(
+                FlowAdmissionRejectedException.class, () -> controller.acquire(STREAM_B, "third")).getReason());
+    }
+
+    @Test
+    @DisplayName("启动速率超过上限时拒绝并给出重试时间，令牌随时间恢复")
+    void shouldRejectWhenStartRateExceeded() {
+        FlowAdmissionController controller = this.create(FlowAdmissionLimits.builder().startRatePerStream(2));
+        controller.acquire(STREAM_A, TENANT).bind("t1");
+        controller.acquire(STREAM_A, TENANT).bind("t2");
+
+        FlowAdmissionRejectedException exception = Assertions.assertThrows(FlowAdmissionRejectedException.class,
+                () -> controller.acquire(STREAM_A, TENANT));
+        Assertions.assertEquals(Reason.STREAM_RATE, exception.getReason());
+        Assertions.assertEquals(500L, exception.getRetryAfterMillis());
+
+        this.clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        controller.acquire(STREAM_A, TENANT).bind("t3");
+        Assertions.assertEquals(3, controller.snapshot().get("inFlight"));
+    }
+
+    @Test
+    @DisplayName("启动失败时归还许可，占用超时后自动释放")
+    void shouldReturnPermitWhenCanceledOrExpired() {
+        FlowAdmissionController controller = this.create(
+                FlowAdmissionLimits.builder().maxInFlightPerStream(1).inFlightTtlMs(1000));
+        controller.acquire(STREAM_A, TENANT).cancel();
+        controller.acquire(STREAM_A, TENANT).bind("t1");
+
+        this.clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1001));
+        controller.expire();
+
+        Assertions.assertEquals(0, controller.snapshot().get("inFlight"));
+        controller.acquire(STREAM_A, TENANT).bind("t2");
+        controller.release("t1");
+        Assertions.assertEquals(1, controller.snapshot().get("inFlight"));
+    }
+
+    @Test
+    @DisplayName("节点排队耗时超过目标值时收缩并发上限，恢复后逐步放开")
+    void shouldAdaptConcurrencyByQueueWait() {
+        FlowAdmissionController controller = this.create(
+                FlowAdmissionLimits.builder().maxInFlightPerStream(100).minConcurrency(10).targetQueueWaitMs(100));
+        controller.acquire(STREAM_A, TENANT).bind("t1");
+
+        for (int i = 0; i < 20; i++) {
+            this.clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+            controller.onRecord(STREAM_A, "node", FlowNodeMetrics.Phase.QUEUE_WAIT, TimeUnit.SECONDS.toNanos(1));
+        }
+        Assertions.assertEquals(10, this.streamMetrics(controller, STREAM_A).get("limit"));
+
+        for (int i = 0; i < 1000; i++) {
+            controller.onRecord(STREAM_A, "node", FlowNodeMetrics.Phase.QUEUE_WAIT, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        int limit = ObjectUtils.cast(this.streamMetrics(controller, STREAM_A).get("limit"));
+        Assertions.assertTrue(limit > 40 && limit <= 100);
+    }
+
+    @Test
+    @DisplayName("实例销毁后不再接收节点排队耗时")
+    void shouldStopListeningAfterDestroy() {
+        FlowAdmissionController controller = new FlowAdmissionController(true, 100, 0, 0, 0, 10, 100L, 0L);
+        controller.acquire(STREAM_A, TENANT).bind("t1");
+        controller.destroy();
+
+        try {
+            for (int i = 0; i < 20; i++) {
+                FlowNodeMetrics.record(STREAM_A, "node", FlowNodeMetrics.Phase.QUEUE_WAIT,
+                        TimeUnit.SECONDS.toNanos(1));
+            }
+        } finally {
+            FlowNodeMetrics.clear();
+        }
+        Assertions.assertEquals(100, this.streamMetrics(controller, STREAM_A).get("limit"));
+    }
+
+    @Test
+    @DisplayName("一个流程持续洪峰时，另一个流程的排队时延保持在并发上限以内")
+    void shouldIsolateOtherStreamWhenOneStreamFloods() {
+        int perStreamLimit = 20;
+        FlowAdmissionController controller = this.create(
+                FlowAdmissionLimits.builder().maxInFlightPerStream(perStreamLimit));
+        FloodResult limited = this.flood(controller);
+        FloodResult unlimited = this.flood(new FlowAdmissionController(false,
+                FlowAdmissionLimits.builder().build(), this.clock::get));
+
+        Assertions.assertTrue(limited.maxLatency <= perStreamLimit + 1);
+        Assertions.assertTrue(limited.rejected > 0);
+        Assertions.assertTrue(unlimited.maxLatency > 100 * limited.maxLatency);
+        Map<String, Object> snapshot = controller.snapshot();
+        Assertions.assertEquals(limited.rejected,
+                ObjectUtils.<Map<String, Long>>cast(snapshot.get("rejected")).get(Reason.STREAM_IN_FLIGHT.name()));
+        Assertions.assertEquals(0L, this.streamMetrics(controller, STREAM_B).get("rejected"));
+    }
+
+    /**
+     * 模拟一个每轮按先进先出处理一个trace的引擎：流程A每轮尝试启动50个trace，流程B每25轮启动1个trace，
+     * 流程B的时延为启动时排在它前面的trace数量加一，即从启动到被处理所经过的轮数
+     */
+    private FloodResult flood(FlowAdmissionController controller) {
+        Deque<String> queue = new ArrayDeque<>();
+        FloodResult result = new FloodResult();
+        int sequence = 0;
+        for (int tick = 0; tick < 1000; tick++) {
+            for (int i = 0; i < 50; i++) {
+                try {
+                    String traceId = "a" + sequence++;
+                    controller.acquire(STREAM_A, TENANT).bind(traceId);
+                    queue.addLast(traceId);
+                } catch (FlowAdmissionRejectedException exception) {
+                    result.rejected++;
+                }
+            }
+            if (tick % 25 == 0) {
+                String traceId = "b" + sequence++;
+                controller.acquire(STREAM_B, TENANT).bind(traceId);
+                result.maxLatency = Math.max(result.maxLatency, queue.size() + 1);
+                queue.addLast(traceId);
+            }
+            controller.release(queue.pollFirst());
+        }
+        return result;
+    }
+
+    private FlowAdmissionController create(FlowAdmissionLimits.FlowAdmissionLimitsBuilder builder) {
+        return new FlowAdmissionController(true, builder.build(), this.clock::get);
+    }
+
+    private Map<String, Object> streamMetrics(FlowAdmissionController controller, String streamId) {
+        Map<String, Map<String, Object>> streams = ObjectUtils.cast(controller.snapshot().get("streams"));
+        return streams.get(streamId);
+    }
+
+    private static class FloodResult {
+        private int maxLatency;
+
+        private long rejected;
+    }
+}
@@ -7,15 +7,25 @@
 package modelengine.fit.waterflow.flowsengine.biz.service.cache;
 
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.alibaba.fastjson.JSONObject;
+
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextMessenger;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextRepo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowlock.FlowLocks;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowlock.FlowLocksMemo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.definitions.FlowDefinition;
+import modelengine.fit.waterflow.flowsengine.domain.flows.definitions.nodes.FlowNode;
 import modelengine.fit.waterflow.flowsengine.domain.flows.definitions.repo.FlowDefinitionRepo;
+import modelengine.fit.waterflow.flowsengine.domain.flows.parsers.FlowParser;
 import modelengine.fit.waterflow.flowsengine.domain.flows.streams.FitStream;
+import modelengine.fit.waterflow.flowsengine.domain.flows.streams.To;
+import modelengine.fitframework.util.IoUtils;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -24,6 +34,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * FlowCacheService对应测试类
  *
@@ -48,6 +65,7 @@ class FlowCacheServiceTest {
 
     @AfterEach
     void tearDown() {
+        cacheService.destroy();
         FlowCacheService.clear();
     }
 
@@ -107,4 +125,153 @@ class FlowCacheServiceTest {
         Assertions.assertEquals(publisher, persistPublisher);
         Assertions.assertEquals(publisher, cachePublisher);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("测试预热后直接从缓存获取publisher")
+    void testWarmUpThenGetPublisherFromCache() {
+        FlowDefinition definition = Mockito.mock(FlowDefinition.class);
+        FitStream.Publisher<FlowData> publisher = Mockito.mock(FitStream.Publisher.class);
+        when(definitionRepo.findByStreamId(eq("stream1"))).thenReturn(definition);
+        when(definitionRepo.findByStreamId(eq("stream2"))).thenReturn(null);
+        when(definition.convertToFlow(contextRepo, contextMessenger, locks)).thenReturn(publisher);
+
+        int loaded = cacheService.warmUp(Arrays.asList("stream1", "stream2"));
+        FitStream.Publisher<FlowData> cachePublisher = cacheService.getPublisher("stream1");
+
+        Assertions.assertEquals(1, loaded);
+        Assertions.assertEquals(publisher, cachePublisher);
+        verify(definitionRepo, times(1)).findByStreamId(eq("stream1"));
+        Assertions.assertTrue(cacheService.getStats().hitCount() >= 1);
+    }
+
+    @Test
+    @DisplayName("测试多次预热共用同一个线程池")
+    void testWarmUpTwiceSuccess() {
+        FlowDefinition definition = Mockito.mock(FlowDefinition.class);
+        FitStream.Publisher<FlowData> publisher = Mockito.mock(FitStream.Publisher.class);
+        when(definitionRepo.findByStreamId(anyString())).thenReturn(definition);
+        when(definition.convertToFlow(contextRepo, contextMessenger, locks)).thenReturn(publisher);
+
+        Assertions.assertEquals(1, cacheService.warmUp(Collections.singletonList("stream1")));
+        Assertions.assertEquals(1, cacheService.warmUp(Collections.singletonList("stream2")));
+        verify(definitionRepo, times(1)).findByStreamId(eq("stream2"));
+    }
+
+    @Test
+    @DisplayName("测试流程更新后只重新构建变化的节点，未变化的节点沿用已构建的处理器")
+    void testRepublishReuseUnchangedNodes() {
+        FlowParser parser = new FlowParser(null);
+        FlowCacheService service = new FlowCacheService(contextRepo, contextMessenger, new FlowLocksMemo(),
+                definitionRepo);
+        String graph = getGraph();
+        FlowDefinition previous = parser.parse(graph);
+        when(definitionRepo.findByStreamId(eq(previous.getStreamId()))).thenReturn(previous);
+        FitStream.Publisher<FlowData> previousPublisher = service.getPublisher(previous.getStreamId());
+        FlowNode state1 = previous.getFlowNode("state1");
+        FitStream.Processor<FlowData, FlowData> state1Processor = state1.getProcessor(null, null, null, null);
+        FitStream.Processor<FlowData, FlowData> previousState2Processor = previous.getFlowNode("state2")
+                .getProcessor(null, null, null, null);
+
+        JSONObject updated = JSONObject.parseObject(graph);
+        updated.getJSONArray("nodes").getJSONObject(2).getJSONObject("jober").put("echoPrefix", "hi: ");
+        FlowDefinition current = parser.parse(updated.toJSONString());
+        FlowRepublishReport report = service.republish(current);
+
+        Assertions.assertEquals(3, report.getReusedNodes());
+        Assertions.assertEquals(1, report.getRebuiltNodes());
+        Assertions.assertEquals(Collections.singleton("state2"), report.getDiff().getChangedNodes());
+        Assertions.assertTrue(report.getDiff().getChangedEvents().isEmpty());
+        Assertions.assertSame(current, service.getDefinitionByStreamId(current.getStreamId()));
+        Assertions.assertSame(previousPublisher, service.getPublisher(current.getStreamId()));
+        Assertions.assertSame(state1, current.getFlowNode("state1"));
+        Assertions.assertSame(current, state1.getParentFlow());
+        FitStream.Processor<FlowData, FlowData> state2Processor = current.getFlowNode("state2")
+                .getProcessor(null, null, null, null);
+        Assertions.assertNotSame(previousState2Processor, state2Processor);
+        Assertions.assertEquals(1, state1Processor.getSubscriptions().size());
+        Assertions.assertSame(state2Processor, state1Processor.getSubscriptions().get(0).getTo());
+        Assertions.assertEquals(1, state2Processor.getSubscriptions().size());
+    }
+
+    @Test
+    @DisplayName("测试流程版本变化或运行时缓存中没有该流程时不沿用节点")
+    void testRepublishWithoutReuse() {
+        FlowParser parser = new FlowParser(null);
+        FlowCacheService service = new FlowCacheService(contextRepo, contextMessenger, new FlowLocksMemo(),
+                definitionRepo);
+        String graph = getGraph();
+        FlowDefinition previous = parser.parse(graph);
+        Assertions.assertNull(service.republish(parser.parse(graph)).getDiff());
+
+        when(definitionRepo.findByStreamId(eq(previous.getStreamId()))).thenReturn(previous);
+        service.getPublisher(previous.getStreamId());
+        JSONObject updated = JSONObject.parseObject(graph);
+        updated.put("key", "value");
+        FlowDefinition current = parser.parse(updated.toJSONString());
+        FlowRepublishReport report = service.republish(current);
+
+        Assertions.assertTrue(report.getDiff().isFlowChanged());
+        Assertions.assertEquals(0, report.getReusedNodes());
+        Assertions.assertEquals(4, report.getRebuiltNodes());
+        Assertions.assertNotSame(previous.getFlowNode("state1"), current.getFlowNode("state1"));
+    }
+
+    @Test
+    @DisplayName("测试多次重新发布后下游节点的上游订阅关系不增长")
+    void testRepublishTwiceKeepsFromsOfDownstreamNodes() {
+        FlowParser parser = new FlowParser(null);
+        FlowCacheService service = new FlowCacheService(contextRepo, contextMessenger, new FlowLocksMemo(),
+                definitionRepo);
+        String graph = getGraph();
+        FlowDefinition previous = parser.parse(graph);
+        when(definitionRepo.findByStreamId(eq(previous.getStreamId()))).thenReturn(previous);
+        service.getPublisher(previous.getStreamId());
+
+        FlowDefinition current = null;
+        for (String prefix : Arrays.asList("hi: ", "hello: ")) {
+            JSONObject updated = JSONObject.parseObject(graph);
+            updated.getJSONArray("nodes").getJSONObject(2).getJSONObject("jober").put("echoPrefix", prefix);
+            current = parser.parse(updated.toJSONString());
+            Assertions.assertEquals(1, service.republish(current).getRebuiltNodes());
+        }
+
+        Assertions.assertEquals(1, froms(current.getFlowNode("state1").getProcessor(null, null, null, null)).size());
+        Assertions.assertEquals(1, froms(current.getFlowNode("state2").getProcessor(null, null, null, null)).size());
+        Assertions.assertEquals(1, froms(current.getFlowNode("ender1").getSubscriber(null, null, null, null)).size());
+        Assertions.assertEquals("event3",
+                froms(current.getFlowNode("ender1").getSubscriber(null, null, null, null)).get(0).getId());
+    }
+
+    @Test
+    @DisplayName("测试重新发布失败时丢弃运行时缓存且不抛出异常")
+    void testRepublishFailureInvalidatesCache() {
+        FlowParser parser = new FlowParser(null);
+        FlowCacheService service = new FlowCacheService(contextRepo, contextMessenger, new FlowLocksMemo(),
+                definitionRepo);
+        FlowDefinition previous = parser.parse(getGraph());
+        String streamId = previous.getStreamId();
+        when(definitionRepo.findByStreamId(eq(streamId))).thenReturn(previous);
+        service.getPublisher(streamId);
+        FlowDefinition broken = Mockito.mock(FlowDefinition.class);
+        when(broken.getStreamId()).thenReturn(streamId);
+
+        FlowRepublishReport report = Assertions.assertDoesNotThrow(() -> service.republish(broken));
+        service.getPublisher(streamId);
+
+        Assertions.assertTrue(report.isFailed());
+        verify(definitionRepo, times(2)).findByStreamId(eq(streamId));
+    }
+
+    private static List<FitStream.Subscription<?, FlowData>> froms(FitStream.Subscriber<FlowData, FlowData> to) {
+        return ((To<FlowData, FlowData>) to).getFroms();
+    }
+
+    private String getGraph() {
+        try (InputStream in = IoUtils.resource(FlowCacheServiceTest.class.getClassLoader(),
+                "flows/services/flows_create_with_state_node_and_status_active.json")) {
+            return new String(IoUtils.read(in), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -13,6 +13,7 @@ import modelengine.fit.waterflow.flowsengine.biz.service.DefaultTraceOwnerServic
 import modelengine.fit.waterflow.flowsengine.biz.service.TraceOwnerService;
 import modelengine.fit.waterflow.flowsengine.biz.service.cache.FlowDefinitionQueryService;
 import modelengine.fit.waterflow.flowsengine.biz.service.cache.FlowQueryService;
+import modelengine.fit.waterflow.flowsengine.biz.service.shard.FlowInstanceMembership;
 import modelengine.fit.waterflow.flowsengine.domain.flows.FlowsTestUtil;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowContext;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
@@ -32,6 +33,7 @@ import modelengine.fit.waterflow.flowsengine.domain.flows.parsers.Parser;
 import modelengine.fit.waterflow.flowsengine.persist.mapper.FitableUsageMapper;
 import modelengine.fit.waterflow.flowsengine.persist.mapper.FlowContextMapper;
 import modelengine.fit.waterflow.flowsengine.persist.mapper.FlowDefinitionMapper;
+import modelengine.fit.waterflow.flowsengine.persist.mapper.FlowInstanceMemberMapper;
 import modelengine.fit.waterflow.flowsengine.persist.mapper.FlowRetryMapper;
 import modelengine.fit.waterflow.flowsengine.persist.mapper.FlowTraceMapper;
 
@@ -93,7 +95,9 @@ class RestartContextScheduleTest extends DatabaseBaseTest {
         traceRepo = new DefaultFlowTraceRepo(traceMapper);
         contextMapper = sqlSessionManager.getMapper(FlowContextMapper.class);
         InvalidDistributedLockNotify notify = Mockito.mock(InvalidDistributedLockNotify.class);
-        traceOwnerService = new DefaultTraceOwnerService(locks, notify);
+        FlowInstanceMembership membership =
+                new FlowInstanceMembership(Mockito.mock(FlowInstanceMemberMapper.class), 5000L, 20000L);
+        traceOwnerService = new DefaultTraceOwnerService(locks, notify, membership);
         FlowRetryMapper retryMapper = sqlSessionManager.getMapper(FlowRetryMapper.class);
         retryRepo = new DefaultFlowRetryRepo(retryMapper);
         contextPersistRepo = new FlowContextPersistRepo(contextMapper, traceRepo, retryRepo, traceOwnerService, 10,
@@ -102,7 +106,7 @@ class RestartContextScheduleTest extends DatabaseBaseTest {
         fitableUsageMapper = sqlSessionManager.getMapper(FitableUsageMapper.class);
         flowDefinitionRepo = new DefaultFlowDefinitionRepo(flowDefinitionMapper, fitableUsageMapper, parser);
         restartContextSchedule = new RestartContextSchedule(traceRepo, contextPersistRepo, flowDefinitionRepo, locks,
-                messenger, traceOwnerService, definitionQueryService, flowQueryService);
+                messenger, traceOwnerService, definitionQueryService, flowQueryService, membership);
     }
 
     @Nested
@@ -0,0 +1,137 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.biz.service.shard;
+
+import modelengine.fit.ohscript.util.UUIDUtil;
+import modelengine.fit.waterflow.flowsengine.persist.mapper.FlowInstanceMemberMapper;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * FlowInstanceMembership对应测试类，在同一进程内模拟多个实例的加入与离开
+ *
+ * @author 夏斐
+ * @since 2025/4/14
+ */
+class FlowInstanceMembershipTest {
+    private static final int TRACE_COUNT = 10000;
+
+    private final List<String> traceIds = new ArrayList<>();
+
+    private final List<FlowInstanceMembership> instances = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < TRACE_COUNT; i++) {
+            traceIds.add(UUIDUtil.uuid());
+        }
+        for (int i = 0; i < 4; i++) {
+            join();
+        }
+    }
+
+    @Test
+    @DisplayName("测试未获取到成员列表时所有trace都属于本实例")
+    void testAllTracesLocalBeforeRefresh() {
+        FlowInstanceMembership membership = createInstance();
+
+        Assertions.assertTrue(traceIds.stream().allMatch(membership::isLocalShard));
+    }
+
+    @Test
+    @DisplayName("测试每个trace只属于一个实例且分布均匀")
+    void testEachTraceHasExactlyOneOwner() {
+        Map<String, String> owners = owners();
+
+        Assertions.assertEquals(TRACE_COUNT, owners.size());
+        Map<String, Long> counts = owners.values()
+                .stream()
+                .collect(Collectors.groupingBy(owner -> owner, Collectors.counting()));
+        Assertions.assertEquals(4, counts.size());
+        counts.values().forEach(count -> Assertions.assertTrue(count > TRACE_COUNT / 4 / 2));
+    }
+
+    @Test
+    @DisplayName("测试实例加入时只有少量trace迁移到新实例")
+    void testJoinMovesTracesOnlyToNewInstance() {
+        Map<String, String> before = owners();
+
+        FlowInstanceMembership joined = join();
+        Map<String, String> after = owners();
+
+        List<String> moved = traceIds.stream()
+                .filter(traceId -> !before.get(traceId).equals(after.get(traceId)))
+                .collect(Collectors.toList());
+        Assertions.assertTrue(moved.size() < TRACE_COUNT / 5 * 1.5);
+        Assertions.assertTrue(moved.stream().allMatch(traceId -> after.get(traceId).equals(joined.getInstanceId())));
+    }
+
+    @Test
+    @DisplayName("测试实例离开时只有该实例的trace迁移")
+    void testLeaveMovesOnlyLeftInstanceTraces() {
+        Map<String, String> before = owners();
+        FlowInstanceMembership left = instances.remove(0);
+        refreshAll();
+
+        Map<String, String> after = owners();
+
+        traceIds.forEach(traceId -> {
+            if (before.get(traceId).equals(left.getInstanceId())) {
+                Assertions.assertNotEquals(left.getInstanceId(), after.get(traceId));
+            } else {
+                Assertions.assertEquals(before.get(traceId), after.get(traceId));
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("测试新trace标识分配在本实例的分片内")
+    void testNewTraceIdIsLocalShard() {
+        instances.forEach(instance -> {
+            for (int i = 0; i < 100; i++) {
+                String traceId = instance.newLocalTraceId();
+                Assertions.assertTrue(instance.isLocalShard(traceId));
+                Assertions.assertEquals(1, instances.stream().filter(other -> other.isLocalShard(traceId)).count());
+            }
+        });
+    }
+
+    private FlowInstanceMembership createInstance() {
+        return new FlowInstanceMembership(Mockito.mock(FlowInstanceMemberMapper.class), 5000L, 20000L);
+    }
+
+    private FlowInstanceMembership join() {
+        FlowInstanceMembership membership = createInstance();
+        instances.add(membership);
+        refreshAll();
+        return membership;
+    }
+
+    private void refreshAll() {
+        List<String> members = instances.stream()
+                .map(FlowInstanceMembership::getInstanceId)
+                .collect(Collectors.toList());
+        instances.forEach(instance -> instance.refresh(members));
+    }
+
+    private Map<String, String> owners() {
+        Map<String, String> owners = new HashMap<>();
+        traceIds.forEach(traceId -> instances.stream().filter(instance -> instance.isLocalShard(traceId)).forEach(
+                instance -> Assertions.assertNull(owners.put(traceId, instance.getInstanceId()))));
+        return owners;
+    }
+}
@@ -149,7 +149,7 @@ public class FlowContextPersistTest extends DatabaseBaseTest {
         Integer defaultLimitation = 5;
         boolean useLimit = false;
         REPO = new FlowContextPersistRepo(FLOW_CONTEXT_MAPPER, FLOW_TRACE_REPO, FLOW_RETRY_REPO,
-                new DefaultTraceOwnerService(LOCKS, invalidDistributedLockNotify), defaultLimitation,
+                new DefaultTraceOwnerService(LOCKS, invalidDistributedLockNotify, null), defaultLimitation,
                 useLimit, 10);
     }
 
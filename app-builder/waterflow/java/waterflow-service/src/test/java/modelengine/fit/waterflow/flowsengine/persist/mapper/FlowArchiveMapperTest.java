@@ -0,0 +1,105 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.persist.mapper;
+
+import modelengine.fit.waterflow.DatabaseBaseTest;
+import modelengine.fit.waterflow.MethodNameLoggerExtension;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link FlowArchiveMapper} 测试类
+ * <p>H2不支持分区表，测试使用普通结构的归档表，只验证归档数据的复制。</p>
+ *
+ * @author yangxiangyu
+ * @since 2025/4/25
+ */
+@ExtendWith(MethodNameLoggerExtension.class)
+public class FlowArchiveMapperTest extends DatabaseBaseTest {
+    private final String sqlFile = "handler/flowArchive/saveData.sql";
+
+    private FlowArchiveMapper flowArchiveMapper;
+
+    private FlowTraceMapper flowTraceMapper;
+
+    private FlowContextMapper flowContextMapper;
+
+    @BeforeEach
+    void before() {
+        executeSqlInFile("handler/flowArchive/createTables.sql");
+        flowArchiveMapper = sqlSessionManager.openSession(true).getMapper(FlowArchiveMapper.class);
+        flowTraceMapper = sqlSessionManager.openSession(true).getMapper(FlowTraceMapper.class);
+        flowContextMapper = sqlSessionManager.openSession(true).getMapper(FlowContextMapper.class);
+    }
+
+    @Override
+    protected void cleanTable() {
+        executeSqlInFile("handler/flowArchive/cleanData.sql");
+    }
+
+    @Test
+    @DisplayName("查询trace及其上下文涉及的月份")
+    public void testFindArchiveMonths() {
+        executeSqlInFile(sqlFile);
+
+        List<LocalDateTime> months = flowArchiveMapper.findArchiveMonths(Collections.singletonList("1"));
+
+        Assertions.assertEquals(2, months.size());
+        Assertions.assertTrue(months.contains(LocalDateTime.of(2023, 11, 1, 0, 0)));
+        Assertions.assertTrue(months.contains(LocalDateTime.of(2023, 12, 1, 0, 0)));
+    }
+
+    @Test
+    @DisplayName("只复制指定trace及其上下文到归档表")
+    public void testArchiveOnlyGivenTraces() {
+        executeSqlInFile(sqlFile);
+        LocalDateTime archivedTime = LocalDateTime.now();
+
+        Assertions.assertEquals(2, flowArchiveMapper.archiveContexts(Collections.singletonList("1"), archivedTime));
+        Assertions.assertEquals(1, flowArchiveMapper.archiveTraces(Collections.singletonList("1"), archivedTime));
+
+        Assertions.assertEquals(1, flowArchiveMapper.archiveContexts(Arrays.asList("1", "2"), archivedTime));
+        Assertions.assertEquals(1, flowArchiveMapper.archiveTraces(Arrays.asList("1", "2"), archivedTime));
+    }
+
+    @Test
+    @DisplayName("重复归档时忽略已归档的数据")
+    public void testArchiveIgnoreArchivedRows() {
+        executeSqlInFile(sqlFile);
+        List<String> traceIds = Collections.singletonList("1");
+        flowArchiveMapper.archiveContexts(traceIds, LocalDateTime.now());
+        flowArchiveMapper.archiveTraces(traceIds, LocalDateTime.now());
+
+        Assertions.assertEquals(0, flowArchiveMapper.archiveContexts(traceIds, LocalDateTime.now()));
+        Assertions.assertEquals(0, flowArchiveMapper.archiveTraces(traceIds, LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("归档后删除在线数据，归档数据保留")
+    public void testDeleteAfterArchive() {
+        executeSqlInFile(sqlFile);
+        List<String> traceIds = Collections.singletonList("1");
+        flowArchiveMapper.archiveContexts(traceIds, LocalDateTime.now());
+        flowArchiveMapper.archiveTraces(traceIds, LocalDateTime.now());
+
+        flowContextMapper.deleteByTraceIdList(traceIds);
+        flowTraceMapper.deleteByIdList(traceIds);
+
+        Assertions.assertNull(flowTraceMapper.find("1"));
+        Assertions.assertNotNull(flowTraceMapper.find("2"));
+        Assertions.assertEquals(0, flowArchiveMapper.archiveTraces(traceIds, LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,64 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FlowNodeMetrics对应测试类
+ *
+ * @author 杨祥宇
+ * @since 2025/4/12
+ */
+class FlowNodeMetricsTest {
+    @AfterEach
+    void tearDown() {
+        FlowNodeMetrics.clear();
+    }
+
+    @Test
+    @DisplayName("测试按节点和阶段记录耗时并生成快照")
+    void testRecordAndSnapshot() {
+        for (int i = 1; i <= 100; i++) {
+            FlowNodeMetrics.record("meta-1.0.0", "node1", FlowNodeMetrics.Phase.PROCESS,
+                    TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        FlowNodeMetrics.record("meta-1.0.0", "node1", FlowNodeMetrics.Phase.LOCK_WAIT, 1000L);
+
+        Map<String, Map<String, Map<String, Object>>> snapshot = FlowNodeMetrics.snapshot();
+
+        Map<String, Map<String, Object>> phases = snapshot.get("meta-1.0.0-node1");
+        Assertions.assertEquals(2, phases.size());
+        Map<String, Object> process = phases.get("PROCESS");
+        Assertions.assertEquals(100L, process.get("count"));
+        Assertions.assertEquals(100.0, process.get("max"));
+        double p50 = (double) process.get("p50");
+        Assertions.assertTrue(p50 >= 50.0 && p50 <= 100.0);
+        Assertions.assertFalse(phases.containsKey("QUEUE_WAIT"));
+    }
+
+    @Test
+    @DisplayName("测试删除流程版本的统计")
+    void testRemoveStream() {
+        FlowNodeMetrics.record("meta-1.0.0", "node1", FlowNodeMetrics.Phase.PERSIST, 1000L);
+        FlowNodeMetrics.record("meta-2.0.0", "node1", FlowNodeMetrics.Phase.PERSIST, 1000L);
+        FlowNodeMetrics.record("meta-1.0.01", "node1", FlowNodeMetrics.Phase.PERSIST, 1000L);
+
+        FlowNodeMetrics.remove("meta-1.0.0");
+
+        Map<String, Map<String, Map<String, Object>>> snapshot = FlowNodeMetrics.snapshot();
+        Assertions.assertFalse(snapshot.containsKey("meta-1.0.0-node1"));
+        Assertions.assertTrue(snapshot.containsKey("meta-2.0.0-node1"));
+        Assertions.assertTrue(snapshot.containsKey("meta-1.0.01-node1"));
+    }
+}
@@ -0,0 +1,8 @@
+DELETE
+FROM `flow_trace`;
+DELETE
+FROM `flow_context`;
+DELETE
+FROM `flow_trace_archive`;
+DELETE
+FROM `flow_context_archive`;
@@ -0,0 +1,22 @@
+INSERT INTO `flow_trace` (trace_id, stream_id, operator, application_name, start_node, cur_nodes,
+                          start_time, end_time, status, context_pool)
+VALUES ('1', '1-1.0.0', 'xxx', 'xxx', 'start1', 'default_node', '2023-11-30 23:43:07', '2023-12-01 00:10:00',
+        'ARCHIVED', 'c1, c2');
+INSERT INTO `flow_trace` (trace_id, stream_id, operator, application_name, start_node, cur_nodes,
+                          start_time, end_time, status, context_pool)
+VALUES ('2', '1-1.0.0', 'xxx', 'xxx', 'start1', 'default_node', '2023-12-11 10:43:07', NULL, 'RUNNING', 'c3');
+INSERT INTO `flow_context` (context_id, trace_id, trans_id, root_id, stream_id, flow_data, position_id, joined, status,
+                            parallel, parallel_mode, previous, batch_id, to_batch, sent, create_at, update_at,
+                            archived_at)
+VALUES ('c1', '1', '1', 'c1', '1-1.0.0', 'input', 'start1', false, 'ARCHIVED', NULL, NULL, NULL, NULL, NULL, true,
+        '2023-11-30 23:43:07', '2023-12-01 00:10:00', '2023-12-01 00:10:00');
+INSERT INTO `flow_context` (context_id, trace_id, trans_id, root_id, stream_id, flow_data, position_id, joined, status,
+                            parallel, parallel_mode, previous, batch_id, to_batch, sent, create_at, update_at,
+                            archived_at)
+VALUES ('c2', '1', '1', 'c1', '1-1.0.0', 'input', 'end1', false, 'ARCHIVED', NULL, NULL, 'c1', NULL, NULL, true,
+        '2023-12-01 00:05:00', '2023-12-01 00:10:00', '2023-12-01 00:10:00');
+INSERT INTO `flow_context` (context_id, trace_id, trans_id, root_id, stream_id, flow_data, position_id, joined, status,
+                            parallel, parallel_mode, previous, batch_id, to_batch, sent, create_at, update_at,
+                            archived_at)
+VALUES ('c3', '2', '2', 'c3', '1-1.0.0', 'input', 'start1', false, 'PENDING', NULL, NULL, NULL, NULL, NULL, false,
+        '2023-12-11 10:43:07', NULL, NULL);
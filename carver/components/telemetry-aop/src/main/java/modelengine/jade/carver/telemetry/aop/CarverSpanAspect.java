@@ -10,6 +10,7 @@ import modelengine.jade.common.localemessage.ExceptionLocaleService;
 import modelengine.jade.service.CarverGlobalOpenTelemetry;
 import modelengine.jade.service.annotations.CarverSpan;
 
+import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.api.trace.Tracer;
@@ -25,10 +26,14 @@ import modelengine.fitframework.exception.FitException;
 import modelengine.fitframework.inspection.Validation;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * {@link CarverSpan} 的切面。
+ * <p>每个方法的操作单元名称和追踪范围名称在首次拦截时解析并缓存，追踪器按全局遥测对象缓存。
+ * 未被采样的操作单元不通知 {@link SpanEndObserver}。</p>
  *
  * @author 刘信宏
  * @since 2024-07-23
@@ -40,6 +45,8 @@ public class CarverSpanAspect {
 
     private final SpanEndObserverRepository repository;
     private final ExceptionLocaleService exceptionLocaleService;
+    private final Map<Method, SpanMetadata> metadataCache = new ConcurrentHashMap<>();
+    private volatile TracerCache tracerCache = new TracerCache(null, Map.of());
 
     public CarverSpanAspect(SpanEndObserverRepository repository, ExceptionLocaleService exceptionLocaleService) {
         this.repository = repository;
@@ -80,26 +87,50 @@ public class CarverSpanAspect {
 
     private Scope makeCurrentScope(ProceedingJoinPoint joinPoint, AtomicReference<Span> spanRef) {
         String traceScopeName = Context.current().get(TRACE_CONTEXT_KEY);
+        SpanMetadata metadata = this.getMetadata(joinPoint);
         if (traceScopeName == null) {
-            traceScopeName = joinPoint.getSignature().toString();
-            Span span = this.getSpan(joinPoint, traceScopeName);
+            traceScopeName = metadata.scopeName();
+            Span span = this.getSpan(metadata, traceScopeName);
             Context withContext = Context.current().with(TRACE_CONTEXT_KEY, traceScopeName).with(span);
             spanRef.set(span);
             return ContextStorage.get().attach(withContext);
         }
-        Span span = this.getSpan(joinPoint, traceScopeName);
+        Span span = this.getSpan(metadata, traceScopeName);
         spanRef.set(span);
         return span.makeCurrent();
     }
 
-    private Span getSpan(ProceedingJoinPoint joinPoint, String traceScopeName) {
-        Tracer tracer = CarverGlobalOpenTelemetry.get().getTracer(traceScopeName);
-        CarverSpan carverSpanAnnotation = Validation.notNull(joinPoint.getMethod().getAnnotation(CarverSpan.class),
-                "The @CarverSpan annotation cannot be null.");
-        return tracer.spanBuilder(carverSpanAnnotation.value()).startSpan();
+    private SpanMetadata getMetadata(ProceedingJoinPoint joinPoint) {
+        return this.metadataCache.computeIfAbsent(joinPoint.getMethod(), method -> {
+            CarverSpan carverSpanAnnotation = Validation.notNull(method.getAnnotation(CarverSpan.class),
+                    "The @CarverSpan annotation cannot be null.");
+            return new SpanMetadata(joinPoint.getSignature().toString(), carverSpanAnnotation.value());
+        });
+    }
+
+    private Span getSpan(SpanMetadata metadata, String traceScopeName) {
+        return this.getTracer(traceScopeName).spanBuilder(metadata.spanName()).startSpan();
+    }
+
+    private Tracer getTracer(String traceScopeName) {
+        OpenTelemetry openTelemetry = CarverGlobalOpenTelemetry.get();
+        TracerCache cache = this.tracerCache;
+        if (cache.openTelemetry() != openTelemetry) {
+            // 全局遥测对象初始化前获取的是空实现，初始化后需要重新获取追踪器。
+            cache = new TracerCache(openTelemetry, new ConcurrentHashMap<>());
+            this.tracerCache = cache;
+        }
+        return cache.tracers().computeIfAbsent(traceScopeName, openTelemetry::getTracer);
     }
 
     private void notifyAllSpanEndObserver(Span span, Method method, Object[] args, Object result) {
+        if (span == null || !span.isRecording()) {
+            return;
+        }
         this.repository.get().forEach(observer -> observer.onSpanEnd(span, method, args, result));
     }
+
+    private record SpanMetadata(String scopeName, String spanName) {}
+
+    private record TracerCache(OpenTelemetry openTelemetry, Map<String, Tracer> tracers) {}
 }
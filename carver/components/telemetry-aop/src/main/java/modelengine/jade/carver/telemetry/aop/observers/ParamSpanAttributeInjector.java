@@ -17,13 +17,16 @@ import modelengine.jade.service.annotations.SpanAttr;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 向 span 中注入 {@link SpanAttr} 注解的属性键值对。
+ * <p>每个方法的参数注解在首次调用时解析并缓存。</p>
  *
  * @author 方誉州
  * @since 2024-08-06
@@ -31,6 +34,7 @@ import java.util.Map;
 @Component(name = "ParamSpanAttributeInjector")
 public class ParamSpanAttributeInjector implements SpanEndObserver, SpanAttrObserver {
     private final SpanAttrParserRepository repository;
+    private final Map<Method, List<ParamAttr>> paramAttrCache = new ConcurrentHashMap<>();
 
     public ParamSpanAttributeInjector(SpanAttrParserRepository repository) {
         this.repository = repository;
@@ -58,13 +62,23 @@ public class ParamSpanAttributeInjector implements SpanEndObserver, SpanAttrObse
         if (span == null) {
             return;
         }
+        for (ParamAttr paramAttr : this.paramAttrCache.computeIfAbsent(method, ParamSpanAttributeInjector::parse)) {
+            this.setAttribute(span, paramAttr.expressions(), args[paramAttr.index()]);
+        }
+    }
+
+    private static List<ParamAttr> parse(Method method) {
+        List<ParamAttr> paramAttrs = new ArrayList<>();
         Annotation[][] parameterAnnotations = method.getParameterAnnotations();
         for (int index = 0; index < parameterAnnotations.length; index++) {
             int currentIndex = index;
             Arrays.stream(parameterAnnotations[index])
                     .filter(annotation -> annotation.annotationType() == SpanAttr.class)
                     .map(ObjectUtils::<SpanAttr>cast)
-                    .forEach(annotation -> this.setAttribute(span, annotation.value(), args[currentIndex]));
+                    .forEach(annotation -> paramAttrs.add(new ParamAttr(currentIndex, annotation.value())));
         }
+        return List.copyOf(paramAttrs);
     }
+
+    private record ParamAttr(int index, String[] expressions) {}
 }
\ No newline at end of file
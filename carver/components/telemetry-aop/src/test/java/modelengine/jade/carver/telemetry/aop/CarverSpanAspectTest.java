@@ -14,9 +14,11 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -101,6 +103,7 @@ public class CarverSpanAspectTest {
         when(this.mockOpenTelemetry.getTracer(any())).thenReturn(this.mockTrace);
         when(this.mockTrace.spanBuilder(any())).thenReturn(this.mockSpanBuilder);
         when(this.mockSpanBuilder.startSpan()).thenReturn(this.mockSpan);
+        when(this.mockSpan.isRecording()).thenReturn(true);
         doAnswer(args -> ObjectUtils.<Throwable>cast(args.getArgument(0))
                 .getMessage()).when(this.exceptionLocaleService).localizeMessage(any());
     }
@@ -246,4 +249,25 @@ public class CarverSpanAspectTest {
         verify(this.mockSpan, times(0)).setAttribute(any(String.class), any(String.class));
         verify(this.mockSpan).end();
     }
+
+    @Test
+    @DisplayName("多次触发切面，追踪器最多获取一次。")
+    void shouldGetTracerOnceWhenHandleRepeatedly() {
+        this.spanDemo.handleSuccess("playerArg");
+        this.spanDemo.handleSuccess("playerArg");
+
+        verify(this.mockOpenTelemetry, atMost(1)).getTracer(any());
+        verify(this.mockSpan, times(2)).end();
+    }
+
+    @Test
+    @DisplayName("操作单元未被采样时，不解析 Span 属性。")
+    void shouldSkipObserversWhenSpanNotRecording() {
+        when(this.mockSpan.isRecording()).thenReturn(false);
+
+        this.spanDemo.handleSuccess("playerArg");
+
+        verify(this.mockSpan, never()).setAttribute(any(String.class), any(String.class));
+        verify(this.mockSpan).end();
+    }
 }
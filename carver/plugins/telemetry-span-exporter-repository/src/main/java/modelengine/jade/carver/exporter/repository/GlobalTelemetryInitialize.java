@@ -14,6 +14,7 @@ import io.opentelemetry.sdk.OpenTelemetrySdk;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
 import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Initialize;
 import modelengine.fitframework.inspection.Validation;
@@ -30,21 +31,25 @@ import java.time.Duration;
 public class GlobalTelemetryInitialize {
     private final SpanExporterRepository exportersRepository;
     private final SpanProcessorConfig processorConfig;
+    private final SpanSamplerConfig samplerConfig;
 
     /**
      * 使用操作单元导出器的容器和配置参数初始化 {@link GlobalTelemetryInitialize} 对象。
      *
      * @param exportersRepository 表示操作单元导出器的容器的 {@link SpanExporterRepository}。
      * @param processorConfig 表示配置参数的 {@link SpanProcessorConfig}。
+     * @param samplerConfig 表示采样配置参数的 {@link SpanSamplerConfig}。
      */
-    public GlobalTelemetryInitialize(SpanExporterRepository exportersRepository, SpanProcessorConfig processorConfig) {
+    public GlobalTelemetryInitialize(SpanExporterRepository exportersRepository, SpanProcessorConfig processorConfig,
+            SpanSamplerConfig samplerConfig) {
         this.exportersRepository = Validation.notNull(exportersRepository, "The exporters repository cannot be null.");
         this.processorConfig = Validation.notNull(processorConfig, "The span processor config cannot be null.");
+        this.samplerConfig = Validation.notNull(samplerConfig, "The span sampler config cannot be null.");
     }
 
     @Initialize
     private void initGlobalTelemetry() {
-        SdkTracerProviderBuilder tracerBuilder = SdkTracerProvider.builder();
+        SdkTracerProviderBuilder tracerBuilder = SdkTracerProvider.builder().setSampler(this.buildSampler());
         tracerBuilder.addSpanProcessor(BatchSpanProcessor.builder(new SpanExporterProxy(this.exportersRepository))
                 .setMaxQueueSize(this.processorConfig.getMaxQueueSize())
                 .setMaxExportBatchSize(this.processorConfig.getMaxExportBatchSize())
@@ -55,4 +60,13 @@ public class GlobalTelemetryInitialize {
         OpenTelemetry openTelemetry = OpenTelemetrySdk.builder().setTracerProvider(sdkTracerProvider).build();
         CarverGlobalOpenTelemetry.set(openTelemetry);
     }
+
+    private Sampler buildSampler() {
+        Sampler rootSampler = Sampler.traceIdRatioBased(this.samplerConfig.getRatio());
+        if (this.samplerConfig.getMaxSpansPerSecond() > 0) {
+            rootSampler =
+                    new RateLimitingSampler(rootSampler, this.samplerConfig.getMaxSpansPerSecond(), System::nanoTime);
+        }
+        return Sampler.parentBased(rootSampler);
+    }
 }
@@ -0,0 +1,82 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.carver.exporter.repository;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import modelengine.fitframework.inspection.Validation;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 限速采样器，在被代理采样器的采样结果基础上，使用令牌桶限制每秒采样的数量。
+ *
+ * @author 刘信宏
+ * @since 2025-04-18
+ */
+public class RateLimitingSampler implements Sampler {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Sampler delegate;
+    private final int maxPerSecond;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * 使用被代理采样器、每秒最大采样数量和时钟初始化 {@link RateLimitingSampler} 对象。
+     *
+     * @param delegate 表示被代理采样器的 {@link Sampler}。
+     * @param maxPerSecond 表示每秒最大采样数量的 {@code int}。
+     * @param nanoClock 表示纳秒时钟的 {@link LongSupplier}。
+     */
+    public RateLimitingSampler(Sampler delegate, int maxPerSecond, LongSupplier nanoClock) {
+        this.delegate = Validation.notNull(delegate, "The delegate sampler cannot be null.");
+        this.maxPerSecond = Validation.greaterThan(maxPerSecond, 0,
+                "The max spans per second must be positive. [maxPerSecond={0}]", maxPerSecond);
+        this.nanoClock = Validation.notNull(nanoClock, "The nano clock cannot be null.");
+        this.tokens = maxPerSecond;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+            Attributes attributes, List<LinkData> parentLinks) {
+        SamplingResult result =
+                this.delegate.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+        if (result.getDecision() != SamplingDecision.RECORD_AND_SAMPLE || this.tryAcquire()) {
+            return result;
+        }
+        return SamplingResult.drop();
+    }
+
+    @Override
+    public String getDescription() {
+        return String.format("RateLimitingSampler{delegate=%s, maxPerSecond=%d}",
+                this.delegate.getDescription(),
+                this.maxPerSecond);
+    }
+
+    private synchronized boolean tryAcquire() {
+        long now = this.nanoClock.getAsLong();
+        this.tokens = Math.min(this.maxPerSecond,
+                this.tokens + (double) (now - this.lastRefillNanos) * this.maxPerSecond / NANOS_PER_SECOND);
+        this.lastRefillNanos = now;
+        if (this.tokens < 1) {
+            return false;
+        }
+        this.tokens--;
+        return true;
+    }
+}
@@ -15,12 +15,15 @@ import io.opentelemetry.sdk.trace.export.SpanExporter;
 import modelengine.fitframework.inspection.Validation;
 import modelengine.fitframework.log.Logger;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
-import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * 操作单元数据导出器的代理。
+ * <p>代理由批量处理器在后台线程调用，返回的结果在全部导出器完成后完成，批量处理器据此应用导出超时。</p>
  *
  * @author 刘信宏
  * @since 2024-10-28
@@ -46,29 +49,39 @@ public class SpanExporterProxy implements CarverSpanExporter {
 
     @Override
     public CompletableResultCode export(Collection<SpanData> collection) {
-        this.proxyHandle("Export span", exporter -> exporter.export(collection));
-        return CompletableResultCode.ofSuccess();
+        return this.proxyHandle("Export span", exporter -> exporter.export(collection));
     }
 
     @Override
     public CompletableResultCode flush() {
-        this.proxyHandle("Flush span", SpanExporter::flush);
-        return CompletableResultCode.ofSuccess();
+        return this.proxyHandle("Flush span", SpanExporter::flush);
     }
 
     @Override
     public CompletableResultCode shutdown() {
-        this.proxyHandle("Shutdown exporter", SpanExporter::shutdown);
-        return CompletableResultCode.ofSuccess();
+        return this.proxyHandle("Shutdown exporter", SpanExporter::shutdown);
     }
 
-    private void proxyHandle(String operation, Consumer<CarverSpanExporter> consumer) {
+    private CompletableResultCode proxyHandle(String operation,
+            Function<CarverSpanExporter, CompletableResultCode> handler) {
+        List<CompletableResultCode> results = new ArrayList<>();
         this.exportersRepository.get(Objects::nonNull).forEach(exporter -> {
             try {
-                consumer.accept(exporter);
+                CompletableResultCode result = handler.apply(exporter);
+                if (result != null) {
+                    results.add(result.whenComplete(() -> {
+                        if (!result.isSuccess()) {
+                            log.warn("{} failed. [exporter={}]", operation, exporter.name());
+                        }
+                    }));
+                }
             } catch (Exception exception) {
                 log.warn("{} failed. [exporter={}]", operation, exporter.name(), exception);
             }
         });
+        // 单个导出器失败不影响其他导出器，也不向批量处理器报告失败。
+        CompletableResultCode proxyResult = new CompletableResultCode();
+        CompletableResultCode.ofAll(results).whenComplete(proxyResult::succeed);
+        return proxyResult;
     }
 }
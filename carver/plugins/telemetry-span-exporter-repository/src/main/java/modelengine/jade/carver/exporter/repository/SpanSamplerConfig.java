@@ -0,0 +1,35 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.carver.exporter.repository;
+
+import modelengine.fitframework.annotation.AcceptConfigValues;
+import modelengine.fitframework.annotation.Component;
+
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import lombok.Data;
+
+/**
+ * {@link Sampler} 的配置参数。
+ * <p>采样只决定根操作单元，子操作单元跟随父操作单元的采样结果。</p>
+ *
+ * @author 刘信宏
+ * @since 2025-04-18
+ */
+@Component
+@AcceptConfigValues("span-sampler")
+@Data
+public class SpanSamplerConfig {
+    /**
+     * 根操作单元的采样比例，取值范围为 [0, 1]。
+     */
+    private double ratio = 1.0;
+
+    /**
+     * 每秒最多采样的根操作单元数量，不大于 0 时不限制。
+     */
+    private int maxSpansPerSecond;
+}
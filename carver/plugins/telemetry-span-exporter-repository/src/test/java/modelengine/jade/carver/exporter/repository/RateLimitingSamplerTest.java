@@ -0,0 +1,67 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.carver.exporter.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link RateLimitingSampler} 的测试。
+ *
+ * @author 刘信宏
+ * @since 2025-04-18
+ */
+public class RateLimitingSamplerTest {
+    private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("超过每秒采样数量时丢弃，令牌随时间恢复。")
+    void shouldDropWhenRateExceeded() {
+        Sampler sampler = new RateLimitingSampler(Sampler.alwaysOn(), 2, this.clock::get);
+
+        assertThat(this.sample(sampler)).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+        assertThat(this.sample(sampler)).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+        assertThat(this.sample(sampler)).isEqualTo(SamplingDecision.DROP);
+
+        this.clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(this.sample(sampler)).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+        assertThat(this.sample(sampler)).isEqualTo(SamplingDecision.DROP);
+    }
+
+    @Test
+    @DisplayName("被代理采样器丢弃的操作单元不消耗令牌。")
+    void shouldNotConsumeTokenWhenDelegateDrops() {
+        Sampler sampler = new RateLimitingSampler(Sampler.alwaysOff(), 1, this.clock::get);
+
+        assertThat(this.sample(sampler)).isEqualTo(SamplingDecision.DROP);
+        assertThat(sampler.getDescription()).isEqualTo(
+                "RateLimitingSampler{delegate=AlwaysOffSampler, maxPerSecond=1}");
+    }
+
+    private SamplingDecision sample(Sampler sampler) {
+        return sampler.shouldSample(Context.root(),
+                TRACE_ID,
+                "span",
+                SpanKind.INTERNAL,
+                Attributes.empty(),
+                Collections.emptyList()).getDecision();
+    }
+}
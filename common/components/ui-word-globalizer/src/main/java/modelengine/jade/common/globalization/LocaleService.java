@@ -6,7 +6,9 @@
 
 package modelengine.jade.common.globalization;
 
+import java.util.Collection;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * 获取国际化日志的类。
@@ -54,4 +56,23 @@ public interface LocaleService {
      * @return 国际化信息的 {@link String}。
      */
     String localizeOrDefault(Locale locale, String code, String defaultCode, Object... params);
+
+    /**
+     * 根据错误码批量获取国际化信息，适用于列表等一次需要处理大量界面词的场景。
+     *
+     * @param codes 表示错误码列表的 {@link Collection}{@code <}{@link String}{@code >}。
+     * @return 表示错误码与国际化信息对应关系的 {@link Map}{@code <}{@link String}{@code , }{@link String}{@code >}，
+     * 顺序与入参一致，缺失的错误码对应空字符串。
+     */
+    Map<String, String> localizeAll(Collection<String> codes);
+
+    /**
+     * 根据错误码批量获取国际化信息，入参传入系统语言。
+     *
+     * @param locale 表示系统语言的 {@link Locale}。
+     * @param codes 表示错误码列表的 {@link Collection}{@code <}{@link String}{@code >}。
+     * @return 表示错误码与国际化信息对应关系的 {@link Map}{@code <}{@link String}{@code , }{@link String}{@code >}，
+     * 顺序与入参一致，缺失的错误码对应空字符串。
+     */
+    Map<String, String> localizeAll(Locale locale, Collection<String> codes);
 }
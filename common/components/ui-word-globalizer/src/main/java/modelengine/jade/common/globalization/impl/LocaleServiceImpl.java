@@ -9,23 +9,35 @@ package modelengine.jade.common.globalization.impl;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.plugin.Plugin;
+import modelengine.fitframework.plugin.PluginStartedObserver;
+import modelengine.fitframework.plugin.PluginStoppingObserver;
+import modelengine.fitframework.util.ArrayUtils;
+import modelengine.fitframework.util.StringUtils;
 import modelengine.jade.common.globalization.LocaleService;
 import modelengine.jade.common.locale.LocaleUtil;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.MissingResourceException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 界面词国际化处理。
+ * <p>按语言和错误码缓存从资源包中解析出的消息模板，避免每次调用都重新查找语言、资源包和消息。
+ * 缺失的错误码同样会被缓存，插件启动或停止时资源包可能发生变化，此时清空缓存。</p>
  *
  * @author 鲁为
  * @since 2024-08-17
  */
 @Component("common")
-public class LocaleServiceImpl implements LocaleService {
+public class LocaleServiceImpl implements LocaleService, PluginStartedObserver, PluginStoppingObserver {
     private static final Logger logger = Logger.get(LocaleServiceImpl.class);
+    private static final int MAX_CACHE_SIZE = 4096;
 
     private final Plugin plugin;
+    private final Map<MessageKey, CachedMessage> messages = new ConcurrentHashMap<>();
 
     /**
      * 用插件实例构建 {@link LocaleServiceImpl} 的实例。
@@ -38,41 +50,104 @@ public class LocaleServiceImpl implements LocaleService {
 
     @Override
     public String localize(String code, Object... params) {
-        try {
-            return this.plugin.sr().getMessage(LocaleUtil.getLocale(), code, params);
-        } catch (MissingResourceException e) {
-            logger.warn("The bundle resource is missing. [code={}]", code);
-            return "";
-        }
+        return this.localize(LocaleUtil.getLocale(), code, params);
     }
 
     @Override
     public String localize(Locale locale, String code, Object... params) {
-        try {
-            return this.plugin.sr().getMessage(locale, code, params);
-        } catch (MissingResourceException e) {
+        CachedMessage message = this.getMessage(locale, code);
+        if (message.isMissing()) {
             logger.warn("The bundle resource is missing. [code={}]", code);
             return "";
         }
+        return message.format(params);
     }
 
     @Override
     public String localizeOrDefault(String code, String defaultCode, Object... params) {
-        try {
-            return this.plugin.sr().getMessage(LocaleUtil.getLocale(), code, params);
-        } catch (MissingResourceException e) {
-            logger.warn("The bundle resource is missing. [code={}]", code);
-            return this.plugin.sr().getMessage(LocaleUtil.getLocale(), defaultCode, params);
-        }
+        return this.localizeOrDefault(LocaleUtil.getLocale(), code, defaultCode, params);
     }
 
     @Override
     public String localizeOrDefault(Locale locale, String code, String defaultCode, Object... params) {
+        CachedMessage message = this.getMessage(locale, code);
+        if (!message.isMissing()) {
+            return message.format(params);
+        }
+        logger.warn("The bundle resource is missing. [code={}]", code);
+        CachedMessage defaultMessage = this.getMessage(locale, defaultCode);
+        if (defaultMessage.isMissing()) {
+            throw new MissingResourceException("The bundle resource is missing.", String.class.getName(), defaultCode);
+        }
+        return defaultMessage.format(params);
+    }
+
+    @Override
+    public Map<String, String> localizeAll(Collection<String> codes) {
+        return this.localizeAll(LocaleUtil.getLocale(), codes);
+    }
+
+    @Override
+    public Map<String, String> localizeAll(Locale locale, Collection<String> codes) {
+        Map<String, String> result = new LinkedHashMap<>();
+        for (String code : codes) {
+            result.computeIfAbsent(code, key -> this.localize(locale, key));
+        }
+        return result;
+    }
+
+    @Override
+    public void onPluginStarted(Plugin plugin) {
+        this.messages.clear();
+    }
+
+    @Override
+    public void onPluginStopping(Plugin plugin) {
+        this.messages.clear();
+    }
+
+    private CachedMessage getMessage(Locale locale, String code) {
+        MessageKey key = new MessageKey(locale, code);
+        CachedMessage message = this.messages.get(key);
+        if (message != null) {
+            return message;
+        }
         try {
-            return this.plugin.sr().getMessage(locale, code, params);
+            String pattern = this.plugin.sr().getMessage(locale, code);
+            if (pattern == null) {
+                return CachedMessage.NULL;
+            }
+            message = new CachedMessage(pattern, pattern.indexOf('{') >= 0);
         } catch (MissingResourceException e) {
-            logger.warn("The bundle resource is missing. [code={}]", code);
-            return this.plugin.sr().getMessage(locale, defaultCode, params);
+            message = CachedMessage.MISSING;
+        }
+        if (this.messages.size() < MAX_CACHE_SIZE) {
+            this.messages.put(key, message);
+        }
+        return message;
+    }
+
+    private record MessageKey(Locale locale, String code) {}
+
+    /**
+     * 表示缓存的消息模板。
+     *
+     * @param pattern 表示消息模板的 {@link String}，为 {@code null} 时表示资源包未返回消息。
+     * @param hasPlaceholder 表示消息模板是否包含占位符的 {@code boolean}。
+     */
+    private record CachedMessage(String pattern, boolean hasPlaceholder) {
+        private static final CachedMessage NULL = new CachedMessage(null, false);
+        private static final CachedMessage MISSING = new CachedMessage(null, false);
+
+        boolean isMissing() {
+            return this == MISSING;
+        }
+
+        String format(Object[] params) {
+            if (!this.hasPlaceholder || ArrayUtils.isEmpty(params)) {
+                return this.pattern;
+            }
+            return StringUtils.format(this.pattern, params);
         }
     }
 }
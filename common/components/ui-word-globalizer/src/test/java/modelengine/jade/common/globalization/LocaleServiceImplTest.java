@@ -8,6 +8,8 @@ package modelengine.jade.common.globalization;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import modelengine.fitframework.annotation.Fit;
 import modelengine.fitframework.globalization.StringResource;
@@ -27,7 +29,9 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Arrays;
 import java.util.Locale;
+import java.util.Map;
 import java.util.MissingResourceException;
 
 /**
@@ -139,4 +143,49 @@ public class LocaleServiceImplTest {
         String localeMessage = this.localeService.localizeOrDefault(Locale.ENGLISH, testCode, DEFAULT_ERROR_CODE);
         Assertions.assertEquals(defaultMsg, localeMessage);
     }
+
+    @Test
+    @DisplayName("重复获取同一条消息时使用缓存的消息模板")
+    void shouldUseCachedPatternWhenLocalizeRepeatedly() {
+        String code = "TEST_CODE";
+        Mockito.when(this.plugin.sr()).thenReturn(this.stringResource);
+        Mockito.when(this.stringResource.getMessage(Locale.ENGLISH, code)).thenReturn("Hello, {0}.");
+        Mockito.doThrow(new MissingResourceException("", "", ""))
+                .when(stringResource)
+                .getMessage(Locale.ENGLISH, "missing");
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals("Hello, FIT.", this.localeService.localize(Locale.ENGLISH, code, "FIT"));
+            Assertions.assertEquals("", this.localeService.localize(Locale.ENGLISH, "missing"));
+        }
+        verify(this.stringResource, times(1)).getMessage(Locale.ENGLISH, code);
+        verify(this.stringResource, times(1)).getMessage(Locale.ENGLISH, "missing");
+    }
+
+    @Test
+    @DisplayName("插件启动或停止后重新从资源包获取消息")
+    void shouldReloadPatternWhenPluginChanged() {
+        String code = "TEST_CODE";
+        Mockito.when(this.plugin.sr()).thenReturn(this.stringResource);
+        Mockito.when(this.stringResource.getMessage(Locale.ENGLISH, code)).thenReturn("old", "new");
+        Assertions.assertEquals("old", this.localeService.localize(Locale.ENGLISH, code));
+
+        ((LocaleServiceImpl) this.localeService).onPluginStarted(this.plugin);
+        Assertions.assertEquals("new", this.localeService.localize(Locale.ENGLISH, code));
+        Assertions.assertEquals("new", this.localeService.localize(Locale.ENGLISH, code));
+    }
+
+    @Test
+    @DisplayName("批量获取消息时按入参顺序返回，缺失的消息为空")
+    void shouldCorrectWhenLocalizeAll() {
+        Mockito.when(this.plugin.sr()).thenReturn(this.stringResource);
+        Mockito.when(this.stringResource.getMessage(Locale.ENGLISH, "b")).thenReturn("B");
+        Mockito.when(this.stringResource.getMessage(Locale.ENGLISH, "a")).thenReturn("A");
+        Mockito.doThrow(new MissingResourceException("", "", ""))
+                .when(stringResource)
+                .getMessage(Locale.ENGLISH, "c");
+        Map<String, String> messages = this.localeService.localizeAll(Arrays.asList("b", "a", "c", "b"));
+        Assertions.assertEquals(Arrays.asList("b", "a", "c"), messages.keySet().stream().toList());
+        Assertions.assertEquals(Arrays.asList("B", "A", ""), messages.values().stream().toList());
+        verify(this.stringResource, times(1)).getMessage(Locale.ENGLISH, "b");
+    }
 }